@@ -0,0 +1,394 @@
+package dev.utils.app;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.utils.DevFinal;
+import dev.utils.LogPrintUtils;
+import dev.utils.common.CloseUtils;
+
+/**
+ * detail: 常驻 Shell 会话
+ * @author Ttt
+ * <pre>
+ *     一个 sh、su 进程持续执行多条命令, 避免每条命令都创建进程
+ *     <p></p>
+ *     每次提交的命令以 ( eval '命令' ) &lt;/dev/null 在子 Shell 中执行 ( 不影响会话环境, 不读取会话输入 )
+ *     执行结束后分别向 stdout、stderr 输出结束标记 ( stdout 标记后跟随执行结果状态码 )
+ *     stdout、stderr 由两个线程异步读取, 按提交顺序匹配命令, 可同时提交多条命令 ( 按顺序执行 )
+ * </pre>
+ */
+final class ShellSession {
+
+    // 日志 TAG
+    private static final String TAG = ShellSession.class.getSimpleName();
+
+    // 结束标记前缀
+    private static final String        SENTINEL_PREFIX = "__DEV_SHELL_";
+    // 会话编号
+    private static final AtomicInteger SESSION_ID      = new AtomicInteger();
+
+    // 是否 root 会话
+    private final boolean                mRoot;
+    // Shell 进程
+    private final Process                mProcess;
+    // 命令写入流
+    private final OutputStream           mOutput;
+    // 会话结束标记前缀
+    private final String                 mSentinel;
+    // 等待 stdout 结束标记命令
+    private final BlockingQueue<Command> mStdoutQueue = new LinkedBlockingQueue<>();
+    // 等待 stderr 结束标记命令
+    private final BlockingQueue<Command> mStderrQueue = new LinkedBlockingQueue<>();
+    // 命令写入锁
+    private final Object                 mWriteLock   = new Object();
+    // 命令序号
+    private       long                   mSequence;
+    // 是否已关闭
+    private volatile boolean             mClosed;
+    // 最后活跃时间
+    private volatile long                mActiveTime  = System.currentTimeMillis();
+
+    /**
+     * 构造函数
+     * @param isRoot 是否以 root 权限执行
+     * @throws IOException 创建进程失败
+     */
+    ShellSession(final boolean isRoot)
+            throws IOException {
+        int id = SESSION_ID.incrementAndGet();
+        this.mRoot     = isRoot;
+        this.mProcess  = Runtime.getRuntime().exec(isRoot ? "su" : "sh");
+        this.mOutput   = mProcess.getOutputStream();
+        this.mSentinel = SENTINEL_PREFIX + id + "_" + Integer.toHexString(new Random().nextInt()) + "_";
+        _startReader(mProcess.getInputStream(), mStdoutQueue, true, TAG + "-" + id + "-out");
+        _startReader(mProcess.getErrorStream(), mStderrQueue, false, TAG + "-" + id + "-err");
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 是否 root 会话
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isRoot() {
+        return mRoot;
+    }
+
+    /**
+     * 是否已关闭
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isClosed() {
+        return mClosed;
+    }
+
+    /**
+     * 获取未执行完成命令数量
+     * @return 未执行完成命令数量
+     */
+    int getPendingCount() {
+        return mStdoutQueue.size();
+    }
+
+    /**
+     * 获取空闲时长
+     * @return 空闲时长 ( 存在未执行完成命令则返回 0 )
+     */
+    long getIdleTime() {
+        if (!mStdoutQueue.isEmpty() || !mStderrQueue.isEmpty()) return 0L;
+        return System.currentTimeMillis() - mActiveTime;
+    }
+
+    /**
+     * 提交命令 ( 不等待执行结果 )
+     * @param commands        多条待执行命令
+     * @param isNeedResultMsg 是否需要结果消息
+     * @return {@link Command}
+     * @throws IOException 会话已关闭、写入失败
+     */
+    Command submit(
+            final String[] commands,
+            final boolean isNeedResultMsg
+    )
+            throws IOException {
+        synchronized (mWriteLock) {
+            if (mClosed) throw new IOException("shell session closed");
+            Command command = new Command(this, mSentinel + (mSequence++) + "__", isNeedResultMsg);
+            mStdoutQueue.add(command);
+            mStderrQueue.add(command);
+            mActiveTime = System.currentTimeMillis();
+            try {
+                mOutput.write(_frame(commands, command.sentinel).getBytes(DevFinal.ENCODE.UTF_8));
+                mOutput.flush();
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+            return command;
+        }
+    }
+
+    /**
+     * 等待命令执行结果
+     * <pre>
+     *     超时后命令仍在会话中执行, 将关闭会话 ( 会话中其他未完成命令同样失败 )
+     * </pre>
+     * @param command {@link Command}
+     * @param timeout 超时时间 ( 毫秒, 小于等于 0 则不超时 )
+     * @return {@link ShellUtils.CommandResult}
+     */
+    ShellUtils.CommandResult await(
+            final Command command,
+            final long timeout
+    ) {
+        try {
+            if (timeout > 0L) {
+                if (!command.latch.await(timeout, TimeUnit.MILLISECONDS)) {
+                    LogPrintUtils.dTag(TAG, "command timeout %s ms, close session", timeout);
+                    command.fail(-1);
+                    close();
+                }
+            } else {
+                command.latch.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LogPrintUtils.eTag(TAG, e, "await");
+            return new ShellUtils.CommandResult(-1, null, null);
+        }
+        return command.toResult();
+    }
+
+    /**
+     * 关闭会话
+     * <pre>
+     *     未执行完成的命令执行结果状态码为进程退出码 ( 进程未退出则为 -1 )
+     * </pre>
+     */
+    void close() {
+        synchronized (mWriteLock) {
+            if (mClosed) return;
+            mClosed = true;
+        }
+        CloseUtils.closeIOQuietly(mOutput);
+        mProcess.destroy();
+        _failAll();
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取命令执行脚本
+     * @param commands 多条待执行命令
+     * @param sentinel 结束标记
+     * @return 命令执行脚本
+     */
+    private static String _frame(
+            final String[] commands,
+            final String sentinel
+    ) {
+        StringBuilder builder = new StringBuilder("(eval '");
+        boolean       first   = true;
+        for (String command : commands) {
+            if (command == null) continue;
+            if (!first) builder.append(DevFinal.SYMBOL.NEW_LINE);
+            // 单引号转义 ' => '\''
+            builder.append(command.replace("'", "'\\''"));
+            first = false;
+        }
+        builder.append("') </dev/null; echo \"").append(sentinel).append("$?\"; echo \"")
+                .append(sentinel).append("\" 1>&2").append(DevFinal.SYMBOL.NEW_LINE);
+        return builder.toString();
+    }
+
+    /**
+     * 启动流读取线程
+     * @param inputStream 读取流
+     * @param queue       等待结束标记命令
+     * @param stdout      是否 stdout
+     * @param name        线程名
+     */
+    private void _startReader(
+            final InputStream inputStream,
+            final BlockingQueue<Command> queue,
+            final boolean stdout,
+            final String name
+    ) {
+        Thread thread = new Thread(() -> {
+            BufferedReader br = null;
+            try {
+                br = new BufferedReader(new InputStreamReader(inputStream, DevFinal.ENCODE.UTF_8));
+                String line;
+                while ((line = br.readLine()) != null) {
+                    Command command = queue.peek();
+                    // 无对应命令 ( 如 su 提示信息 ) 忽略
+                    if (command == null) continue;
+                    int index = line.indexOf(command.sentinel);
+                    if (index < 0) {
+                        command.append(stdout, line);
+                        continue;
+                    }
+                    // 最后一行无换行符时与结束标记在同一行
+                    if (index > 0) command.append(stdout, line.substring(0, index));
+                    queue.poll();
+                    if (stdout) {
+                        command.result = _parseResult(line.substring(index + command.sentinel.length()));
+                    }
+                    mActiveTime = System.currentTimeMillis();
+                    command.latch.countDown();
+                }
+            } catch (Exception e) {
+                if (!mClosed) LogPrintUtils.eTag(TAG, e, "read");
+            } finally {
+                CloseUtils.closeIOQuietly(br);
+                // 进程结束 ( 如 su 授权失败 )
+                close();
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 未执行完成命令全部失败
+     */
+    private void _failAll() {
+        int result = -1;
+        try {
+            result = mProcess.exitValue();
+        } catch (Exception ignored) {
+        }
+        Command command;
+        while ((command = mStdoutQueue.poll()) != null) {
+            command.fail(result);
+        }
+        while ((command = mStderrQueue.poll()) != null) {
+            command.fail(result);
+        }
+    }
+
+    /**
+     * 解析执行结果状态码
+     * @param value 结束标记后内容
+     * @return 执行结果状态码
+     */
+    private static int _parseResult(final String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    // ==========
+    // = 内部定义 =
+    // ==========
+
+    /**
+     * detail: 提交的命令
+     * @author Ttt
+     */
+    static final class Command {
+
+        // 所属会话
+        final ShellSession   session;
+        // 结束标记
+        final String         sentinel;
+        // 是否需要结果消息
+        final boolean        needResultMsg;
+        // stdout、stderr 结束计数
+        final CountDownLatch latch = new CountDownLatch(2);
+        // 成功信息
+        final StringBuilder  successMsg;
+        // 错误信息
+        final StringBuilder  errorMsg;
+        // 是否已读取成功信息
+        boolean successLine;
+        // 是否已读取错误信息
+        boolean errorLine;
+        // 执行结果状态码
+        volatile int result = -1;
+
+        Command(
+                final ShellSession session,
+                final String sentinel,
+                final boolean needResultMsg
+        ) {
+            this.session       = session;
+            this.sentinel      = sentinel;
+            this.needResultMsg = needResultMsg;
+            this.successMsg    = needResultMsg ? new StringBuilder() : null;
+            this.errorMsg      = needResultMsg ? new StringBuilder() : null;
+        }
+
+        /**
+         * 等待执行结果
+         * @param timeout 超时时间 ( 毫秒, 小于等于 0 则不超时 )
+         * @return {@link ShellUtils.CommandResult}
+         */
+        ShellUtils.CommandResult await(final long timeout) {
+            return session.await(this, timeout);
+        }
+
+        /**
+         * 追加输出行
+         * @param stdout 是否 stdout
+         * @param line   输出行
+         */
+        synchronized void append(
+                final boolean stdout,
+                final String line
+        ) {
+            if (!needResultMsg) return;
+            if (stdout) {
+                if (successLine) successMsg.append(DevFinal.SYMBOL.NEW_LINE);
+                successMsg.append(line);
+                successLine = true;
+            } else {
+                if (errorLine) errorMsg.append(DevFinal.SYMBOL.NEW_LINE);
+                errorMsg.append(line);
+                errorLine = true;
+            }
+        }
+
+        /**
+         * 执行失败
+         * @param exitValue 进程退出码
+         */
+        void fail(final int exitValue) {
+            if (latch.getCount() == 0L) return;
+            if (result == -1) result = exitValue;
+            while (latch.getCount() > 0L) {
+                latch.countDown();
+            }
+        }
+
+        /**
+         * 获取执行结果
+         * @return {@link ShellUtils.CommandResult}
+         */
+        synchronized ShellUtils.CommandResult toResult() {
+            if (!needResultMsg) {
+                return new ShellUtils.CommandResult(result, null, null);
+            }
+            // 超时关闭会话时为已读取的部分内容
+            return new ShellUtils.CommandResult(
+                    result, successMsg.toString(), errorMsg.toString()
+            );
+        }
+    }
+}
@@ -3,6 +3,8 @@ package dev.utils.app;
 import java.io.BufferedReader;
 import java.io.DataOutputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import dev.utils.DevFinal;
@@ -12,6 +14,15 @@ import dev.utils.common.CloseUtils;
 /**
  * detail: Shell 命令工具类
  * @author Ttt
+ * <pre>
+ *     默认通过常驻 Shell 会话 ( 会话池 ) 执行命令, 避免每次执行都创建 sh、su 进程
+ *     每次执行的命令在子 Shell 中执行, cd、export、exit 等不影响后续执行
+ *     命令仅提交到空闲会话, 会话均在执行命令且达到最大数量时创建进程执行 ( 不排队等待 )
+ *     空闲会话由后台线程定时关闭, 无会话时线程结束
+ *     可通过 {@link #setUseSession(boolean)} 关闭, 恢复每次执行创建进程
+ *     <p></p>
+ *     多条需分别获取结果的命令可使用 {@link #execCmdBatch} 在同一进程中连续提交 ( 不等待上一条结束 )
+ * </pre>
  */
 public final class ShellUtils {
 
@@ -24,6 +35,83 @@ public final class ShellUtils {
     // 操作成功状态码
     private static final int SUCCESS = 0;
 
+    // 是否使用常驻 Shell 会话
+    private static volatile boolean            sUseSession     = true;
+    // sh、su 会话各自最大数量
+    private static volatile int                sMaxSessions    = 2;
+    // 会话空闲关闭时间
+    private static volatile long               sKeepAliveTime  = 60 * 1000L;
+    // 默认命令超时时间 ( 0 为不超时 )
+    private static volatile long               sDefaultTimeout = 0L;
+    // 常驻 Shell 会话
+    private static final    List<ShellSession> SESSIONS        = new ArrayList<>();
+    // 空闲会话回收线程
+    private static          Thread             sReaper;
+
+    // ==========
+    // = 会话配置 =
+    // ==========
+
+    /**
+     * 设置是否使用常驻 Shell 会话
+     * @param useSession {@code true} 使用常驻会话, {@code false} 每次执行创建进程
+     */
+    public static void setUseSession(final boolean useSession) {
+        ShellUtils.sUseSession = useSession;
+        if (!useSession) closeSessions();
+    }
+
+    /**
+     * 设置 sh、su 会话各自最大数量
+     * <pre>
+     *     会话均在执行命令时, 新命令创建进程执行 ( 不在执行中的会话后排队 )
+     * </pre>
+     * @param maxSessions 最大数量
+     */
+    public static void setMaxSessions(final int maxSessions) {
+        ShellUtils.sMaxSessions = Math.max(1, maxSessions);
+    }
+
+    /**
+     * 设置会话空闲关闭时间
+     * <pre>
+     *     后台线程每隔 keepAliveTime / 2 ( 至少 1 秒 ) 检查一次
+     * </pre>
+     * @param keepAliveTime 空闲关闭时间 ( 毫秒 )
+     */
+    public static void setKeepAliveTime(final long keepAliveTime) {
+        ShellUtils.sKeepAliveTime = keepAliveTime;
+    }
+
+    /**
+     * 设置默认命令超时时间
+     * <pre>
+     *     仅常驻会话有效, 超时后关闭该会话 ( 会话中排队的命令同样失败 )
+     * </pre>
+     * @param timeout 超时时间 ( 毫秒, 小于等于 0 则不超时 )
+     */
+    public static void setDefaultTimeout(final long timeout) {
+        ShellUtils.sDefaultTimeout = timeout;
+    }
+
+    /**
+     * 关闭全部常驻 Shell 会话
+     */
+    public static void closeSessions() {
+        List<ShellSession> sessions;
+        synchronized (SESSIONS) {
+            sessions = new ArrayList<>(SESSIONS);
+            SESSIONS.clear();
+        }
+        for (ShellSession session : sessions) {
+            session.close();
+        }
+    }
+
+    // ==========
+    // = 执行命令 =
+    // ==========
+
     /**
      * 执行 shell 命令
      * @param command 待执行命令
@@ -105,10 +193,216 @@ public final class ShellUtils {
             final boolean isRoot,
             final boolean isNeedResultMsg
     ) {
-        int result = -1;
+        return execCmd(commands, isRoot, isNeedResultMsg, sDefaultTimeout);
+    }
+
+    /**
+     * 执行 shell 命令
+     * @param commands        多条待执行命令
+     * @param isRoot          是否以 root 权限执行
+     * @param isNeedResultMsg 是否需要结果消息 (error、success message)
+     * @param timeout         超时时间 ( 毫秒, 小于等于 0 则不超时, 仅常驻会话有效 )
+     * @return {@link CommandResult}
+     */
+    public static CommandResult execCmd(
+            final String[] commands,
+            final boolean isRoot,
+            final boolean isNeedResultMsg,
+            final long timeout
+    ) {
         if (commands == null || commands.length == 0) {
-            return new CommandResult(result, null, null);
+            return new CommandResult(-1, null, null);
         }
+        if (!sUseSession) {
+            return execProcess(commands, isRoot, isNeedResultMsg);
+        }
+        try {
+            ShellSession.Command command = submitSession(isRoot, commands, isNeedResultMsg);
+            if (command == null) {
+                // 会话均在执行命令, 创建进程执行
+                return execProcess(commands, isRoot, isNeedResultMsg);
+            }
+            return command.await(timeout);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "execCmd");
+        }
+        return new CommandResult(-1, null, null);
+    }
+
+    /**
+     * 批量执行 shell 命令 ( 每条命令分别返回结果 )
+     * <pre>
+     *     全部命令连续提交到同一空闲会话中按顺序执行, 再依次等待结果
+     *     无空闲会话且达到最大数量时依次创建进程执行
+     * </pre>
+     * @param commands        多条待执行命令
+     * @param isRoot          是否以 root 权限执行
+     * @param isNeedResultMsg 是否需要结果消息 (error、success message)
+     * @return 每条命令对应 {@link CommandResult}
+     */
+    public static List<CommandResult> execCmdBatch(
+            final List<String> commands,
+            final boolean isRoot,
+            final boolean isNeedResultMsg
+    ) {
+        List<CommandResult> results = new ArrayList<>();
+        if (commands == null || commands.isEmpty()) return results;
+        if (!sUseSession) {
+            for (String command : commands) {
+                results.add(execCmd(command, isRoot, isNeedResultMsg));
+            }
+            return results;
+        }
+        List<ShellSession.Command> submits = new ArrayList<>(commands.size());
+        try {
+            ShellSession.Command first = submitSession(
+                    isRoot, new String[]{commands.get(0)}, isNeedResultMsg
+            );
+            if (first == null) {
+                // 会话均在执行命令, 创建进程执行
+                for (String command : commands) {
+                    results.add(execProcess(new String[]{command}, isRoot, isNeedResultMsg));
+                }
+                return results;
+            }
+            submits.add(first);
+            for (int i = 1, len = commands.size(); i < len; i++) {
+                submits.add(first.session.submit(new String[]{commands.get(i)}, isNeedResultMsg));
+            }
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "execCmdBatch");
+        }
+        for (int i = 0, len = commands.size(); i < len; i++) {
+            if (i < submits.size()) {
+                results.add(submits.get(i).await(sDefaultTimeout));
+            } else {
+                results.add(new CommandResult(-1, null, null));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 批量执行 shell 命令 ( 每条命令分别返回结果 )
+     * @param commands 多条待执行命令
+     * @param isRoot   是否以 root 权限执行
+     * @return 每条命令对应 {@link CommandResult}
+     */
+    public static List<CommandResult> execCmdBatch(
+            final List<String> commands,
+            final boolean isRoot
+    ) {
+        return execCmdBatch(commands, isRoot, true);
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 提交命令到常驻 Shell 会话
+     * <pre>
+     *     使用空闲会话, 无空闲会话且未达到最大数量则创建新会话
+     *     在会话锁内提交, 提交后会话即为执行中, 其他线程不会选中同一会话排队
+     * </pre>
+     * @param isRoot          是否以 root 权限执行
+     * @param commands        多条待执行命令
+     * @param isNeedResultMsg 是否需要结果消息 (error、success message)
+     * @return {@link ShellSession.Command}, 会话均在执行命令且达到最大数量则返回 null
+     * @throws Exception 创建进程、写入命令失败
+     */
+    private static ShellSession.Command submitSession(
+            final boolean isRoot,
+            final String[] commands,
+            final boolean isNeedResultMsg
+    )
+            throws Exception {
+        synchronized (SESSIONS) {
+            ShellSession           selected  = null;
+            int                    count     = 0;
+            long                   keepAlive = sKeepAliveTime;
+            Iterator<ShellSession> iterator  = SESSIONS.iterator();
+            while (iterator.hasNext()) {
+                ShellSession session = iterator.next();
+                // 移除已关闭、空闲超时会话
+                if (session.isClosed() || session.getIdleTime() > keepAlive) {
+                    iterator.remove();
+                    session.close();
+                    continue;
+                }
+                if (session.isRoot() != isRoot) continue;
+                count++;
+                if (selected == null && session.getPendingCount() == 0) {
+                    selected = session;
+                }
+            }
+            if (selected == null) {
+                if (count >= sMaxSessions) return null;
+                selected = new ShellSession(isRoot);
+                SESSIONS.add(selected);
+                startReaper();
+            }
+            return selected.submit(commands, isNeedResultMsg);
+        }
+    }
+
+    /**
+     * 启动空闲会话回收线程 ( 需持有 SESSIONS 锁 )
+     */
+    private static void startReaper() {
+        if (sReaper != null) return;
+        Thread thread = new Thread(() -> reapSessions(), TAG + "-Reaper");
+        thread.setDaemon(true);
+        sReaper = thread;
+        thread.start();
+    }
+
+    /**
+     * 定时关闭空闲会话 ( 无会话时结束线程 )
+     */
+    private static void reapSessions() {
+        while (true) {
+            boolean interrupted = false;
+            try {
+                Thread.sleep(Math.max(1000L, sKeepAliveTime / 2));
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            List<ShellSession> idles     = new ArrayList<>();
+            boolean            finish;
+            long               keepAlive = sKeepAliveTime;
+            synchronized (SESSIONS) {
+                Iterator<ShellSession> iterator = SESSIONS.iterator();
+                while (iterator.hasNext()) {
+                    ShellSession session = iterator.next();
+                    if (session.isClosed() || session.getIdleTime() > keepAlive) {
+                        iterator.remove();
+                        idles.add(session);
+                    }
+                }
+                finish = interrupted || SESSIONS.isEmpty();
+                if (finish) sReaper = null;
+            }
+            for (ShellSession session : idles) {
+                session.close();
+            }
+            if (finish) return;
+        }
+    }
+
+    /**
+     * 创建进程执行 shell 命令
+     * @param commands        多条待执行命令
+     * @param isRoot          是否以 root 权限执行
+     * @param isNeedResultMsg 是否需要结果消息 (error、success message)
+     * @return {@link CommandResult}
+     */
+    private static CommandResult execProcess(
+            final String[] commands,
+            final boolean isRoot,
+            final boolean isNeedResultMsg
+    ) {
+        int              result     = -1;
         Process          process    = null;
         DataOutputStream dos        = null;
         String           successMsg = null;
@@ -139,7 +433,7 @@ public final class ShellUtils {
             // 执行结果状态码
             result = process.waitFor();
         } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "execCmd");
+            LogPrintUtils.eTag(TAG, e, "execProcess");
         } finally {
             CloseUtils.closeIOQuietly(dos);
             // 进程销毁
@@ -29,12 +29,14 @@ public final class DevCache {
      * 获取 DevCache
      * @param cachePath 缓存文件夹路径
      * @param cipher    通用加解密中间层
+     * @param storeType 存储引擎类型
      */
     private DevCache(
             final String cachePath,
-            final Cipher cipher
+            final Cipher cipher,
+            final StoreType storeType
     ) {
-        mManager = new DevCacheManager(cachePath, cipher);
+        mManager = new DevCacheManager(cachePath, cipher, storeType);
     }
 
     // 数据类型
@@ -52,6 +54,28 @@ public final class DevCache {
     public static final int JSON_OBJECT  = 12;
     public static final int JSON_ARRAY   = 13;
 
+    /**
+     * detail: 缓存淘汰策略
+     * @author Ttt
+     */
+    public enum EvictPolicy {
+
+        LRU, // 淘汰最久未使用的数据
+
+        LFU, // 淘汰命中次数最少的数据
+    }
+
+    /**
+     * detail: 存储引擎类型
+     * @author Ttt
+     */
+    public enum StoreType {
+
+        FILE, // 每个 key 独立存储 .data、.config 文件
+
+        SEGMENT, // 追加写入的单文件分段存储, 适合大量小数据
+    }
+
     // =============
     // = 对外公开方法 =
     // =============
@@ -64,7 +88,7 @@ public final class DevCache {
         DevCache cache = DevCacheManager.sInstanceMaps.get("");
         if (cache == null) {
             String cachePath = PathUtils.getAppExternal().getAppCachePath(DEFAULT_NAME);
-            cache = new DevCache(cachePath, null);
+            cache = new DevCache(cachePath, null, StoreType.FILE);
             DevCacheManager.sInstanceMaps.put("", cache);
             DevCacheManager.sInstanceMaps.put(cachePath, cache);
         }
@@ -89,18 +113,86 @@ public final class DevCache {
     public static DevCache newCache(
             final String cachePath,
             final Cipher cipher
+    ) {
+        return newCache(cachePath, cipher, StoreType.FILE);
+    }
+
+    /**
+     * 获取 DevCache
+     * <pre>
+     *     存储引擎类型仅在该缓存地址首次创建 DevCache 时生效
+     * </pre>
+     * @param cachePath 缓存文件夹路径
+     * @param cipher    通用加解密中间层
+     * @param storeType 存储引擎类型
+     * @return {@link DevCache}
+     */
+    public static DevCache newCache(
+            final String cachePath,
+            final Cipher cipher,
+            final StoreType storeType
     ) {
         if (TextUtils.isEmpty(cachePath)) {
             return newCache();
         }
         DevCache cache = DevCacheManager.sInstanceMaps.get(cachePath);
         if (cache == null) {
-            cache = new DevCache(cachePath, cipher);
+            cache = new DevCache(cachePath, cipher, storeType);
             DevCacheManager.sInstanceMaps.put(cachePath, cache);
         }
         return cache;
     }
 
+    /**
+     * 获取 DevCache
+     * <pre>
+     *     超出最大缓存大小、数量时按淘汰策略自动移除数据
+     *     若该缓存地址已存在 DevCache 则更新其容量限制
+     * </pre>
+     * @param cachePath 缓存文件夹路径
+     * @param cipher    通用加解密中间层
+     * @param maxSize   最大缓存大小 ( 字节 ) 小于等于 0 表示不限制
+     * @param maxCount  最大缓存数量 小于等于 0 表示不限制
+     * @param policy    缓存淘汰策略
+     * @return {@link DevCache}
+     */
+    public static DevCache newCache(
+            final String cachePath,
+            final Cipher cipher,
+            final long maxSize,
+            final int maxCount,
+            final EvictPolicy policy
+    ) {
+        return newCache(cachePath, cipher, StoreType.FILE, maxSize, maxCount, policy);
+    }
+
+    /**
+     * 获取 DevCache
+     * <pre>
+     *     超出最大缓存大小、数量时按淘汰策略自动移除数据
+     *     若该缓存地址已存在 DevCache 则更新其容量限制
+     * </pre>
+     * @param cachePath 缓存文件夹路径
+     * @param cipher    通用加解密中间层
+     * @param storeType 存储引擎类型
+     * @param maxSize   最大缓存大小 ( 字节 ) 小于等于 0 表示不限制
+     * @param maxCount  最大缓存数量 小于等于 0 表示不限制
+     * @param policy    缓存淘汰策略
+     * @return {@link DevCache}
+     */
+    public static DevCache newCache(
+            final String cachePath,
+            final Cipher cipher,
+            final StoreType storeType,
+            final long maxSize,
+            final int maxCount,
+            final EvictPolicy policy
+    ) {
+        DevCache cache = newCache(cachePath, cipher, storeType);
+        cache.mManager.setCapacity(maxSize, maxCount, policy);
+        return cache;
+    }
+
     /**
      * 获取缓存地址
      * @return 缓存地址
@@ -109,6 +201,30 @@ public final class DevCache {
         return mManager.getCachePath();
     }
 
+    /**
+     * 获取最大缓存大小
+     * @return 最大缓存大小 ( 字节 ) 小于等于 0 表示不限制
+     */
+    public long getMaxSize() {
+        return mManager.getMaxSize();
+    }
+
+    /**
+     * 获取最大缓存数量
+     * @return 最大缓存数量 小于等于 0 表示不限制
+     */
+    public int getMaxCount() {
+        return mManager.getMaxCount();
+    }
+
+    /**
+     * 获取缓存淘汰策略
+     * @return {@link EvictPolicy}
+     */
+    public EvictPolicy getEvictPolicy() {
+        return mManager.getEvictPolicy();
+    }
+
     // =
 
     /**
@@ -728,19 +844,27 @@ public final class DevCache {
         private       long   mSaveTime;
         // 有效期 ( 毫秒 )
         private       long   mValidTime;
+        // 数据大小
+        private       long   mSize;
+        // 命中次数
+        private       int    mHitCount;
 
         protected Data(
                 String path,
                 String key,
                 int type,
                 long saveTime,
-                long validTime
+                long validTime,
+                long size,
+                int hitCount
         ) {
             this.mPath      = path;
             this.mKey       = key;
             this.mType      = type;
             this.mSaveTime  = saveTime;
             this.mValidTime = validTime;
+            this.mSize      = size;
+            this.mHitCount  = hitCount;
         }
 
         /**
@@ -774,7 +898,15 @@ public final class DevCache {
          * @return 文件大小
          */
         public long getSize() {
-            return DevCacheManager.getDataFileSize(mPath, mKey);
+            return mSize;
+        }
+
+        /**
+         * 获取命中次数
+         * @return 命中次数
+         */
+        public int getHitCount() {
+            return mHitCount;
         }
 
         // =
@@ -820,6 +952,16 @@ public final class DevCache {
             return this;
         }
 
+        protected Data setSize(long size) {
+            this.mSize = size;
+            return this;
+        }
+
+        protected Data addHitCount() {
+            this.mHitCount++;
+            return this;
+        }
+
         // ==========
         // = 判断方法 =
         // ==========
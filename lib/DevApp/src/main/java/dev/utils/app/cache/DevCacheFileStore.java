@@ -0,0 +1,199 @@
+package dev.utils.app.cache;
+
+import android.text.TextUtils;
+
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Map;
+
+import dev.utils.LogPrintUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 缓存存储引擎 ( 单 key 文件存储 )
+ * @author Ttt
+ * <pre>
+ *     每个 key 对应 .data 数据文件、.config 配置文件, 并通过 {@link DevCacheJournal} 维护索引
+ * </pre>
+ */
+final class DevCacheFileStore
+        implements DevCacheStore {
+
+    // 日志 TAG
+    private static final String          TAG              = DevCacheFileStore.class.getSimpleName();
+    // 文件后缀
+    private static final String          DATA_EXTENSION   = ".data";
+    private static final String          CONFIG_EXTENSION = ".config";
+    // 缓存地址
+    private final        String          mCachePath;
+    // 缓存索引日志
+    private final        DevCacheJournal mJournal;
+
+    DevCacheFileStore(final String cachePath) {
+        this.mCachePath = cachePath;
+        this.mJournal   = new DevCacheJournal(cachePath);
+    }
+
+    // =============
+    // = 接口实现方法 =
+    // =============
+
+    /**
+     * 加载已存储数据到索引中
+     * <pre>
+     *     优先回放索引日志, 仅在日志不存在 ( 旧版本缓存 ) 或损坏时遍历文件夹并重建日志
+     * </pre>
+     * @param entries 索引 ( 按访问顺序写入 )
+     */
+    @Override
+    public void load(Map<String, DevCache.Data> entries) {
+        if (!mJournal.read(entries)) {
+            entries.clear();
+            _scanCacheFolder(entries);
+            mJournal.rebuild(entries.values());
+        }
+    }
+
+    @Override
+    public boolean isLost() {
+        return mJournal.isLost();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        if (TextUtils.isEmpty(key)) return false;
+        return FileUtils.isFileExists(_getKeyDataFile(key))
+                && FileUtils.isFileExists(_getKeyConfigFile(key));
+    }
+
+    @Override
+    public boolean put(
+            DevCache.Data data,
+            byte[] bytes
+    ) {
+        String key = data.getKey();
+        if (FileUtils.saveFile(_getKeyDataFile(key), bytes)) {
+            FileUtils.saveFile(_getKeyConfigFile(key), _toDataString(data).getBytes());
+            mJournal.put(data);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return FileUtils.readFileBytes(_getKeyDataFile(key));
+    }
+
+    @Override
+    public void remove(String key) {
+        FileUtils.deleteFile(_getKeyDataFile(key));
+        FileUtils.deleteFile(_getKeyConfigFile(key));
+        mJournal.remove(key);
+    }
+
+    @Override
+    public void hit(String key) {
+        mJournal.read(key);
+    }
+
+    @Override
+    public void onChanged(Collection<DevCache.Data> entries) {
+        if (mJournal.isRebuildRequired(entries.size())) {
+            mJournal.rebuild(entries);
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取 Key 数据文件
+     * @param key 存储 key
+     * @return Key 数据文件
+     */
+    private File _getKeyDataFile(final String key) {
+        if (TextUtils.isEmpty(key)) return null;
+        return FileUtils.getFile(mCachePath, key + DATA_EXTENSION);
+    }
+
+    /**
+     * 获取 Key 配置文件
+     * @param key 存储 key
+     * @return Key 配置文件
+     */
+    private File _getKeyConfigFile(final String key) {
+        if (TextUtils.isEmpty(key)) return null;
+        return FileUtils.getFile(mCachePath, key + CONFIG_EXTENSION);
+    }
+
+    /**
+     * 遍历缓存文件夹读取 .config 配置构建索引
+     * @param entries 索引
+     */
+    private void _scanCacheFolder(final Map<String, DevCache.Data> entries) {
+        if (mCachePath == null) return;
+        File[] cachedFiles = new File(mCachePath).listFiles();
+        if (cachedFiles == null) return;
+        for (File file : cachedFiles) {
+            if (file != null && file.isFile()) {
+                String fileName = file.getName();
+                if (fileName.endsWith(CONFIG_EXTENSION)) {
+                    String        key  = FileUtils.getFileNotSuffix(fileName);
+                    DevCache.Data data = _getData(key);
+                    if (data != null) {
+                        entries.put(key, data);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Data Format JSON String
+     * @param data 数据源
+     * @return JSON String
+     */
+    private String _toDataString(final DevCache.Data data) {
+        // Data JSON Format
+        return String.format(
+                "{\"key\":\"%s\",\"type\":%d,\"saveTime\":%d,\"validTime\":%d}",
+                data.getKey(), data.getType(),
+                data.getSaveTime(), data.getValidTime()
+        );
+    }
+
+    /**
+     * 读取配置初始化 Data
+     * @param key 存储 key
+     * @return {@link DevCache.Data}
+     */
+    private DevCache.Data _getData(final String key) {
+        if (!exists(key)) return null;
+        try {
+            File       configFile = _getKeyConfigFile(key);
+            String     config     = new String(FileUtils.readFileBytes(configFile));
+            JSONObject jsonObject = new JSONObject(config);
+            if (jsonObject.has("key")
+                    && jsonObject.has("type")
+                    && jsonObject.has("saveTime")
+                    && jsonObject.has("validTime")
+            ) {
+                String _key      = jsonObject.getString("key");
+                int    type      = jsonObject.getInt("type");
+                long   saveTime  = jsonObject.getLong("saveTime");
+                long   validTime = jsonObject.getLong("validTime");
+                return new DevCache.Data(mCachePath, _key,
+                        type, saveTime, validTime,
+                        FileUtils.getFileLength(_getKeyDataFile(_key)), 0
+                );
+            }
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "_getData");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,319 @@
+package dev.utils.app.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Map;
+
+import dev.utils.LogPrintUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 缓存索引日志
+ * @author Ttt
+ * <pre>
+ *     以追加方式记录每个 key 的存储、读取、删除操作, 重启时回放日志即可恢复内存索引
+ *     无需遍历缓存文件夹读取每个 .config 文件
+ *     <p></p>
+ *     日志格式 ( 以 \t 分隔, key 固定为最后一列 )
+ *     PUT  type saveTime validTime size hitCount key
+ *     READ key
+ *     DEL  key
+ *     <p></p>
+ *     冗余记录过多时会重写为仅包含有效 key 的精简日志
+ * </pre>
+ */
+final class DevCacheJournal {
+
+    // 日志 TAG
+    private static final String  TAG                = DevCacheJournal.class.getSimpleName();
+    // 日志文件名
+    static final         String  JOURNAL_FILE       = "dev_cache.journal";
+    // 日志临时文件名
+    private static final String  JOURNAL_FILE_TMP   = "dev_cache.journal.tmp";
+    // 日志文件头
+    private static final String  MAGIC              = "dev.utils.app.cache.DevCache";
+    // 日志版本
+    private static final String  VERSION            = "1";
+    // 操作类型
+    private static final String  PUT                = "PUT";
+    private static final String  READ               = "READ";
+    private static final String  DEL                = "DEL";
+    // 冗余记录触发重写的最小值
+    private static final int     REDUNDANT_OP_LIMIT = 2000;
+    // 日志编码
+    private static final Charset CHARSET            = Charset.forName("UTF-8");
+
+    // 缓存地址
+    private final String mCachePath;
+    // 日志文件
+    private final File   mJournalFile;
+    // 日志写入流
+    private       Writer mWriter;
+    // 冗余记录数
+    private       int    mRedundantOpCount;
+
+    DevCacheJournal(final String cachePath) {
+        this.mCachePath   = cachePath;
+        this.mJournalFile = FileUtils.getFile(cachePath, JOURNAL_FILE);
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 是否存在日志文件
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean exists() {
+        return mJournalFile != null && mJournalFile.exists();
+    }
+
+    /**
+     * 日志文件是否在写入期间被外部删除
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isLost() {
+        return mWriter != null && !exists();
+    }
+
+    /**
+     * 回放日志到索引中
+     * @param entries 索引 ( 按回放顺序写入 )
+     * @return {@code true} success, {@code false} fail ( 日志不存在或已损坏 )
+     */
+    boolean read(final Map<String, DevCache.Data> entries) {
+        if (!exists()) return false;
+        BufferedReader reader = null;
+        int            lines  = 0;
+        try {
+            reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(mJournalFile), CHARSET
+            ));
+            if (!MAGIC.equals(reader.readLine()) || !VERSION.equals(reader.readLine())) {
+                return false;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (_readLine(line, entries)) lines++;
+            }
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "read");
+            entries.clear();
+            return false;
+        } finally {
+            CloseUtils.closeIOQuietly(reader);
+        }
+        mRedundantOpCount = Math.max(0, lines - entries.size());
+        return _openWriter();
+    }
+
+    /**
+     * 重写日志 ( 仅保留有效 key )
+     * @param entries 索引
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean rebuild(final Collection<DevCache.Data> entries) {
+        close();
+        FileUtils.createFolder(mCachePath);
+        File   tmpFile = FileUtils.getFile(mCachePath, JOURNAL_FILE_TMP);
+        Writer writer  = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(tmpFile), CHARSET
+            ));
+            writer.write(MAGIC);
+            writer.write('\n');
+            writer.write(VERSION);
+            writer.write('\n');
+            for (DevCache.Data data : entries) {
+                _writePut(writer, data);
+            }
+            writer.flush();
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "rebuild");
+            CloseUtils.closeIOQuietly(writer);
+            FileUtils.deleteFile(tmpFile);
+            return false;
+        }
+        CloseUtils.closeIOQuietly(writer);
+        if (!tmpFile.renameTo(mJournalFile)) {
+            FileUtils.deleteFile(tmpFile);
+            return false;
+        }
+        mRedundantOpCount = 0;
+        return _openWriter();
+    }
+
+    /**
+     * 记录存储操作
+     * @param data 缓存 Data
+     */
+    void put(final DevCache.Data data) {
+        if (mWriter == null) return;
+        try {
+            _writePut(mWriter, data);
+            mWriter.flush();
+            mRedundantOpCount++;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "put");
+        }
+    }
+
+    /**
+     * 记录读取操作
+     * <pre>
+     *     读取记录仅用于恢复 LRU 顺序、LFU 次数, 不主动 flush
+     * </pre>
+     * @param key 存储 key
+     */
+    void read(final String key) {
+        _append(READ, key, false);
+    }
+
+    /**
+     * 记录删除操作
+     * @param key 存储 key
+     */
+    void remove(final String key) {
+        _append(DEL, key, true);
+    }
+
+    /**
+     * 是否需要重写日志
+     * @param entryCount 有效 key 数量
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isRebuildRequired(final int entryCount) {
+        return mRedundantOpCount >= REDUNDANT_OP_LIMIT
+                && mRedundantOpCount >= entryCount;
+    }
+
+    /**
+     * 刷新并关闭日志写入流
+     */
+    void close() {
+        CloseUtils.flushCloseIOQuietly(mWriter);
+        mWriter = null;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 打开日志追加写入流
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean _openWriter() {
+        try {
+            mWriter = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(mJournalFile, true), CHARSET
+            ));
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "_openWriter");
+        }
+        return false;
+    }
+
+    /**
+     * 追加操作记录
+     * @param op    操作类型
+     * @param key   存储 key
+     * @param flush 是否 flush
+     */
+    private void _append(
+            final String op,
+            final String key,
+            final boolean flush
+    ) {
+        if (mWriter == null) return;
+        try {
+            mWriter.write(op);
+            mWriter.write('\t');
+            mWriter.write(key);
+            mWriter.write('\n');
+            if (flush) mWriter.flush();
+            mRedundantOpCount++;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "_append");
+        }
+    }
+
+    /**
+     * 写入存储记录
+     * @param writer {@link Writer}
+     * @param data   缓存 Data
+     * @throws Exception 异常时抛出
+     */
+    private static void _writePut(
+            final Writer writer,
+            final DevCache.Data data
+    )
+            throws Exception {
+        writer.write(PUT);
+        writer.write('\t');
+        writer.write(String.valueOf(data.getType()));
+        writer.write('\t');
+        writer.write(String.valueOf(data.getSaveTime()));
+        writer.write('\t');
+        writer.write(String.valueOf(data.getValidTime()));
+        writer.write('\t');
+        writer.write(String.valueOf(data.getSize()));
+        writer.write('\t');
+        writer.write(String.valueOf(data.getHitCount()));
+        writer.write('\t');
+        writer.write(data.getKey());
+        writer.write('\n');
+    }
+
+    /**
+     * 回放单行记录
+     * @param line    日志行
+     * @param entries 索引
+     * @return {@code true} 有效记录, {@code false} 无效记录
+     */
+    private boolean _readLine(
+            final String line,
+            final Map<String, DevCache.Data> entries
+    ) {
+        if (line.startsWith(PUT)) {
+            String[] values = line.split("\t", 7);
+            if (values.length != 7) return false;
+            String key = values[6];
+            entries.remove(key); // 保证回放顺序
+            entries.put(key, new DevCache.Data(
+                    mCachePath, key, Integer.parseInt(values[1]),
+                    Long.parseLong(values[2]), Long.parseLong(values[3]),
+                    Long.parseLong(values[4]), Integer.parseInt(values[5])
+            ));
+            return true;
+        }
+        int index = line.indexOf('\t');
+        if (index <= 0) return false;
+        String op  = line.substring(0, index);
+        String key = line.substring(index + 1);
+        if (READ.equals(op)) {
+            DevCache.Data data = entries.remove(key);
+            if (data != null) {
+                data.addHitCount();
+                entries.put(key, data);
+            }
+            return true;
+        } else if (DEL.equals(op)) {
+            entries.remove(key);
+            return true;
+        }
+        return false;
+    }
+}
@@ -11,15 +11,17 @@ import org.json.JSONObject;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -27,7 +29,6 @@ import dev.utils.DevFinal;
 import dev.utils.LogPrintUtils;
 import dev.utils.app.image.ImageUtils;
 import dev.utils.common.CloseUtils;
-import dev.utils.common.FileUtils;
 import dev.utils.common.cipher.Cipher;
 
 /**
@@ -40,9 +41,6 @@ final class DevCacheManager {
     protected static final Map<String, DevCache> sInstanceMaps    = new HashMap<>();
     // 日志 TAG
     private final          String                TAG              = DevCacheManager.class.getSimpleName();
-    // 文件后缀
-    private static final   String                DATA_EXTENSION   = ".data";
-    private static final   String                CONFIG_EXTENSION = ".config";
     // 缓存地址
     private final          String                mCachePath;
     // 通用加解密中间层
@@ -51,44 +49,49 @@ final class DevCacheManager {
     private final          AtomicLong            mCacheSize       = new AtomicLong();
     // 总缓存的文件总数
     private final          AtomicInteger         mCacheCount      = new AtomicInteger();
+    // 缓存存储引擎
+    private final          DevCacheStore         mStore;
+    // 最大缓存大小 ( 字节 ) 小于等于 0 表示不限制
+    private volatile       long                  mMaxSize;
+    // 最大缓存数量 小于等于 0 表示不限制
+    private volatile       int                   mMaxCount;
+    // 缓存淘汰策略
+    private volatile       DevCache.EvictPolicy  mEvictPolicy     = DevCache.EvictPolicy.LRU;
+    // 是否已加载索引
+    private                boolean               mIndexLoaded;
 
     public DevCacheManager(
             String cachePath,
-            Cipher cipher
+            Cipher cipher,
+            DevCache.StoreType storeType
     ) {
         this.mCachePath = cachePath;
         this.mCipher    = cipher;
-        // 计算文件信息
-        calculateCacheSizeAndCacheCount();
+        if (storeType == DevCache.StoreType.SEGMENT) {
+            this.mStore = new DevCacheSegmentStore(cachePath);
+        } else {
+            this.mStore = new DevCacheFileStore(cachePath);
+        }
     }
 
     /**
-     * 计算 cacheSize 和 cacheCount
+     * 加载缓存索引
      */
-    private void calculateCacheSizeAndCacheCount() {
-        new Thread(() -> {
-            long size = 0, count = 0;
-            if (mCachePath != null) {
-                File[] cachedFiles = new File(mCachePath).listFiles();
-                if (cachedFiles != null) {
-                    for (File file : cachedFiles) {
-                        if (file != null && file.isFile()) {
-                            String fileName = file.getName();
-                            if (fileName.endsWith(CONFIG_EXTENSION)) {
-                                String        key  = FileUtils.getFileNotSuffix(fileName);
-                                DevCache.Data data = _mapGetData(key);
-                                if (data != null) {
-                                    size += data.getSize();
-                                    count += 1;
-                                }
-                            }
-                        }
-                    }
-                    mCacheSize.set(size);
-                    mCacheCount.set((int) count);
-                }
-            }
-        }).start();
+    private void _ensureIndex() {
+        if (mIndexLoaded) return;
+        mIndexLoaded = true;
+        mDataMaps.clear();
+        mFrequencies.clear();
+        mFrequencyBuckets.clear();
+        mStore.load(mDataMaps);
+        long size = 0;
+        for (DevCache.Data data : mDataMaps.values()) {
+            size += data.getSize();
+            _addFrequency(data.getKey(), data.getHitCount());
+        }
+        mCacheSize.set(size);
+        mCacheCount.set(mDataMaps.size());
+        _trimToCapacity(null);
     }
 
     // =============
@@ -99,19 +102,35 @@ final class DevCacheManager {
         return mCachePath;
     }
 
+    public synchronized void setCapacity(
+            long maxSize,
+            int maxCount,
+            DevCache.EvictPolicy policy
+    ) {
+        this.mMaxSize     = maxSize;
+        this.mMaxCount    = maxCount;
+        this.mEvictPolicy = (policy != null) ? policy : DevCache.EvictPolicy.LRU;
+        if (mIndexLoaded) _trimToCapacity(null);
+    }
+
+    public long getMaxSize() {
+        return mMaxSize;
+    }
+
+    public int getMaxCount() {
+        return mMaxCount;
+    }
+
+    public DevCache.EvictPolicy getEvictPolicy() {
+        return mEvictPolicy;
+    }
+
     // =
 
-    public void remove(String key) {
+    public synchronized void remove(String key) {
         if (TextUtils.isEmpty(key)) return;
-        File dataFile   = _getKeyDataFile(key);
-        File configFile = _getKeyConfigFile(key);
-        long size       = getDataFileSize(mCachePath, key);
-        if (FileUtils.deleteFile(dataFile)
-                && FileUtils.deleteFile(configFile)) {
-            mCacheSize.addAndGet(-size);
-            mCacheCount.addAndGet(-1);
-            mDataMaps.remove(key); // 移除缓存
-        }
+        _ensureIndex();
+        _remove(key);
     }
 
     public void removeForKeys(String[] keys) {
@@ -121,8 +140,8 @@ final class DevCacheManager {
         }
     }
 
-    public boolean contains(String key) {
-        return _isExistKeyFile(key);
+    public synchronized boolean contains(String key) {
+        return _mapGetData(key) != null && mStore.exists(key);
     }
 
     public boolean isDue(String key) {
@@ -133,7 +152,7 @@ final class DevCacheManager {
 
     public void clear() {
         new Thread(() -> {
-            HashSet<String> keys = new HashSet<>(mDataMaps.keySet());
+            HashSet<String> keys = _snapshotKeys();
             for (String key : keys) {
                 remove(key);
             }
@@ -142,7 +161,7 @@ final class DevCacheManager {
 
     public void clearDue() {
         new Thread(() -> {
-            HashSet<String> keys = new HashSet<>(mDataMaps.keySet());
+            HashSet<String> keys = _snapshotKeys();
             for (String key : keys) {
                 if (isDue(key)) remove(key);
             }
@@ -151,7 +170,7 @@ final class DevCacheManager {
 
     public void clearType(int type) {
         new Thread(() -> {
-            HashSet<String> keys = new HashSet<>(mDataMaps.keySet());
+            HashSet<String> keys = _snapshotKeys();
             for (String key : keys) {
                 DevCache.Data data = _mapGetData(key);
                 if (data != null && data.getType() == type) {
@@ -165,27 +184,29 @@ final class DevCacheManager {
         return _mapGetData(key);
     }
 
-    public List<DevCache.Data> getKeys() {
+    public synchronized List<DevCache.Data> getKeys() {
+        _ensureIndex();
         return new ArrayList<>(mDataMaps.values());
     }
 
-    public List<DevCache.Data> getPermanentKeys() {
+    public synchronized List<DevCache.Data> getPermanentKeys() {
+        _ensureIndex();
         List<DevCache.Data> lists = new ArrayList<>();
-        HashSet<String>     keys  = new HashSet<>(mDataMaps.keySet());
-        for (String key : keys) {
-            DevCache.Data data = _mapGetData(key);
-            if (data != null && data.isPermanent()) {
+        for (DevCache.Data data : mDataMaps.values()) {
+            if (data.isPermanent()) {
                 lists.add(data);
             }
         }
         return lists;
     }
 
-    public int getCount() {
+    public synchronized int getCount() {
+        _ensureIndex();
         return mCacheCount.get();
     }
 
-    public long getSize() {
+    public synchronized long getSize() {
+        _ensureIndex();
         return mCacheSize.get();
     }
 
@@ -652,120 +673,143 @@ final class DevCacheManager {
         return defaultValue;
     }
 
-    // ==========
-    // = 内部方法 =
-    // ==========
+    // ========
+    // = Data =
+    // ========
+
+    // 缓存 Data ( 按使用顺序排序, 头部为最久未使用, 仅读取、写入数据时调整顺序 )
+    private final LinkedHashMap<String, DevCache.Data>    mDataMaps         = new LinkedHashMap<>();
+    // LFU 频次 ( key -> 频次 )
+    private final HashMap<String, Integer>                mFrequencies      = new HashMap<>();
+    // LFU 频次桶 ( 频次 -> 同频次 key, 按加入顺序排序 )
+    private final TreeMap<Integer, LinkedHashSet<String>> mFrequencyBuckets = new TreeMap<>();
 
     /**
-     * 获取 Key 数据文件
+     * 获取 Key 数据 ( 仅查询, 不影响淘汰顺序 )
      * @param key 存储 key
-     * @return Key 数据文件
+     * @return {@link DevCache.Data}
      */
-    private File _getKeyDataFile(final String key) {
+    private synchronized DevCache.Data _mapGetData(final String key) {
         if (TextUtils.isEmpty(key)) return null;
-        return FileUtils.getFile(mCachePath, key + DATA_EXTENSION);
+        _ensureIndex();
+        return mDataMaps.get(key);
+    }
+
+    private synchronized HashSet<String> _snapshotKeys() {
+        _ensureIndex();
+        return new HashSet<>(mDataMaps.keySet());
     }
 
     /**
-     * 获取 Key 配置文件
+     * 删除 Key 数据并移除索引
      * @param key 存储 key
-     * @return Key 配置文件
      */
-    private File _getKeyConfigFile(final String key) {
-        if (TextUtils.isEmpty(key)) return null;
-        return FileUtils.getFile(mCachePath, key + CONFIG_EXTENSION);
+    private void _remove(final String key) {
+        DevCache.Data data = mDataMaps.remove(key);
+        _removeFrequency(key);
+        mStore.remove(key);
+        if (data != null) {
+            mCacheSize.addAndGet(-data.getSize());
+            mCacheCount.decrementAndGet();
+            mStore.onChanged(mDataMaps.values());
+        }
     }
 
     /**
-     * 获取存储数据大小
-     * @param path 文件地址
-     * @param key  存储 key
-     * @return 存储数据大小
+     * 超出缓存容量时按淘汰策略移除数据
+     * @param protectKey 优先保留的 key ( 刚写入的数据, 仅剩该数据仍超出容量时才移除 )
      */
-    public static long getDataFileSize(
-            final String path,
-            final String key
-    ) {
-        if (TextUtils.isEmpty(key)) return 0L;
-        return FileUtils.getFileLength(
-                FileUtils.getFile(path, key + DATA_EXTENSION)
-        );
+    private void _trimToCapacity(final String protectKey) {
+        while ((mMaxSize > 0 && mCacheSize.get() > mMaxSize)
+                || (mMaxCount > 0 && mCacheCount.get() > mMaxCount)) {
+            String key = _findEvictKey(protectKey);
+            if (key == null) key = protectKey;
+            if (key == null || !mDataMaps.containsKey(key)) return;
+            _remove(key);
+        }
     }
 
     /**
-     * 判断是否存在 Key 配置、数据文件
-     * @param key 存储 key
-     * @return {@code true} yes, {@code false} no
+     * 获取需淘汰的 key
+     * <pre>
+     *     LRU 取最久未使用的 key
+     *     LFU 取频次最低的 key, 频次相同时取最早加入该频次的 key
+     * </pre>
+     * @param protectKey 优先保留的 key
+     * @return 需淘汰的 key
      */
-    private boolean _isExistKeyFile(final String key) {
-        if (TextUtils.isEmpty(key)) return false;
-        return FileUtils.isFileExists(_getKeyDataFile(key))
-                && FileUtils.isFileExists(_getKeyConfigFile(key));
-    }
-
-    // ========
-    // = Data =
-    // ========
-
-    // 缓存 Data
-    private final HashMap<String, DevCache.Data> mDataMaps = new HashMap<>();
-
-    private DevCache.Data _mapGetData(final String key) {
-        if (TextUtils.isEmpty(key)) return null;
-        DevCache.Data data = mDataMaps.get(key);
-        if (data == null) {
-            data = _getData(key);
-            if (data != null) {
-                mDataMaps.put(key, data);
+    private String _findEvictKey(final String protectKey) {
+        if (mEvictPolicy == DevCache.EvictPolicy.LFU) {
+            for (LinkedHashSet<String> keys : mFrequencyBuckets.values()) {
+                for (String key : keys) {
+                    if (!key.equals(protectKey)) return key;
+                }
             }
+            return null;
         }
-        return data;
+        for (String key : mDataMaps.keySet()) {
+            if (!key.equals(protectKey)) return key;
+        }
+        return null;
     }
 
-    // =
+    /**
+     * 将 key 移至最近使用
+     * @param key  存储 key
+     * @param data {@link DevCache.Data}
+     */
+    private void _touch(
+            final String key,
+            final DevCache.Data data
+    ) {
+        mDataMaps.remove(key);
+        mDataMaps.put(key, data);
+    }
 
     /**
-     * Data Format JSON String
-     * @param data 数据源
-     * @return JSON String
+     * 添加 LFU 频次
+     * @param key       存储 key
+     * @param frequency 频次
      */
-    private String _toDataString(final DevCache.Data data) {
-        // Data JSON Format
-        return String.format(
-                "{\"key\":\"%s\",\"type\":%d,\"saveTime\":%d,\"validTime\":%d}",
-                data.getKey(), data.getType(),
-                data.getSaveTime(), data.getValidTime()
-        );
+    private void _addFrequency(
+            final String key,
+            final int frequency
+    ) {
+        mFrequencies.put(key, frequency);
+        LinkedHashSet<String> keys = mFrequencyBuckets.get(frequency);
+        if (keys == null) {
+            keys = new LinkedHashSet<>();
+            mFrequencyBuckets.put(frequency, keys);
+        }
+        keys.add(key);
     }
 
     /**
-     * 读取配置初始化 Data
+     * 移除 LFU 频次
      * @param key 存储 key
-     * @return {@link DevCache.Data}
+     * @return 移除前频次, 不存在则返回 null
      */
-    private DevCache.Data _getData(final String key) {
-        if (!_isExistKeyFile(key)) return null;
-        try {
-            File       configFile = _getKeyConfigFile(key);
-            String     config     = new String(FileUtils.readFileBytes(configFile));
-            JSONObject jsonObject = new JSONObject(config);
-            if (jsonObject.has("key")
-                    && jsonObject.has("type")
-                    && jsonObject.has("saveTime")
-                    && jsonObject.has("validTime")
-            ) {
-                String _key      = jsonObject.getString("key");
-                int    type      = jsonObject.getInt("type");
-                long   saveTime  = jsonObject.getLong("saveTime");
-                long   validTime = jsonObject.getLong("validTime");
-                return new DevCache.Data(mCachePath, _key,
-                        type, saveTime, validTime
-                );
+    private Integer _removeFrequency(final String key) {
+        Integer frequency = mFrequencies.remove(key);
+        if (frequency != null) {
+            LinkedHashSet<String> keys = mFrequencyBuckets.get(frequency);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) mFrequencyBuckets.remove(frequency);
             }
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "_getData");
         }
-        return null;
+        return frequency;
+    }
+
+    /**
+     * 获取新数据初始 LFU 频次
+     * <pre>
+     *     使用当前最低频次, 避免新数据 ( 命中次数为 0 ) 总是最先被淘汰
+     * </pre>
+     * @return 初始频次
+     */
+    private int _initialFrequency() {
+        return mFrequencyBuckets.isEmpty() ? 0 : mFrequencyBuckets.firstKey();
     }
 
     // =
@@ -778,7 +822,7 @@ final class DevCacheManager {
      * @param validTime 有效时间 ( 毫秒 ) 小于等于 0 为永久有效
      * @return {@code true} success, {@code false} fail
      */
-    private boolean _put(
+    private synchronized boolean _put(
             String key,
             int type,
             byte[] bytes,
@@ -794,24 +838,37 @@ final class DevCacheManager {
             }
         }
         if (bytes == null) return false;
-        DevCache.Data data   = _mapGetData(key);
-        long          size   = getDataFileSize(mCachePath, key);
-        boolean       result = FileUtils.saveFile(_getKeyDataFile(key), bytes);
+        // 数据本身超出最大缓存大小, 无需淘汰其他数据
+        if (mMaxSize > 0 && bytes.length > mMaxSize) return false;
+        _ensureIndex();
+        if (mStore.isLost()) {
+            // 缓存文件夹被外部清空, 重置索引
+            mIndexLoaded = false;
+            _ensureIndex();
+        }
+        DevCache.Data data  = mDataMaps.get(key);
+        DevCache.Data value = new DevCache.Data(mCachePath, key, type,
+                System.currentTimeMillis(), validTime, bytes.length,
+                (data != null) ? data.getHitCount() : 0
+        );
+        boolean result = mStore.put(value, bytes);
         if (result) {
             if (data != null) {
-                data.setSaveTime(System.currentTimeMillis())
-                        .setType(type).setValidTime(validTime);
-                mCacheSize.addAndGet(-size);
-                mCacheSize.addAndGet(getDataFileSize(mCachePath, key));
+                mCacheSize.addAndGet(value.getSize() - data.getSize());
+                data.setSaveTime(value.getSaveTime())
+                        .setType(type).setValidTime(validTime)
+                        .setSize(value.getSize());
+                _touch(key, data);
             } else {
-                data = new DevCache.Data(mCachePath, key, type,
-                        System.currentTimeMillis(), validTime
-                );
-                mCacheSize.addAndGet(getDataFileSize(mCachePath, key));
+                mCacheSize.addAndGet(value.getSize());
                 mCacheCount.incrementAndGet();
-                mDataMaps.put(key, data);
+                _addFrequency(key, _initialFrequency());
+                mDataMaps.put(key, value);
             }
-            FileUtils.saveFile(_getKeyConfigFile(key), _toDataString(data).getBytes());
+            _trimToCapacity(key);
+            mStore.onChanged(mDataMaps.values());
+            // 数据本身超出缓存容量时已被移除
+            result = mDataMaps.containsKey(key);
         }
         return result;
     }
@@ -822,7 +879,23 @@ final class DevCacheManager {
      * @return 保存的数据
      */
     private byte[] _get(String key) {
-        byte[] bytes = FileUtils.readFileBytes(_getKeyDataFile(key));
+        byte[] bytes;
+        synchronized (this) {
+            bytes = mStore.get(key);
+            DevCache.Data data = mDataMaps.get(key);
+            if (data != null) {
+                if (bytes == null) {
+                    // 数据已不存在, 移除索引
+                    _remove(key);
+                } else {
+                    data.addHitCount();
+                    _touch(key, data);
+                    Integer frequency = _removeFrequency(key);
+                    _addFrequency(key, (frequency != null) ? frequency + 1 : data.getHitCount());
+                    mStore.hit(key);
+                }
+            }
+        }
         if (bytes != null && mCipher != null) {
             try {
                 bytes = mCipher.decrypt(bytes);
@@ -0,0 +1,953 @@
+package dev.utils.app.cache;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import dev.utils.LogPrintUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 缓存存储引擎 ( 追加写入分段存储 )
+ * @author Ttt
+ * <pre>
+ *     所有 key 的存储、删除均以记录形式追加写入当前分段文件, 分段达到上限后写入 footer 并封存
+ *     footer 记录该分段内全部记录的 key、偏移量等信息, 重启时仅需读取 footer 即可重建 key 索引
+ *     未封存的分段 ( 当前写入分段或异常退出 ) 则逐条校验记录并截断损坏部分
+ *     <p></p>
+ *     记录格式
+ *     bodyLength(int) crc32(int) op(byte) type(int) saveTime(long) validTime(long) keyLength(int) valueLength(int) key value
+ *     footer 格式
+ *     [op(byte) type(int) saveTime(long) validTime(long) offset(long) valueLength(int) keyLength(int) key]...
+ *     footerOffset(long) entryCount(int) footerCrc32(int) magic(int)
+ *     footer 校验失败 ( 写入中断、旧版本格式 ) 时按未封存分段逐条校验记录, 并重新封存
+ *     <p></p>
+ *     读取数据通过内存映射完成, 有效数据占比过低的已封存分段由后台线程在锁外重写为临时文件 ( 仅保留有效数据 )
+ *     再在锁内替换原分段文件 ( 分段 id 不变, 保证重启回放顺序 )
+ *     该引擎不持久化读取记录, 重启后 LRU 顺序为写入顺序
+ * </pre>
+ */
+final class DevCacheSegmentStore
+        implements DevCacheStore {
+
+    // 日志 TAG
+    private static final String          TAG               = DevCacheSegmentStore.class.getSimpleName();
+    // 分段文件后缀
+    static final         String          SEGMENT_EXTENSION = ".segment";
+    // 分段文件最大大小
+    private static final long            SEGMENT_MAX_SIZE  = 4L * 1024L * 1024L;
+    // 记录头大小 bodyLength + crc32
+    private static final int             RECORD_HEADER     = 8;
+    // 记录体固定部分大小
+    private static final int             BODY_HEADER       = 29;
+    // footer 单条固定部分大小
+    private static final int             FOOTER_ENTRY      = 37;
+    // footer 尾部大小 footerOffset + entryCount + footerCrc32 + magic
+    private static final int             TRAILER_SIZE      = 20;
+    // footer 尾部标识
+    private static final int             FOOTER_MAGIC      = 0x44435332;
+    // 合并临时文件后缀
+    private static final String          TEMP_EXTENSION    = ".tmp";
+    // 记录类型
+    private static final byte            OP_PUT            = 1;
+    private static final byte            OP_DEL            = 2;
+    // 有效数据占比低于该值则合并分段
+    private static final float           COMPACT_RATIO     = 0.5F;
+    // 编码
+    private static final Charset         CHARSET           = Charset.forName("UTF-8");
+    // 分段合并线程
+    private static final ExecutorService COMPACT_EXECUTOR  = Executors.newSingleThreadExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "DevCache-Compact");
+                thread.setDaemon(true);
+                return thread;
+            }
+    );
+
+    // 缓存地址
+    private final String                    mCachePath;
+    // 分段文件 ( 按 id 排序 )
+    private final TreeMap<Integer, Segment> mSegments = new TreeMap<>();
+    // key 索引
+    private final HashMap<String, Location> mIndex    = new HashMap<>();
+    // 当前写入分段
+    private       Segment                   mActive;
+    // 是否合并中
+    private       boolean                   mCompacting;
+
+    DevCacheSegmentStore(final String cachePath) {
+        this.mCachePath = cachePath;
+    }
+
+    // =============
+    // = 接口实现方法 =
+    // =============
+
+    @Override
+    public synchronized void load(Map<String, DevCache.Data> entries) {
+        _closeActive();
+        mSegments.clear();
+        mIndex.clear();
+        if (mCachePath == null) return;
+        File[] files = new File(mCachePath).listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file != null && file.isFile()) {
+                    String fileName = file.getName();
+                    if (fileName.endsWith(SEGMENT_EXTENSION + TEMP_EXTENSION)) {
+                        // 合并中断的临时文件
+                        FileUtils.deleteFile(file);
+                    } else if (fileName.endsWith(SEGMENT_EXTENSION)) {
+                        try {
+                            int id = Integer.parseInt(FileUtils.getFileNotSuffix(fileName));
+                            mSegments.put(id, new Segment(id, file));
+                        } catch (Exception ignore) {
+                        }
+                    }
+                }
+            }
+        }
+        Segment lastSegment = mSegments.isEmpty() ? null : mSegments.lastEntry().getValue();
+        for (Segment segment : mSegments.values()) {
+            if (!_readFooter(segment, entries)) {
+                _scanRecords(segment, entries);
+                // 非最后分段不再写入, 重新写入 footer 封存
+                if (segment != lastSegment && _openActive(segment)) {
+                    try {
+                        _seal(segment);
+                    } catch (Exception e) {
+                        LogPrintUtils.eTag(TAG, e, "load - seal");
+                        CloseUtils.closeIOQuietly(segment.randomAccessFile);
+                        segment.randomAccessFile = null;
+                        segment.channel          = null;
+                    }
+                }
+            }
+        }
+        // 最后一个未封存分段继续作为写入分段
+        if (!mSegments.isEmpty()) {
+            Segment last = mSegments.lastEntry().getValue();
+            if (!last.sealed && _openActive(last)) {
+                mActive = last;
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean isLost() {
+        return mActive != null && !mActive.file.exists();
+    }
+
+    @Override
+    public synchronized boolean exists(String key) {
+        return mIndex.containsKey(key);
+    }
+
+    @Override
+    public synchronized boolean put(
+            DevCache.Data data,
+            byte[] bytes
+    ) {
+        return _append(
+                OP_PUT, data.getKey(), data.getType(),
+                data.getSaveTime(), data.getValidTime(), bytes
+        );
+    }
+
+    @Override
+    public synchronized byte[] get(String key) {
+        Location location = mIndex.get(key);
+        if (location == null) return null;
+        try {
+            ByteBuffer buffer = _map(location.segment, location.valuePosition + location.valueLength);
+            byte[]     bytes  = new byte[location.valueLength];
+            buffer.position((int) location.valuePosition);
+            buffer.get(bytes);
+            return bytes;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "get");
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        if (mIndex.containsKey(key)) {
+            _append(OP_DEL, key, 0, 0L, 0L, new byte[0]);
+        }
+    }
+
+    @Override
+    public void hit(String key) {
+    }
+
+    @Override
+    public synchronized void onChanged(Collection<DevCache.Data> entries) {
+        if (!mCompacting && _findCompactSegment() != null) {
+            mCompacting = true;
+            COMPACT_EXECUTOR.execute(this::_compact);
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 追加写入记录
+     * @param op        记录类型
+     * @param key       存储 key
+     * @param type      保存类型
+     * @param saveTime  保存时间
+     * @param validTime 有效时间
+     * @param value     保存数据
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean _append(
+            final byte op,
+            final String key,
+            final int type,
+            final long saveTime,
+            final long validTime,
+            final byte[] value
+    ) {
+        byte[] keyBytes     = key.getBytes(CHARSET);
+        int    bodyLength   = BODY_HEADER + keyBytes.length + value.length;
+        int    recordLength = RECORD_HEADER + bodyLength;
+        try {
+            if (mActive != null && mActive.size > 0
+                    && mActive.size + recordLength + mActive.footerLength + TRAILER_SIZE > SEGMENT_MAX_SIZE) {
+                _seal(mActive);
+                mActive = null;
+            }
+            if (mActive == null && !_newActive()) return false;
+
+            ByteBuffer buffer = _encodeRecord(op, keyBytes, type, saveTime, validTime, value);
+
+            Segment segment = mActive;
+            long    offset  = segment.size;
+            while (buffer.hasRemaining()) {
+                segment.channel.write(buffer, offset + buffer.position());
+            }
+            segment.size += recordLength;
+            segment.footer.add(new FooterEntry(
+                    op, type, saveTime, validTime, offset, value.length, keyBytes
+            ));
+            segment.footerLength += FOOTER_ENTRY + keyBytes.length;
+            _apply(segment, op, key, type, saveTime, validTime,
+                    offset, keyBytes.length, value.length, null
+            );
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "_append");
+        }
+        return false;
+    }
+
+    /**
+     * 更新 key 索引
+     * @param segment        所在分段
+     * @param op             记录类型
+     * @param key            存储 key
+     * @param type           保存类型
+     * @param saveTime       保存时间
+     * @param validTime      有效时间
+     * @param offset         记录偏移量
+     * @param keyLength      key 长度
+     * @param valueLength    数据长度
+     * @param entries        索引 ( 加载时传入 )
+     */
+    private void _apply(
+            final Segment segment,
+            final byte op,
+            final String key,
+            final int type,
+            final long saveTime,
+            final long validTime,
+            final long offset,
+            final int keyLength,
+            final int valueLength,
+            final Map<String, DevCache.Data> entries
+    ) {
+        int recordLength = RECORD_HEADER + BODY_HEADER + keyLength + valueLength;
+        segment.totalBytes += recordLength;
+        Location old;
+        if (op == OP_PUT) {
+            Location location = new Location(
+                    segment, type, saveTime, validTime,
+                    offset + RECORD_HEADER + BODY_HEADER + keyLength,
+                    valueLength, recordLength
+            );
+            segment.liveBytes += recordLength;
+            old = mIndex.put(key, location);
+            if (entries != null) {
+                entries.remove(key); // 保证加载顺序
+                entries.put(key, new DevCache.Data(
+                        mCachePath, key, type, saveTime,
+                        validTime, valueLength, 0
+                ));
+            }
+        } else {
+            // 删除记录需保留 ( 防止更早分段中的数据复活 ), 按有效数据计算
+            segment.liveBytes += recordLength;
+            old = mIndex.remove(key);
+            if (entries != null) entries.remove(key);
+        }
+        if (old != null) {
+            old.segment.liveBytes -= old.recordLength;
+        }
+    }
+
+    /**
+     * 读取已封存分段 footer
+     * @param segment 分段
+     * @param entries 索引
+     * @return {@code true} success, {@code false} fail ( 未封存或已损坏 )
+     */
+    private boolean _readFooter(
+            final Segment segment,
+            final Map<String, DevCache.Data> entries
+    ) {
+        try {
+            long length = segment.file.length();
+            if (length < TRAILER_SIZE) return false;
+            ByteBuffer buffer = _map(segment, length);
+            buffer.position((int) (length - TRAILER_SIZE));
+            long footerOffset = buffer.getLong();
+            int  entryCount   = buffer.getInt();
+            int  checksum     = buffer.getInt();
+            if (buffer.getInt() != FOOTER_MAGIC || entryCount < 0
+                    || footerOffset < 0 || footerOffset > length - TRAILER_SIZE) {
+                return false;
+            }
+            // 校验 footer ( 不含 magic )
+            if (_footerCrc(buffer, footerOffset, length) != checksum) return false;
+            buffer.position((int) footerOffset);
+            for (int i = 0; i < entryCount; i++) {
+                byte   op          = buffer.get();
+                int    type        = buffer.getInt();
+                long   saveTime    = buffer.getLong();
+                long   validTime   = buffer.getLong();
+                long   offset      = buffer.getLong();
+                int    valueLength = buffer.getInt();
+                byte[] keyBytes    = new byte[buffer.getInt()];
+                buffer.get(keyBytes);
+                _apply(segment, op, new String(keyBytes, CHARSET), type, saveTime,
+                        validTime, offset, keyBytes.length, valueLength, entries
+                );
+            }
+            segment.sealed = true;
+            segment.size   = footerOffset;
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "_readFooter");
+        }
+        return false;
+    }
+
+    /**
+     * 逐条读取未封存分段记录
+     * <pre>
+     *     遇到不完整或校验失败的记录时停止, 并截断之后的数据
+     * </pre>
+     * @param segment 分段
+     * @param entries 索引
+     */
+    private void _scanRecords(
+            final Segment segment,
+            final Map<String, DevCache.Data> entries
+    ) {
+        long position = 0L;
+        try {
+            long       length = segment.file.length();
+            ByteBuffer buffer = _map(segment, length);
+            CRC32      crc    = new CRC32();
+            byte[]     body   = new byte[0];
+            while (position + RECORD_HEADER + BODY_HEADER <= length) {
+                buffer.position((int) position);
+                int bodyLength = buffer.getInt();
+                int checksum   = buffer.getInt();
+                if (bodyLength < BODY_HEADER || position + RECORD_HEADER + bodyLength > length) {
+                    break;
+                }
+                if (body.length < bodyLength) body = new byte[bodyLength];
+                buffer.get(body, 0, bodyLength);
+                crc.reset();
+                crc.update(body, 0, bodyLength);
+                if ((int) crc.getValue() != checksum) break;
+
+                ByteBuffer record      = ByteBuffer.wrap(body, 0, bodyLength);
+                byte       op          = record.get();
+                int        type        = record.getInt();
+                long       saveTime    = record.getLong();
+                long       validTime   = record.getLong();
+                int        keyLength   = record.getInt();
+                int        valueLength = record.getInt();
+                if (keyLength < 0 || valueLength < 0
+                        || BODY_HEADER + keyLength + valueLength != bodyLength) {
+                    break;
+                }
+                byte[] keyBytes = new byte[keyLength];
+                record.get(keyBytes);
+                segment.footer.add(new FooterEntry(
+                        op, type, saveTime, validTime, position, valueLength, keyBytes
+                ));
+                segment.footerLength += FOOTER_ENTRY + keyLength;
+                _apply(segment, op, new String(keyBytes, CHARSET), type, saveTime,
+                        validTime, position, keyLength, valueLength, entries
+                );
+                position += RECORD_HEADER + bodyLength;
+            }
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "_scanRecords");
+        }
+        segment.size   = position;
+        segment.buffer = null;
+    }
+
+    /**
+     * 封存分段 ( 写入 footer )
+     * @param segment 分段
+     * @throws Exception 异常时抛出
+     */
+    private void _seal(final Segment segment)
+            throws Exception {
+        ByteBuffer buffer = _encodeFooter(segment.footer, segment.footerLength, segment.size);
+        while (buffer.hasRemaining()) {
+            segment.channel.write(buffer, segment.size + buffer.position());
+        }
+        segment.channel.truncate(segment.size + buffer.limit());
+        segment.footer.clear();
+        segment.sealed = true;
+        segment.buffer = null;
+        CloseUtils.closeIOQuietly(segment.randomAccessFile);
+        segment.randomAccessFile = null;
+        segment.channel          = null;
+    }
+
+    /**
+     * 编码记录
+     * @param op        记录类型
+     * @param keyBytes  存储 key
+     * @param type      保存类型
+     * @param saveTime  保存时间
+     * @param validTime 有效时间
+     * @param value     保存数据
+     * @return 记录数据
+     */
+    private static ByteBuffer _encodeRecord(
+            final byte op,
+            final byte[] keyBytes,
+            final int type,
+            final long saveTime,
+            final long validTime,
+            final byte[] value
+    ) {
+        int        bodyLength = BODY_HEADER + keyBytes.length + value.length;
+        ByteBuffer buffer     = ByteBuffer.allocate(RECORD_HEADER + bodyLength);
+        buffer.putInt(bodyLength);
+        buffer.putInt(0);
+        buffer.put(op);
+        buffer.putInt(type);
+        buffer.putLong(saveTime);
+        buffer.putLong(validTime);
+        buffer.putInt(keyBytes.length);
+        buffer.putInt(value.length);
+        buffer.put(keyBytes);
+        buffer.put(value);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_HEADER, bodyLength);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 编码 footer ( 含尾部 )
+     * @param footer       footer 记录
+     * @param footerLength footer 大小 ( 不含尾部 )
+     * @param footerOffset footer 偏移量 ( 记录数据大小 )
+     * @return footer 数据
+     */
+    private static ByteBuffer _encodeFooter(
+            final List<FooterEntry> footer,
+            final int footerLength,
+            final long footerOffset
+    ) {
+        ByteBuffer buffer = ByteBuffer.allocate(footerLength + TRAILER_SIZE);
+        for (FooterEntry entry : footer) {
+            buffer.put(entry.op);
+            buffer.putInt(entry.type);
+            buffer.putLong(entry.saveTime);
+            buffer.putLong(entry.validTime);
+            buffer.putLong(entry.offset);
+            buffer.putInt(entry.valueLength);
+            buffer.putInt(entry.key.length);
+            buffer.put(entry.key);
+        }
+        buffer.putLong(footerOffset);
+        buffer.putInt(footer.size());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.putInt(FOOTER_MAGIC);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 计算 footer 校验值
+     * @param buffer       分段数据
+     * @param footerOffset footer 偏移量
+     * @param length       分段大小
+     * @return footer 校验值 ( footer 记录 + footerOffset + entryCount )
+     */
+    private static int _footerCrc(
+            final ByteBuffer buffer,
+            final long footerOffset,
+            final long length
+    ) {
+        int    count = (int) (length - 8 - footerOffset);
+        byte[] bytes = new byte[count];
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position((int) footerOffset);
+        duplicate.get(bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, count);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 创建新的写入分段
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean _newActive() {
+        FileUtils.createFolder(mCachePath);
+        int     id      = mSegments.isEmpty() ? 1 : mSegments.lastKey() + 1;
+        Segment segment = new Segment(id, FileUtils.getFile(
+                mCachePath, String.format("%08d", id) + SEGMENT_EXTENSION
+        ));
+        if (!_openActive(segment)) return false;
+        mSegments.put(id, segment);
+        mActive = segment;
+        return true;
+    }
+
+    /**
+     * 打开写入分段
+     * @param segment 分段
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean _openActive(final Segment segment) {
+        try {
+            segment.randomAccessFile = new RandomAccessFile(segment.file, "rw");
+            segment.channel          = segment.randomAccessFile.getChannel();
+            // 截断未写完整的记录
+            if (segment.channel.size() > segment.size) {
+                segment.channel.truncate(segment.size);
+            }
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "_openActive");
+            CloseUtils.closeIOQuietly(segment.randomAccessFile);
+            segment.randomAccessFile = null;
+            segment.channel          = null;
+        }
+        return false;
+    }
+
+    /**
+     * 关闭写入分段
+     */
+    private void _closeActive() {
+        if (mActive != null) {
+            CloseUtils.closeIOQuietly(mActive.randomAccessFile);
+            mActive.randomAccessFile = null;
+            mActive.channel          = null;
+            mActive                  = null;
+        }
+    }
+
+    /**
+     * 获取分段内存映射
+     * <pre>
+     *     已封存分段仅映射一次, 写入分段在映射长度不足时重新映射
+     * </pre>
+     * @param segment 分段
+     * @param end     需读取的结束位置
+     * @return {@link ByteBuffer}
+     * @throws Exception 异常时抛出
+     */
+    private ByteBuffer _map(
+            final Segment segment,
+            final long end
+    )
+            throws Exception {
+        if (segment.buffer == null || segment.buffer.capacity() < end) {
+            if (segment.channel != null) {
+                segment.buffer = segment.channel.map(
+                        FileChannel.MapMode.READ_ONLY, 0, segment.channel.size()
+                );
+            } else {
+                RandomAccessFile file = new RandomAccessFile(segment.file, "r");
+                try {
+                    FileChannel channel = file.getChannel();
+                    segment.buffer = channel.map(
+                            FileChannel.MapMode.READ_ONLY, 0, channel.size()
+                    );
+                } finally {
+                    CloseUtils.closeIOQuietly(file);
+                }
+            }
+        }
+        return segment.buffer.duplicate();
+    }
+
+    // ========
+    // = 合并 =
+    // ========
+
+    /**
+     * 获取需合并的分段
+     * @return 需合并的分段
+     */
+    private Segment _findCompactSegment() {
+        for (Segment segment : mSegments.values()) {
+            if (segment.sealed && segment != mActive
+                    && segment.liveBytes < segment.totalBytes * COMPACT_RATIO) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 合并分段
+     * <pre>
+     *     锁内获取分段有效 key, 锁外将有效数据重写到临时文件 ( 已封存分段不再写入, 可直接读取 )
+     *     锁内替换分段文件并更新仍指向该分段的 key 索引, 复制期间被更新、删除的 key 保持不变
+     *     仍存在更早分段时保留删除记录, 防止旧数据在重启后复活
+     * </pre>
+     */
+    private void _compact() {
+        while (true) {
+            Segment        segment;
+            List<String>   keys      = new ArrayList<>();
+            List<Location> locations = new ArrayList<>();
+            boolean        keepDeletes;
+            synchronized (this) {
+                segment = _findCompactSegment();
+                if (segment == null) {
+                    mCompacting = false;
+                    return;
+                }
+                for (Map.Entry<String, Location> entry : mIndex.entrySet()) {
+                    if (entry.getValue().segment == segment) {
+                        keys.add(entry.getKey());
+                        locations.add(entry.getValue());
+                    }
+                }
+                keepDeletes = mSegments.firstKey() < segment.id;
+            }
+            File temp = new File(segment.file.getPath() + TEMP_EXTENSION);
+            try {
+                Compacted compacted = _writeCompacted(segment, keys, locations, keepDeletes, temp);
+                synchronized (this) {
+                    if (mSegments.get(segment.id) != segment) {
+                        FileUtils.deleteFile(temp);
+                        continue;
+                    }
+                    // 无需保留任何记录则直接删除分段
+                    if (compacted.size == 0L) {
+                        mSegments.remove(segment.id);
+                        segment.buffer = null;
+                        FileUtils.deleteFile(temp);
+                        FileUtils.deleteFile(segment.file);
+                        continue;
+                    }
+                    if (!temp.renameTo(segment.file)) {
+                        throw new IllegalStateException("compact rename failed: " + segment.file);
+                    }
+                    segment.buffer     = null;
+                    segment.size       = compacted.size;
+                    segment.totalBytes = compacted.totalBytes;
+                    segment.liveBytes  = compacted.deleteBytes;
+                    for (int i = 0, len = keys.size(); i < len; i++) {
+                        String   key      = keys.get(i);
+                        Location location = locations.get(i);
+                        if (mIndex.get(key) != location) continue;
+                        mIndex.put(key, new Location(
+                                segment, location.type, location.saveTime, location.validTime,
+                                compacted.valuePositions[i], location.valueLength, location.recordLength
+                        ));
+                        segment.liveBytes += location.recordLength;
+                    }
+                }
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "_compact");
+                FileUtils.deleteFile(temp);
+                synchronized (this) {
+                    mCompacting = false;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 重写分段有效数据到临时文件 ( 锁外执行 )
+     * @param segment     分段
+     * @param keys        有效 key
+     * @param locations   有效 key 数据位置
+     * @param keepDeletes 是否保留删除记录
+     * @param temp        临时文件
+     * @return {@link Compacted}
+     * @throws Exception 异常时抛出
+     */
+    private Compacted _writeCompacted(
+            final Segment segment,
+            final List<String> keys,
+            final List<Location> locations,
+            final boolean keepDeletes,
+            final File temp
+    )
+            throws Exception {
+        RandomAccessFile source = null;
+        RandomAccessFile target = null;
+        try {
+            source = new RandomAccessFile(segment.file, "r");
+            ByteBuffer buffer = source.getChannel().map(
+                    FileChannel.MapMode.READ_ONLY, 0, source.length()
+            );
+            target = new RandomAccessFile(temp, "rw");
+            target.setLength(0L);
+            FileChannel       channel      = target.getChannel();
+            List<FooterEntry> footer       = new ArrayList<>();
+            int               footerLength = 0;
+            Compacted         compacted    = new Compacted(keys.size());
+            for (int i = 0, len = keys.size(); i < len; i++) {
+                Location location = locations.get(i);
+                byte[]   keyBytes = keys.get(i).getBytes(CHARSET);
+                byte[]   value    = new byte[location.valueLength];
+                buffer.position((int) location.valuePosition);
+                buffer.get(value);
+                long offset = compacted.size;
+                compacted.size += _writeFully(channel, _encodeRecord(
+                        OP_PUT, keyBytes, location.type, location.saveTime, location.validTime, value
+                ), offset);
+                compacted.valuePositions[i] = offset + RECORD_HEADER + BODY_HEADER + keyBytes.length;
+                footer.add(new FooterEntry(
+                        OP_PUT, location.type, location.saveTime, location.validTime,
+                        offset, value.length, keyBytes
+                ));
+                footerLength += FOOTER_ENTRY + keyBytes.length;
+            }
+            if (keepDeletes) {
+                for (String key : _readTombstones(buffer)) {
+                    byte[] keyBytes = key.getBytes(CHARSET);
+                    long   offset   = compacted.size;
+                    long   length   = _writeFully(channel, _encodeRecord(
+                            OP_DEL, keyBytes, 0, 0L, 0L, new byte[0]
+                    ), offset);
+                    compacted.size += length;
+                    compacted.deleteBytes += length;
+                    footer.add(new FooterEntry(OP_DEL, 0, 0L, 0L, offset, 0, keyBytes));
+                    footerLength += FOOTER_ENTRY + keyBytes.length;
+                }
+            }
+            compacted.totalBytes = compacted.size;
+            _writeFully(channel, _encodeFooter(footer, footerLength, compacted.size), compacted.size);
+            channel.force(true);
+            return compacted;
+        } finally {
+            CloseUtils.closeIOQuietly(source, target);
+        }
+    }
+
+    /**
+     * 写入全部数据
+     * @param channel  {@link FileChannel}
+     * @param buffer   待写入数据
+     * @param position 写入位置
+     * @return 写入大小
+     * @throws Exception 异常时抛出
+     */
+    private static int _writeFully(
+            final FileChannel channel,
+            final ByteBuffer buffer,
+            final long position
+    )
+            throws Exception {
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        return length;
+    }
+
+    /**
+     * 读取已封存分段内的删除记录
+     * @param buffer 分段数据
+     * @return 删除的 key 集合
+     */
+    private static List<String> _readTombstones(final ByteBuffer buffer) {
+        List<String> keys   = new ArrayList<>();
+        int          length = buffer.limit();
+        buffer.position(length - TRAILER_SIZE);
+        long footerOffset = buffer.getLong();
+        int  entryCount   = buffer.getInt();
+        buffer.position((int) footerOffset);
+        byte[] skip = new byte[FOOTER_ENTRY - 5];
+        for (int i = 0; i < entryCount; i++) {
+            byte op = buffer.get();
+            buffer.get(skip);
+            byte[] keyBytes = new byte[buffer.getInt()];
+            buffer.get(keyBytes);
+            if (op == OP_DEL) {
+                keys.add(new String(keyBytes, CHARSET));
+            }
+        }
+        return keys;
+    }
+
+    // ============
+    // = 内部实体类 =
+    // ============
+
+    /**
+     * detail: 分段文件
+     * @author Ttt
+     */
+    private static final class Segment {
+
+        // 分段 id
+        final int               id;
+        // 分段文件
+        final File              file;
+        // 写入分段文件 ( 仅写入分段持有 )
+        RandomAccessFile        randomAccessFile;
+        // 写入分段 FileChannel
+        FileChannel             channel;
+        // 内存映射
+        MappedByteBuffer        buffer;
+        // 记录数据大小 ( 不含 footer )
+        long                    size;
+        // 全部记录大小
+        long                    totalBytes;
+        // 有效记录大小
+        long                    liveBytes;
+        // 是否已封存
+        boolean                 sealed;
+        // 待写入的 footer ( 仅写入分段 )
+        final List<FooterEntry> footer = new ArrayList<>();
+        // 待写入的 footer 大小
+        int                     footerLength;
+
+        Segment(
+                int id,
+                File file
+        ) {
+            this.id   = id;
+            this.file = file;
+        }
+    }
+
+    /**
+     * detail: footer 记录
+     * @author Ttt
+     */
+    private static final class FooterEntry {
+
+        final byte   op;
+        final int    type;
+        final long   saveTime;
+        final long   validTime;
+        final long   offset;
+        final int    valueLength;
+        final byte[] key;
+
+        FooterEntry(
+                byte op,
+                int type,
+                long saveTime,
+                long validTime,
+                long offset,
+                int valueLength,
+                byte[] key
+        ) {
+            this.op          = op;
+            this.type        = type;
+            this.saveTime    = saveTime;
+            this.validTime   = validTime;
+            this.offset      = offset;
+            this.valueLength = valueLength;
+            this.key         = key;
+        }
+    }
+
+    /**
+     * detail: 合并结果
+     * @author Ttt
+     */
+    private static final class Compacted {
+
+        // 有效 key 数据新位置
+        final long[] valuePositions;
+        // 记录数据大小 ( 不含 footer )
+        long         size;
+        // 全部记录大小
+        long         totalBytes;
+        // 删除记录大小
+        long         deleteBytes;
+
+        Compacted(int count) {
+            this.valuePositions = new long[count];
+        }
+    }
+
+    /**
+     * detail: key 数据位置
+     * @author Ttt
+     */
+    private static final class Location {
+
+        final Segment segment;
+        final int     type;
+        final long    saveTime;
+        final long    validTime;
+        final long    valuePosition;
+        final int     valueLength;
+        final int     recordLength;
+
+        Location(
+                Segment segment,
+                int type,
+                long saveTime,
+                long validTime,
+                long valuePosition,
+                int valueLength,
+                int recordLength
+        ) {
+            this.segment       = segment;
+            this.type          = type;
+            this.saveTime      = saveTime;
+            this.validTime     = validTime;
+            this.valuePosition = valuePosition;
+            this.valueLength   = valueLength;
+            this.recordLength  = recordLength;
+        }
+    }
+}
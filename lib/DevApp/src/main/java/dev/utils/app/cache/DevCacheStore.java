@@ -0,0 +1,70 @@
+package dev.utils.app.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * detail: 缓存存储引擎
+ * @author Ttt
+ * <pre>
+ *     {@link DevCacheManager} 负责索引、容量控制、加解密
+ *     存储引擎仅负责数据的持久化, 方法均在 {@link DevCacheManager} 锁内调用
+ * </pre>
+ */
+interface DevCacheStore {
+
+    /**
+     * 加载已存储数据到索引中
+     * @param entries 索引 ( 按访问顺序写入 )
+     */
+    void load(Map<String, DevCache.Data> entries);
+
+    /**
+     * 存储文件是否在使用期间被外部删除
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isLost();
+
+    /**
+     * 是否存在 key 数据
+     * @param key 存储 key
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean exists(String key);
+
+    /**
+     * 保存数据
+     * @param data  缓存 Data
+     * @param bytes 保存数据
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean put(
+            DevCache.Data data,
+            byte[] bytes
+    );
+
+    /**
+     * 读取数据
+     * @param key 存储 key
+     * @return 保存的数据
+     */
+    byte[] get(String key);
+
+    /**
+     * 删除数据
+     * @param key 存储 key
+     */
+    void remove(String key);
+
+    /**
+     * 记录命中
+     * @param key 存储 key
+     */
+    void hit(String key);
+
+    /**
+     * 数据变更后回调 ( 用于触发日志重写、合并等 )
+     * @param entries 有效数据
+     */
+    void onChanged(Collection<DevCache.Data> entries);
+}
@@ -1,8 +1,10 @@
 package dev.utils.app.image;
 
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.ColorMatrix;
 import android.graphics.ColorMatrixColorFilter;
 import android.graphics.Paint;
@@ -17,6 +19,7 @@ import androidx.annotation.RequiresApi;
 
 import dev.DevUtils;
 import dev.utils.LogPrintUtils;
+import dev.utils.common.assist.PixelKernels;
 
 /**
  * detail: 图片 ( 滤镜、效果 ) 工具类
@@ -30,6 +33,9 @@ public final class ImageFilterUtils {
     // 日志 TAG
     private static final String TAG = ImageFilterUtils.class.getSimpleName();
 
+    // 是否已注册内存回收监听
+    private static volatile boolean sTrimMemoryRegistered = false;
+
     // =======
     // = 效果 =
     // =======
@@ -308,38 +314,7 @@ public final class ImageFilterUtils {
      * @return 怀旧效果处理后的图片
      */
     public static Bitmap nostalgic(final Bitmap bitmap) {
-        if (bitmap == null) return null;
-        try {
-            int width  = bitmap.getWidth();
-            int height = bitmap.getHeight();
-
-            int pixColor, pixR, pixG, pixB, newR, newG, newB;
-
-            int[] pixels = new int[width * height];
-            bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
-            for (int i = 0; i < height; i++) {
-                for (int k = 0; k < width; k++) {
-                    pixColor = pixels[width * i + k];
-                    pixR     = Color.red(pixColor);
-                    pixG     = Color.green(pixColor);
-                    pixB     = Color.blue(pixColor);
-                    newR     = (int) (0.393 * pixR + 0.769 * pixG + 0.189 * pixB);
-                    newG     = (int) (0.349 * pixR + 0.686 * pixG + 0.168 * pixB);
-                    newB     = (int) (0.272 * pixR + 0.534 * pixG + 0.131 * pixB);
-                    int newColor = Color.argb(255, Math.min(newR, 255),
-                            Math.min(newG, 255), Math.min(newB, 255)
-                    );
-                    pixels[width * i + k] = newColor;
-                }
-            }
-
-            Bitmap newBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
-            newBitmap.setPixels(pixels, 0, width, 0, 0, width, height);
-            return newBitmap;
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "nostalgic");
-        }
-        return null;
+        return _filter(bitmap, "nostalgic", PixelKernels.nostalgic());
     }
 
     /**
@@ -354,57 +329,7 @@ public final class ImageFilterUtils {
             final int centerX,
             final int centerY
     ) {
-        if (bitmap == null) return null;
-        try {
-            int width  = bitmap.getWidth();
-            int height = bitmap.getHeight();
-
-            int pixColor, pixR, pixG, pixB, newR, newG, newB;
-
-            int radius = Math.min(centerX, centerY);
-
-            final float strength = 150F; // 光照强度 100 ~ 150
-            int[]       pixels   = new int[width * height];
-            bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
-            int pos;
-            for (int i = 1, length = height - 1; i < length; i++) {
-                for (int k = 1, len = width - 1; k < len; k++) {
-                    pos      = i * width + k;
-                    pixColor = pixels[pos];
-
-                    pixR = Color.red(pixColor);
-                    pixG = Color.green(pixColor);
-                    pixB = Color.blue(pixColor);
-
-                    newR = pixR;
-                    newG = pixG;
-                    newB = pixB;
-
-                    // 计算当前点到光照中心的距离, 平面座标系中求两点之间的距离
-                    int distance = (int) (Math.pow((centerY - i), 2) + Math.pow(centerX - k, 2));
-                    if (distance < radius * radius) {
-                        // 按照距离大小计算增加的光照值
-                        int result = (int) (strength * (1.0 - Math.sqrt(distance) / radius));
-                        newR = pixR + result;
-                        newG = pixG + result;
-                        newB = pixB + result;
-                    }
-
-                    newR = Math.min(255, Math.max(0, newR));
-                    newG = Math.min(255, Math.max(0, newG));
-                    newB = Math.min(255, Math.max(0, newB));
-
-                    pixels[pos] = Color.argb(255, newR, newG, newB);
-                }
-            }
-
-            Bitmap newBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
-            newBitmap.setPixels(pixels, 0, width, 0, 0, width, height);
-            return newBitmap;
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "sunshine");
-        }
-        return null;
+        return _filter(bitmap, "sunshine", PixelKernels.sunshine(centerX, centerY));
     }
 
     /**
@@ -413,46 +338,7 @@ public final class ImageFilterUtils {
      * @return 底片效果处理后的图片
      */
     public static Bitmap film(final Bitmap bitmap) {
-        if (bitmap == null) return null;
-        try {
-            // ARGB 的最大值
-            final int MAX_VALUE = 255;
-            int       width     = bitmap.getWidth();
-            int       height    = bitmap.getHeight();
-
-            int pixColor, pixR, pixG, pixB, newR, newG, newB;
-
-            int[] pixels = new int[width * height];
-            bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
-            int pos;
-            for (int i = 1, length = height - 1; i < length; i++) {
-                for (int k = 1, len = width - 1; k < len; k++) {
-                    pos      = i * width + k;
-                    pixColor = pixels[pos];
-
-                    pixR = Color.red(pixColor);
-                    pixG = Color.green(pixColor);
-                    pixB = Color.blue(pixColor);
-
-                    newR = MAX_VALUE - pixR;
-                    newG = MAX_VALUE - pixG;
-                    newB = MAX_VALUE - pixB;
-
-                    newR = Math.min(MAX_VALUE, Math.max(0, newR));
-                    newG = Math.min(MAX_VALUE, Math.max(0, newG));
-                    newB = Math.min(MAX_VALUE, Math.max(0, newB));
-
-                    pixels[pos] = Color.argb(MAX_VALUE, newR, newG, newB);
-                }
-            }
-
-            Bitmap newBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
-            newBitmap.setPixels(pixels, 0, width, 0, 0, width, height);
-            return newBitmap;
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "film");
-        }
-        return null;
+        return _filter(bitmap, "film", PixelKernels.film());
     }
 
     /**
@@ -468,62 +354,8 @@ public final class ImageFilterUtils {
             final Bitmap bitmap,
             @IntRange(from = 1, to = 24) final int delta
     ) {
-        if (bitmap == null) return null;
         if (delta > 24 || delta <= 0) return null;
-        try {
-            // 高斯矩阵
-            int[] gauss = new int[]{1, 2, 1, 2, 4, 2, 1, 2, 1};
-
-            int width  = bitmap.getWidth();
-            int height = bitmap.getHeight();
-
-            int pixColor, pixR, pixG, pixB;
-
-            int newR = 0, newG = 0, newB = 0;
-
-            int idx;
-
-            int[] pixels = new int[width * height];
-            bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
-            for (int i = 1, length = height - 1; i < length; i++) {
-                for (int k = 1, len = width - 1; k < len; k++) {
-                    idx = 0;
-                    for (int m = -1; m <= 1; m++) {
-                        for (int n = -1; n <= 1; n++) {
-                            pixColor = pixels[(i + m) * width + k + n];
-                            pixR     = Color.red(pixColor);
-                            pixG     = Color.green(pixColor);
-                            pixB     = Color.blue(pixColor);
-
-                            newR += (pixR * gauss[idx]);
-                            newG += (pixG * gauss[idx]);
-                            newB += (pixB * gauss[idx]);
-                            idx++;
-                        }
-                    }
-                    newR /= delta;
-                    newG /= delta;
-                    newB /= delta;
-
-                    newR = Math.min(255, Math.max(0, newR));
-                    newG = Math.min(255, Math.max(0, newG));
-                    newB = Math.min(255, Math.max(0, newB));
-
-                    pixels[i * width + k] = Color.argb(255, newR, newG, newB);
-
-                    newR = 0;
-                    newG = 0;
-                    newB = 0;
-                }
-            }
-
-            Bitmap newBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
-            newBitmap.setPixels(pixels, 0, width, 0, 0, width, height);
-            return newBitmap;
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "soften");
-        }
-        return null;
+        return _filter(bitmap, "soften", PixelKernels.soften(delta));
     }
 
     /**
@@ -532,58 +364,7 @@ public final class ImageFilterUtils {
      * @return 锐化效果处理后的图片
      */
     public static Bitmap sharpen(final Bitmap bitmap) {
-        if (bitmap == null) return null;
-        try {
-            // 拉普拉斯矩阵
-            int[] laplacian = new int[]{-1, -1, -1, -1, 9, -1, -1, -1, -1};
-
-            int width  = bitmap.getWidth();
-            int height = bitmap.getHeight();
-
-            int pixColor, pixR, pixG, pixB;
-
-            int newR = 0, newG = 0, newB = 0;
-
-            int idx;
-
-            float alpha  = 0.3F;
-            int[] pixels = new int[width * height];
-            bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
-            for (int i = 1, length = height - 1; i < length; i++) {
-                for (int k = 1, len = width - 1; k < len; k++) {
-                    idx = 0;
-                    for (int m = -1; m <= 1; m++) {
-                        for (int n = -1; n <= 1; n++) {
-                            pixColor = pixels[(i + n) * width + k + m];
-                            pixR     = Color.red(pixColor);
-                            pixG     = Color.green(pixColor);
-                            pixB     = Color.blue(pixColor);
-
-                            newR = newR + (int) (pixR * laplacian[idx] * alpha);
-                            newG = newG + (int) (pixG * laplacian[idx] * alpha);
-                            newB = newB + (int) (pixB * laplacian[idx] * alpha);
-                            idx++;
-                        }
-                    }
-
-                    newR = Math.min(255, Math.max(0, newR));
-                    newG = Math.min(255, Math.max(0, newG));
-                    newB = Math.min(255, Math.max(0, newB));
-
-                    pixels[i * width + k] = Color.argb(255, newR, newG, newB);
-                    newR                  = 0;
-                    newG                  = 0;
-                    newB                  = 0;
-                }
-            }
-
-            Bitmap newBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
-            newBitmap.setPixels(pixels, 0, width, 0, 0, width, height);
-            return newBitmap;
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "sharpen");
-        }
-        return null;
+        return _filter(bitmap, "sharpen", PixelKernels.sharpen());
     }
 
     /**
@@ -592,45 +373,33 @@ public final class ImageFilterUtils {
      * @return 浮雕效果处理后的图片
      */
     public static Bitmap emboss(final Bitmap bitmap) {
-        if (bitmap == null) return null;
-        try {
-            int width  = bitmap.getWidth();
-            int height = bitmap.getHeight();
-
-            int pixColor, pixR, pixG, pixB, newR, newG, newB;
-
-            int[] pixels = new int[width * height];
-            bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
-            int pos;
-            for (int i = 1, length = height - 1; i < length; i++) {
-                for (int k = 1, len = width - 1; k < len; k++) {
-                    pos      = i * width + k;
-                    pixColor = pixels[pos];
-
-                    pixR = Color.red(pixColor);
-                    pixG = Color.green(pixColor);
-                    pixB = Color.blue(pixColor);
-
-                    pixColor = pixels[pos + 1];
-                    newR     = Color.red(pixColor) - pixR + 127;
-                    newG     = Color.green(pixColor) - pixG + 127;
-                    newB     = Color.blue(pixColor) - pixB + 127;
-
-                    newR = Math.min(255, Math.max(0, newR));
-                    newG = Math.min(255, Math.max(0, newG));
-                    newB = Math.min(255, Math.max(0, newB));
+        return _filter(bitmap, "emboss", PixelKernels.emboss());
+    }
 
-                    pixels[pos] = Color.argb(255, newR, newG, newB);
-                }
-            }
+    /**
+     * 组合滤镜处理 ( 多个滤镜一次遍历处理 )
+     * <pre>
+     *     如: filter(bitmap, PixelKernels.soften(16), PixelKernels.sharpen(), PixelKernels.film())
+     * </pre>
+     * @param bitmap  待操作源图片
+     * @param kernels 像素处理内核 ( 按顺序执行 )
+     * @return 滤镜处理后的图片
+     */
+    public static Bitmap filter(
+            final Bitmap bitmap,
+            final PixelKernels.Kernel... kernels
+    ) {
+        return _filter(bitmap, "filter", kernels);
+    }
 
-            Bitmap newBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
-            newBitmap.setPixels(pixels, 0, width, 0, 0, width, height);
-            return newBitmap;
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "emboss");
-        }
-        return null;
+    /**
+     * 清空滤镜处理复用数组
+     * <pre>
+     *     首次滤镜处理时自动注册 onTrimMemory 监听释放, 也可手动调用
+     * </pre>
+     */
+    public static void clearPool() {
+        PixelKernels.clearPool();
     }
 
 //    /**
@@ -888,4 +657,85 @@ public final class ImageFilterUtils {
         }
         return rotatedData;
     }
-}
\ No newline at end of file
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 滤镜处理
+     * <pre>
+     *     Bitmap 仅用于读取、写入像素, 处理由 {@link PixelKernels} 分块并行执行
+     * </pre>
+     * @param bitmap  待操作源图片
+     * @param method  调用方法名 ( 日志使用 )
+     * @param kernels 像素处理内核
+     * @return 滤镜处理后的图片
+     */
+    private static Bitmap _filter(
+            final Bitmap bitmap,
+            final String method,
+            final PixelKernels.Kernel... kernels
+    ) {
+        if (bitmap == null) return null;
+        _registerTrimMemory();
+        int[] src = null;
+        int[] dst = null;
+        try {
+            int width  = bitmap.getWidth();
+            int height = bitmap.getHeight();
+
+            src = PixelKernels.obtain(width * height);
+            dst = PixelKernels.obtain(width * height);
+            bitmap.getPixels(src, 0, width, 0, 0, width, height);
+            PixelKernels.apply(src, dst, width, height, kernels);
+
+            Bitmap newBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
+            newBitmap.setPixels(dst, 0, width, 0, 0, width, height);
+            return newBitmap;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, method);
+        } finally {
+            PixelKernels.recycle(src);
+            PixelKernels.recycle(dst);
+        }
+        return null;
+    }
+
+    /**
+     * 注册内存回收监听
+     * <pre>
+     *     内存紧张、应用进入后台时释放 {@link PixelKernels} 复用数组
+     * </pre>
+     */
+    private static void _registerTrimMemory() {
+        if (sTrimMemoryRegistered) return;
+        synchronized (ImageFilterUtils.class) {
+            if (sTrimMemoryRegistered) return;
+            Context context = DevUtils.getContext();
+            if (context == null) return;
+            try {
+                context.registerComponentCallbacks(new ComponentCallbacks2() {
+                    @Override
+                    public void onTrimMemory(int level) {
+                        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+                            PixelKernels.clearPool();
+                        }
+                    }
+
+                    @Override
+                    public void onConfigurationChanged(Configuration newConfig) {
+                    }
+
+                    @Override
+                    public void onLowMemory() {
+                        PixelKernels.clearPool();
+                    }
+                });
+                sTrimMemoryRegistered = true;
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "_registerTrimMemory");
+            }
+        }
+    }
+}
@@ -2,6 +2,12 @@ package dev.utils.app.logger;
 
 import android.util.Log;
 
+import java.io.Flushable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import dev.utils.LogPrintUtils;
+
 /**
  * detail: 日志操作类 ( 对外公开直接调用 )
  * @author Ttt
@@ -11,6 +17,9 @@ public final class DevLogger {
     private DevLogger() {
     }
 
+    // 日志 TAG
+    private static final String TAG = DevLogger.class.getSimpleName();
+
     // 包下 LoggerPrinter 类持有对象
     private static final IPrinter sPrinter = new LoggerPrinter();
 
@@ -349,6 +358,80 @@ public final class DevLogger {
         DevLogger.sPrint = print;
     }
 
+    /**
+     * 立即输出全部异步缓冲日志, 并刷新日志输出端
+     */
+    public static void flush() {
+        LogRingBuffer.drain();
+        flushSink();
+    }
+
+    // ===========
+    // = 日志输出端 =
+    // ===========
+
+    // 日志输出端 ( 如写入文件, 接收格式化后的日志信息 )
+    private static final List<Sink> sSinks = new CopyOnWriteArrayList<>();
+
+    /**
+     * 添加日志输出端
+     * @param sink 日志输出端
+     */
+    public static void addSink(final Sink sink) {
+        if (sink != null && !sSinks.contains(sink)) {
+            sSinks.add(sink);
+        }
+    }
+
+    /**
+     * 移除日志输出端
+     * @param sink 日志输出端
+     */
+    public static void removeSink(final Sink sink) {
+        sSinks.remove(sink);
+    }
+
+    /**
+     * 通知日志输出端
+     * @param logType    日志类型
+     * @param tag        日志 TAG
+     * @param time       日志时间
+     * @param threadId   线程 id
+     * @param threadName 线程名
+     * @param message    日志信息
+     */
+    static void dispatchSink(
+            final int logType,
+            final String tag,
+            final long time,
+            final long threadId,
+            final String threadName,
+            final String message
+    ) {
+        for (Sink sink : sSinks) {
+            try {
+                sink.onLog(logType, tag, time, threadId, threadName, message);
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "dispatchSink");
+            }
+        }
+    }
+
+    /**
+     * 刷新日志输出端 ( 实现 {@link Flushable} 的输出端 )
+     */
+    static void flushSink() {
+        for (Sink sink : sSinks) {
+            if (sink instanceof Flushable) {
+                try {
+                    ((Flushable) sink).flush();
+                } catch (Exception e) {
+                    LogPrintUtils.eTag(TAG, e, "flushSink");
+                }
+            }
+        }
+    }
+
     /**
      * detail: 日志输出接口
      * @author Ttt
@@ -367,4 +450,29 @@ public final class DevLogger {
                 String message
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * detail: 日志输出端
+     * @author Ttt
+     */
+    public interface Sink {
+
+        /**
+         * 日志输出 ( 异步输出时在后台线程回调 )
+         * @param logType    日志类型
+         * @param tag        日志 TAG
+         * @param time       日志时间
+         * @param threadId   线程 id
+         * @param threadName 线程名
+         * @param message    日志信息
+         */
+        void onLog(
+                int logType,
+                String tag,
+                long time,
+                long threadId,
+                String threadName,
+                String message
+        );
+    }
+}
@@ -41,6 +41,16 @@ public class LogConfig {
      */
     public String tag = LogConstants.DEFAULT_LOG_TAG;
 
+    /**
+     * 是否异步输出日志 ( 调用线程只记录日志信息, 由后台线程格式化并输出 )
+     */
+    public boolean async = LogConstants.JUDGE_ASYNC_LOG;
+
+    /**
+     * 堆栈采样间隔 ( 异步输出每 N 条日志获取一次方法信息, 小于等于 0 则不获取 )
+     */
+    public int stackSampling = LogConstants.DEFAULT_STACK_SAMPLING;
+
     // ==================
     // = 初始化 LogConfig =
     // ==================
@@ -246,4 +256,24 @@ public class LogConfig {
         this.tag = tag;
         return this;
     }
+
+    /**
+     * 设置是否异步输出日志
+     * @param async {@code true} yes, {@code false} no
+     * @return {@link LogConfig}
+     */
+    public LogConfig async(boolean async) {
+        this.async = async;
+        return this;
+    }
+
+    /**
+     * 设置堆栈采样间隔
+     * @param stackSampling 堆栈采样间隔
+     * @return {@link LogConfig}
+     */
+    public LogConfig stackSampling(int stackSampling) {
+        this.stackSampling = stackSampling;
+        return this;
+    }
 }
\ No newline at end of file
@@ -48,6 +48,21 @@ final class LogConstants {
      */
     public static final LogLevel DEFAULT_LOG_LEVEL = LogLevel.ERROR;
 
+    /**
+     * 判断是否异步输出日志
+     */
+    public static final boolean JUDGE_ASYNC_LOG = false;
+
+    /**
+     * 默认堆栈采样间隔 ( 异步输出每 N 条日志获取一次堆栈, 默认不获取, 避免每条日志创建 Throwable )
+     */
+    public static final int DEFAULT_STACK_SAMPLING = 0;
+
+    /**
+     * 异步日志缓冲区容量 ( 已满则丢弃 )
+     */
+    public static final int ASYNC_BUFFER_SIZE = 1024;
+
     // =============
     // = 日志配置信息 =
     // =============
@@ -0,0 +1,127 @@
+package dev.utils.app.logger;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import dev.utils.LogPrintUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.DateUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 日志文件输出端
+ * @author Ttt
+ * <pre>
+ *     通过 {@link DevLogger#addSink(DevLogger.Sink)} 添加, 日志按行追加写入文件
+ *     格式: yyyy-MM-dd HH:mm:ss.SSS 线程名 级别/TAG: 日志信息
+ *     异步输出时每批次日志写入后刷新, 同步输出时每条日志写入后刷新
+ * </pre>
+ */
+public final class LogFileSink
+        implements DevLogger.Sink, Flushable, Closeable {
+
+    // 日志 TAG
+    private static final String TAG          = LogFileSink.class.getSimpleName();
+    // 日志时间格式
+    private static final String TIME_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+    // 日志级别 ( Log.VERBOSE - Log.ASSERT )
+    private static final String LEVELS       = "VDIWEA";
+
+    // 日志文件
+    private final File          mFile;
+    // 行内容拼接
+    private final StringBuilder mBuilder = new StringBuilder();
+    // 文件写入
+    private       Writer        mWriter;
+
+    /**
+     * 构造函数
+     * @param file 日志文件
+     */
+    public LogFileSink(final File file) {
+        this.mFile = file;
+    }
+
+    /**
+     * 构造函数
+     * @param filePath 日志文件路径
+     */
+    public LogFileSink(final String filePath) {
+        this(FileUtils.getFile(filePath));
+    }
+
+    /**
+     * 获取日志文件
+     * @return 日志文件
+     */
+    public File getFile() {
+        return mFile;
+    }
+
+    @Override
+    public synchronized void onLog(
+            final int logType,
+            final String tag,
+            final long time,
+            final long threadId,
+            final String threadName,
+            final String message
+    ) {
+        if (mFile == null) return;
+        try {
+            if (mWriter == null) {
+                FileUtils.createOrExistsFile(mFile);
+                mWriter = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(mFile, true), "UTF-8"
+                ));
+            }
+            int level = logType - 2;
+            mBuilder.setLength(0);
+            DateUtils.formatFast(time, TIME_PATTERN, mBuilder);
+            mBuilder.append(' ').append(threadName).append(' ')
+                    .append((level >= 0 && level < LEVELS.length()) ? LEVELS.charAt(level) : '?')
+                    .append('/').append(tag).append(": ").append(message)
+                    .append('\n');
+            mWriter.append(mBuilder);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "onLog");
+            _close();
+        }
+    }
+
+    @Override
+    public synchronized void flush()
+            throws IOException {
+        if (mWriter != null) {
+            mWriter.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            flush();
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "close");
+        }
+        _close();
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 关闭文件写入
+     */
+    private void _close() {
+        CloseUtils.closeIOQuietly(mWriter);
+        mWriter = null;
+    }
+}
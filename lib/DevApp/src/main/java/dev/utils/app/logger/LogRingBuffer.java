@@ -0,0 +1,219 @@
+package dev.utils.app.logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import dev.utils.LogPrintUtils;
+
+/**
+ * detail: 异步日志环形缓冲区
+ * @author Ttt
+ * <pre>
+ *     调用线程仅将日志信息 ( 级别、TAG、模板、参数、时间、线程信息、堆栈 ) 写入预分配的缓冲槽位
+ *     后台线程负责格式化、堆栈解析并输出到 logcat、{@link DevLogger.Sink}
+ *     缓冲区已满时丢弃日志 ( 调用线程不等待 ), 并在下次输出时提示丢弃数量
+ * </pre>
+ */
+final class LogRingBuffer {
+
+    private LogRingBuffer() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = LogRingBuffer.class.getSimpleName();
+
+    // 缓冲区容量
+    private static final int           CAPACITY      = LogConstants.ASYNC_BUFFER_SIZE;
+    // 缓冲槽位 ( 预分配, 循环复用 )
+    private static final Record[]      BUFFER        = new Record[CAPACITY];
+    // 缓冲区锁
+    private static final ReentrantLock LOCK          = new ReentrantLock();
+    // 写入通知
+    private static final Condition     NOT_EMPTY     = LOCK.newCondition();
+    // 输出锁 ( 后台线程、flush 调用方互斥, 保证日志顺序 )
+    private static final Object        PRINT_LOCK    = new Object();
+    // 丢弃日志数量
+    private static final AtomicLong    DROPPED       = new AtomicLong();
+    // 等待间隔时间 ( 毫秒 )
+    private static final long          WAIT_INTERVAL = 1000L;
+    // 读取位置
+    private static       int           sHead;
+    // 缓冲数量
+    private static       int           sCount;
+    // 后台线程
+    private static       Thread        sThread;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            BUFFER[i] = new Record();
+        }
+    }
+
+    /**
+     * detail: 日志信息
+     * @author Ttt
+     */
+    static final class Record {
+
+        // 日志打印类
+        LoggerPrinter printer;
+        // 日志配置
+        LogConfig     config;
+        // 日志类型
+        int           logType;
+        // 日志 TAG
+        String        tag;
+        // 日志信息 ( 格式化模板 )
+        String        message;
+        // 格式化参数
+        Object[]      args;
+        // 日志时间
+        long          time;
+        // 线程 id
+        long          threadId;
+        // 线程名
+        String        threadName;
+        // 堆栈 ( 输出时才解析, null 则不输出方法信息 )
+        Throwable     stack;
+
+        /**
+         * 释放引用
+         */
+        void clear() {
+            printer    = null;
+            config     = null;
+            tag        = null;
+            message    = null;
+            args       = null;
+            threadName = null;
+            stack      = null;
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 添加日志到缓冲区 ( 已满则丢弃 )
+     * @param printer    日志打印类
+     * @param config     日志配置
+     * @param logType    日志类型
+     * @param tag        日志 TAG
+     * @param message    日志信息
+     * @param args       格式化参数
+     * @param time       日志时间
+     * @param threadId   线程 id
+     * @param threadName 线程名
+     * @param stack      堆栈
+     * @return {@code true} success, {@code false} fail
+     */
+    static boolean offer(
+            final LoggerPrinter printer,
+            final LogConfig config,
+            final int logType,
+            final String tag,
+            final String message,
+            final Object[] args,
+            final long time,
+            final long threadId,
+            final String threadName,
+            final Throwable stack
+    ) {
+        LOCK.lock();
+        try {
+            if (sCount == CAPACITY) {
+                DROPPED.incrementAndGet();
+                return false;
+            }
+            Record record = BUFFER[(sHead + sCount) % CAPACITY];
+            record.printer    = printer;
+            record.config     = config;
+            record.logType    = logType;
+            record.tag        = tag;
+            record.message    = message;
+            record.args       = args;
+            record.time       = time;
+            record.threadId   = threadId;
+            record.threadName = threadName;
+            record.stack      = stack;
+            if (sCount++ == 0) {
+                NOT_EMPTY.signal();
+            }
+            if (sThread == null) {
+                sThread = new Thread(() -> _loop(), "DevLogger-Async");
+                sThread.setDaemon(true);
+                sThread.start();
+            }
+            return true;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * 立即输出全部缓冲日志
+     */
+    static void drain() {
+        synchronized (PRINT_LOCK) {
+            int count = 0;
+            while (true) {
+                Record record;
+                LOCK.lock();
+                try {
+                    if (sCount == 0) break;
+                    record = BUFFER[sHead];
+                } finally {
+                    LOCK.unlock();
+                }
+                // 槽位释放前不会被覆盖, 无需持有缓冲区锁输出
+                try {
+                    record.printer.printRecord(record);
+                } catch (Exception e) {
+                    LogPrintUtils.eTag(TAG, e, "drain");
+                }
+                record.clear();
+                count++;
+                LOCK.lock();
+                try {
+                    sHead = (sHead + 1) % CAPACITY;
+                    sCount--;
+                } finally {
+                    LOCK.unlock();
+                }
+            }
+            long dropped = DROPPED.getAndSet(0L);
+            if (dropped > 0L) {
+                LogPrintUtils.wTag(TAG, "async log buffer full, dropped %d logs", dropped);
+            }
+            // 每批次输出后刷新日志输出端
+            if (count > 0) {
+                DevLogger.flushSink();
+            }
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 后台线程循环
+     */
+    private static void _loop() {
+        while (true) {
+            LOCK.lock();
+            try {
+                if (sCount == 0) {
+                    NOT_EMPTY.await(WAIT_INTERVAL, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException ignore) {
+            } finally {
+                LOCK.unlock();
+            }
+            drain();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.json.JSONObject;
 
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
@@ -29,6 +30,8 @@ final class LoggerPrinter
     private static       LogConfig              LOG_CONFIG        = null;
     // 每个线程的日志配置信息
     private static final ThreadLocal<LogConfig> LOCAL_LOG_CONFIGS = new ThreadLocal<>();
+    // 异步日志计数 ( 堆栈采样 )
+    private static final AtomicLong             ASYNC_COUNTER     = new AtomicLong();
 
     // ================================
     // = 实现 IPrinter 接口, 对外公开方法 =
@@ -679,14 +682,18 @@ final class LoggerPrinter
     }
 
     /**
-     * 日志处理方法 ( 此方法是同步的, 以避免混乱的日志的顺序 )
+     * 日志处理方法
+     * <pre>
+     *     异步输出则仅记录日志信息到缓冲区, 由后台线程格式化输出
+     *     同步输出则直接格式化输出 ( 同步方法, 以避免混乱的日志的顺序 )
+     * </pre>
      * @param config  配置信息
      * @param tag     日志 TAG
      * @param logType 日志类型
      * @param msg     日志信息
      * @param args    占位符替换
      */
-    private synchronized void logHandle(
+    private void logHandle(
             final LogConfig config,
             final String tag,
             final int logType,
@@ -714,9 +721,73 @@ final class LoggerPrinter
                 logTag = LogConstants.DEFAULT_LOG_TAG;
             }
         }
+        Thread thread = Thread.currentThread();
+        // 是否需要方法信息 ( 仅记录 Throwable, 输出时才解析堆栈 )
+        boolean needStack = logConfig.sortLog && logConfig.displayThreadInfo;
+        if (logConfig.async) {
+            // 堆栈采样
+            int sampling = logConfig.stackSampling;
+            if (needStack) {
+                needStack = sampling > 0 && (sampling == 1
+                        || ASYNC_COUNTER.getAndIncrement() % sampling == 0);
+            }
+            LogRingBuffer.offer(
+                    this, logConfig, logType, logTag, msg, args,
+                    System.currentTimeMillis(), thread.getId(), thread.getName(),
+                    needStack ? new Throwable() : null
+            );
+            return;
+        }
+        printLog(
+                logConfig, logType, logTag, createMessage(msg, args),
+                System.currentTimeMillis(), thread.getId(), thread.getName(),
+                needStack ? new Throwable() : null
+        );
+    }
+
+    /**
+     * 输出异步日志 ( 后台线程调用 )
+     * @param record 日志信息
+     */
+    void printRecord(final LogRingBuffer.Record record) {
+        printLog(
+                record.config, record.logType, record.tag,
+                createMessage(record.message, record.args),
+                record.time, record.threadId, record.threadName, record.stack
+        );
+    }
+
+    /**
+     * 日志输出方法 ( 此方法是同步的, 以避免混乱的日志的顺序 )
+     * @param logConfig  日志配置
+     * @param logType    日志类型
+     * @param logTag     日志 TAG
+     * @param message    日志信息
+     * @param time       日志时间
+     * @param threadId   线程 id
+     * @param threadName 线程名
+     * @param stack      堆栈 ( null 则不输出方法信息 )
+     */
+    private synchronized void printLog(
+            final LogConfig logConfig,
+            final int logType,
+            final String logTag,
+            final String message,
+            final long time,
+            final long threadId,
+            final String threadName,
+            final Throwable stack
+    ) {
+        // 防止 null 处理
+        if (TextUtils.isEmpty(message)) return;
+        // 通知日志输出端
+        DevLogger.dispatchSink(logType, logTag, time, threadId, threadName, message);
+        if (!logConfig.async) {
+            DevLogger.flushSink();
+        }
         // 判断是否显示排序后的日志 ( 如果不排序, 则显示默认 )
         if (!logConfig.sortLog) {
-            finalLogPrinter(logType, logTag, createMessage(msg, args));
+            finalLogPrinter(logType, logTag, message);
             return;
         }
         // = 日志配置信息获取 =
@@ -732,14 +803,10 @@ final class LoggerPrinter
         if (methodCount < 0) {
             methodCount = LogConstants.DEFAULT_LOG_METHOD_COUNT;
         }
-        // 获取打印的日志信息
-        String message = createMessage(msg, args);
-        // 防止 null 处理
-        if (message == null) return;
         // 打印头部
         logTopBorder(logType, logTag);
         // 打印头部线程信息
-        logHeaderContent(logConfig, logType, logTag, methodCount, methodOffset);
+        logHeaderContent(logConfig, logType, logTag, threadName, stack, methodCount, methodOffset);
         // 获取系统的默认字符集的信息字节 (UTF-8)
         byte[] bytes = message.getBytes();
         // 获取字节总数
@@ -779,6 +846,8 @@ final class LoggerPrinter
      * @param logConfig    日志配置
      * @param logType      日志类型
      * @param tag          日志 TAG
+     * @param threadName   线程名
+     * @param stack        堆栈 ( null 则不输出方法信息 )
      * @param methodCount  方法总数
      * @param methodOffset 方法偏移索引
      */
@@ -786,21 +855,25 @@ final class LoggerPrinter
             final LogConfig logConfig,
             final int logType,
             final String tag,
+            final String threadName,
+            final Throwable stack,
             int methodCount,
             int methodOffset
     ) {
-        StackTraceElement[] trace = Thread.currentThread().getStackTrace();
         // 判断是否显示日志线程信息
         if (!logConfig.displayThreadInfo) return;
 
         // 打印线程信息 ( 线程名 )
         finalLogPrinter(
                 logType, tag, LogConstants.HORIZONTAL_DOUBLE_LINE
-                        + " Thread: " + Thread.currentThread().getName()
+                        + " Thread: " + threadName
         );
+        // 未采样堆栈则不输出方法信息
+        if (stack == null) return;
         // 进行换行
         logDivider(logType, tag);
 
+        StackTraceElement[] trace = stack.getStackTrace();
         // 堆栈总数
         int traceCount = trace.length;
         // 获取堆栈偏移量
@@ -939,7 +1012,8 @@ final class LoggerPrinter
      * @return 堆栈跟踪索引
      */
     private int getStackOffset(final StackTraceElement[] trace) {
-        for (int i = LogConstants.MIN_STACK_OFFSET, len = trace.length; i < len; i++) {
+        // 堆栈由 new Throwable() 获取, 首个元素即为本类方法
+        for (int i = 0, len = trace.length; i < len; i++) {
             StackTraceElement e    = trace[i];
             String            name = e.getClassName();
             if (!LoggerPrinter.class.getName().equals(name)
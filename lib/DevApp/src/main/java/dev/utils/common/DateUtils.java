@@ -11,6 +11,7 @@ import java.util.Map;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
+import dev.utils.common.format.DateFormatter;
 
 /**
  * detail: 日期工具类
@@ -2918,4 +2919,118 @@ public final class DateUtils {
         if (month > 12 || month < 1) return null;
         return CONSTELLATION_DATE[day >= CONSTELLATION_DAY[month - 1] ? month - 1 : (month + 10) % 12];
     }
-}
\ No newline at end of file
+
+    // ==============
+    // = 快速格式化、解析 =
+    // ==============
+
+    /**
+     * 格式化时间 ( 不创建 Calendar、Date )
+     * @param millis  时间毫秒
+     * @param pattern 时间格式
+     * @return 格式化后的时间字符串
+     */
+    public static String formatFast(
+            final long millis,
+            final String pattern
+    ) {
+        DateFormatter formatter = DateFormatter.get(pattern);
+        if (formatter == null) return null;
+        return formatter.format(millis);
+    }
+
+    /**
+     * 格式化时间并追加到 StringBuilder ( 不创建 Calendar、Date )
+     * @param millis  时间毫秒
+     * @param pattern 时间格式
+     * @param builder 追加的 StringBuilder
+     * @return {@link StringBuilder}
+     */
+    public static StringBuilder formatFast(
+            final long millis,
+            final String pattern,
+            final StringBuilder builder
+    ) {
+        DateFormatter formatter = DateFormatter.get(pattern);
+        if (formatter == null || builder == null) return builder;
+        return formatter.format(millis, builder);
+    }
+
+    /**
+     * 解析时间字符串转换为 long 毫秒 ( 不创建 Calendar、Date )
+     * @param time    时间
+     * @param pattern 时间格式
+     * @return 毫秒时间
+     */
+    public static long parseFast(
+            final CharSequence time,
+            final String pattern
+    ) {
+        DateFormatter formatter = DateFormatter.get(pattern);
+        if (formatter == null) return -1L;
+        return formatter.parse(time);
+    }
+
+    /**
+     * 获取年份 ( 不创建 Calendar )
+     * @param millis 时间毫秒
+     * @return 年份
+     */
+    public static int getYearFast(final long millis) {
+        return DateFormatter.getField(millis, Calendar.YEAR);
+    }
+
+    /**
+     * 获取月份 ( 1 - 12, 不创建 Calendar )
+     * @param millis 时间毫秒
+     * @return 月份
+     */
+    public static int getMonthFast(final long millis) {
+        return DateFormatter.getField(millis, Calendar.MONTH);
+    }
+
+    /**
+     * 获取日期 ( 不创建 Calendar )
+     * @param millis 时间毫秒
+     * @return 日期
+     */
+    public static int getDayFast(final long millis) {
+        return DateFormatter.getField(millis, Calendar.DAY_OF_MONTH);
+    }
+
+    /**
+     * 获取星期数 ( 1 - 7、日 - 六, 不创建 Calendar )
+     * @param millis 时间毫秒
+     * @return 星期数
+     */
+    public static int getWeekFast(final long millis) {
+        return DateFormatter.getField(millis, Calendar.DAY_OF_WEEK);
+    }
+
+    /**
+     * 获取时 ( 24 小时制, 不创建 Calendar )
+     * @param millis 时间毫秒
+     * @return 时
+     */
+    public static int get24HourFast(final long millis) {
+        return DateFormatter.getField(millis, Calendar.HOUR_OF_DAY);
+    }
+
+    /**
+     * 获取分 ( 不创建 Calendar )
+     * @param millis 时间毫秒
+     * @return 分
+     */
+    public static int getMinuteFast(final long millis) {
+        return DateFormatter.getField(millis, Calendar.MINUTE);
+    }
+
+    /**
+     * 获取秒 ( 不创建 Calendar )
+     * @param millis 时间毫秒
+     * @return 秒
+     */
+    public static int getSecondFast(final long millis) {
+        return DateFormatter.getField(millis, Calendar.SECOND);
+    }
+}
@@ -6,7 +6,6 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
@@ -15,6 +14,7 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.channels.FileChannel;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,7 +33,9 @@ public final class FileUtils {
     }
 
     // 日志 TAG
-    private static final String TAG = FileUtils.class.getSimpleName();
+    private static final String TAG           = FileUtils.class.getSimpleName();
+    // FileChannel 单次传输字节数 ( 部分平台单次 transferTo 存在上限, 同时作为进度回调粒度 )
+    private static final long   TRANSFER_SIZE = 8L * 1024L * 1024L;
 
     /**
      * 获取文件
@@ -1402,28 +1404,9 @@ public final class FileUtils {
             return false;
         }
         File destFile = new File(destFilePath);
-        // 如果属于文件夹则跳过
-        if (destFile.isDirectory()) {
+        if (!_prepareDestFile(destFile, overlay)) {
             return false;
         }
-        if (destFile.exists()) {
-            // 如果目标文件存在并允许覆盖
-            if (overlay) {
-                // 删除已经存在的目标文件, 无论目标文件是目录还是单个文件
-                destFile.delete();
-            } else { // 如果文件存在, 但是不覆盖, 则返回 false 表示失败
-                return false;
-            }
-        } else {
-            // 如果目标文件所在目录不存在, 则创建目录
-            if (!destFile.getParentFile().exists()) {
-                // 目标文件所在目录不存在
-                if (!destFile.getParentFile().mkdirs()) {
-                    // 复制文件失败: 创建目标文件所在目录失败
-                    return false;
-                }
-            }
-        }
         // 复制文件
         int          len; // 读取的字节数
         InputStream  is = inputStream;
@@ -1454,13 +1437,81 @@ public final class FileUtils {
             final String srcFilePath,
             final String destFilePath,
             final boolean overlay
+    ) {
+        return copyFile(srcFilePath, destFilePath, overlay, null);
+    }
+
+    /**
+     * 复制单个文件
+     * @param srcFilePath  待复制的文件地址
+     * @param destFilePath 目标文件地址
+     * @param overlay      如果目标文件存在, 是否覆盖
+     * @param listener     复制进度事件
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean copyFile(
+            final String srcFilePath,
+            final String destFilePath,
+            final boolean overlay,
+            final OnProgressListener listener
     ) {
         if (destFilePath == null) return false;
         if (!FileUtils.isFile(srcFilePath)) return false;
-        return copyFile(
-                FileIOUtils.getFileInputStream(srcFilePath),
-                destFilePath, overlay
-        );
+        File srcFile  = new File(srcFilePath);
+        File destFile = new File(destFilePath);
+        // 源文件与目标文件相同则无需复制
+        if (srcFile.getAbsoluteFile().equals(destFile.getAbsoluteFile())) return overlay;
+        if (!_prepareDestFile(destFile, overlay)) return false;
+        return channelCopy(srcFile, destFile, listener);
+    }
+
+    /**
+     * 通过 FileChannel 复制文件
+     * <pre>
+     *     使用 transferTo 由系统内核完成数据拷贝, 不经过用户态缓冲区
+     *     目标文件存在则覆盖, 复制失败则删除目标文件
+     * </pre>
+     * @param srcFile  待复制的文件
+     * @param destFile 目标文件
+     * @param listener 复制进度事件
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean channelCopy(
+            final File srcFile,
+            final File destFile,
+            final OnProgressListener listener
+    ) {
+        if (srcFile == null || destFile == null || !srcFile.isFile()) return false;
+        boolean          result        = false;
+        FileInputStream  fis           = null;
+        FileChannel      inputChannel  = null;
+        FileOutputStream fos           = null;
+        FileChannel      outputChannel = null;
+        try {
+            fis           = new FileInputStream(srcFile);
+            inputChannel  = fis.getChannel();
+            fos           = new FileOutputStream(destFile);
+            outputChannel = fos.getChannel();
+            long total    = inputChannel.size();
+            long position = 0L;
+            if (listener != null) listener.onProgress(position, total);
+            while (position < total) {
+                long count = inputChannel.transferTo(
+                        position, Math.min(TRANSFER_SIZE, total - position), outputChannel
+                );
+                // 源文件被截断
+                if (count <= 0L) break;
+                position += count;
+                if (listener != null) listener.onProgress(position, total);
+            }
+            result = (position == total);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "channelCopy");
+        } finally {
+            CloseUtils.closeIOQuietly(outputChannel, fos, inputChannel, fis);
+        }
+        if (!result) deleteFile(destFile);
+        return result;
     }
 
     /**
@@ -1562,10 +1613,38 @@ public final class FileUtils {
             final String destFilePath,
             final boolean overlay
     ) {
+        return moveFile(srcFilePath, destFilePath, overlay, null);
+    }
+
+    /**
+     * 移动 ( 剪切 ) 文件
+     * <pre>
+     *     优先重命名 ( 同一文件系统内无需复制数据 ), 失败则复制后删除源文件
+     * </pre>
+     * @param srcFilePath  待移动的文件地址
+     * @param destFilePath 目标文件地址
+     * @param overlay      如果目标文件存在, 是否覆盖
+     * @param listener     复制进度事件 ( 仅复制时回调 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean moveFile(
+            final String srcFilePath,
+            final String destFilePath,
+            final boolean overlay,
+            final OnProgressListener listener
+    ) {
+        if (destFilePath == null) return false;
+        if (!FileUtils.isFile(srcFilePath)) return false;
+        File srcFile  = new File(srcFilePath);
+        File destFile = new File(destFilePath);
+        if (srcFile.getAbsoluteFile().equals(destFile.getAbsoluteFile())) return overlay;
+        if (!_prepareDestFile(destFile, overlay)) return false;
+        // 同一文件系统内直接重命名
+        if (srcFile.renameTo(destFile)) return true;
         // 复制文件
-        if (copyFile(srcFilePath, destFilePath, overlay)) {
+        if (channelCopy(srcFile, destFile, listener)) {
             // 删除文件
-            return deleteFile(srcFilePath);
+            return deleteFile(srcFile);
         }
         return false;
     }
@@ -1582,6 +1661,15 @@ public final class FileUtils {
             final String destFilePath,
             final boolean overlay
     ) {
+        if (srcFilePath == null || destFilePath == null) return false;
+        File srcFolder  = new File(srcFilePath);
+        File destFolder = new File(destFilePath);
+        // 目标文件夹不存在则直接重命名
+        if (srcFolder.isDirectory() && !destFolder.exists()
+                && createOrExistsDir(destFolder.getAbsoluteFile().getParentFile())
+                && srcFolder.renameTo(destFolder)) {
+            return true;
+        }
         // 复制文件夹
         if (copyFolder(srcFilePath, destFilePath, overlay)) {
             // 删除文件夹
@@ -1590,8 +1678,61 @@ public final class FileUtils {
         return false;
     }
 
+    /**
+     * 准备目标文件 ( 覆盖则删除已存在文件, 并创建所在目录 )
+     * @param destFile 目标文件
+     * @param overlay  如果目标文件存在, 是否覆盖
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean _prepareDestFile(
+            final File destFile,
+            final boolean overlay
+    ) {
+        // 如果属于文件夹则跳过
+        if (destFile.isDirectory()) {
+            return false;
+        }
+        if (destFile.exists()) {
+            // 如果目标文件存在并允许覆盖
+            if (overlay) {
+                // 删除已经存在的目标文件
+                destFile.delete();
+            } else { // 如果文件存在, 但是不覆盖, 则返回 false 表示失败
+                return false;
+            }
+        } else {
+            // 如果目标文件所在目录不存在, 则创建目录
+            File parentFile = destFile.getAbsoluteFile().getParentFile();
+            if (!parentFile.exists()) {
+                // 目标文件所在目录不存在
+                if (!parentFile.mkdirs()) {
+                    // 复制文件失败: 创建目标文件所在目录失败
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     // =
 
+    /**
+     * detail: 复制进度事件
+     * @author Ttt
+     */
+    public interface OnProgressListener {
+
+        /**
+         * 复制进度
+         * @param current 已复制字节数
+         * @param total   文件总字节数
+         */
+        void onProgress(
+                long current,
+                long total
+        );
+    }
+
     /**
      * detail: 覆盖 / 替换事件
      * @author Ttt
@@ -1652,6 +1793,12 @@ public final class FileUtils {
                 return true;
             }
         }
+        // 移动且目标目录不存在则直接重命名
+        if (isMove && !destDir.exists()
+                && createOrExistsDir(destDir.getAbsoluteFile().getParentFile())
+                && srcDir.renameTo(destDir)) {
+            return true;
+        }
         // 目标目录不存在返回 false
         if (!createOrExistsDir(destDir)) return false;
         File[] files = srcDir.listFiles();
@@ -1720,14 +1867,9 @@ public final class FileUtils {
         }
         // 目标目录不存在返回 false
         if (!createOrExistsDir(destFile.getParentFile())) return false;
-        try {
-            return FileIOUtils.writeFileFromIS(
-                    destFile, new FileInputStream(srcFile), false
-            ) && !(isMove && !deleteFile(srcFile));
-        } catch (FileNotFoundException e) {
-            JCLogUtils.eTag(TAG, e, "copyOrMoveFile");
-            return false;
-        }
+        // 移动则优先重命名 ( 同一文件系统内无需复制数据 )
+        if (isMove && srcFile.renameTo(destFile)) return true;
+        return channelCopy(srcFile, destFile, null) && !(isMove && !deleteFile(srcFile));
     }
 
     /**
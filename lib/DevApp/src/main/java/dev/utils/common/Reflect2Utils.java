@@ -3,6 +3,8 @@ package dev.utils.common;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 
 import dev.utils.JCLogUtils;
 
@@ -45,8 +47,7 @@ public final class Reflect2Utils {
     ) {
         if (object == null || fieldName == null) return false;
         try {
-            Field field = object.getClass().getDeclaredField(fieldName);
-            field.setAccessible(true);
+            Field field = _getDeclaredField(object.getClass(), fieldName);
             field.set(object, value);
             return true;
         } catch (Exception e) {
@@ -68,8 +69,7 @@ public final class Reflect2Utils {
     ) {
         if (object == null || fieldName == null) return null;
         try {
-            Field field = object.getClass().getDeclaredField(fieldName);
-            field.setAccessible(true);
+            Field field = _getDeclaredField(object.getClass(), fieldName);
             return (T) field.get(object);
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "getProperty");
@@ -125,8 +125,7 @@ public final class Reflect2Utils {
         if (className == null || fieldName == null) return null;
         try {
             Class<?> clazz = Class.forName(className);
-            Field    field = clazz.getDeclaredField(fieldName);
-            field.setAccessible(true);
+            Field    field = _getDeclaredField(clazz, fieldName);
             return (T) field.get(clazz);
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "getStaticProperty");
@@ -188,15 +187,13 @@ public final class Reflect2Utils {
             Class<?> clazz = object.getClass();
             if (args != null && argsClass != null) { // 参数、参数类型不为 null, 并且数量相等
                 if (args.length == argsClass.length && args.length != 0) {
-                    Method method = clazz.getDeclaredMethod(methodName, argsClass);
-                    method.setAccessible(true);
+                    Method method = _getDeclaredMethod(clazz, methodName, argsClass);
                     return (T) method.invoke(object, args);
                 }
             } else {
                 // 无参数、参数类型, 才执行
                 if (args == null && argsClass == null) {
-                    Method method = clazz.getDeclaredMethod(methodName);
-                    method.setAccessible(true);
+                    Method method = _getDeclaredMethod(clazz, methodName);
                     return (T) method.invoke(object);
                 }
             }
@@ -368,15 +365,13 @@ public final class Reflect2Utils {
             Class<?> clazz = Class.forName(className);
             if (args != null && argsClass != null) { // 参数、参数类型不为 null, 并且数量相等
                 if (args.length == argsClass.length && args.length != 0) {
-                    Method method = clazz.getDeclaredMethod(methodName, argsClass);
-                    method.setAccessible(true);
+                    Method method = _getDeclaredMethod(clazz, methodName, argsClass);
                     return (T) method.invoke(clazz, args);
                 }
             } else {
                 // 无参数、参数类型, 才执行
                 if (args == null && argsClass == null) {
-                    Method method = clazz.getDeclaredMethod(methodName);
-                    method.setAccessible(true);
+                    Method method = _getDeclaredMethod(clazz, methodName);
                     return (T) method.invoke(clazz);
                 }
             }
@@ -525,7 +520,10 @@ public final class Reflect2Utils {
             if (args == null) {
                 return (T) newClass.newInstance();
             } else {
-                Constructor cons = newClass.getConstructor(argsClass);
+                Constructor cons = ReflectCache.cachedConstructor(newClass, argsClass);
+                if (cons == null || !Modifier.isPublic(cons.getModifiers())) {
+                    throw new NoSuchMethodException(className + ".<init>" + Arrays.toString(argsClass));
+                }
                 return (T) cons.newInstance(args);
             }
         } catch (Exception e) {
@@ -595,7 +593,7 @@ public final class Reflect2Utils {
     ) {
         if (object == null || field == null) return null;
         try {
-            field.setAccessible(true);
+            if (!field.isAccessible()) field.setAccessible(true);
             return (T) field.get(object);
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "getProperty");
@@ -676,24 +674,64 @@ public final class Reflect2Utils {
             Field    field = null;
             Class<?> clazz = object.getClass();
             for (; clazz != Object.class; clazz = clazz.getSuperclass()) {
-                try {
-                    field = clazz.getDeclaredField(fieldName);
+                Field declaredField = ReflectCache.cachedDeclaredField(clazz, fieldName);
+                if (declaredField != null) {
+                    field = declaredField;
                     number++;
-                } catch (Exception e) {
-                    // 这里甚么都不要做, 并且这里的异常必须这样写, 不能抛出去
-                    // 如果这里的异常打印或者往外抛, 则就不会执行 clazz = clazz.getSuperclass(), 最后就不会进入到父类中了
                 }
                 if (number >= limitNumber) {
-                    return field;
+                    return ReflectCache.copy(field);
                 }
             }
             // 负数表示跟到最后
             if (fieldNumber < 0) {
-                return field;
+                return ReflectCache.copy(field);
             }
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "getDeclaredFieldParent");
         }
         return null;
     }
-}
\ No newline at end of file
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取本类 declared 字段 ( 缓存 )
+     * @param clazz     类
+     * @param fieldName 属性名
+     * @return {@link Field}
+     * @throws NoSuchFieldException 字段不存在
+     */
+    private static Field _getDeclaredField(
+            final Class<?> clazz,
+            final String fieldName
+    )
+            throws NoSuchFieldException {
+        Field field = ReflectCache.cachedDeclaredField(clazz, fieldName);
+        if (field == null) throw new NoSuchFieldException(fieldName);
+        return field;
+    }
+
+    /**
+     * 获取本类 declared 方法 ( 缓存 )
+     * @param clazz      类
+     * @param methodName 方法名
+     * @param argsClass  参数类型
+     * @return {@link Method}
+     * @throws NoSuchMethodException 方法不存在
+     */
+    private static Method _getDeclaredMethod(
+            final Class<?> clazz,
+            final String methodName,
+            final Class<?>... argsClass
+    )
+            throws NoSuchMethodException {
+        Method method = ReflectCache.cachedDeclaredMethod(clazz, methodName, argsClass);
+        if (method == null) {
+            throw new NoSuchMethodException(methodName + Arrays.toString(argsClass));
+        }
+        return method;
+    }
+}
@@ -0,0 +1,699 @@
+package dev.utils.common;
+
+import java.lang.ref.SoftReference;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * detail: 反射成员缓存
+ * @author Ttt
+ * <pre>
+ *     按 Class 缓存 ( 名称 + 参数类型 ) 查找到的 Field、Method、Constructor ( 已 setAccessible )
+ *     查找失败同样缓存 ( 每个 Class 最多 {@link #MAX_NONE_SIZE} 个 ), 避免重复遍历继承链、重复抛出 NoSuchXxxException
+ *     <p></p>
+ *     缓存的成员仅内部使用, 对外公开方法返回副本 ( 调用方 setAccessible 等修改不影响缓存 )
+ *     Class 为弱引用 Key, 成员缓存为软引用 ( 成员持有 Class ), 不阻止 Class、ClassLoader 回收
+ *     <p></p>
+ *     {@link FieldAccessor}、{@link MethodAccessor}、{@link ConstructorAccessor}
+ *     为预先解析并设置可访问的成员, 重复调用无需再次查找、校验访问权限
+ *     ( MethodHandle 需 Android API 26 且 D8 低版本无法编译 invokeExact, LambdaMetafactory Android 不支持 )
+ * </pre>
+ */
+public final class ReflectCache {
+
+    private ReflectCache() {
+    }
+
+    // 查找失败标记
+    private static final Object NONE          = new Object();
+    // 单个 Class 查找失败缓存数量上限
+    private static final int    MAX_NONE_SIZE = 64;
+
+    // 成员缓存 ( key = Class )
+    private static final Map<Class<?>, SoftReference<Members>> CACHE = new WeakHashMap<>();
+
+    // 成员类型 ( 本类及基类 public、declared 字段 )
+    static final int FIELD               = 0;
+    // 成员类型 ( 本类 declared 字段 )
+    static final int DECLARED_FIELD      = 1;
+    // 成员类型 ( public 字段, 包括基类 )
+    static final int PUBLIC_FIELD        = 2;
+    // 成员类型 ( 本类及基类 public、declared 方法 )
+    static final int METHOD              = 3;
+    // 成员类型 ( 本类 declared 方法 )
+    static final int DECLARED_METHOD     = 4;
+    // 成员类型 ( 参数类型相似方法 )
+    static final int SIMILAR_METHOD      = 5;
+    // 成员类型 ( 构造函数 )
+    static final int CONSTRUCTOR         = 6;
+    // 成员类型 ( 参数类型相似构造函数 )
+    static final int SIMILAR_CONSTRUCTOR = 7;
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取字段 ( 先查找 public 字段, 再依次查找本类及基类 declared 字段 )
+     * @param clazz {@link Class}
+     * @param name  字段名
+     * @return {@link Field} 副本 ( 已设置可访问 )
+     */
+    public static Field getField(
+            final Class<?> clazz,
+            final String name
+    ) {
+        return _accessible(copy(cachedField(clazz, name)));
+    }
+
+    /**
+     * 获取本类 declared 字段
+     * @param clazz {@link Class}
+     * @param name  字段名
+     * @return {@link Field} 副本 ( 已设置可访问 )
+     */
+    public static Field getDeclaredField(
+            final Class<?> clazz,
+            final String name
+    ) {
+        return _accessible(copy(cachedDeclaredField(clazz, name)));
+    }
+
+    /**
+     * 获取 public 字段 ( 包括基类 )
+     * @param clazz {@link Class}
+     * @param name  字段名
+     * @return {@link Field} 副本
+     */
+    public static Field getPublicField(
+            final Class<?> clazz,
+            final String name
+    ) {
+        return copy(cachedPublicField(clazz, name));
+    }
+
+    /**
+     * 获取方法 ( 先查找 public 方法, 再依次查找本类及基类 declared 方法 )
+     * @param clazz {@link Class}
+     * @param name  方法名
+     * @param types 参数类型
+     * @return {@link Method} 副本 ( 已设置可访问 )
+     */
+    public static Method getMethod(
+            final Class<?> clazz,
+            final String name,
+            final Class<?>... types
+    ) {
+        return _accessible(copy(cachedMethod(clazz, name, types)));
+    }
+
+    /**
+     * 获取本类 declared 方法
+     * @param clazz {@link Class}
+     * @param name  方法名
+     * @param types 参数类型
+     * @return {@link Method} 副本 ( 已设置可访问 )
+     */
+    public static Method getDeclaredMethod(
+            final Class<?> clazz,
+            final String name,
+            final Class<?>... types
+    ) {
+        return _accessible(copy(cachedDeclaredMethod(clazz, name, types)));
+    }
+
+    /**
+     * 获取本类 declared 构造函数
+     * @param clazz {@link Class}
+     * @param types 参数类型
+     * @param <T>   泛型
+     * @return {@link Constructor} 副本 ( 已设置可访问 )
+     */
+    public static <T> Constructor<T> getConstructor(
+            final Class<T> clazz,
+            final Class<?>... types
+    ) {
+        return _accessible(copy(cachedConstructor(clazz, types)));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    // =
+
+    /**
+     * 获取字段访问器
+     * @param clazz {@link Class}
+     * @param name  字段名
+     * @return {@link FieldAccessor}
+     */
+    public static FieldAccessor getFieldAccessor(
+            final Class<?> clazz,
+            final String name
+    ) {
+        Field field = getField(clazz, name);
+        return (field != null) ? new FieldAccessor(field) : null;
+    }
+
+    /**
+     * 获取方法访问器
+     * @param clazz {@link Class}
+     * @param name  方法名
+     * @param types 参数类型
+     * @return {@link MethodAccessor}
+     */
+    public static MethodAccessor getMethodAccessor(
+            final Class<?> clazz,
+            final String name,
+            final Class<?>... types
+    ) {
+        Method method = getMethod(clazz, name, types);
+        return (method != null) ? new MethodAccessor(method) : null;
+    }
+
+    /**
+     * 获取构造函数访问器
+     * @param clazz {@link Class}
+     * @param types 参数类型
+     * @param <T>   泛型
+     * @return {@link ConstructorAccessor}
+     */
+    public static <T> ConstructorAccessor<T> getConstructorAccessor(
+            final Class<T> clazz,
+            final Class<?>... types
+    ) {
+        Constructor<T> constructor = getConstructor(clazz, types);
+        return (constructor != null) ? new ConstructorAccessor<>(constructor) : null;
+    }
+
+    // ==========
+    // = 访问器 =
+    // ==========
+
+    /**
+     * detail: 字段访问器
+     * @author Ttt
+     */
+    public static final class FieldAccessor {
+
+        // 字段 ( 已设置可访问 )
+        private final Field mField;
+
+        private FieldAccessor(final Field field) {
+            this.mField = field;
+        }
+
+        /**
+         * 获取字段
+         * @return {@link Field}
+         */
+        public Field getField() {
+            return mField;
+        }
+
+        /**
+         * 获取字段值
+         * @param target 对象 ( 静态字段传 null )
+         * @param <T>    泛型
+         * @return 字段值
+         * @throws ReflectUtils.ReflectException 反射异常
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T get(final Object target)
+                throws ReflectUtils.ReflectException {
+            try {
+                return (T) mField.get(target);
+            } catch (Exception e) {
+                throw new ReflectUtils.ReflectException(e);
+            }
+        }
+
+        /**
+         * 设置字段值
+         * @param target 对象 ( 静态字段传 null )
+         * @param value  字段值
+         * @throws ReflectUtils.ReflectException 反射异常
+         */
+        public void set(
+                final Object target,
+                final Object value
+        )
+                throws ReflectUtils.ReflectException {
+            try {
+                mField.set(target, value);
+            } catch (Exception e) {
+                throw new ReflectUtils.ReflectException(e);
+            }
+        }
+    }
+
+    /**
+     * detail: 方法访问器
+     * @author Ttt
+     */
+    public static final class MethodAccessor {
+
+        // 方法 ( 已设置可访问 )
+        private final Method mMethod;
+
+        private MethodAccessor(final Method method) {
+            this.mMethod = method;
+        }
+
+        /**
+         * 获取方法
+         * @return {@link Method}
+         */
+        public Method getMethod() {
+            return mMethod;
+        }
+
+        /**
+         * 执行方法
+         * @param target 对象 ( 静态方法传 null )
+         * @param args   参数
+         * @param <T>    泛型
+         * @return 方法返回值
+         * @throws ReflectUtils.ReflectException 反射异常
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T invoke(
+                final Object target,
+                final Object... args
+        )
+                throws ReflectUtils.ReflectException {
+            try {
+                return (T) mMethod.invoke(target, args);
+            } catch (Exception e) {
+                throw new ReflectUtils.ReflectException(e);
+            }
+        }
+    }
+
+    /**
+     * detail: 构造函数访问器
+     * @author Ttt
+     */
+    public static final class ConstructorAccessor<T> {
+
+        // 构造函数 ( 已设置可访问 )
+        private final Constructor<T> mConstructor;
+
+        private ConstructorAccessor(final Constructor<T> constructor) {
+            this.mConstructor = constructor;
+        }
+
+        /**
+         * 获取构造函数
+         * @return {@link Constructor}
+         */
+        public Constructor<T> getConstructor() {
+            return mConstructor;
+        }
+
+        /**
+         * 创建实例
+         * @param args 参数
+         * @return 实例
+         * @throws ReflectUtils.ReflectException 反射异常
+         */
+        public T newInstance(final Object... args)
+                throws ReflectUtils.ReflectException {
+            try {
+                return mConstructor.newInstance(args);
+            } catch (Exception e) {
+                throw new ReflectUtils.ReflectException(e);
+            }
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取缓存字段 ( 先查找 public 字段, 再依次查找本类及基类 declared 字段 )
+     * <pre>
+     *     返回缓存实例 ( 已设置可访问 ), 仅内部使用不可对外返回、修改
+     * </pre>
+     * @param clazz {@link Class}
+     * @param name  字段名
+     * @return {@link Field}
+     */
+    static Field cachedField(
+            final Class<?> clazz,
+            final String name
+    ) {
+        if (clazz == null || name == null) return null;
+        Object value = get(clazz, FIELD, name, null);
+        if (value != null) return (value == NONE) ? null : (Field) value;
+        Field field = null;
+        try {
+            field = clazz.getField(name);
+        } catch (Exception e) {
+            Class<?> type = clazz;
+            do {
+                try {
+                    field = type.getDeclaredField(name);
+                    break;
+                } catch (Exception ignore) {
+                }
+                type = type.getSuperclass();
+            } while (type != null);
+        }
+        return (Field) put(clazz, FIELD, name, null, _accessible(field));
+    }
+
+    /**
+     * 获取缓存本类 declared 字段 ( 仅内部使用 )
+     * @param clazz {@link Class}
+     * @param name  字段名
+     * @return {@link Field}
+     */
+    static Field cachedDeclaredField(
+            final Class<?> clazz,
+            final String name
+    ) {
+        if (clazz == null || name == null) return null;
+        Object value = get(clazz, DECLARED_FIELD, name, null);
+        if (value != null) return (value == NONE) ? null : (Field) value;
+        Field field = null;
+        try {
+            field = clazz.getDeclaredField(name);
+        } catch (Exception ignore) {
+        }
+        return (Field) put(clazz, DECLARED_FIELD, name, null, _accessible(field));
+    }
+
+    /**
+     * 获取缓存 public 字段 ( 仅内部使用 )
+     * @param clazz {@link Class}
+     * @param name  字段名
+     * @return {@link Field}
+     */
+    static Field cachedPublicField(
+            final Class<?> clazz,
+            final String name
+    ) {
+        if (clazz == null || name == null) return null;
+        Object value = get(clazz, PUBLIC_FIELD, name, null);
+        if (value != null) return (value == NONE) ? null : (Field) value;
+        Field field = null;
+        try {
+            field = clazz.getField(name);
+        } catch (Exception ignore) {
+        }
+        return (Field) put(clazz, PUBLIC_FIELD, name, null, field);
+    }
+
+    /**
+     * 获取缓存方法 ( 仅内部使用 )
+     * @param clazz {@link Class}
+     * @param name  方法名
+     * @param types 参数类型
+     * @return {@link Method}
+     */
+    static Method cachedMethod(
+            final Class<?> clazz,
+            final String name,
+            final Class<?>... types
+    ) {
+        if (clazz == null || name == null) return null;
+        Object value = get(clazz, METHOD, name, types);
+        if (value != null) return (value == NONE) ? null : (Method) value;
+        Method method = null;
+        try {
+            method = clazz.getMethod(name, types);
+        } catch (Exception e) {
+            Class<?> type = clazz;
+            do {
+                try {
+                    method = type.getDeclaredMethod(name, types);
+                    break;
+                } catch (Exception ignore) {
+                }
+                type = type.getSuperclass();
+            } while (type != null);
+        }
+        return (Method) put(clazz, METHOD, name, types, _accessible(method));
+    }
+
+    /**
+     * 获取缓存本类 declared 方法 ( 仅内部使用 )
+     * @param clazz {@link Class}
+     * @param name  方法名
+     * @param types 参数类型
+     * @return {@link Method}
+     */
+    static Method cachedDeclaredMethod(
+            final Class<?> clazz,
+            final String name,
+            final Class<?>... types
+    ) {
+        if (clazz == null || name == null) return null;
+        Object value = get(clazz, DECLARED_METHOD, name, types);
+        if (value != null) return (value == NONE) ? null : (Method) value;
+        Method method = null;
+        try {
+            method = clazz.getDeclaredMethod(name, types);
+        } catch (Exception ignore) {
+        }
+        return (Method) put(clazz, DECLARED_METHOD, name, types, _accessible(method));
+    }
+
+    /**
+     * 获取缓存本类 declared 构造函数 ( 仅内部使用 )
+     * @param clazz {@link Class}
+     * @param types 参数类型
+     * @param <T>   泛型
+     * @return {@link Constructor}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Constructor<T> cachedConstructor(
+            final Class<T> clazz,
+            final Class<?>... types
+    ) {
+        if (clazz == null) return null;
+        Object value = get(clazz, CONSTRUCTOR, null, types);
+        if (value != null) return (value == NONE) ? null : (Constructor<T>) value;
+        Constructor<T> constructor = null;
+        try {
+            constructor = clazz.getDeclaredConstructor(types);
+        } catch (Exception ignore) {
+        }
+        return (Constructor<T>) put(clazz, CONSTRUCTOR, null, types, _accessible(constructor));
+    }
+
+    // =
+
+    /**
+     * 复制字段 ( 副本可访问性、修饰符与缓存实例互不影响 )
+     * @param field {@link Field}
+     * @return {@link Field} 副本
+     */
+    static Field copy(final Field field) {
+        if (field == null) return null;
+        try {
+            return field.getDeclaringClass().getDeclaredField(field.getName());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 复制方法
+     * @param method {@link Method}
+     * @return {@link Method} 副本
+     */
+    static Method copy(final Method method) {
+        if (method == null) return null;
+        try {
+            return method.getDeclaringClass().getDeclaredMethod(
+                    method.getName(), method.getParameterTypes()
+            );
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 复制构造函数
+     * @param constructor {@link Constructor}
+     * @param <T>         泛型
+     * @return {@link Constructor} 副本
+     */
+    static <T> Constructor<T> copy(final Constructor<T> constructor) {
+        if (constructor == null) return null;
+        try {
+            return constructor.getDeclaringClass().getDeclaredConstructor(
+                    constructor.getParameterTypes()
+            );
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // =
+
+    /**
+     * 获取缓存
+     * @param clazz {@link Class}
+     * @param kind  成员类型
+     * @param name  成员名
+     * @param types 参数类型
+     * @return 缓存成员, 查找失败返回 {@link #NONE}, 未缓存返回 null
+     */
+    static Object get(
+            final Class<?> clazz,
+            final int kind,
+            final String name,
+            final Class<?>[] types
+    ) {
+        Members members = _members(clazz, false);
+        if (members == null) return null;
+        return members.map.get(new MemberKey(kind, name, types));
+    }
+
+    /**
+     * 存储缓存
+     * @param clazz  {@link Class}
+     * @param kind   成员类型
+     * @param name   成员名
+     * @param types  参数类型
+     * @param member 成员 ( null 表示查找失败 )
+     * @return 传入的成员
+     */
+    static Object put(
+            final Class<?> clazz,
+            final int kind,
+            final String name,
+            final Class<?>[] types,
+            final Object member
+    ) {
+        Members    members = _members(clazz, true);
+        Class<?>[] copy    = (types != null) ? types.clone() : null;
+        MemberKey  key     = new MemberKey(kind, name, copy);
+        if (member != null) {
+            members.map.put(key, member);
+        } else if (members.noneCount.get() < MAX_NONE_SIZE) {
+            // 查找失败缓存数量达到上限后不再缓存
+            if (members.map.put(key, NONE) == null) {
+                members.noneCount.incrementAndGet();
+            }
+        }
+        return member;
+    }
+
+    /**
+     * 是否查找失败标记
+     * @param value 缓存值
+     * @return {@code true} yes, {@code false} no
+     */
+    static boolean isNone(final Object value) {
+        return value == NONE;
+    }
+
+    /**
+     * 获取 Class 成员缓存
+     * @param clazz  {@link Class}
+     * @param create 不存在是否创建
+     * @return {@link Members}
+     */
+    private static Members _members(
+            final Class<?> clazz,
+            final boolean create
+    ) {
+        synchronized (CACHE) {
+            SoftReference<Members> reference = CACHE.get(clazz);
+            Members                members   = (reference != null) ? reference.get() : null;
+            if (members == null && create) {
+                members = new Members();
+                CACHE.put(clazz, new SoftReference<>(members));
+            }
+            return members;
+        }
+    }
+
+    /**
+     * 设置成员可访问
+     * @param accessible 成员
+     * @param <T>        泛型
+     * @return 传入的成员
+     */
+    private static <T extends AccessibleObject> T _accessible(final T accessible) {
+        if (accessible == null) return null;
+        try {
+            if (!accessible.isAccessible()) accessible.setAccessible(true);
+        } catch (Exception ignore) {
+        }
+        return accessible;
+    }
+
+    /**
+     * detail: Class 成员缓存
+     * @author Ttt
+     */
+    private static final class Members {
+
+        // 成员缓存
+        final Map<MemberKey, Object> map       = new ConcurrentHashMap<>();
+        // 查找失败缓存数量
+        final AtomicInteger          noneCount = new AtomicInteger();
+    }
+
+    /**
+     * detail: 成员缓存 Key
+     * @author Ttt
+     */
+    private static final class MemberKey {
+
+        // 成员类型
+        private final int        kind;
+        // 成员名
+        private final String     name;
+        // 参数类型
+        private final Class<?>[] types;
+        // hashCode
+        private final int        hash;
+
+        MemberKey(
+                final int kind,
+                final String name,
+                final Class<?>[] types
+        ) {
+            this.kind  = kind;
+            this.name  = name;
+            this.types = (types != null && types.length == 0) ? null : types;
+            this.hash  = (kind * 31 + (name != null ? name.hashCode() : 0)) * 31
+                    + Arrays.hashCode(this.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) return true;
+            if (!(object instanceof MemberKey)) return false;
+            MemberKey other = (MemberKey) object;
+            return kind == other.kind && hash == other.hash
+                    && ObjectUtils.equals(name, other.name)
+                    && Arrays.equals(types, other.types);
+        }
+    }
+}
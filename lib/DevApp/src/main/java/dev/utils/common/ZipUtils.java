@@ -2,24 +2,50 @@ package dev.utils.common;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.thread.DevParallelExecutor;
 
 /**
  * detail: 压缩相关工具类
  * @author Ttt
+ * <pre>
+ *     压缩: 文件分块通过 {@link DevParallelExecutor} 并行 Deflate, 按顺序写入, 可通过 {@link Options} 设置压缩级别、不压缩 ( STORED ) 文件后缀
+ *     解压: 通过 {@link ZipFile} 随机读取, 文件条目在共享的有界解压线程池中并行解压
+ * </pre>
  */
 public final class ZipUtils {
 
@@ -30,7 +56,112 @@ public final class ZipUtils {
     private static final String TAG = ZipUtils.class.getSimpleName();
 
     // 缓存大小
-    private static final int BUFFER_LEN = 8192;
+    private static final int     BUFFER_LEN = 8192;
+    // 条目名称、注释编码
+    private static final Charset UTF_8      = Charset.forName("UTF-8");
+
+    // 并行压缩分块大小
+    private static final int  BLOCK_SIZE        = 1024 * 1024;
+    // Deflate 字典大小 ( 分块压缩时使用上一块末尾数据作为字典, 保持压缩率 )
+    private static final int  DICT_SIZE         = 32 * 1024;
+    // 并行压缩最大数据大小 ( 超过则使用 ZipOutputStream 串行压缩, 以支持 Zip64 )
+    private static final long MAX_ZIP32_SIZE    = 0xF0000000L;
+    // 并行压缩最大条目数量
+    private static final int  MAX_ZIP32_ENTRIES = 0xFFFF;
+
+    // 解压线程池 ( 全部解压共享, 线程数不超过 CPU 数量 )
+    private static final ThreadPoolExecutor UNZIP_EXECUTOR = _createExecutor();
+
+    /**
+     * detail: 压缩配置
+     * @author Ttt
+     */
+    public static final class Options {
+
+        // 压缩级别
+        private       int         mLevel          = Deflater.DEFAULT_COMPRESSION;
+        // 线程数量
+        private       int         mThreadCount    = Runtime.getRuntime().availableProcessors();
+        // 不压缩 ( STORED ) 文件后缀
+        private final Set<String> mStoredSuffixes = new HashSet<>();
+
+        /**
+         * 获取压缩级别
+         * @return 压缩级别
+         */
+        public int getLevel() {
+            return mLevel;
+        }
+
+        /**
+         * 设置压缩级别
+         * @param level 压缩级别 ( {@link Deflater#BEST_SPEED} - {@link Deflater#BEST_COMPRESSION} )
+         * @return {@link Options}
+         */
+        public Options setLevel(final int level) {
+            this.mLevel = level;
+            return this;
+        }
+
+        /**
+         * 获取线程数量
+         * @return 线程数量
+         */
+        public int getThreadCount() {
+            return mThreadCount;
+        }
+
+        /**
+         * 设置线程数量
+         * @param threadCount 线程数量
+         * @return {@link Options}
+         */
+        public Options setThreadCount(final int threadCount) {
+            this.mThreadCount = Math.max(1, threadCount);
+            return this;
+        }
+
+        /**
+         * 添加不压缩 ( STORED ) 文件后缀
+         * @param suffixes 文件后缀 ( 如 jpg、mp4 )
+         * @return {@link Options}
+         */
+        public Options addStoredSuffix(final String... suffixes) {
+            if (suffixes != null) {
+                for (String suffix : suffixes) {
+                    if (suffix != null) {
+                        mStoredSuffixes.add(suffix.toLowerCase());
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * 添加常见已压缩媒体、压缩包文件后缀为不压缩
+         * @return {@link Options}
+         */
+        public Options storeMedia() {
+            return addStoredSuffix(
+                    "jpg", "jpeg", "png", "gif", "webp", "heic", "heif",
+                    "mp3", "aac", "m4a", "ogg", "opus", "flac",
+                    "mp4", "m4v", "3gp", "mkv", "webm", "mov",
+                    "zip", "gz", "7z", "rar", "xz", "bz2", "apk", "jar"
+            );
+        }
+
+        /**
+         * 是否不压缩 ( STORED ) 该文件
+         * @param file 文件
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isStored(final File file) {
+            if (mLevel == Deflater.NO_COMPRESSION) return true;
+            if (mStoredSuffixes.isEmpty()) return false;
+            String extension = FileUtils.getFileExtension(file);
+            return extension != null && mStoredSuffixes.contains(extension.toLowerCase());
+        }
+    }
 
     /**
      * 批量压缩文件
@@ -62,21 +193,11 @@ public final class ZipUtils {
     )
             throws Exception {
         if (resFilePaths == null || zipFilePath == null) return false;
-        ZipOutputStream zos = null;
-        try {
-            zos = new ZipOutputStream(new FileOutputStream(zipFilePath));
-            for (String resFile : resFilePaths) {
-                if (!zipFile(FileUtils.getFileByPath(resFile), "", zos, comment)) {
-                    return false;
-                }
-            }
-            return true;
-        } finally {
-            if (zos != null) {
-                zos.finish();
-                CloseUtils.closeIOQuietly(zos);
-            }
+        List<File> resFiles = new ArrayList<>(resFilePaths.size());
+        for (String resFile : resFilePaths) {
+            resFiles.add(FileUtils.getFileByPath(resFile));
         }
+        return zipFiles(resFiles, FileUtils.getFileByPath(zipFilePath), comment);
     }
 
     /**
@@ -106,22 +227,47 @@ public final class ZipUtils {
             final Collection<File> resFiles,
             final File zipFile,
             final String comment
+    )
+            throws Exception {
+        return zipFiles(resFiles, zipFile, comment, new Options());
+    }
+
+    /**
+     * 批量压缩文件 ( 并行压缩 )
+     * <pre>
+     *     文件按 {@link #BLOCK_SIZE} 分块通过 {@link DevParallelExecutor} 并行压缩, 再按顺序写入压缩文件
+     *     总大小超过 4G 或条目超过 65535 个时使用 ZipOutputStream 串行压缩 ( Zip64 )
+     *     文件大小在收集条目时记录, 压缩中追加写入的数据不会压缩 ( 仅压缩记录大小的数据 )
+     * </pre>
+     * @param resFiles 待压缩文件集合
+     * @param zipFile  压缩文件
+     * @param comment  压缩文件的注释
+     * @param options  压缩配置
+     * @return {@code true} 压缩成功, {@code false} 压缩失败
+     * @throws Exception 异常时抛出
+     */
+    public static boolean zipFiles(
+            final Collection<File> resFiles,
+            final File zipFile,
+            final String comment,
+            final Options options
     )
             throws Exception {
         if (resFiles == null || zipFile == null) return false;
-        ZipOutputStream zos = null;
-        try {
-            zos = new ZipOutputStream(new FileOutputStream(zipFile));
-            for (File resFile : resFiles) {
-                if (!zipFile(resFile, "", zos, comment)) return false;
-            }
-            return true;
-        } finally {
-            if (zos != null) {
-                zos.finish();
-                CloseUtils.closeIOQuietly(zos);
-            }
+        Options        config  = (options != null) ? options : new Options();
+        List<ZipEntry> entries = new ArrayList<>();
+        List<File>     files   = new ArrayList<>();
+        for (File resFile : resFiles) {
+            _collectEntry(resFile, "", comment, config, entries, files);
+        }
+        long totalSize = 0L;
+        for (ZipEntry entry : entries) {
+            totalSize += entry.getSize();
         }
+        if (totalSize >= MAX_ZIP32_SIZE || entries.size() >= MAX_ZIP32_ENTRIES) {
+            return _zipSerial(entries, files, zipFile, config);
+        }
+        return new ParallelZipWriter(zipFile, entries, files, config).write();
     }
 
     /**
@@ -194,31 +340,26 @@ public final class ZipUtils {
     )
             throws Exception {
         if (resFile == null || zipFile == null) return false;
-        ZipOutputStream zos = null;
-        try {
-            zos = new ZipOutputStream(new FileOutputStream(zipFile));
-            return zipFile(resFile, "", zos, comment);
-        } finally {
-            CloseUtils.closeIOQuietly(zos);
-        }
+        return zipFiles(Collections.singletonList(resFile), zipFile, comment);
     }
 
     /**
-     * 压缩文件
+     * 获取待压缩条目 ( 记录文件大小为条目大小, 压缩时只读取该大小数据 )
      * @param resFile  待压缩文件
      * @param rootPath 相对于压缩文件的路径
-     * @param zos      压缩文件输出流
      * @param comment  压缩文件的注释
-     * @return {@code true} 压缩成功, {@code false} 压缩失败
-     * @throws Exception 异常时抛出
+     * @param options  压缩配置
+     * @param entries  压缩条目
+     * @param files    压缩条目对应文件 ( 文件夹为 null )
      */
-    private static boolean zipFile(
+    private static void _collectEntry(
             final File resFile,
             final String rootPath,
-            final ZipOutputStream zos,
-            final String comment
-    )
-            throws Exception {
+            final String comment,
+            final Options options,
+            final List<ZipEntry> entries,
+            final List<File> files
+    ) {
         // 处理后的文件路径
         String filePath = rootPath + (StringUtils.isEmpty(rootPath) ? "" : File.separator) + resFile.getName();
         if (resFile.isDirectory()) {
@@ -227,34 +368,498 @@ public final class ZipUtils {
             if (fileList == null || fileList.length == 0) {
                 ZipEntry entry = new ZipEntry(filePath + '/');
                 entry.setComment(comment);
-                zos.putNextEntry(entry);
-                zos.closeEntry();
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(0L);
+                entries.add(entry);
+                files.add(null);
             } else {
                 for (File file : fileList) {
-                    // 如果递归返回 false 则返回 false
-                    if (!zipFile(file, filePath, zos, comment)) return false;
+                    _collectEntry(file, filePath, comment, options, entries, files);
                 }
             }
         } else {
-            InputStream is = null;
-            try {
-                is = new BufferedInputStream(new FileInputStream(resFile));
-                ZipEntry entry = new ZipEntry(filePath);
-                entry.setComment(comment);
+            ZipEntry entry = new ZipEntry(filePath);
+            entry.setComment(comment);
+            entry.setMethod(options.isStored(resFile) ? ZipEntry.STORED : ZipEntry.DEFLATED);
+            entry.setSize(resFile.length());
+            entries.add(entry);
+            files.add(resFile);
+        }
+    }
+
+    /**
+     * 串行压缩文件 ( ZipOutputStream, 支持 Zip64 )
+     * @param entries 压缩条目
+     * @param files   压缩条目对应文件
+     * @param zipFile 压缩文件
+     * @param options 压缩配置
+     * @return {@code true} 压缩成功, {@code false} 压缩失败
+     * @throws Exception 异常时抛出
+     */
+    private static boolean _zipSerial(
+            final List<ZipEntry> entries,
+            final List<File> files,
+            final File zipFile,
+            final Options options
+    )
+            throws Exception {
+        ZipOutputStream zos = null;
+        try {
+            zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)));
+            zos.setLevel(options.getLevel());
+            byte[] buffer = new byte[BUFFER_LEN];
+            for (int i = 0, len = entries.size(); i < len; i++) {
+                ZipEntry entry = entries.get(i);
+                File     file  = files.get(i);
+                if (entry.getMethod() == ZipEntry.STORED) {
+                    // STORED 需预先设置 CRC
+                    entry.setCrc((file != null) ? _crc(file, entry.getSize(), buffer) : 0L);
+                }
                 zos.putNextEntry(entry);
-                byte[] buffer = new byte[BUFFER_LEN];
-                int    len;
-                while ((len = is.read(buffer, 0, BUFFER_LEN)) != -1) {
-                    zos.write(buffer, 0, len);
+                if (file != null) {
+                    InputStream is = null;
+                    try {
+                        is = new FileInputStream(file);
+                        long remaining = entry.getSize();
+                        int  count;
+                        while (remaining > 0L && (count = is.read(
+                                buffer, 0, (int) Math.min(BUFFER_LEN, remaining))) != -1) {
+                            zos.write(buffer, 0, count);
+                            remaining -= count;
+                        }
+                    } finally {
+                        CloseUtils.closeIOQuietly(is);
+                    }
                 }
                 zos.closeEntry();
+            }
+            zos.finish();
+            return true;
+        } finally {
+            CloseUtils.closeIOQuietly(zos);
+        }
+    }
+
+    /**
+     * 计算文件 CRC32
+     * @param file   文件
+     * @param length 计算数据大小
+     * @param buffer 读取缓冲
+     * @return CRC32
+     * @throws Exception 异常时抛出
+     */
+    private static long _crc(
+            final File file,
+            final long length,
+            final byte[] buffer
+    )
+            throws Exception {
+        CRC32       crc = new CRC32();
+        InputStream is  = null;
+        try {
+            is = new FileInputStream(file);
+            long remaining = length;
+            int  count;
+            while (remaining > 0L && (count = is.read(
+                    buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                crc.update(buffer, 0, count);
+                remaining -= count;
+            }
+        } finally {
+            CloseUtils.closeIOQuietly(is);
+        }
+        return crc.getValue();
+    }
+
+    // ===========
+    // = 并行压缩 =
+    // ===========
+
+    /**
+     * detail: 分块压缩结果
+     * @author Ttt
+     */
+    private static final class Block {
+
+        // 原始数据
+        final byte[] data;
+        // 原始数据长度
+        final int    length;
+        // 写入数据 ( 压缩后数据、STORED 为原始数据 )
+        final byte[] output;
+        // 写入数据长度
+        final int    outputLength;
+
+        Block(
+                final byte[] data,
+                final int length,
+                final byte[] output,
+                final int outputLength
+        ) {
+            this.data         = data;
+            this.length       = length;
+            this.output       = output;
+            this.outputLength = outputLength;
+        }
+    }
+
+    /**
+     * detail: 并行压缩写入
+     * @author Ttt
+     * <pre>
+     *     每个文件按 {@link #BLOCK_SIZE} 分块, 以上一块末尾 {@link #DICT_SIZE} 数据为字典独立压缩 ( 同 pigz )
+     *     非最后一块以 SYNC_FLUSH 结束, 按顺序拼接即为完整的 Deflate 数据
+     *     写入条目数据后回写本地文件头的 CRC、大小, 无需 Data Descriptor
+     * </pre>
+     */
+    private static final class ParallelZipWriter {
+
+        // 压缩文件
+        private final    File           mZipFile;
+        // 压缩条目
+        private final    List<ZipEntry> mEntries;
+        // 压缩条目对应文件
+        private final    List<File>     mFiles;
+        // 压缩配置
+        private final    Options        mOptions;
+        // 本地文件头位置
+        private final    long[]         mOffsets;
+        // 条目修改时间 ( DOS 格式 )
+        private final    long           mDosTime;
+        // 是否已取消 ( 压缩失败、写入结束 )
+        private volatile boolean        mCancelled;
+
+        ParallelZipWriter(
+                final File zipFile,
+                final List<ZipEntry> entries,
+                final List<File> files,
+                final Options options
+        ) {
+            this.mZipFile = zipFile;
+            this.mEntries = entries;
+            this.mFiles   = files;
+            this.mOptions = options;
+            this.mOffsets = new long[entries.size()];
+            this.mDosTime = _dosTime(System.currentTimeMillis());
+        }
+
+        /**
+         * 压缩写入
+         * @return {@code true} 压缩成功, {@code false} 压缩失败
+         * @throws Exception 异常时抛出
+         */
+        boolean write()
+                throws Exception {
+            int threads = mOptions.getThreadCount();
+            // 写入线程只等待、写入分块, 不参与压缩 ( 并行数包含调用线程 )
+            DevParallelExecutor.Group group   = DevParallelExecutor.newGroup(threads + 1);
+            Deque<BlockTask>          pending = new ArrayDeque<>();
+            RandomAccessFile          raf     = null;
+            try {
+                raf = new RandomAccessFile(mZipFile, "rw");
+                raf.setLength(0L);
+                FileChannel channel = raf.getChannel();
+                // 提交位置 ( 条目索引、分块索引 )
+                int submitEntry = 0;
+                int submitBlock = 0;
+                for (int i = 0, len = mEntries.size(); i < len; i++) {
+                    ZipEntry entry = mEntries.get(i);
+                    File     file  = mFiles.get(i);
+                    boolean  deflated = file != null && entry.getMethod() == ZipEntry.DEFLATED;
+                    int      blocks   = (file != null) ? _blockCount(entry.getSize()) : 0;
+                    mOffsets[i] = channel.position();
+                    _writeFully(channel, _localHeader(entry, deflated));
+                    CRC32 crc   = new CRC32();
+                    long  csize = 0L;
+                    for (int b = 0; b < blocks; b++) {
+                        // 保持最多 threads * 2 个分块并行压缩
+                        while (submitEntry < len && pending.size() < threads * 2) {
+                            File submitFile   = mFiles.get(submitEntry);
+                            long submitLength = mEntries.get(submitEntry).getSize();
+                            int  count        = (submitFile != null) ? _blockCount(submitLength) : 0;
+                            if (submitBlock >= count) {
+                                submitEntry++;
+                                submitBlock = 0;
+                                continue;
+                            }
+                            boolean submitDeflated = mEntries.get(submitEntry).getMethod() == ZipEntry.DEFLATED;
+                            int     index          = submitBlock++;
+                            BlockTask task = new BlockTask(
+                                    submitFile, submitLength, index, count, submitDeflated
+                            );
+                            pending.add(task);
+                            group.submit(task);
+                        }
+                        Block block = pending.poll().get();
+                        crc.update(block.data, 0, block.length);
+                        csize += block.outputLength;
+                        _writeFully(channel, ByteBuffer.wrap(block.output, 0, block.outputLength));
+                    }
+                    entry.setCrc((file != null) ? crc.getValue() : 0L);
+                    entry.setCompressedSize(csize);
+                    // 回写 CRC、大小
+                    ByteBuffer patch = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+                    patch.putInt((int) entry.getCrc()).putInt((int) csize).putInt((int) entry.getSize());
+                    patch.flip();
+                    long end = channel.position();
+                    while (patch.hasRemaining()) {
+                        channel.write(patch, mOffsets[i] + 14 + (12 - patch.remaining()));
+                    }
+                    channel.position(end);
+                }
+                // 中央目录
+                long centralOffset = channel.position();
+                for (int i = 0, len = mEntries.size(); i < len; i++) {
+                    ZipEntry entry = mEntries.get(i);
+                    _writeFully(channel, _centralHeader(entry, mFiles.get(i) != null
+                            && entry.getMethod() == ZipEntry.DEFLATED, mOffsets[i]));
+                }
+                long       centralSize = channel.position() - centralOffset;
+                ByteBuffer end         = ByteBuffer.allocate(22).order(ByteOrder.LITTLE_ENDIAN);
+                end.putInt(0x06054b50).putShort((short) 0).putShort((short) 0)
+                        .putShort((short) mEntries.size()).putShort((short) mEntries.size())
+                        .putInt((int) centralSize).putInt((int) centralOffset).putShort((short) 0);
+                end.flip();
+                _writeFully(channel, end);
+                return true;
             } finally {
-                CloseUtils.closeIOQuietly(is);
+                // 取消未执行的分块并等待执行中的分块结束
+                mCancelled = true;
+                try {
+                    group.await();
+                } catch (Exception ignored) {
+                }
+                CloseUtils.closeIOQuietly(raf);
             }
         }
-        return true;
+
+        /**
+         * detail: 分块压缩任务
+         * @author Ttt
+         */
+        private final class BlockTask
+                implements Runnable {
+
+            // 文件
+            private final File      file;
+            // 文件大小 ( 收集条目时记录 )
+            private final long      fileLength;
+            // 分块索引
+            private final int       index;
+            // 分块总数
+            private final int       count;
+            // 是否压缩
+            private final boolean   deflated;
+            // 压缩结果
+            private       Block     block;
+            // 压缩异常
+            private       Exception error;
+            // 是否执行结束
+            private       boolean   done;
+
+            BlockTask(
+                    final File file,
+                    final long fileLength,
+                    final int index,
+                    final int count,
+                    final boolean deflated
+            ) {
+                this.file       = file;
+                this.fileLength = fileLength;
+                this.index      = index;
+                this.count      = count;
+                this.deflated   = deflated;
+            }
+
+            @Override
+            public void run() {
+                Block     result    = null;
+                Exception exception = null;
+                if (!mCancelled) {
+                    try {
+                        result = _compress(file, fileLength, index, count, deflated);
+                    } catch (Exception e) {
+                        exception = e;
+                    }
+                }
+                synchronized (this) {
+                    block = result;
+                    error = exception;
+                    done  = true;
+                    notifyAll();
+                }
+            }
+
+            /**
+             * 等待并获取压缩结果
+             * @return {@link Block}
+             * @throws Exception 压缩异常
+             */
+            synchronized Block get()
+                    throws Exception {
+                while (!done) {
+                    wait();
+                }
+                if (error != null) throw error;
+                return block;
+            }
+        }
+
+        /**
+         * 压缩分块
+         * @param file       文件
+         * @param fileLength 文件大小 ( 收集条目时记录 )
+         * @param index      分块索引
+         * @param count      分块总数
+         * @param deflated   是否压缩
+         * @return {@link Block}
+         * @throws Exception 异常时抛出
+         */
+        private Block _compress(
+                final File file,
+                final long fileLength,
+                final int index,
+                final int count,
+                final boolean deflated
+        )
+                throws Exception {
+            long             position   = (long) index * BLOCK_SIZE;
+            int              dictLength = (deflated && index > 0) ? DICT_SIZE : 0;
+            int              length     = (int) Math.min(BLOCK_SIZE, Math.max(0L, fileLength - position));
+            byte[]           data       = new byte[dictLength + length];
+            RandomAccessFile raf        = null;
+            try {
+                raf = new RandomAccessFile(file, "r");
+                raf.seek(position - dictLength);
+                raf.readFully(data);
+            } finally {
+                CloseUtils.closeIOQuietly(raf);
+            }
+            byte[] block = (dictLength == 0) ? data : Arrays.copyOfRange(data, dictLength, data.length);
+            if (!deflated) {
+                return new Block(block, length, block, length);
+            }
+            Deflater deflater = new Deflater(mOptions.getLevel(), true);
+            try {
+                if (dictLength > 0) {
+                    deflater.setDictionary(data, 0, dictLength);
+                }
+                deflater.setInput(data, dictLength, length);
+                ByteArrayOutputStream baos   = new ByteArrayOutputStream(Math.max(64, length / 2));
+                byte[]                buffer = new byte[BUFFER_LEN * 8];
+                if (index == count - 1) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        int len = deflater.deflate(buffer);
+                        baos.write(buffer, 0, len);
+                    }
+                } else {
+                    int len;
+                    do {
+                        len = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                        baos.write(buffer, 0, len);
+                    } while (len == buffer.length);
+                }
+                byte[] output = baos.toByteArray();
+                return new Block(block, length, output, output.length);
+            } finally {
+                deflater.end();
+            }
+        }
+
+        /**
+         * 获取本地文件头 ( CRC、大小写入数据后回写 )
+         * @param entry    压缩条目
+         * @param deflated 是否压缩
+         * @return 本地文件头
+         */
+        private ByteBuffer _localHeader(
+                final ZipEntry entry,
+                final boolean deflated
+        ) {
+            byte[]     name   = entry.getName().getBytes(UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(30 + name.length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0x04034b50).putShort((short) (deflated ? 20 : 10)).putShort((short) 0x0800)
+                    .putShort((short) (deflated ? ZipEntry.DEFLATED : ZipEntry.STORED))
+                    .putInt((int) mDosTime).putInt(0).putInt(0).putInt(0)
+                    .putShort((short) name.length).putShort((short) 0).put(name);
+            buffer.flip();
+            return buffer;
+        }
+
+        /**
+         * 获取中央目录文件头
+         * @param entry    压缩条目
+         * @param deflated 是否压缩
+         * @param offset   本地文件头位置
+         * @return 中央目录文件头
+         */
+        private ByteBuffer _centralHeader(
+                final ZipEntry entry,
+                final boolean deflated,
+                final long offset
+        ) {
+            byte[]     name    = entry.getName().getBytes(UTF_8);
+            byte[]     comment = (entry.getComment() != null) ? entry.getComment().getBytes(UTF_8) : new byte[0];
+            ByteBuffer buffer  = ByteBuffer.allocate(46 + name.length + comment.length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0x02014b50).putShort((short) 20).putShort((short) (deflated ? 20 : 10))
+                    .putShort((short) 0x0800).putShort((short) (deflated ? ZipEntry.DEFLATED : ZipEntry.STORED))
+                    .putInt((int) mDosTime).putInt((int) entry.getCrc())
+                    .putInt((int) entry.getCompressedSize()).putInt((int) entry.getSize())
+                    .putShort((short) name.length).putShort((short) 0).putShort((short) comment.length)
+                    .putShort((short) 0).putShort((short) 0).putInt(0).putInt((int) offset)
+                    .put(name).put(comment);
+            buffer.flip();
+            return buffer;
+        }
     }
 
+    /**
+     * 获取分块数量
+     * @param length 文件大小
+     * @return 分块数量 ( 空文件为 1 块 )
+     */
+    private static int _blockCount(final long length) {
+        return (int) Math.max(1L, (length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    }
+
+    /**
+     * 写入全部数据
+     * @param channel 文件通道
+     * @param buffer  待写入数据
+     * @throws IOException 写入异常
+     */
+    private static void _writeFully(
+            final FileChannel channel,
+            final ByteBuffer buffer
+    )
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 转换 DOS 时间格式
+     * @param millis 毫秒
+     * @return DOS 时间格式
+     */
+    private static long _dosTime(final long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (year - 1980) << 25) | ((calendar.get(Calendar.MONTH) + 1) << 21)
+                | (calendar.get(Calendar.DAY_OF_MONTH) << 16) | (calendar.get(Calendar.HOUR_OF_DAY) << 11)
+                | (calendar.get(Calendar.MINUTE) << 5) | (calendar.get(Calendar.SECOND) >> 1);
+    }
+
+    // ===========
+    // = 解压文件 =
+    // ===========
+
     /**
      * 解压文件
      * @param zipFilePath 待解压文件路径
@@ -318,75 +923,130 @@ public final class ZipUtils {
             final File zipFile,
             final File destDir,
             final String keyword
+    )
+            throws Exception {
+        return unzipFileByKeyword(zipFile, destDir, keyword, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 解压带有关键字的文件 ( 并行解压 )
+     * <pre>
+     *     先按顺序创建文件夹, 文件条目在共享解压线程池中通过 {@link ZipFile} 随机读取并行解压 ( 解压时创建文件 )
+     *     单次解压最多占用 threadCount 个线程, 解压失败时返回失败条目 ( 含 ) 之前的文件链表
+     * </pre>
+     * @param zipFile     待解压文件
+     * @param destDir     目标目录
+     * @param keyword     关键字
+     * @param threadCount 线程数量
+     * @return 带有关键字的文件链表
+     * @throws Exception 异常时抛出
+     */
+    public static List<File> unzipFileByKeyword(
+            final File zipFile,
+            final File destDir,
+            final String keyword,
+            final int threadCount
     )
             throws Exception {
         if (zipFile == null || destDir == null) return null;
         List<File>     files   = new ArrayList<>();
+        List<ZipEntry> entries = new ArrayList<>();
         ZipFile        zip     = new ZipFile(zipFile);
-        Enumeration<?> entries = zip.entries();
-        if (StringUtils.isEmpty(keyword)) {
-            while (entries.hasMoreElements()) {
-                ZipEntry entry     = ((ZipEntry) entries.nextElement());
+        try {
+            Enumeration<?> enumeration = zip.entries();
+            while (enumeration.hasMoreElements()) {
+                ZipEntry entry     = ((ZipEntry) enumeration.nextElement());
                 String   entryName = entry.getName();
                 if (entryName.contains("../")) {
                     JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
                     continue;
                 }
-                if (!unzipChildFile(destDir, files, zip, entry, entryName)) return files;
+                if (StringUtils.isEmpty(keyword) || entryName.contains(keyword)) {
+                    entries.add(entry);
+                    files.add(new File(destDir, entryName));
+                }
             }
-        } else {
-            while (entries.hasMoreElements()) {
-                ZipEntry entry     = ((ZipEntry) entries.nextElement());
-                String   entryName = entry.getName();
-                if (entryName.contains("../")) {
-                    JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
-                    continue;
+            // 先创建文件夹, 文件在解压任务中创建
+            final int size = entries.size();
+            for (int i = 0; i < size; i++) {
+                if (entries.get(i).isDirectory() && !FileUtils.createOrExistsDir(files.get(i))) {
+                    return new ArrayList<>(files.subList(0, i + 1));
+                }
+            }
+            // 各条目解压结果 ( null 表示未解压 )
+            final Boolean[]     results = new Boolean[size];
+            final Exception[]   errors  = new Exception[size];
+            final AtomicInteger next    = new AtomicInteger();
+            Runnable worker = () -> {
+                int i;
+                while ((i = next.getAndIncrement()) < size) {
+                    ZipEntry entry = entries.get(i);
+                    if (entry.isDirectory()) {
+                        results[i] = true;
+                        continue;
+                    }
+                    File file = files.get(i);
+                    try {
+                        results[i] = FileUtils.createOrExistsFile(file)
+                                && unzipChildFile(zip, entry, file);
+                    } catch (Exception e) {
+                        errors[i] = e;
+                    }
+                    if (errors[i] != null || !results[i]) {
+                        // 失败后不再领取新条目
+                        next.set(size);
+                        return;
+                    }
                 }
-                if (entryName.contains(keyword)) {
-                    if (!unzipChildFile(destDir, files, zip, entry, entryName)) return files;
+            };
+            int             workers = Math.max(1, Math.min(threadCount, size));
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 1; i < workers; i++) {
+                futures.add(UNZIP_EXECUTOR.submit(worker));
+            }
+            // 调用线程同时参与解压
+            worker.run();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            for (int i = 0; i < size; i++) {
+                if (errors[i] != null) throw errors[i];
+                if (results[i] == null || !results[i]) {
+                    return new ArrayList<>(files.subList(0, i + 1));
                 }
             }
+            return files;
+        } finally {
+            CloseUtils.closeIOQuietly(zip);
         }
-        return files;
     }
 
     /**
      * 解压文件
-     * @param destDir   目标目录
-     * @param files     解压文件链表
-     * @param zf        压缩文件条目
-     * @param entry     压缩文件信息
-     * @param entryName 文件名
+     * @param zf    压缩文件条目
+     * @param entry 压缩文件信息
+     * @param file  解压文件
      * @return {@code true} success, {@code false} fail
      * @throws Exception 异常时抛出
      */
     private static boolean unzipChildFile(
-            final File destDir,
-            final List<File> files,
             final ZipFile zf,
             final ZipEntry entry,
-            final String entryName
+            final File file
     )
             throws Exception {
-        File file = new File(destDir, entryName);
-        files.add(file);
-        if (entry.isDirectory()) {
-            return FileUtils.createOrExistsDir(file);
-        } else {
-            if (!FileUtils.createOrExistsFile(file)) return false;
-            InputStream  is = null;
-            OutputStream os = null;
-            try {
-                is = new BufferedInputStream(zf.getInputStream(entry));
-                os = new BufferedOutputStream(new FileOutputStream(file));
-                byte[] buffer = new byte[BUFFER_LEN];
-                int    len;
-                while ((len = is.read(buffer)) != -1) {
-                    os.write(buffer, 0, len);
-                }
-            } finally {
-                CloseUtils.closeIOQuietly(is, os);
+        InputStream  is = null;
+        OutputStream os = null;
+        try {
+            is = new BufferedInputStream(zf.getInputStream(entry));
+            os = new BufferedOutputStream(new FileOutputStream(file));
+            byte[] buffer = new byte[BUFFER_LEN];
+            int    len;
+            while ((len = is.read(buffer)) != -1) {
+                os.write(buffer, 0, len);
             }
+        } finally {
+            CloseUtils.closeIOQuietly(is, os);
         }
         return true;
     }
@@ -412,15 +1072,20 @@ public final class ZipUtils {
             throws Exception {
         if (zipFile == null) return null;
         List<String>   paths   = new ArrayList<>();
-        Enumeration<?> entries = new ZipFile(zipFile).entries();
-        while (entries.hasMoreElements()) {
-            String entryName = ((ZipEntry) entries.nextElement()).getName();
-            if (entryName.contains("../")) {
-                JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
-                paths.add(entryName);
-            } else {
-                paths.add(entryName);
+        ZipFile        zip     = new ZipFile(zipFile);
+        Enumeration<?> entries = zip.entries();
+        try {
+            while (entries.hasMoreElements()) {
+                String entryName = ((ZipEntry) entries.nextElement()).getName();
+                if (entryName.contains("../")) {
+                    JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
+                    paths.add(entryName);
+                } else {
+                    paths.add(entryName);
+                }
             }
+        } finally {
+            CloseUtils.closeIOQuietly(zip);
         }
         return paths;
     }
@@ -446,11 +1111,38 @@ public final class ZipUtils {
             throws Exception {
         if (zipFile == null) return null;
         List<String>   comments = new ArrayList<>();
-        Enumeration<?> entries  = new ZipFile(zipFile).entries();
-        while (entries.hasMoreElements()) {
-            ZipEntry entry = ((ZipEntry) entries.nextElement());
-            comments.add(entry.getComment());
+        ZipFile        zip      = new ZipFile(zipFile);
+        Enumeration<?> entries  = zip.entries();
+        try {
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = ((ZipEntry) entries.nextElement());
+                comments.add(entry.getComment());
+            }
+        } finally {
+            CloseUtils.closeIOQuietly(zip);
         }
         return comments;
     }
-}
\ No newline at end of file
+
+    /**
+     * 创建解压线程池
+     * <pre>
+     *     线程数不超过 CPU 数量, 同时发起的解压超出线程数则排队执行
+     * </pre>
+     * @return {@link ThreadPoolExecutor}
+     */
+    private static ThreadPoolExecutor _createExecutor() {
+        AtomicInteger      number   = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                DevParallelExecutor.CPU_COUNT, DevParallelExecutor.CPU_COUNT, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, TAG + "-" + number.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
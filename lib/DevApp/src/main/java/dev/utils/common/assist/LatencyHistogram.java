@@ -0,0 +1,220 @@
+package dev.utils.common.assist;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * detail: 耗时分布直方图 ( 用以统计百分位数 ) 辅助类
+ * @author Ttt
+ * <pre>
+ *     桶按 2 的幂分组, 每组再线性拆分为 2^precision 个子桶 ( 类似 HdrHistogram )
+ *     相对误差不超过 1 / 2^precision, 如 precision = 5 误差约 3%, 覆盖 0 - Long.MAX_VALUE
+ *     桶数量固定 ( 内存占用固定 ), 记录时通过原子操作计数 ( 无锁 )
+ *     <p></p>
+ *     记录数值应为非负整数 ( 如毫秒、纳秒耗时 ), 负数按 0 记录
+ * </pre>
+ */
+public class LatencyHistogram {
+
+    // 默认子桶精度 ( 二进制位数 )
+    public static final int DEFAULT_PRECISION = 5;
+
+    // 子桶精度 ( 二进制位数 )
+    private final int             mPrecision;
+    // 每组子桶数量
+    private final int             mSubCount;
+    // 桶计数
+    private final AtomicLongArray mCounts;
+    // 记录总数
+    private final AtomicLong      mTotalCount = new AtomicLong();
+    // 记录总和
+    private final AtomicLong      mSum        = new AtomicLong();
+    // 最小值
+    private final AtomicLong      mMin        = new AtomicLong(Long.MAX_VALUE);
+    // 最大值
+    private final AtomicLong      mMax        = new AtomicLong(Long.MIN_VALUE);
+
+    public LatencyHistogram() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * 构造函数
+     * @param precision 子桶精度 ( 二进制位数 1 - 10 )
+     */
+    public LatencyHistogram(final int precision) {
+        this.mPrecision = Math.max(1, Math.min(10, precision));
+        this.mSubCount  = 1 << mPrecision;
+        this.mCounts    = new AtomicLongArray((64 - mPrecision) * mSubCount);
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 记录数值
+     * @param value 数值
+     * @return {@link LatencyHistogram}
+     */
+    public LatencyHistogram record(final long value) {
+        long recordValue = Math.max(0L, value);
+        mCounts.incrementAndGet(_index(recordValue));
+        mSum.addAndGet(recordValue);
+        long current;
+        while (recordValue < (current = mMin.get())) {
+            if (mMin.compareAndSet(current, recordValue)) break;
+        }
+        while (recordValue > (current = mMax.get())) {
+            if (mMax.compareAndSet(current, recordValue)) break;
+        }
+        mTotalCount.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * 清除全部
+     * <pre>
+     *     清除时并发记录的数值可能部分保留
+     * </pre>
+     * @return {@link LatencyHistogram}
+     */
+    public LatencyHistogram clear() {
+        for (int i = 0, len = mCounts.length(); i < len; i++) {
+            mCounts.set(i, 0L);
+        }
+        mTotalCount.set(0L);
+        mSum.set(0L);
+        mMin.set(Long.MAX_VALUE);
+        mMax.set(Long.MIN_VALUE);
+        return this;
+    }
+
+    /**
+     * 获取记录总数
+     * @return 记录总数
+     */
+    public long getCount() {
+        return mTotalCount.get();
+    }
+
+    /**
+     * 获取最小值
+     * @return 最小值, 无数据则返回 0
+     */
+    public long getMin() {
+        long min = mMin.get();
+        return (min == Long.MAX_VALUE) ? 0L : min;
+    }
+
+    /**
+     * 获取最大值
+     * @return 最大值, 无数据则返回 0
+     */
+    public long getMax() {
+        long max = mMax.get();
+        return (max == Long.MIN_VALUE) ? 0L : max;
+    }
+
+    /**
+     * 获取平均数
+     * @return 平均数
+     */
+    public double getMean() {
+        long count = mTotalCount.get();
+        if (count == 0L) return 0D;
+        return (double) mSum.get() / count;
+    }
+
+    /**
+     * 获取百分位数
+     * <pre>
+     *     返回所在桶的最大值 ( 限制在记录的最小值、最大值之间 )
+     * </pre>
+     * @param percentile 百分位 ( 0 - 100, 如 99.9 )
+     * @return 百分位数, 无数据则返回 0
+     */
+    public long getPercentile(final double percentile) {
+        return getPercentiles(percentile)[0];
+    }
+
+    /**
+     * 获取多个百分位数 ( 一次遍历 )
+     * @param percentiles 百分位 ( 0 - 100, 需升序 )
+     * @return 百分位数数组
+     */
+    public long[] getPercentiles(final double... percentiles) {
+        if (percentiles == null) return new long[0];
+        long[] result = new long[percentiles.length];
+        long   total  = 0L;
+        int    len    = mCounts.length();
+        long[] counts = new long[len];
+        for (int i = 0; i < len; i++) {
+            counts[i] = mCounts.get(i);
+            total += counts[i];
+        }
+        if (total == 0L) return result;
+        long min   = getMin();
+        long max   = getMax();
+        long count = 0L;
+        int  index = 0;
+        for (int i = 0; i < len && index < result.length; i++) {
+            count += counts[i];
+            while (index < result.length) {
+                double percent = Math.max(0D, Math.min(100D, percentiles[index]));
+                long   target  = Math.max(1L, (long) Math.ceil(percent / 100D * total));
+                if (count < target) break;
+                result[index++] = Math.max(min, Math.min(max, _highestValue(i)));
+            }
+        }
+        while (index < result.length) {
+            result[index++] = max;
+        }
+        return result;
+    }
+
+    /**
+     * 输出统计信息
+     * @return 统计信息
+     */
+    public String print() {
+        long[] values = getPercentiles(50D, 90D, 99D, 99.9D);
+        return "count: " + getCount() + ", mean: " + getMean()
+                + ", min: " + getMin() + ", p50: " + values[0]
+                + ", p90: " + values[1] + ", p99: " + values[2]
+                + ", p999: " + values[3] + ", max: " + getMax();
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取数值所在桶索引
+     * @param value 数值 ( 非负数 )
+     * @return 桶索引
+     */
+    private int _index(final long value) {
+        if (value < mSubCount) return (int) value;
+        // 最高位
+        int highest = 63 - Long.numberOfLeadingZeros(value);
+        int shift   = highest - mPrecision;
+        // 子桶 [mSubCount, 2 * mSubCount)
+        int sub     = (int) (value >>> shift);
+        return (shift + 1) * mSubCount + (sub - mSubCount);
+    }
+
+    /**
+     * 获取桶内最大值
+     * @param index 桶索引
+     * @return 桶内最大值
+     */
+    private long _highestValue(final int index) {
+        if (index < mSubCount) return index;
+        int  shift = index / mSubCount - 1;
+        long sub   = index % mSubCount + mSubCount;
+        long value = ((sub + 1) << shift) - 1L;
+        // 最后一个桶溢出
+        return (value < 0L) ? Long.MAX_VALUE : value;
+    }
+}
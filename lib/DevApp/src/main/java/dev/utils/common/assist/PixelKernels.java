@@ -0,0 +1,848 @@
+package dev.utils.common.assist;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import dev.utils.common.thread.DevParallelExecutor;
+
+/**
+ * detail: 像素处理 ( ARGB int[] ) 内核
+ * @author Ttt
+ * <pre>
+ *     纯 Java 实现, 不依赖 Bitmap, 可直接在 JVM 中使用
+ *     <p></p>
+ *     图片按行分块 ( {@link #TILE_ROWS} ) 通过 {@link DevParallelExecutor} 并行处理, 调用线程同时参与处理
+ *     每个分块复制 ( 含上下邻域行 ) 到线程复用缓冲后依次执行全部 {@link Kernel}, 再写入目标数组
+ *     多个 Kernel 组合时仅遍历一次图片内存, 连续的 {@link PointKernel} 合并为逐像素一次处理
+ *     可分离卷积 ( {@link SeparableKernel} ) 先纵向再横向累加, 3x3 卷积由 9 次乘加降为 6 次
+ *     <p></p>
+ *     大数组可通过 {@link #obtain(int)}、{@link #recycle(int[])} 复用, 减少重复分配
+ *     复用数组为软引用 ( 内存不足时由 GC 回收 ), 内存紧张时可调用 {@link #clearPool()} 主动释放 ( 含线程复用缓冲 )
+ * </pre>
+ */
+public final class PixelKernels {
+
+    private PixelKernels() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = PixelKernels.class.getSimpleName();
+
+    // 分块行数
+    private static final int TILE_ROWS          = 32;
+    // 并行处理最小像素数量 ( 小于则在调用线程处理 )
+    private static final int PARALLEL_THRESHOLD = 128 * 128;
+    // 复用数组最大数量
+    private static final int POOL_SIZE          = 4;
+    // 复用数组最大长度 ( 超过则不复用, 最多占用 POOL_SIZE * 4M 内存 )
+    private static final int POOL_MAX_LENGTH    = 1024 * 1024;
+
+    // 复用数组 ( 软引用 )
+    private static final LinkedList<SoftReference<int[]>> POOL = new LinkedList<>();
+
+    // 线程复用缓冲
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    // 线程复用缓冲版本 ( clearPool 时递增, 各线程下次使用时释放旧缓冲 )
+    private static volatile int sScratchGeneration = 0;
+
+    // ==========
+    // = 接口定义 =
+    // ==========
+
+    /**
+     * detail: 像素处理内核
+     * @author Ttt
+     * <pre>
+     *     src、dst 为分块缓冲 ( 宽度为图片宽度, 首行对应图片第 top 行 )
+     *     仅需处理 [from, to) 行, 读取范围不超过 [from - radius, to + radius)
+     * </pre>
+     */
+    public interface Kernel {
+
+        /**
+         * 获取纵向邻域半径
+         * @return 纵向邻域半径 ( 逐像素处理为 0 )
+         */
+        int getRadius();
+
+        /**
+         * 处理行
+         * @param src    源缓冲
+         * @param dst    目标缓冲
+         * @param width  图片宽度
+         * @param height 图片高度
+         * @param top    缓冲首行对应图片行号
+         * @param from   起始行 ( 图片行号, 含 )
+         * @param to     结束行 ( 图片行号, 不含 )
+         */
+        void filter(
+                int[] src,
+                int[] dst,
+                int width,
+                int height,
+                int top,
+                int from,
+                int to
+        );
+    }
+
+    /**
+     * detail: 逐像素处理内核
+     * @author Ttt
+     * <pre>
+     *     连续的 PointKernel 会合并为逐像素一次处理
+     * </pre>
+     */
+    public abstract static class PointKernel
+            implements Kernel {
+
+        /**
+         * 处理像素
+         * @param color  ARGB 像素
+         * @param x      X 轴位置
+         * @param y      Y 轴位置
+         * @param width  图片宽度
+         * @param height 图片高度
+         * @return 处理后的 ARGB 像素
+         */
+        public abstract int apply(
+                int color,
+                int x,
+                int y,
+                int width,
+                int height
+        );
+
+        @Override
+        public final int getRadius() {
+            return 0;
+        }
+
+        @Override
+        public void filter(
+                final int[] src,
+                final int[] dst,
+                final int width,
+                final int height,
+                final int top,
+                final int from,
+                final int to
+        ) {
+            for (int y = from; y < to; y++) {
+                int pos = (y - top) * width;
+                for (int x = 0; x < width; x++, pos++) {
+                    dst[pos] = apply(src[pos], x, y, width, height);
+                }
+            }
+        }
+    }
+
+    /**
+     * detail: 可分离卷积内核
+     * @author Ttt
+     * <pre>
+     *     结果 = (center * 中心像素 + Σ horizontal[i] * vertical[j] * 邻域像素) * multiplier / divisor
+     *     先按列累加 vertical 加权和, 再按行累加 horizontal 加权和
+     *     邻域超出图片的边缘像素保持不变, 结果 alpha 为 255
+     * </pre>
+     */
+    public static class SeparableKernel
+            implements Kernel {
+
+        // 横向权重
+        private final int[] mHorizontal;
+        // 纵向权重
+        private final int[] mVertical;
+        // 中心像素权重
+        private final int   mCenter;
+        // 乘数
+        private final int   mMultiplier;
+        // 除数
+        private final int   mDivisor;
+
+        /**
+         * 构造函数
+         * @param horizontal 横向权重 ( 长度为奇数 )
+         * @param vertical   纵向权重 ( 长度为奇数 )
+         * @param center     中心像素权重
+         * @param multiplier 乘数
+         * @param divisor    除数
+         */
+        public SeparableKernel(
+                final int[] horizontal,
+                final int[] vertical,
+                final int center,
+                final int multiplier,
+                final int divisor
+        ) {
+            if (horizontal == null || vertical == null
+                    || horizontal.length % 2 == 0 || vertical.length % 2 == 0) {
+                throw new IllegalArgumentException("kernel length must be odd");
+            }
+            if (divisor == 0) {
+                throw new IllegalArgumentException("divisor == 0");
+            }
+            this.mHorizontal = horizontal.clone();
+            this.mVertical   = vertical.clone();
+            this.mCenter     = center;
+            this.mMultiplier = multiplier;
+            this.mDivisor    = divisor;
+        }
+
+        @Override
+        public int getRadius() {
+            return mVertical.length / 2;
+        }
+
+        @Override
+        public void filter(
+                final int[] src,
+                final int[] dst,
+                final int width,
+                final int height,
+                final int top,
+                final int from,
+                final int to
+        ) {
+            int   rh      = mHorizontal.length / 2;
+            int   rv      = mVertical.length / 2;
+            int[] columns = SCRATCH.get().columns(width * 3);
+            for (int y = from; y < to; y++) {
+                int row = (y - top) * width;
+                if (y < rv || y >= height - rv || width <= rh * 2) {
+                    System.arraycopy(src, row, dst, row, width);
+                    continue;
+                }
+                // 按列累加 ( R、G、B 交错存储 )
+                Arrays.fill(columns, 0);
+                for (int j = 0, len = mVertical.length; j < len; j++) {
+                    int weight = mVertical[j];
+                    if (weight == 0) continue;
+                    int pos = row + (j - rv) * width;
+                    for (int x = 0, index = 0; x < width; x++, index += 3) {
+                        int color = src[pos + x];
+                        columns[index] += ((color >> 16) & 0xFF) * weight;
+                        columns[index + 1] += ((color >> 8) & 0xFF) * weight;
+                        columns[index + 2] += (color & 0xFF) * weight;
+                    }
+                }
+                for (int x = 0; x < rh; x++) {
+                    dst[row + x]             = src[row + x];
+                    dst[row + width - 1 - x] = src[row + width - 1 - x];
+                }
+                // 按行累加
+                for (int x = rh, len = width - rh; x < len; x++) {
+                    int color = src[row + x];
+                    int r     = ((color >> 16) & 0xFF) * mCenter;
+                    int g     = ((color >> 8) & 0xFF) * mCenter;
+                    int b     = (color & 0xFF) * mCenter;
+                    for (int i = 0, index = (x - rh) * 3, count = mHorizontal.length; i < count; i++, index += 3) {
+                        int weight = mHorizontal[i];
+                        r += columns[index] * weight;
+                        g += columns[index + 1] * weight;
+                        b += columns[index + 2] * weight;
+                    }
+                    dst[row + x] = rgb(
+                            r * mMultiplier / mDivisor,
+                            g * mMultiplier / mDivisor,
+                            b * mMultiplier / mDivisor
+                    );
+                }
+            }
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 执行像素处理
+     * <pre>
+     *     src 与 dst 可为同一数组 ( 内部复制源数据 )
+     *     数组长度需大于等于 width * height
+     * </pre>
+     * @param src     源像素
+     * @param dst     目标像素
+     * @param width   图片宽度
+     * @param height  图片高度
+     * @param kernels 处理内核 ( 按顺序执行 )
+     */
+    public static void apply(
+            final int[] src,
+            final int[] dst,
+            final int width,
+            final int height,
+            final Kernel... kernels
+    ) {
+        if (src == null || dst == null) throw new NullPointerException("pixels == null");
+        if (width <= 0 || height <= 0) return;
+        int length = width * height;
+        if (src.length < length || dst.length < length) {
+            throw new IllegalArgumentException("pixels length < width * height");
+        }
+        List<Kernel> stages = _stages(kernels);
+        if (stages.isEmpty()) {
+            if (src != dst) System.arraycopy(src, 0, dst, 0, length);
+            return;
+        }
+        int[] source = src;
+        if (src == dst) {
+            source = obtain(length);
+            System.arraycopy(src, 0, source, 0, length);
+        }
+        try {
+            _execute(new Task(source, dst, width, height, stages));
+        } finally {
+            if (source != src) recycle(source);
+        }
+    }
+
+    /**
+     * 获取复用数组
+     * @param length 最小长度
+     * @return 长度大于等于 length 的数组 ( 内容未清空 )
+     */
+    public static int[] obtain(final int length) {
+        synchronized (POOL) {
+            Iterator<SoftReference<int[]>> iterator = POOL.iterator();
+            while (iterator.hasNext()) {
+                int[] array = iterator.next().get();
+                if (array == null) {
+                    // 已被 GC 回收
+                    iterator.remove();
+                } else if (array.length >= length) {
+                    iterator.remove();
+                    return array;
+                }
+            }
+        }
+        return new int[length];
+    }
+
+    /**
+     * 放回复用数组
+     * @param array 数组
+     */
+    public static void recycle(final int[] array) {
+        if (array == null || array.length > POOL_MAX_LENGTH) return;
+        synchronized (POOL) {
+            // 移除已被 GC 回收的数组
+            Iterator<SoftReference<int[]>> iterator = POOL.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().get() == null) iterator.remove();
+            }
+            if (POOL.size() >= POOL_SIZE) {
+                // 移除最小的数组
+                SoftReference<int[]> smallest = null;
+                int                  minimum  = array.length;
+                for (SoftReference<int[]> reference : POOL) {
+                    int[] item = reference.get();
+                    if (item != null && item.length < minimum) {
+                        smallest = reference;
+                        minimum  = item.length;
+                    }
+                }
+                if (smallest == null) return;
+                POOL.remove(smallest);
+            }
+            POOL.add(new SoftReference<>(array));
+        }
+    }
+
+    /**
+     * 清空复用数组
+     * <pre>
+     *     内存紧张 ( 如 onTrimMemory ) 时调用
+     *     线程复用缓冲在各线程下次处理时释放 ( 空闲的线程池线程超时结束后随线程释放 )
+     * </pre>
+     */
+    public static void clearPool() {
+        synchronized (POOL) {
+            POOL.clear();
+            sScratchGeneration++;
+        }
+    }
+
+    // ==========
+    // = 内置内核 =
+    // ==========
+
+    /**
+     * 获取怀旧效果内核
+     * @return {@link Kernel}
+     */
+    public static Kernel nostalgic() {
+        return new PointKernel() {
+            @Override
+            public int apply(
+                    int color,
+                    int x,
+                    int y,
+                    int width,
+                    int height
+            ) {
+                int r = (color >> 16) & 0xFF;
+                int g = (color >> 8) & 0xFF;
+                int b = color & 0xFF;
+                return rgb(
+                        (int) (0.393 * r + 0.769 * g + 0.189 * b),
+                        (int) (0.349 * r + 0.686 * g + 0.168 * b),
+                        (int) (0.272 * r + 0.534 * g + 0.131 * b)
+                );
+            }
+        };
+    }
+
+    /**
+     * 获取光照效果内核
+     * <pre>
+     *     图片边缘像素保持不变
+     * </pre>
+     * @param centerX 光源在 X 轴的位置
+     * @param centerY 光源在 Y 轴的位置
+     * @return {@link Kernel}
+     */
+    public static Kernel sunshine(
+            final int centerX,
+            final int centerY
+    ) {
+        // 光照半径
+        final int   radius   = Math.min(centerX, centerY);
+        // 光照强度 100 ~ 150
+        final float strength = 150F;
+        return new PointKernel() {
+            @Override
+            public int apply(
+                    int color,
+                    int x,
+                    int y,
+                    int width,
+                    int height
+            ) {
+                if (_isEdge(x, y, width, height)) return color;
+                int r = (color >> 16) & 0xFF;
+                int g = (color >> 8) & 0xFF;
+                int b = color & 0xFF;
+                // 计算当前点到光照中心的距离
+                long dx       = centerX - x;
+                long dy       = centerY - y;
+                long distance = dx * dx + dy * dy;
+                if (distance < (long) radius * radius) {
+                    // 按照距离大小计算增加的光照值
+                    int result = (int) (strength * (1.0 - Math.sqrt(distance) / radius));
+                    r += result;
+                    g += result;
+                    b += result;
+                }
+                return rgb(r, g, b);
+            }
+        };
+    }
+
+    /**
+     * 获取底片效果内核
+     * <pre>
+     *     图片边缘像素保持不变
+     * </pre>
+     * @return {@link Kernel}
+     */
+    public static Kernel film() {
+        return new PointKernel() {
+            @Override
+            public int apply(
+                    int color,
+                    int x,
+                    int y,
+                    int width,
+                    int height
+            ) {
+                if (_isEdge(x, y, width, height)) return color;
+                return 0xFF000000 | (~color & 0x00FFFFFF);
+            }
+        };
+    }
+
+    /**
+     * 获取柔化 ( 高斯模糊 ) 效果内核
+     * @param delta 图片的亮暗程度值, 越小图片会越亮
+     * @return {@link Kernel}
+     */
+    public static Kernel soften(final int delta) {
+        return new SeparableKernel(
+                new int[]{1, 2, 1}, new int[]{1, 2, 1},
+                0, 1, delta
+        );
+    }
+
+    /**
+     * 获取锐化 ( 拉普拉斯 ) 效果内核
+     * <pre>
+     *     拉普拉斯矩阵 {-1, -1, -1, -1, 9, -1, -1, -1, -1} * 0.3
+     *     = (10 * 中心像素 - 3x3 邻域和) * 3 / 10
+     * </pre>
+     * @return {@link Kernel}
+     */
+    public static Kernel sharpen() {
+        return new SeparableKernel(
+                new int[]{-1, -1, -1}, new int[]{1, 1, 1},
+                10, 3, 10
+        );
+    }
+
+    /**
+     * 获取浮雕效果内核
+     * <pre>
+     *     图片边缘像素保持不变
+     * </pre>
+     * @return {@link Kernel}
+     */
+    public static Kernel emboss() {
+        return new Kernel() {
+            @Override
+            public int getRadius() {
+                return 0;
+            }
+
+            @Override
+            public void filter(
+                    int[] src,
+                    int[] dst,
+                    int width,
+                    int height,
+                    int top,
+                    int from,
+                    int to
+            ) {
+                for (int y = from; y < to; y++) {
+                    int row = (y - top) * width;
+                    if (y == 0 || y == height - 1 || width < 3) {
+                        System.arraycopy(src, row, dst, row, width);
+                        continue;
+                    }
+                    dst[row]             = src[row];
+                    dst[row + width - 1] = src[row + width - 1];
+                    for (int pos = row + 1, end = row + width - 1; pos < end; pos++) {
+                        int color = src[pos];
+                        int right = src[pos + 1];
+                        dst[pos] = rgb(
+                                ((right >> 16) & 0xFF) - ((color >> 16) & 0xFF) + 127,
+                                ((right >> 8) & 0xFF) - ((color >> 8) & 0xFF) + 127,
+                                (right & 0xFF) - (color & 0xFF) + 127
+                        );
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * 合成不透明 ARGB 像素 ( 各通道限制在 0 - 255 )
+     * @param r 红色值
+     * @param g 绿色值
+     * @param b 蓝色值
+     * @return ARGB 像素
+     */
+    public static int rgb(
+            final int r,
+            final int g,
+            final int b
+    ) {
+        return 0xFF000000 | (_clamp(r) << 16) | (_clamp(g) << 8) | _clamp(b);
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 合并处理阶段 ( 连续的 PointKernel 合并为一个阶段 )
+     * @param kernels 处理内核
+     * @return 处理阶段
+     */
+    private static List<Kernel> _stages(final Kernel[] kernels) {
+        List<Kernel> stages = new ArrayList<>();
+        if (kernels == null) return stages;
+        List<PointKernel> points = new ArrayList<>();
+        for (Kernel kernel : kernels) {
+            if (kernel == null) continue;
+            if (kernel instanceof PointKernel) {
+                points.add((PointKernel) kernel);
+                continue;
+            }
+            _addPoints(stages, points);
+            stages.add(kernel);
+        }
+        _addPoints(stages, points);
+        return stages;
+    }
+
+    /**
+     * 添加逐像素处理阶段
+     * @param stages 处理阶段
+     * @param points 连续的逐像素处理内核 ( 添加后清空 )
+     */
+    private static void _addPoints(
+            final List<Kernel> stages,
+            final List<PointKernel> points
+    ) {
+        if (points.isEmpty()) return;
+        if (points.size() == 1) {
+            stages.add(points.get(0));
+        } else {
+            stages.add(new ChainKernel(points.toArray(new PointKernel[0])));
+        }
+        points.clear();
+    }
+
+    /**
+     * 执行分块处理任务
+     * @param task 分块处理任务
+     */
+    private static void _execute(final Task task) {
+        int parallelism = Math.min(DevParallelExecutor.CPU_COUNT, task.tiles);
+        if (parallelism <= 1 || task.width * task.height < PARALLEL_THRESHOLD) {
+            task.run();
+        } else {
+            // 每个任务循环领取分块, 调用线程在 await 时同时参与处理
+            DevParallelExecutor.Group group = DevParallelExecutor.newGroup(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                group.submit(task);
+            }
+            group.await();
+        }
+        Throwable error = task.error.get();
+        if (error instanceof RuntimeException) throw (RuntimeException) error;
+        if (error instanceof Error) throw (Error) error;
+        if (error != null) throw new IllegalStateException(error);
+    }
+
+    /**
+     * 是否图片边缘像素
+     * @param x      X 轴位置
+     * @param y      Y 轴位置
+     * @param width  图片宽度
+     * @param height 图片高度
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean _isEdge(
+            final int x,
+            final int y,
+            final int width,
+            final int height
+    ) {
+        return x == 0 || y == 0 || x == width - 1 || y == height - 1;
+    }
+
+    /**
+     * 限制通道值在 0 - 255
+     * @param value 通道值
+     * @return 通道值
+     */
+    private static int _clamp(final int value) {
+        return (value < 0) ? 0 : Math.min(value, 255);
+    }
+
+    // ==========
+    // = 内部定义 =
+    // ==========
+
+    /**
+     * detail: 线程复用缓冲
+     * @author Ttt
+     * <pre>
+     *     版本与 {@link #sScratchGeneration} 不一致时释放旧缓冲后重新分配
+     * </pre>
+     */
+    private static final class Scratch {
+
+        // 分块缓冲
+        private final int[][] mTiles      = new int[2][];
+        // 列累加缓冲
+        private       int[]   mColumns;
+        // 缓冲版本
+        private       int     mGeneration = sScratchGeneration;
+
+        /**
+         * 获取分块缓冲
+         * @param index  缓冲索引 ( 0、1 )
+         * @param length 最小长度
+         * @return 分块缓冲
+         */
+        int[] tile(
+                final int index,
+                final int length
+        ) {
+            _checkGeneration();
+            int[] tile = mTiles[index];
+            if (tile == null || tile.length < length) {
+                tile = mTiles[index] = new int[length];
+            }
+            return tile;
+        }
+
+        /**
+         * 获取列累加缓冲
+         * @param length 最小长度
+         * @return 列累加缓冲
+         */
+        int[] columns(final int length) {
+            _checkGeneration();
+            if (mColumns == null || mColumns.length != length) {
+                mColumns = new int[length];
+            }
+            return mColumns;
+        }
+
+        /**
+         * 已调用 clearPool 则释放旧缓冲
+         */
+        private void _checkGeneration() {
+            int generation = sScratchGeneration;
+            if (mGeneration != generation) {
+                mGeneration = generation;
+                mTiles[0]   = null;
+                mTiles[1]   = null;
+                mColumns    = null;
+            }
+        }
+    }
+
+    /**
+     * detail: 合并的逐像素处理内核
+     * @author Ttt
+     */
+    private static final class ChainKernel
+            extends PointKernel {
+
+        // 逐像素处理内核
+        private final PointKernel[] mKernels;
+
+        ChainKernel(final PointKernel[] kernels) {
+            this.mKernels = kernels;
+        }
+
+        @Override
+        public int apply(
+                int color,
+                int x,
+                int y,
+                int width,
+                int height
+        ) {
+            int result = color;
+            for (PointKernel kernel : mKernels) {
+                result = kernel.apply(result, x, y, width, height);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * detail: 分块处理任务
+     * @author Ttt
+     * <pre>
+     *     多个线程共同执行, 通过原子计数领取分块
+     * </pre>
+     */
+    private static final class Task
+            implements Runnable {
+
+        // 源像素
+        final int[]                      src;
+        // 目标像素
+        final int[]                      dst;
+        // 图片宽度
+        final int                        width;
+        // 图片高度
+        final int                        height;
+        // 处理阶段
+        final Kernel[]                   stages;
+        // 全部阶段纵向邻域半径总和
+        final int                        radius;
+        // 分块数量
+        final int                        tiles;
+        // 下一个待处理分块
+        final AtomicInteger              next  = new AtomicInteger();
+        // 处理异常
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Task(
+                final int[] src,
+                final int[] dst,
+                final int width,
+                final int height,
+                final List<Kernel> stages
+        ) {
+            this.src    = src;
+            this.dst    = dst;
+            this.width  = width;
+            this.height = height;
+            this.stages = stages.toArray(new Kernel[0]);
+            int radius = 0;
+            for (Kernel kernel : stages) {
+                radius += Math.max(0, kernel.getRadius());
+            }
+            this.radius = radius;
+            this.tiles  = (height + TILE_ROWS - 1) / TILE_ROWS;
+        }
+
+        @Override
+        public void run() {
+            int tile;
+            while ((tile = next.getAndIncrement()) < tiles) {
+                try {
+                    if (error.get() == null) _filterTile(tile);
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                }
+            }
+        }
+
+        /**
+         * 处理分块
+         * @param tile 分块索引
+         */
+        private void _filterTile(final int tile) {
+            int     startY  = tile * TILE_ROWS;
+            int     endY    = Math.min(height, startY + TILE_ROWS);
+            int     top     = Math.max(0, startY - radius);
+            int     bottom  = Math.min(height, endY + radius);
+            int     length  = (bottom - top) * width;
+            Scratch scratch = SCRATCH.get();
+            int[]   current = scratch.tile(0, length);
+            int[]   buffer  = scratch.tile(1, length);
+            System.arraycopy(src, top * width, current, 0, length);
+            int remaining = radius;
+            for (Kernel kernel : stages) {
+                int kernelRadius = Math.max(0, kernel.getRadius());
+                remaining -= kernelRadius;
+                // 后续阶段所需行范围
+                int from = Math.max(top, startY - remaining);
+                int to   = Math.min(bottom, endY + remaining);
+                if (kernel instanceof PointKernel) {
+                    // 逐像素处理直接覆盖当前缓冲
+                    kernel.filter(current, current, width, height, top, from, to);
+                } else {
+                    kernel.filter(current, buffer, width, height, top, from, to);
+                    int[] temp = current;
+                    current = buffer;
+                    buffer  = temp;
+                }
+            }
+            System.arraycopy(current, (startY - top) * width, dst, startY * width, (endY - startY) * width);
+        }
+    }
+}
@@ -26,6 +26,8 @@ public final class FileRecordUtils {
     private static       RecordInsert sRecordInsert  = null;
     // 文件记录回调
     private static       Callback     sCallback      = null;
+    // 是否异步写入
+    private static       boolean      sAsync         = false;
 
     // ==========
     // = 接口回调 =
@@ -161,6 +163,14 @@ public final class FileRecordUtils {
         // 拼接最终内容
         String finalLogContent = concatInsertLog(recordInsert, logContent);
 
+        // 异步写入 ( 由写入线程批量追加并回调结果 )
+        if (sAsync) {
+            boolean result = RecordWriter.enqueue(
+                    config, filePath, fileName, finalLogContent, recordInsert, logs
+            );
+            return result ? RECORD_SUCCESS : "record failed";
+        }
+
         // 获取存储文件
         File file = FileUtils.getFile(filePath, fileName);
         // 文件不存在则进行追加文件信息
@@ -176,12 +186,33 @@ public final class FileRecordUtils {
         // 追加日志内容
         boolean result = FileUtils.appendFile(file, StringUtils.getBytes(finalLogContent));
 
-        if (sCallback != null) {
-            sCallback.callback(result, config, filePath, fileName, finalLogContent, logs);
-        }
+        callback(result, config, filePath, fileName, finalLogContent, logs);
         return result ? RECORD_SUCCESS : "record failed";
     }
 
+    /**
+     * 记录结果回调
+     * @param result     保存结果
+     * @param config     日志记录配置信息
+     * @param filePath   存储路径
+     * @param fileName   文件名 ( 含后缀 )
+     * @param logContent 日志信息
+     * @param logs       原始日志内容数组
+     */
+    static void callback(
+            final boolean result,
+            final RecordConfig config,
+            final String filePath,
+            final String fileName,
+            final String logContent,
+            final Object... logs
+    ) {
+        Callback callback = sCallback;
+        if (callback != null) {
+            callback.callback(result, config, filePath, fileName, logContent, logs);
+        }
+    }
+
     // =============
     // = 对外公开方法 =
     // =============
@@ -231,6 +262,34 @@ public final class FileRecordUtils {
         FileRecordUtils.sRecordInsert = recordInsert;
     }
 
+    /**
+     * 是否异步写入
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isAsync() {
+        return sAsync;
+    }
+
+    /**
+     * 设置是否异步写入
+     * <pre>
+     *     异步写入时记录方法仅将日志放入缓冲区 ( 返回成功表示已加入缓冲区 )
+     *     由每个写入文件 ( 存储路径 + 文件名 ) 对应的写入线程批量追加, 写入结果通过 {@link Callback} 回调
+     *     写入线程空闲一段时间 ( 如时间文件夹已切换 ) 后关闭文件并结束, 再次写入时重新创建
+     * </pre>
+     * @param async 是否异步写入
+     */
+    public static void setAsync(final boolean async) {
+        FileRecordUtils.sAsync = async;
+    }
+
+    /**
+     * 立即写入全部异步缓冲日志
+     */
+    public static void flush() {
+        RecordWriter.flushAll();
+    }
+
     /**
      * 设置文件记录回调
      * @param callback 文件记录回调
@@ -0,0 +1,427 @@
+package dev.utils.common.assist.record;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+import dev.utils.common.StringUtils;
+
+/**
+ * detail: 日志记录异步写入
+ * @author Ttt
+ * <pre>
+ *     每个写入文件 ( 存储路径 + 文件名 ) 对应一个写入线程, 记录方仅将日志放入环形缓冲区
+ *     写入线程空闲超过 {@link #IDLE_TIMEOUT} 毫秒 ( 如时间文件夹已切换 ) 则关闭文件并结束
+ *     缓冲数量达到 {@link #BATCH_SIZE} 或间隔 {@link #FLUSH_INTERVAL} 毫秒批量写入, 文件通道保持打开
+ *     按 {@link RecordConfig.TIME} 切换文件夹, 超过 {@link RecordConfig#getMaxFileSize()} 则重命名旧文件后新建
+ *     缓冲区已满时记录方等待写入 ( 不丢弃日志 ), 进程退出时通过 ShutdownHook 写入剩余日志
+ * </pre>
+ */
+final class RecordWriter {
+
+    // 日志 TAG
+    private static final String TAG            = RecordWriter.class.getSimpleName();
+    // 环形缓冲区容量
+    private static final int    CAPACITY       = 4096;
+    // 批量写入数量
+    private static final int    BATCH_SIZE     = 256;
+    // 批量写入间隔时间 ( 毫秒 )
+    private static final long   FLUSH_INTERVAL = 1000L;
+    // 空闲结束时间 ( 毫秒 )
+    private static final long   IDLE_TIMEOUT   = 60 * 1000L;
+
+    // 写入实例 ( key = 写入文件绝对路径 )
+    private static final Map<String, RecordWriter> WRITERS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flushAll(), "RecordWriter-Shutdown"));
+    }
+
+    // 写入文件绝对路径 ( WRITERS key )
+    private final String           mKey;
+    // 存储路径
+    private final String           mFilePath;
+    // 文件名
+    private final String           mFileName;
+    // 环形缓冲区
+    private final Entry[]          mBuffer         = new Entry[CAPACITY];
+    // 缓冲区锁
+    private final ReentrantLock    mLock           = new ReentrantLock();
+    // 批量写入通知
+    private final Condition        mFlushCondition = mLock.newCondition();
+    // 缓冲区可写入通知
+    private final Condition        mNotFull        = mLock.newCondition();
+    // 写入锁 ( 写入线程、flush 调用方互斥 )
+    private final Object           mWriteLock      = new Object();
+    // 读取位置
+    private       int              mHead;
+    // 缓冲数量
+    private       int              mCount;
+    // 当前写入文件
+    private       File             mFile;
+    // 当前写入文件流
+    private       FileOutputStream mStream;
+    // 当前写入文件通道
+    private       FileChannel      mChannel;
+    // 最后添加日志时间
+    private       long             mActiveTime     = System.currentTimeMillis();
+    // 是否已结束 ( 空闲结束后不再接收日志 )
+    private volatile boolean       mStopped;
+
+    private RecordWriter(
+            final String key,
+            final String filePath,
+            final String fileName
+    ) {
+        this.mKey      = key;
+        this.mFilePath = filePath;
+        this.mFileName = fileName;
+        Thread thread = new Thread(() -> _loop(), "RecordWriter-" + fileName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * detail: 缓冲日志
+     * @author Ttt
+     */
+    private static final class Entry {
+
+        // 日志记录配置信息
+        final RecordConfig config;
+        // 最终日志内容
+        final String       content;
+        // 日志记录插入信息
+        final RecordInsert recordInsert;
+        // 原始日志内容数组
+        final Object[]     logs;
+
+        Entry(
+                final RecordConfig config,
+                final String content,
+                final RecordInsert recordInsert,
+                final Object[] logs
+        ) {
+            this.config       = config;
+            this.content      = content;
+            this.recordInsert = recordInsert;
+            this.logs         = logs;
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 添加日志到写入缓冲区
+     * @param config       日志记录配置信息
+     * @param filePath     存储路径
+     * @param fileName     文件名
+     * @param content      最终日志内容
+     * @param recordInsert 日志记录插入信息
+     * @param logs         原始日志内容数组
+     * @return {@code true} success, {@code false} fail
+     */
+    static boolean enqueue(
+            final RecordConfig config,
+            final String filePath,
+            final String fileName,
+            final String content,
+            final RecordInsert recordInsert,
+            final Object[] logs
+    ) {
+        String key   = FileUtils.getAbsolutePath(FileUtils.getFile(filePath, fileName));
+        Entry  entry = new Entry(config, content, recordInsert, logs);
+        while (true) {
+            RecordWriter writer = WRITERS.get(key);
+            if (writer == null) {
+                synchronized (WRITERS) {
+                    writer = WRITERS.get(key);
+                    if (writer == null) {
+                        writer = new RecordWriter(key, filePath, fileName);
+                        WRITERS.put(key, writer);
+                    }
+                }
+            }
+            if (writer._offer(entry)) return true;
+            // 写入线程已空闲结束则移除后重新创建
+            if (!writer.mStopped) return false;
+            WRITERS.remove(key, writer);
+        }
+    }
+
+    /**
+     * 立即写入全部缓冲日志
+     */
+    static void flushAll() {
+        for (RecordWriter writer : WRITERS.values()) {
+            writer._drain();
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 添加日志到环形缓冲区 ( 已满则等待写入 )
+     * @param entry 缓冲日志
+     * @return {@code true} success, {@code false} fail ( 已结束、等待中断 )
+     */
+    private boolean _offer(final Entry entry) {
+        mLock.lock();
+        try {
+            if (mStopped) return false;
+            while (mCount == CAPACITY) {
+                mFlushCondition.signal();
+                mNotFull.await();
+            }
+            mActiveTime = System.currentTimeMillis();
+            mBuffer[(mHead + mCount) % CAPACITY] = entry;
+            mCount++;
+            if (mCount >= BATCH_SIZE) {
+                mFlushCondition.signal();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * 写入线程循环
+     */
+    private void _loop() {
+        while (true) {
+            mLock.lock();
+            try {
+                if (mCount < BATCH_SIZE) {
+                    mFlushCondition.await(FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException ignore) {
+            } finally {
+                mLock.unlock();
+            }
+            _drain();
+            if (_stopIfIdle()) return;
+        }
+    }
+
+    /**
+     * 空闲超时则结束写入线程
+     * @return {@code true} 已结束, {@code false} 继续写入
+     */
+    private boolean _stopIfIdle() {
+        mLock.lock();
+        try {
+            if (mCount != 0 || System.currentTimeMillis() - mActiveTime < IDLE_TIMEOUT) {
+                return false;
+            }
+            mStopped = true;
+        } finally {
+            mLock.unlock();
+        }
+        WRITERS.remove(mKey, this);
+        synchronized (mWriteLock) {
+            _close();
+        }
+        return true;
+    }
+
+    /**
+     * 取出全部缓冲日志并写入
+     */
+    private void _drain() {
+        synchronized (mWriteLock) {
+            Entry[] entrys;
+            mLock.lock();
+            try {
+                if (mCount == 0) return;
+                entrys = new Entry[mCount];
+                for (int i = 0; i < entrys.length; i++) {
+                    int index = (mHead + i) % CAPACITY;
+                    entrys[i]      = mBuffer[index];
+                    mBuffer[index] = null;
+                }
+                mHead  = (mHead + mCount) % CAPACITY;
+                mCount = 0;
+                mNotFull.signalAll();
+            } finally {
+                mLock.unlock();
+            }
+            _write(entrys);
+        }
+    }
+
+    /**
+     * 批量写入日志
+     * @param entrys 缓冲日志
+     */
+    private void _write(final Entry[] entrys) {
+        String filePath = mFilePath;
+        String fileName = mFileName;
+        if (!_open(FileUtils.getFile(filePath, fileName), entrys[0].recordInsert)) {
+            _callback(false, entrys, 0, entrys.length, filePath, fileName);
+            return;
+        }
+        ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        boolean               result  = true;
+        int                   start   = 0;
+        for (int i = 0; i < entrys.length; i++) {
+            byte[] data = StringUtils.getBytes(entrys[i].content);
+            if (data == null) continue;
+            try {
+                // 超过文件大小限制则写入已缓冲数据后切换文件
+                long maxSize = entrys[i].config.getMaxFileSize();
+                long size    = mChannel.size() + pending.size();
+                if (maxSize > 0L && size > 0L && size + data.length > maxSize) {
+                    result = _flush(pending);
+                    _callback(result, entrys, start, i, filePath, fileName);
+                    start  = i;
+                    result = result && _rotate(entrys[i].recordInsert);
+                    if (!result) break;
+                }
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "_write");
+                result = false;
+                break;
+            }
+            pending.write(data, 0, data.length);
+        }
+        if (result) {
+            result = _flush(pending);
+        }
+        _callback(result, entrys, start, entrys.length, filePath, fileName);
+    }
+
+    /**
+     * 打开写入文件 ( 文件夹切换、文件被删除时重新打开 )
+     * @param file         写入文件
+     * @param recordInsert 日志记录插入信息
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean _open(
+            final File file,
+            final RecordInsert recordInsert
+    ) {
+        if (mChannel != null && file.equals(mFile) && file.exists()) return true;
+        _close();
+        try {
+            boolean newFile = !file.exists() || file.length() == 0L;
+            mStream  = new FileOutputStream(file, true);
+            mChannel = mStream.getChannel();
+            mFile    = file;
+            // 文件信息 ( 一个文件只会添加一次文件信息, 且在最顶部 )
+            if (newFile && recordInsert != null) {
+                byte[] fileInfo = StringUtils.getBytes(recordInsert.getFileInfo());
+                if (fileInfo != null) _writeFully(ByteBuffer.wrap(fileInfo));
+            }
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "_open");
+            _close();
+        }
+        return false;
+    }
+
+    /**
+     * 重命名当前文件并新建写入文件
+     * @param recordInsert 日志记录插入信息
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean _rotate(final RecordInsert recordInsert) {
+        File file = mFile;
+        _close();
+        String name   = file.getName();
+        int    dot    = name.lastIndexOf('.');
+        String prefix = (dot > 0) ? name.substring(0, dot) : name;
+        String suffix = (dot > 0) ? name.substring(dot) : "";
+        int    index  = 1;
+        File   dest;
+        do {
+            dest = new File(file.getParentFile(), prefix + "_" + index++ + suffix);
+        } while (dest.exists());
+        if (!file.renameTo(dest)) return false;
+        return _open(file, recordInsert);
+    }
+
+    /**
+     * 写入已缓冲数据
+     * @param pending 已缓冲数据
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean _flush(final ByteArrayOutputStream pending) {
+        if (pending.size() == 0) return true;
+        try {
+            _writeFully(ByteBuffer.wrap(pending.toByteArray()));
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "_flush");
+            _close();
+            return false;
+        } finally {
+            pending.reset();
+        }
+    }
+
+    /**
+     * 写入全部数据
+     * @param buffer 待写入数据
+     * @throws Exception 写入异常
+     */
+    private void _writeFully(final ByteBuffer buffer)
+            throws Exception {
+        while (buffer.hasRemaining()) {
+            mChannel.write(buffer);
+        }
+    }
+
+    /**
+     * 关闭当前写入文件
+     */
+    private void _close() {
+        CloseUtils.closeIOQuietly(mChannel, mStream);
+        mChannel = null;
+        mStream  = null;
+        mFile    = null;
+    }
+
+    /**
+     * 回调记录结果
+     * @param result   写入结果
+     * @param entrys   缓冲日志
+     * @param start    开始索引
+     * @param end      结束索引
+     * @param filePath 存储路径
+     * @param fileName 文件名
+     */
+    private void _callback(
+            final boolean result,
+            final Entry[] entrys,
+            final int start,
+            final int end,
+            final String filePath,
+            final String fileName
+    ) {
+        for (int i = start; i < end; i++) {
+            FileRecordUtils.callback(
+                    result, entrys[i].config, filePath, fileName,
+                    entrys[i].content, entrys[i].logs
+            );
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 
 import dev.utils.common.CollectionUtils;
@@ -31,15 +32,13 @@ import dev.utils.common.comparator.sort.IntSortDesc;
 import dev.utils.common.comparator.sort.LongSort;
 import dev.utils.common.comparator.sort.LongSortAsc;
 import dev.utils.common.comparator.sort.LongSortDesc;
+import dev.utils.common.comparator.sort.NaturalOrder;
 import dev.utils.common.comparator.sort.StringSort;
 import dev.utils.common.comparator.sort.StringSortAsc;
 import dev.utils.common.comparator.sort.StringSortDesc;
 import dev.utils.common.comparator.sort.StringSortWindowsSimple;
-import dev.utils.common.comparator.sort.StringSortWindowsSimple2;
 import dev.utils.common.comparator.sort.WindowsExplorerFileSimpleComparator;
-import dev.utils.common.comparator.sort.WindowsExplorerFileSimpleComparator2;
 import dev.utils.common.comparator.sort.WindowsExplorerStringSimpleComparator;
-import dev.utils.common.comparator.sort.WindowsExplorerStringSimpleComparator2;
 
 /**
  * detail: 排序比较器工具类
@@ -376,7 +375,12 @@ public final class ComparatorUtils {
      * @return {@code true} success, {@code false} fail
      */
     public static <T extends StringSort> boolean sortStringWindowsSimple2Asc(final List<T> list) {
-        return sort(list, new StringSortWindowsSimple2<>());
+        // 预先计算排序 Key, 结果同 StringSortWindowsSimple2
+        return NaturalOrder.sort(list, value -> {
+            // 同 StringSortWindowsSimple2 null 按空字符串处理
+            String string = (value != null) ? value.getStringSortValue() : null;
+            return (string != null) ? string : "";
+        });
     }
 
     /**
@@ -421,7 +425,8 @@ public final class ComparatorUtils {
      * @return {@code true} success, {@code false} fail
      */
     public static boolean sortWindowsExplorerFileSimpleComparator2Asc(final List<File> list) {
-        return sort(list, new WindowsExplorerFileSimpleComparator2());
+        // 预先计算排序 Key, 结果同 WindowsExplorerFileSimpleComparator2
+        return NaturalOrder.sort(list, value -> (value != null) ? value.getName() : null);
     }
 
     /**
@@ -463,7 +468,8 @@ public final class ComparatorUtils {
      * @return {@code true} success, {@code false} fail
      */
     public static boolean sortWindowsExplorerStringSimpleComparator2Asc(final List<String> list) {
-        return sort(list, new WindowsExplorerStringSimpleComparator2());
+        // 预先计算排序 Key, 结果同 WindowsExplorerStringSimpleComparator2
+        return NaturalOrder.sort(list, value -> value);
     }
 
     /**
@@ -476,4 +482,247 @@ public final class ComparatorUtils {
         if (result) reverse(list);
         return result;
     }
-}
\ No newline at end of file
+
+    // ==========
+    // = 并行排序 =
+    // ==========
+
+    /**
+     * List 稳定排序 ( 超过阈值并行排序 )
+     * <pre>
+     *     不修改原集合, 返回排序后的新集合
+     * </pre>
+     * @param list       集合
+     * @param comparator 排序比较器
+     * @param <T>        泛型
+     * @return 排序后的新集合
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> parallelSort(
+            final List<T> list,
+            final Comparator<? super T> comparator
+    ) {
+        if (list == null || comparator == null) return null;
+        final Object[] values = list.toArray();
+        return IndexSorter.sort(
+                values, null, (index1, index2) -> comparator.compare((T) values[index1], (T) values[index2])
+        );
+    }
+
+    /**
+     * 文件修改时间稳定排序 ( 每个文件只读取一次修改时间, 超过阈值并行排序 )
+     * @param list 集合
+     * @param asc  是否升序
+     * @param <T>  泛型
+     * @return 排序后的新集合
+     */
+    public static <T extends File> List<T> parallelSortFileLastModified(
+            final List<T> list,
+            final boolean asc
+    ) {
+        if (list == null) return null;
+        final Object[] values = list.toArray();
+        final long[]   keys   = new long[values.length];
+        return IndexSorter.sort(values, index -> {
+            File file = (File) values[index];
+            keys[index] = (file != null) ? file.lastModified() : 0L;
+        }, _longComparator(keys, asc));
+    }
+
+    /**
+     * 文件大小稳定排序 ( 每个文件只读取一次大小, 超过阈值并行排序 )
+     * @param list 集合
+     * @param asc  是否升序
+     * @param <T>  泛型
+     * @return 排序后的新集合
+     */
+    public static <T extends File> List<T> parallelSortFileLength(
+            final List<T> list,
+            final boolean asc
+    ) {
+        if (list == null) return null;
+        final Object[] values = list.toArray();
+        final long[]   keys   = new long[values.length];
+        return IndexSorter.sort(values, index -> {
+            File file = (File) values[index];
+            keys[index] = (file != null) ? file.length() : 0L;
+        }, _longComparator(keys, asc));
+    }
+
+    /**
+     * 文件名稳定排序 ( 文件夹优先, 每个文件只判断一次类型, 超过阈值并行排序 )
+     * @param list 集合
+     * @param asc  是否升序 ( 降序则文件夹在后 )
+     * @param <T>  泛型
+     * @return 排序后的新集合
+     */
+    public static <T extends File> List<T> parallelSortFileName(
+            final List<T> list,
+            final boolean asc
+    ) {
+        if (list == null) return null;
+        final Object[] values = list.toArray();
+        // 文件类型 ( 0 文件夹、1 文件、2 其他 )
+        final byte[]   types  = new byte[values.length];
+        final String[] names  = new String[values.length];
+        return IndexSorter.sort(values, index -> {
+            File file = (File) values[index];
+            types[index] = (byte) (file == null ? 2 : file.isDirectory() ? 0 : file.isFile() ? 1 : 2);
+            names[index] = (file != null) ? file.getName() : "";
+        }, (index1, index2) -> {
+            int result;
+            if (types[index1] == 0 && types[index2] == 1) {
+                result = -1;
+            } else if (types[index1] == 1 && types[index2] == 0) {
+                result = 1;
+            } else {
+                result = names[index1].compareTo(names[index2]);
+            }
+            return asc ? result : -result;
+        });
+    }
+
+    /**
+     * Date 稳定排序 ( 超过阈值并行排序 )
+     * @param list 集合
+     * @param asc  是否升序
+     * @param <T>  泛型
+     * @return 排序后的新集合
+     */
+    public static <T extends DateSort> List<T> parallelSortDate(
+            final List<T> list,
+            final boolean asc
+    ) {
+        if (list == null) return null;
+        final Object[] values = list.toArray();
+        final long[]   keys   = new long[values.length];
+        return IndexSorter.sort(values, index -> {
+            DateSort value = (DateSort) values[index];
+            Date     date  = (value != null) ? value.getDateSortValue() : null;
+            keys[index] = (date != null) ? date.getTime() : 0L;
+        }, _longComparator(keys, asc));
+    }
+
+    /**
+     * Double 稳定排序 ( 超过阈值并行排序 )
+     * @param list 集合
+     * @param asc  是否升序
+     * @param <T>  泛型
+     * @return 排序后的新集合
+     */
+    public static <T extends DoubleSort> List<T> parallelSortDouble(
+            final List<T> list,
+            final boolean asc
+    ) {
+        if (list == null) return null;
+        final Object[] values = list.toArray();
+        final double[] keys   = new double[values.length];
+        return IndexSorter.sort(values, index -> {
+            DoubleSort value = (DoubleSort) values[index];
+            keys[index] = (value != null) ? value.getDoubleSortValue() : 0D;
+        }, (index1, index2) -> asc ? Double.compare(keys[index1], keys[index2])
+                : Double.compare(keys[index2], keys[index1]));
+    }
+
+    /**
+     * Float 稳定排序 ( 超过阈值并行排序 )
+     * @param list 集合
+     * @param asc  是否升序
+     * @param <T>  泛型
+     * @return 排序后的新集合
+     */
+    public static <T extends FloatSort> List<T> parallelSortFloat(
+            final List<T> list,
+            final boolean asc
+    ) {
+        if (list == null) return null;
+        final Object[] values = list.toArray();
+        final float[]  keys   = new float[values.length];
+        return IndexSorter.sort(values, index -> {
+            FloatSort value = (FloatSort) values[index];
+            keys[index] = (value != null) ? value.getFloatSortValue() : 0F;
+        }, (index1, index2) -> asc ? Float.compare(keys[index1], keys[index2])
+                : Float.compare(keys[index2], keys[index1]));
+    }
+
+    /**
+     * Int 稳定排序 ( 超过阈值并行排序 )
+     * @param list 集合
+     * @param asc  是否升序
+     * @param <T>  泛型
+     * @return 排序后的新集合
+     */
+    public static <T extends IntSort> List<T> parallelSortInt(
+            final List<T> list,
+            final boolean asc
+    ) {
+        if (list == null) return null;
+        final Object[] values = list.toArray();
+        final int[]    keys   = new int[values.length];
+        return IndexSorter.sort(values, index -> {
+            IntSort value = (IntSort) values[index];
+            keys[index] = (value != null) ? value.getIntSortValue() : 0;
+        }, (index1, index2) -> asc ? Integer.compare(keys[index1], keys[index2])
+                : Integer.compare(keys[index2], keys[index1]));
+    }
+
+    /**
+     * Long 稳定排序 ( 超过阈值并行排序 )
+     * @param list 集合
+     * @param asc  是否升序
+     * @param <T>  泛型
+     * @return 排序后的新集合
+     */
+    public static <T extends LongSort> List<T> parallelSortLong(
+            final List<T> list,
+            final boolean asc
+    ) {
+        if (list == null) return null;
+        final Object[] values = list.toArray();
+        final long[]   keys   = new long[values.length];
+        return IndexSorter.sort(values, index -> {
+            LongSort value = (LongSort) values[index];
+            keys[index] = (value != null) ? value.getLongSortValue() : 0L;
+        }, _longComparator(keys, asc));
+    }
+
+    /**
+     * String 稳定排序 ( 超过阈值并行排序 )
+     * @param list 集合
+     * @param asc  是否升序
+     * @param <T>  泛型
+     * @return 排序后的新集合
+     */
+    public static <T extends StringSort> List<T> parallelSortString(
+            final List<T> list,
+            final boolean asc
+    ) {
+        if (list == null) return null;
+        final Object[] values = list.toArray();
+        final String[] keys   = new String[values.length];
+        return IndexSorter.sort(values, index -> {
+            StringSort value = (StringSort) values[index];
+            String     key   = (value != null) ? value.getStringSortValue() : null;
+            keys[index] = (key != null) ? key : "";
+        }, (index1, index2) -> asc ? keys[index1].compareTo(keys[index2])
+                : keys[index2].compareTo(keys[index1]));
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取 long 排序属性索引比较器
+     * @param keys 排序属性
+     * @param asc  是否升序
+     * @return 索引比较器
+     */
+    private static IndexSorter.IndexComparator _longComparator(
+            final long[] keys,
+            final boolean asc
+    ) {
+        return (index1, index2) -> asc ? Long.compare(keys[index1], keys[index2])
+                : Long.compare(keys[index2], keys[index1]);
+    }
+}
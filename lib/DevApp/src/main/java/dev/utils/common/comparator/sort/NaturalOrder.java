@@ -0,0 +1,336 @@
+package dev.utils.common.comparator.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * detail: 自然排序 ( 数字按数值比较 )
+ * @author Ttt
+ * <pre>
+ *     字符串按 连续数字、'.'、空白字符 拆分片段 ( 分隔符自身也作为片段 ), 逐片段比较
+ *     1. 两个片段都为数字: 按数值比较 ( 支持任意长度 ), 数值相等则前导 0 多的在前
+ *     2. 其他片段: 忽略大小写比较
+ *     3. 片段较少的在前
+ *     <p></p>
+ *     {@link #compare(CharSequence, CharSequence)} 逐字符扫描比较, 不创建任何对象
+ *     {@link #getKey(String)} 预先计算排序 Key ( 片段位置、忽略大小写字符 ), 排序时无需重复拆分
+ * </pre>
+ */
+public final class NaturalOrder {
+
+    private NaturalOrder() {
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 自然排序比较
+     * @param s1 待比较字符串
+     * @param s2 待比较字符串
+     * @return 比较结果
+     */
+    public static int compare(
+            final CharSequence s1,
+            final CharSequence s2
+    ) {
+        int     len1      = s1.length();
+        int     len2      = s2.length();
+        // 当前片段开始位置 ( -1 表示已无片段 )
+        int     start1    = 0;
+        int     start2    = 0;
+        boolean delimiter = false;
+        while (true) {
+            if (start1 < 0 && start2 < 0) return 0;
+            if (start1 < 0) return -1;
+            if (start2 < 0) return 1;
+            int end1   = _tokenEnd(s1, start1, delimiter);
+            int end2   = _tokenEnd(s2, start2, delimiter);
+            int result = _compareToken(s1, start1, end1, s2, start2, end2, delimiter, true);
+            if (result != 0) return result;
+            if (delimiter) {
+                start1 = end1;
+                start2 = end2;
+            } else {
+                // 文本片段到达末尾则结束
+                start1 = (end1 == len1) ? -1 : end1;
+                start2 = (end2 == len2) ? -1 : end2;
+            }
+            delimiter = !delimiter;
+        }
+    }
+
+    /**
+     * 获取自然排序 Key
+     * @param value 字符串
+     * @return {@link Key}
+     */
+    public static Key getKey(final String value) {
+        String source = (value != null) ? value : "";
+        int    length = source.length();
+        // 忽略大小写字符 ( 同 String#compareToIgnoreCase )
+        char[] chars  = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(source.charAt(i)));
+        }
+        // 片段数量 ( 文本片段、分隔片段交替, 以文本片段结束 )
+        int count = 0;
+        int start = 0;
+        while (true) {
+            int textEnd = _tokenEnd(source, start, false);
+            count++;
+            if (textEnd == length) break;
+            start = _tokenEnd(source, textEnd, true);
+            count++;
+        }
+        int[] ends  = new int[count];
+        int   index = 0;
+        start = 0;
+        while (true) {
+            int textEnd = _tokenEnd(source, start, false);
+            ends[index++] = textEnd;
+            if (textEnd == length) break;
+            start = _tokenEnd(source, textEnd, true);
+            ends[index++] = start;
+        }
+        return new Key(source, new String(chars), ends);
+    }
+
+    /**
+     * 通过预先计算的排序 Key 进行排序 ( 稳定排序 )
+     * <pre>
+     *     排序字符串为 null ( 如集合中 null 对象 ) 排在最前
+     * </pre>
+     * @param list   集合
+     * @param getter 排序字符串获取
+     * @param <T>    泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> boolean sort(
+            final List<T> list,
+            final StringGetter<? super T> getter
+    ) {
+        if (list == null || getter == null) return false;
+        int size = list.size();
+        if (size < 2) return true;
+        Entry[] entrys = new Entry[size];
+        int     index  = 0;
+        for (T value : list) {
+            String string = getter.get(value);
+            entrys[index++] = new Entry((string != null) ? getKey(string) : null, value);
+        }
+        Arrays.sort(entrys, ENTRY_COMPARATOR);
+        ListIterator<T> iterator = list.listIterator();
+        for (Entry entry : entrys) {
+            iterator.next();
+            iterator.set((T) entry.value);
+        }
+        return true;
+    }
+
+    // ==========
+    // = 内部定义 =
+    // ==========
+
+    /**
+     * detail: 排序字符串获取
+     * @author Ttt
+     */
+    public interface StringGetter<T> {
+
+        /**
+         * 获取排序字符串
+         * @param value 排序对象 ( 可能为 null )
+         * @return 排序字符串 ( null 则排在最前 )
+         */
+        String get(T value);
+    }
+
+    /**
+     * detail: 自然排序 Key
+     * @author Ttt
+     */
+    public static final class Key
+            implements Comparable<Key> {
+
+        // 原始字符串
+        private final String source;
+        // 忽略大小写字符串
+        private final String folded;
+        // 各片段结束位置
+        private final int[]  ends;
+
+        private Key(
+                final String source,
+                final String folded,
+                final int[] ends
+        ) {
+            this.source = source;
+            this.folded = folded;
+            this.ends   = ends;
+        }
+
+        /**
+         * 获取原始字符串
+         * @return 原始字符串
+         */
+        public String getSource() {
+            return source;
+        }
+
+        @Override
+        public int compareTo(final Key other) {
+            int count = Math.min(ends.length, other.ends.length);
+            for (int i = 0; i < count; i++) {
+                int start1 = (i == 0) ? 0 : ends[i - 1];
+                int start2 = (i == 0) ? 0 : other.ends[i - 1];
+                int result = _compareToken(
+                        folded, start1, ends[i], other.folded, start2, other.ends[i],
+                        (i & 1) == 1, false
+                );
+                if (result != 0) return result;
+            }
+            return Integer.compare(ends.length, other.ends.length);
+        }
+    }
+
+    /**
+     * detail: 排序 Key 与排序对象
+     * @author Ttt
+     */
+    private static final class Entry {
+
+        // 排序 Key ( null 则排在最前 )
+        final Key    key;
+        // 排序对象
+        final Object value;
+
+        Entry(
+                final Key key,
+                final Object value
+        ) {
+            this.key   = key;
+            this.value = value;
+        }
+    }
+
+    // 排序 Key 比较器
+    private static final Comparator<Entry> ENTRY_COMPARATOR = new Comparator<Entry>() {
+        @Override
+        public int compare(
+                Entry o1,
+                Entry o2
+        ) {
+            if (o1.key == null) return (o2.key == null) ? 0 : -1;
+            if (o2.key == null) return 1;
+            return o1.key.compareTo(o2.key);
+        }
+    };
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取片段结束位置
+     * @param value     字符串
+     * @param start     片段开始位置
+     * @param delimiter 是否分隔片段
+     * @return 片段结束位置
+     */
+    private static int _tokenEnd(
+            final CharSequence value,
+            final int start,
+            final boolean delimiter
+    ) {
+        int length = value.length();
+        if (delimiter) {
+            if (start >= length) return start;
+            if (_isDigit(value.charAt(start))) {
+                int end = start + 1;
+                while (end < length && _isDigit(value.charAt(end))) end++;
+                return end;
+            }
+            // '.'、空白字符为单个字符片段
+            return start + 1;
+        }
+        int end = start;
+        while (end < length && !_isDelimiter(value.charAt(end))) end++;
+        return end;
+    }
+
+    /**
+     * 比较片段
+     * @param s1         字符串
+     * @param start1     片段开始位置
+     * @param end1       片段结束位置
+     * @param s2         字符串
+     * @param start2     片段开始位置
+     * @param end2       片段结束位置
+     * @param delimiter  是否分隔片段
+     * @param ignoreCase 是否忽略大小写 ( Key 已转换则无需处理 )
+     * @return 比较结果
+     */
+    private static int _compareToken(
+            final CharSequence s1,
+            final int start1,
+            final int end1,
+            final CharSequence s2,
+            final int start2,
+            final int end2,
+            final boolean delimiter,
+            final boolean ignoreCase
+    ) {
+        if (delimiter && end1 > start1 && end2 > start2
+                && _isDigit(s1.charAt(start1)) && _isDigit(s2.charAt(start2))) {
+            // 跳过前导 0
+            int zero1 = start1;
+            int zero2 = start2;
+            while (zero1 < end1 - 1 && s1.charAt(zero1) == '0') zero1++;
+            while (zero2 < end2 - 1 && s2.charAt(zero2) == '0') zero2++;
+            // 有效位数多的数值大
+            int result = Integer.compare(end1 - zero1, end2 - zero2);
+            for (int i = 0; result == 0 && zero1 + i < end1; i++) {
+                result = Character.compare(s1.charAt(zero1 + i), s2.charAt(zero2 + i));
+            }
+            // 数值相等则前导 0 多的在前
+            return (result != 0) ? result : -Integer.compare(end1 - start1, end2 - start2);
+        }
+        int length1 = end1 - start1;
+        int length2 = end2 - start2;
+        int length  = Math.min(length1, length2);
+        for (int i = 0; i < length; i++) {
+            char c1 = s1.charAt(start1 + i);
+            char c2 = s2.charAt(start2 + i);
+            if (c1 != c2 && ignoreCase) {
+                c1 = Character.toLowerCase(Character.toUpperCase(c1));
+                c2 = Character.toLowerCase(Character.toUpperCase(c2));
+            }
+            if (c1 != c2) return c1 - c2;
+        }
+        return length1 - length2;
+    }
+
+    /**
+     * 是否数字字符
+     * @param value 字符
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean _isDigit(final char value) {
+        return value >= '0' && value <= '9';
+    }
+
+    /**
+     * 是否分隔字符 ( 数字、'.'、空白字符 )
+     * @param value 字符
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean _isDelimiter(final char value) {
+        return _isDigit(value) || value == '.' || value == ' ' || value == '\t'
+                || value == '\n' || value == '\u000B' || value == '\f' || value == '\r';
+    }
+}
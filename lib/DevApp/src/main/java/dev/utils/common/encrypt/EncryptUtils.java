@@ -2,6 +2,9 @@ package dev.utils.common.encrypt;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.security.DigestInputStream;
 import java.security.Key;
 import java.security.KeyFactory;
@@ -36,7 +39,9 @@ public final class EncryptUtils {
     }
 
     // 日志 TAG
-    private static final String TAG = EncryptUtils.class.getSimpleName();
+    private static final String TAG                = EncryptUtils.class.getSimpleName();
+    // 流式处理缓冲区大小
+    private static final int    STREAM_BUFFER_SIZE = 64 * 1024;
 
     /**
      * MD2 加密
@@ -173,14 +178,16 @@ public final class EncryptUtils {
         DigestInputStream dis = null;
         try {
             FileInputStream fis    = new FileInputStream(file);
-            MessageDigest   digest = MessageDigest.getInstance("MD5");
+            MessageDigest   digest = CryptoPool.obtainDigest("MD5");
             dis = new DigestInputStream(fis, digest);
             byte[] buffer = new byte[256 * 1024];
             while (true) {
                 if (!(dis.read(buffer) > 0)) break;
             }
             digest = dis.getMessageDigest();
-            return digest.digest();
+            byte[] result = digest.digest();
+            CryptoPool.recycle(digest);
+            return result;
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "encryptMD5File");
             return null;
@@ -351,9 +358,11 @@ public final class EncryptUtils {
     ) {
         if (data == null || data.length == 0) return null;
         try {
-            MessageDigest digest = MessageDigest.getInstance(algorithm);
+            MessageDigest digest = CryptoPool.obtainDigest(algorithm);
             digest.update(data);
-            return digest.digest();
+            byte[] result = digest.digest();
+            CryptoPool.recycle(digest);
+            return result;
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "hashTemplate");
             return null;
@@ -974,21 +983,7 @@ public final class EncryptUtils {
     ) {
         if (data == null || data.length == 0 || key == null || key.length == 0) return null;
         try {
-            SecretKey secretKey;
-            if ("DES".equals(algorithm)) {
-                DESKeySpec       desKey     = new DESKeySpec(key);
-                SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(algorithm);
-                secretKey = keyFactory.generateSecret(desKey);
-            } else {
-                secretKey = new SecretKeySpec(key, algorithm);
-            }
-            Cipher cipher = Cipher.getInstance(transformation);
-            if (iv == null || iv.length == 0) {
-                cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, secretKey);
-            } else {
-                AlgorithmParameterSpec params = new IvParameterSpec(iv);
-                cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, secretKey, params);
-            }
+            Cipher cipher = _initCipher(key, algorithm, transformation, iv, isEncrypt);
             return cipher.doFinal(data);
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "symmetricTemplate");
@@ -1162,10 +1157,262 @@ public final class EncryptUtils {
         return null;
     }
 
+    // ==========
+    // = 流式处理 =
+    // ==========
+
+    /**
+     * Hash 加密模版方法 ( 流式读取, 不关闭流 )
+     * @param input     待加密数据流
+     * @param algorithm 算法
+     * @return 指定加密算法加密后的数据
+     */
+    public static byte[] hashTemplate(
+            final InputStream input,
+            final String algorithm
+    ) {
+        if (input == null) return null;
+        try {
+            MessageDigest digest = CryptoPool.obtainDigest(algorithm);
+            byte[]        buffer = new byte[STREAM_BUFFER_SIZE];
+            int           len;
+            while ((len = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, len);
+            }
+            byte[] result = digest.digest();
+            CryptoPool.recycle(digest);
+            return result;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "hashTemplate");
+            return null;
+        }
+    }
+
+    /**
+     * Hash 加密模版方法 ( 读取 position 至 limit 数据 )
+     * @param buffer    待加密数据
+     * @param algorithm 算法
+     * @return 指定加密算法加密后的数据
+     */
+    public static byte[] hashTemplate(
+            final ByteBuffer buffer,
+            final String algorithm
+    ) {
+        if (buffer == null) return null;
+        try {
+            MessageDigest digest = CryptoPool.obtainDigest(algorithm);
+            digest.update(buffer);
+            byte[] result = digest.digest();
+            CryptoPool.recycle(digest);
+            return result;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "hashTemplate");
+            return null;
+        }
+    }
+
+    /**
+     * Hmac 加密模版方法 ( 流式读取, 不关闭流 )
+     * @param input     待加密数据流
+     * @param key       密钥
+     * @param algorithm 算法
+     * @return 指定加密算法和密钥, 加密后的数据
+     */
+    public static byte[] hmacTemplate(
+            final InputStream input,
+            final byte[] key,
+            final String algorithm
+    ) {
+        if (input == null || key == null || key.length == 0) return null;
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(key, algorithm));
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int    len;
+            while ((len = input.read(buffer)) != -1) {
+                mac.update(buffer, 0, len);
+            }
+            return mac.doFinal();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "hmacTemplate");
+            return null;
+        }
+    }
+
+    /**
+     * Hmac 加密模版方法 ( 读取 position 至 limit 数据 )
+     * @param buffer    待加密数据
+     * @param key       密钥
+     * @param algorithm 算法
+     * @return 指定加密算法和密钥, 加密后的数据
+     */
+    public static byte[] hmacTemplate(
+            final ByteBuffer buffer,
+            final byte[] key,
+            final String algorithm
+    ) {
+        if (buffer == null || key == null || key.length == 0) return null;
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(key, algorithm));
+            mac.update(buffer);
+            return mac.doFinal();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "hmacTemplate");
+            return null;
+        }
+    }
+
+    /**
+     * AES 加密 ( 流式处理, 不关闭流 )
+     * @param input          待加密数据流
+     * @param output         加密数据写入流
+     * @param key            密钥
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param iv             算法参数 {@link AlgorithmParameterSpec}
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean encryptAES(
+            final InputStream input,
+            final OutputStream output,
+            final byte[] key,
+            final String transformation,
+            final byte[] iv
+    ) {
+        return symmetricTemplate(input, output, key, "AES", transformation, iv, true);
+    }
+
+    /**
+     * AES 解密 ( 流式处理, 不关闭流 )
+     * @param input          待解密数据流
+     * @param output         解密数据写入流
+     * @param key            密钥
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param iv             算法参数 {@link AlgorithmParameterSpec}
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean decryptAES(
+            final InputStream input,
+            final OutputStream output,
+            final byte[] key,
+            final String transformation,
+            final byte[] iv
+    ) {
+        return symmetricTemplate(input, output, key, "AES", transformation, iv, false);
+    }
+
+    /**
+     * 对称加密模版方法 ( 流式处理, 不关闭流 )
+     * <pre>
+     *     按缓冲区分段 update, 最后 doFinal, 无需将完整数据读入内存
+     * </pre>
+     * @param input          待加解密数据流
+     * @param output         加解密数据写入流
+     * @param key            密钥
+     * @param algorithm      算法
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param iv             算法参数 {@link AlgorithmParameterSpec}
+     * @param isEncrypt      是否加密处理
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean symmetricTemplate(
+            final InputStream input,
+            final OutputStream output,
+            final byte[] key,
+            final String algorithm,
+            final String transformation,
+            final byte[] iv,
+            final boolean isEncrypt
+    ) {
+        if (input == null || output == null || key == null || key.length == 0) return false;
+        try {
+            Cipher cipher = _initCipher(key, algorithm, transformation, iv, isEncrypt);
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            byte[] out    = new byte[cipher.getOutputSize(STREAM_BUFFER_SIZE)];
+            int    len;
+            while ((len = input.read(buffer)) != -1) {
+                int outLen = cipher.update(buffer, 0, len, out);
+                if (outLen > 0) output.write(out, 0, outLen);
+            }
+            output.write(cipher.doFinal());
+            output.flush();
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "symmetricTemplate");
+            return false;
+        }
+    }
+
+    /**
+     * 对称加密模版方法 ( 读取 input position 至 limit 数据, 写入 output )
+     * @param input          待加解密数据
+     * @param output         加解密数据 ( 剩余空间需足够 )
+     * @param key            密钥
+     * @param algorithm      算法
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param iv             算法参数 {@link AlgorithmParameterSpec}
+     * @param isEncrypt      是否加密处理
+     * @return 写入 output 的字节数, 失败返回 -1
+     */
+    public static int symmetricTemplate(
+            final ByteBuffer input,
+            final ByteBuffer output,
+            final byte[] key,
+            final String algorithm,
+            final String transformation,
+            final byte[] iv,
+            final boolean isEncrypt
+    ) {
+        if (input == null || output == null || key == null || key.length == 0) return -1;
+        try {
+            Cipher cipher = _initCipher(key, algorithm, transformation, iv, isEncrypt);
+            return cipher.doFinal(input, output);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "symmetricTemplate");
+            return -1;
+        }
+    }
+
     // ==========
     // = 私有方法 =
     // ==========
 
+    /**
+     * 获取并初始化对称加密 Cipher
+     * @param key            密钥
+     * @param algorithm      算法
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param iv             算法参数 {@link AlgorithmParameterSpec}
+     * @param isEncrypt      是否加密处理
+     * @return {@link Cipher}
+     * @throws Exception 初始化异常
+     */
+    private static Cipher _initCipher(
+            final byte[] key,
+            final String algorithm,
+            final String transformation,
+            final byte[] iv,
+            final boolean isEncrypt
+    )
+            throws Exception {
+        SecretKey secretKey;
+        if ("DES".equals(algorithm)) {
+            DESKeySpec       desKey     = new DESKeySpec(key);
+            SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(algorithm);
+            secretKey = keyFactory.generateSecret(desKey);
+        } else {
+            secretKey = new SecretKeySpec(key, algorithm);
+        }
+        Cipher cipher = Cipher.getInstance(transformation);
+        if (iv == null || iv.length == 0) {
+            cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, secretKey);
+        } else {
+            AlgorithmParameterSpec params = new IvParameterSpec(iv);
+            cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, secretKey, params);
+        }
+        return cipher;
+    }
+
     /**
      * Base64 编码
      * @param input 待编码数据
@@ -0,0 +1,648 @@
+package dev.utils.common.file;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.FileUtils;
+import dev.utils.common.thread.DevParallelExecutor;
+
+/**
+ * detail: 文件目录并行处理工具类
+ * @author Ttt
+ * <pre>
+ *     基于 {@link DevParallelExecutor} 共享线程池并行遍历目录树, 每个子目录为独立任务, 单目录文件过多时按批次拆分
+ *     子目录、文件批次完成后计数汇总到所在目录, 全部完成再回调 onPostDirectory ( 如删除空目录 ), 线程不阻塞等待
+ *     用于大量文件的目录大小统计、删除、复制 ( 如清除缓存、存储统计 )
+ *     <p></p>
+ *     返回 {@link Result} 汇总结果 ( 文件总字节、文件数、文件夹数、失败数 )
+ *     单线程版本见 {@link FileUtils#getDirLength(File)}、{@link FileUtils#deleteDir(File)} 等
+ * </pre>
+ */
+public final class FileParallelUtils {
+
+    private FileParallelUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG                 = FileParallelUtils.class.getSimpleName();
+    // 单任务处理文件数阈值 ( 超过则拆分 )
+    private static final int    BATCH_SIZE          = 256;
+    // 失败文件最大记录数
+    private static final int    MAX_FAIL_FILES      = 100;
+    // 默认并行数
+    public static final  int    DEFAULT_PARALLELISM = DevParallelExecutor.CPU_COUNT;
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取目录全部文件大小
+     * @param dir         目录
+     * @param parallelism 并行数
+     * @return {@link Result}
+     */
+    public static Result getDirLength(
+            final File dir,
+            final int parallelism
+    ) {
+        return _invoke(dir, null, parallelism, new Operation() {
+            @Override
+            public boolean onPreDirectory(
+                    File dir,
+                    File target,
+                    Result result
+            ) {
+                return true;
+            }
+
+            @Override
+            public void onFile(
+                    File file,
+                    File target,
+                    Result result
+            ) {
+                result.length += file.length();
+                result.fileCount++;
+            }
+
+            @Override
+            public void onPostDirectory(
+                    File dir,
+                    File target,
+                    Result result
+            ) {
+                result.folderCount++;
+            }
+        }, "getDirLength");
+    }
+
+    /**
+     * 删除目录 ( 包含目录本身 )
+     * @param dir         目录
+     * @param parallelism 并行数
+     * @return {@link Result} ( 已删除文件总字节、文件数、文件夹数 )
+     */
+    public static Result deleteDir(
+            final File dir,
+            final int parallelism
+    ) {
+        return _delete(dir, parallelism, true);
+    }
+
+    /**
+     * 删除目录下所有文件 ( 保留目录本身 )
+     * @param dir         目录
+     * @param parallelism 并行数
+     * @return {@link Result} ( 已删除文件总字节、文件数、文件夹数 )
+     */
+    public static Result deleteAllInDir(
+            final File dir,
+            final int parallelism
+    ) {
+        return _delete(dir, parallelism, false);
+    }
+
+    /**
+     * 复制文件夹
+     * @param srcFolder   待复制的文件夹
+     * @param destFolder  存储目标文件夹
+     * @param overlay     如果目标文件存在, 是否覆盖
+     * @param parallelism 并行数
+     * @return {@link Result} ( 已复制文件总字节、文件数、文件夹数 )
+     */
+    public static Result copyFolder(
+            final File srcFolder,
+            final File destFolder,
+            final boolean overlay,
+            final int parallelism
+    ) {
+        if (srcFolder == null || destFolder == null) return _failResult(srcFolder);
+        // 目标文件夹不能位于待复制的文件夹内
+        String srcPath  = srcFolder.getAbsolutePath() + File.separator;
+        String destPath = destFolder.getAbsolutePath() + File.separator;
+        if (destPath.startsWith(srcPath)) return _failResult(destFolder);
+        return _invoke(srcFolder, destFolder, parallelism, new Operation() {
+            @Override
+            public boolean onPreDirectory(
+                    File dir,
+                    File target,
+                    Result result
+            ) {
+                if (FileUtils.createOrExistsDir(target)) return true;
+                result.fail(dir);
+                return false;
+            }
+
+            @Override
+            public void onFile(
+                    File file,
+                    File target,
+                    Result result
+            ) {
+                if (target.exists() && !overlay) return;
+                if (FileUtils.channelCopy(file, target, null)) {
+                    result.length += file.length();
+                    result.fileCount++;
+                } else {
+                    result.fail(file);
+                }
+            }
+
+            @Override
+            public void onPostDirectory(
+                    File dir,
+                    File target,
+                    Result result
+            ) {
+                result.folderCount++;
+            }
+        }, "copyFolder");
+    }
+
+    /**
+     * 获取目录下所有过滤的文件 ( 递归子目录 )
+     * <pre>
+     *     返回顺序与 {@link FileUtils#listFilesInDirWithFilter(File, FileFilter, boolean)} 不保证一致
+     * </pre>
+     * @param dir         目录
+     * @param filter      过滤器
+     * @param parallelism 并行数
+     * @return 文件链表
+     */
+    public static List<File> listFilesInDirWithFilter(
+            final File dir,
+            final FileFilter filter,
+            final int parallelism
+    ) {
+        if (!FileUtils.isDirectory(dir) || filter == null) return null;
+        Result result = _invoke(dir, null, parallelism, new Operation() {
+            @Override
+            public boolean onPreDirectory(
+                    File dir,
+                    File target,
+                    Result result
+            ) {
+                return true;
+            }
+
+            @Override
+            public void onFile(
+                    File file,
+                    File target,
+                    Result result
+            ) {
+                result.fileCount++;
+                if (filter.accept(file)) result.files.add(file);
+            }
+
+            @Override
+            public void onPostDirectory(
+                    File dir,
+                    File target,
+                    Result result
+            ) {
+                result.folderCount++;
+                result.folders.add(dir);
+            }
+        }, "listFilesInDirWithFilter");
+        // 子目录本身也需过滤 ( 与单线程版本一致, 不包含根目录 )
+        List<File> folders = new ArrayList<>();
+        for (File file : result.folders) {
+            if (!file.equals(dir) && filter.accept(file)) folders.add(file);
+        }
+        folders.addAll(result.files);
+        return folders;
+    }
+
+    // ==========
+    // = 汇总结果 =
+    // ==========
+
+    /**
+     * detail: 目录处理汇总结果
+     * @author Ttt
+     */
+    public static final class Result {
+
+        // 文件总字节
+        private       long       length;
+        // 文件数
+        private       int        fileCount;
+        // 文件夹数
+        private       int        folderCount;
+        // 失败数
+        private       int        failCount;
+        // 失败文件 ( 最多记录 MAX_FAIL_FILES 个 )
+        private final List<File> failFiles = new ArrayList<>();
+        // 过滤的文件 ( 仅列举时使用 )
+        private final List<File> files     = new ArrayList<>();
+        // 遍历的文件夹 ( 仅列举时使用 )
+        private final List<File> folders   = new ArrayList<>();
+
+        /**
+         * 获取文件总字节
+         * @return 文件总字节
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * 获取文件数
+         * @return 文件数
+         */
+        public int getFileCount() {
+            return fileCount;
+        }
+
+        /**
+         * 获取文件夹数
+         * @return 文件夹数
+         */
+        public int getFolderCount() {
+            return folderCount;
+        }
+
+        /**
+         * 获取失败数
+         * @return 失败数
+         */
+        public int getFailCount() {
+            return failCount;
+        }
+
+        /**
+         * 获取失败文件 ( 最多记录 100 个 )
+         * @return 失败文件
+         */
+        public List<File> getFailFiles() {
+            return Collections.unmodifiableList(failFiles);
+        }
+
+        /**
+         * 是否全部处理成功
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isSuccess() {
+            return failCount == 0;
+        }
+
+        /**
+         * 记录失败文件
+         * @param file 失败文件
+         */
+        private void fail(final File file) {
+            failCount++;
+            if (failFiles.size() < MAX_FAIL_FILES) failFiles.add(file);
+        }
+
+        /**
+         * 合并子任务结果
+         * @param other 子任务结果
+         */
+        private void merge(final Result other) {
+            length += other.length;
+            fileCount += other.fileCount;
+            folderCount += other.folderCount;
+            failCount += other.failCount;
+            int remain = MAX_FAIL_FILES - failFiles.size();
+            if (remain > 0) {
+                List<File> fails = other.failFiles;
+                failFiles.addAll(fails.size() > remain ? fails.subList(0, remain) : fails);
+            }
+            files.addAll(other.files);
+            folders.addAll(other.folders);
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * detail: 目录遍历操作
+     * @author Ttt
+     */
+    private interface Operation {
+
+        /**
+         * 遍历目录子文件前
+         * @param dir    目录
+         * @param target 目标目录 ( 仅复制时使用 )
+         * @param result 当前任务结果
+         * @return {@code true} 继续遍历, {@code false} 跳过该目录
+         */
+        boolean onPreDirectory(
+                File dir,
+                File target,
+                Result result
+        );
+
+        /**
+         * 处理文件
+         * @param file   文件
+         * @param target 目标文件 ( 仅复制时使用 )
+         * @param result 当前任务结果
+         */
+        void onFile(
+                File file,
+                File target,
+                Result result
+        );
+
+        /**
+         * 遍历目录子文件后
+         * @param dir    目录
+         * @param target 目标目录 ( 仅复制时使用 )
+         * @param result 当前目录及子目录汇总结果
+         */
+        void onPostDirectory(
+                File dir,
+                File target,
+                Result result
+        );
+    }
+
+    /**
+     * detail: 目录节点
+     * @author Ttt
+     */
+    private static final class DirectoryNode {
+
+        // 目录
+        final File          dir;
+        // 目标目录
+        final File          target;
+        // 上级目录节点
+        final DirectoryNode parent;
+        // 当前目录及子目录汇总结果
+        final Result        result  = new Result();
+        // 未完成数 ( 目录本身遍历 + 子目录 + 文件批次 )
+        final AtomicInteger pending = new AtomicInteger(1);
+
+        DirectoryNode(
+                final File dir,
+                final File target,
+                final DirectoryNode parent
+        ) {
+            this.dir    = dir;
+            this.target = target;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * detail: 目录并行遍历
+     * @author Ttt
+     */
+    private static final class Walker {
+
+        // 并行任务组
+        private final DevParallelExecutor.Group group;
+        // 目录遍历操作
+        private final Operation                 operation;
+
+        Walker(
+                final DevParallelExecutor.Group group,
+                final Operation operation
+        ) {
+            this.group     = group;
+            this.operation = operation;
+        }
+
+        /**
+         * 提交目录遍历任务
+         * @param node 目录节点
+         */
+        void submit(final DirectoryNode node) {
+            group.submit(new Runnable() {
+                @Override
+                public void run() {
+                    _visit(node);
+                }
+            });
+        }
+
+        /**
+         * 遍历目录子文件
+         * @param node 目录节点
+         */
+        private void _visit(final DirectoryNode node) {
+            if (!operation.onPreDirectory(node.dir, node.target, node.result)) {
+                _finish(node, false);
+                return;
+            }
+            File[] files = node.dir.listFiles();
+            if (files == null) {
+                node.result.fail(node.dir);
+                _finish(node, false);
+                return;
+            }
+            List<File> items = new ArrayList<>();
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    node.pending.incrementAndGet();
+                    submit(new DirectoryNode(file, _target(node.target, file), node));
+                } else {
+                    items.add(file);
+                }
+            }
+            // 文件按批次处理
+            for (int start = 0, len = items.size(); start < len; start += BATCH_SIZE) {
+                node.pending.incrementAndGet();
+                _submitFiles(node, items, start, Math.min(len, start + BATCH_SIZE));
+            }
+            _complete(node);
+        }
+
+        /**
+         * 提交文件批次任务
+         * @param node  目录节点
+         * @param items 文件
+         * @param start 开始索引
+         * @param end   结束索引
+         */
+        private void _submitFiles(
+                final DirectoryNode node,
+                final List<File> items,
+                final int start,
+                final int end
+        ) {
+            group.submit(new Runnable() {
+                @Override
+                public void run() {
+                    Result result = new Result();
+                    for (int i = start; i < end; i++) {
+                        File file = items.get(i);
+                        try {
+                            operation.onFile(file, _target(node.target, file), result);
+                        } catch (Exception e) {
+                            JCLogUtils.eTag(TAG, e, "onFile");
+                            result.fail(file);
+                        }
+                    }
+                    synchronized (node) {
+                        node.result.merge(result);
+                    }
+                    _complete(node);
+                }
+            });
+        }
+
+        /**
+         * 完成一项 ( 目录遍历、子目录、文件批次 ), 全部完成则结束目录
+         * @param node 目录节点
+         */
+        private void _complete(final DirectoryNode node) {
+            if (node.pending.decrementAndGet() == 0) {
+                _finish(node, true);
+            }
+        }
+
+        /**
+         * 结束目录并汇总到上级目录
+         * @param node       目录节点
+         * @param isTraverse 是否已遍历 ( 回调 onPostDirectory )
+         */
+        private void _finish(
+                final DirectoryNode node,
+                final boolean isTraverse
+        ) {
+            DirectoryNode current  = node;
+            boolean       traverse = isTraverse;
+            while (current != null) {
+                synchronized (current) {
+                    if (traverse) {
+                        operation.onPostDirectory(current.dir, current.target, current.result);
+                    }
+                }
+                DirectoryNode parent = current.parent;
+                if (parent == null) return;
+                synchronized (parent) {
+                    parent.result.merge(current.result);
+                }
+                // 上级目录全部完成则继续结束上级目录
+                if (parent.pending.decrementAndGet() != 0) return;
+                current  = parent;
+                traverse = true;
+            }
+        }
+    }
+
+    /**
+     * 删除目录
+     * @param dir         目录
+     * @param parallelism 并行数
+     * @param deleteSelf  是否删除目录本身
+     * @return {@link Result}
+     */
+    private static Result _delete(
+            final File dir,
+            final int parallelism,
+            final boolean deleteSelf
+    ) {
+        // 目录不存在视为删除成功
+        if (dir != null && !dir.exists()) return new Result();
+        return _invoke(dir, null, parallelism, new Operation() {
+            @Override
+            public boolean onPreDirectory(
+                    File dir,
+                    File target,
+                    Result result
+            ) {
+                return true;
+            }
+
+            @Override
+            public void onFile(
+                    File file,
+                    File target,
+                    Result result
+            ) {
+                long length = file.length();
+                if (file.delete()) {
+                    result.length += length;
+                    result.fileCount++;
+                } else {
+                    result.fail(file);
+                }
+            }
+
+            @Override
+            public void onPostDirectory(
+                    File folder,
+                    File target,
+                    Result result
+            ) {
+                if (!deleteSelf && folder.equals(dir)) return;
+                // 子文件存在失败时目录无法删除, 不重复记录
+                if (folder.delete()) {
+                    result.folderCount++;
+                } else if (result.isSuccess()) {
+                    result.fail(folder);
+                }
+            }
+        }, deleteSelf ? "deleteDir" : "deleteAllInDir");
+    }
+
+    /**
+     * 并行遍历目录
+     * @param dir         目录
+     * @param target      目标目录 ( 仅复制时使用 )
+     * @param parallelism 并行数
+     * @param operation   {@link Operation}
+     * @param method      日志方法名
+     * @return {@link Result}
+     */
+    private static Result _invoke(
+            final File dir,
+            final File target,
+            final int parallelism,
+            final Operation operation,
+            final String method
+    ) {
+        if (!FileUtils.isDirectory(dir)) return _failResult(dir);
+        try {
+            DevParallelExecutor.Group group = DevParallelExecutor.newGroup(parallelism);
+            DirectoryNode             root  = new DirectoryNode(dir, target, null);
+            new Walker(group, operation).submit(root);
+            group.await();
+            synchronized (root) {
+                return root.result;
+            }
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, method);
+        }
+        return _failResult(dir);
+    }
+
+    /**
+     * 获取失败结果
+     * @param file 失败文件
+     * @return {@link Result}
+     */
+    private static Result _failResult(final File file) {
+        Result result = new Result();
+        result.fail(file);
+        return result;
+    }
+
+    /**
+     * 获取目标文件
+     * @param target 目标目录
+     * @param file   文件
+     * @return 目标文件
+     */
+    private static File _target(
+            final File target,
+            final File file
+    ) {
+        return target != null ? new File(target, file.getName()) : null;
+    }
+}
@@ -0,0 +1,806 @@
+package dev.utils.common.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.ConvertUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 文件分片并行处理引擎
+ * @author Ttt
+ * <pre>
+ *     各分片由线程池并行处理, 通过 {@link FileChannel} 指定位置读写 ( 共享同一 FileChannel, 无需 seek )
+ *     每个分片完成后计算 MD5 并记录到 {@link FilePartManifest}, 中断后再次调用时重新计算已完成分片 MD5
+ *     与清单一致才跳过, 否则重新处理该分片
+ *     <p></p>
+ *     拆分: 清单文件为 destFolder/fileName.manifest, 分片文件名同 {@link FilePartItem#getPartName(String)}
+ *     合并、下载: 预先设置目标文件长度, 清单文件为 targetFile.merge.manifest、targetFile.manifest, 全部分片完成后删除
+ *     上传: 清单文件由调用方指定, 便于按上传任务保存进度
+ * </pre>
+ */
+public final class FilePartEngine {
+
+    // 日志 TAG
+    private static final String TAG          = FilePartEngine.class.getSimpleName();
+    // 读写缓冲大小
+    public static final  int    BUFFER_SIZE  = 64 * 1024;
+    // 合并清单文件后缀 ( 避免与拆分清单同名 )
+    public static final  String MERGE_SUFFIX = ".merge";
+    // 分片处理状态
+    private static final int    PART_FAIL    = 0;
+    private static final int    PART_SUCCESS = 1;
+    private static final int    PART_SKIP    = 2;
+
+    // 线程池
+    private final ExecutorService mThreadPool;
+    // 是否内部创建线程池 ( shutdown 时关闭 )
+    private final boolean         mOwnThreadPool;
+
+    /**
+     * 构造函数
+     * @param threadCount 并行线程数
+     */
+    public FilePartEngine(final int threadCount) {
+        this.mThreadPool    = Executors.newFixedThreadPool(Math.max(1, threadCount));
+        this.mOwnThreadPool = true;
+    }
+
+    /**
+     * 构造函数
+     * @param threadPool {@link ExecutorService}
+     */
+    public FilePartEngine(final ExecutorService threadPool) {
+        this.mThreadPool    = threadPool;
+        this.mOwnThreadPool = false;
+    }
+
+    // ==========
+    // = 接口定义 =
+    // ==========
+
+    /**
+     * detail: 分片数据读取 ( 如分片下载 )
+     * @author Ttt
+     */
+    public interface PartReader {
+
+        /**
+         * 打开分片数据流 ( 数据长度需与分片长度一致 )
+         * @param item {@link FilePartItem}
+         * @return 分片数据流
+         * @throws Exception 异常时该分片失败
+         */
+        InputStream open(FilePartItem item)
+                throws Exception;
+    }
+
+    /**
+     * detail: 分片数据写出 ( 如分片上传 )
+     * @author Ttt
+     */
+    public interface PartWriter {
+
+        /**
+         * 写出分片数据
+         * @param item   {@link FilePartItem}
+         * @param stream 分片数据流 ( 引擎负责关闭 )
+         * @return {@code true} success, {@code false} fail
+         * @throws Exception 异常时该分片失败
+         */
+        boolean write(
+                FilePartItem item,
+                InputStream stream
+        )
+                throws Exception;
+    }
+
+    /**
+     * detail: 分片处理结果
+     * @author Ttt
+     */
+    public static final class Result {
+
+        // 分片总数
+        private final int           partCount;
+        // 本次处理成功分片数
+        private final int           successCount;
+        // 已完成跳过分片数
+        private final int           skipCount;
+        // 失败分片索引
+        private final List<Integer> failParts;
+
+        private Result(
+                final int partCount,
+                final int successCount,
+                final int skipCount,
+                final List<Integer> failParts
+        ) {
+            this.partCount    = partCount;
+            this.successCount = successCount;
+            this.skipCount    = skipCount;
+            this.failParts    = Collections.unmodifiableList(failParts);
+        }
+
+        /**
+         * 获取分片总数
+         * @return 分片总数
+         */
+        public int getPartCount() {
+            return partCount;
+        }
+
+        /**
+         * 获取本次处理成功分片数
+         * @return 本次处理成功分片数
+         */
+        public int getSuccessCount() {
+            return successCount;
+        }
+
+        /**
+         * 获取已完成跳过分片数
+         * @return 已完成跳过分片数
+         */
+        public int getSkipCount() {
+            return skipCount;
+        }
+
+        /**
+         * 获取失败分片索引
+         * @return 失败分片索引 ( 不可修改 )
+         */
+        public List<Integer> getFailParts() {
+            return failParts;
+        }
+
+        /**
+         * 是否全部分片处理成功
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isSuccess() {
+            return partCount > 0 && failParts.isEmpty()
+                    && successCount + skipCount == partCount;
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取分片清单文件
+     * @param file 文件 ( 拆分为分片文件夹中的原文件名, 其他为目标文件 )
+     * @return 分片清单文件
+     */
+    public static File getManifestFile(final File file) {
+        return new File(file.getParentFile(), file.getName() + FilePartManifest.SUFFIX);
+    }
+
+    /**
+     * 并行拆分文件
+     * @param file           文件
+     * @param assist         {@link FilePartAssist}
+     * @param destFolderPath 存储目标文件夹地址
+     * @return {@link Result}
+     */
+    public Result split(
+            final File file,
+            final FilePartAssist assist,
+            final String destFolderPath
+    ) {
+        if (file == null || !file.exists() || assist == null
+                || !assist.existsPart() || destFolderPath == null) {
+            return _failResult(assist);
+        }
+        final String fileName = file.getName();
+        FileUtils.createFolder(destFolderPath);
+        final FilePartManifest manifest = new FilePartManifest(
+                new File(destFolderPath, fileName + FilePartManifest.SUFFIX), assist
+        );
+        RandomAccessFile source = null;
+        try {
+            source = new RandomAccessFile(file, "r");
+            if (source.length() != assist.getFilePartItem(0).fileByteLength) {
+                return _failResult(assist);
+            }
+            final FileChannel channel = source.getChannel();
+            return _execute(assist, manifest, new PartTask() {
+                @Override
+                public boolean isSkip(
+                        FilePartItem item,
+                        String hash
+                )
+                        throws Exception {
+                    File partFile = new File(destFolderPath, item.getPartName(fileName));
+                    if (partFile.length() != _getLength(item)) return false;
+                    FileInputStream fis = null;
+                    try {
+                        fis = new FileInputStream(partFile);
+                        return hash.equalsIgnoreCase(_hash(fis.getChannel(), 0L, _getLength(item)));
+                    } finally {
+                        CloseUtils.closeIOQuietly(fis);
+                    }
+                }
+
+                @Override
+                public String run(FilePartItem item)
+                        throws Exception {
+                    File             partFile = new File(destFolderPath, item.getPartName(fileName));
+                    FileOutputStream fos      = null;
+                    try {
+                        fos = new FileOutputStream(partFile);
+                        FileChannel   output = fos.getChannel();
+                        MessageDigest digest = _newDigest();
+                        ByteBuffer    buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                        long          length = _getLength(item);
+                        long          offset = 0L;
+                        while (offset < length) {
+                            buffer.clear();
+                            buffer.limit((int) Math.min(BUFFER_SIZE, length - offset));
+                            int read = channel.read(buffer, item.start + offset);
+                            if (read < 0) throw new IOException("unexpected end of file");
+                            buffer.flip();
+                            digest.update(buffer.array(), 0, read);
+                            while (buffer.hasRemaining()) {
+                                output.write(buffer);
+                            }
+                            offset += read;
+                        }
+                        return ConvertUtils.toHexString(digest.digest());
+                    } finally {
+                        CloseUtils.closeIOQuietly(fos);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "split");
+        } finally {
+            CloseUtils.closeIOQuietly(source);
+        }
+        return _failResult(assist);
+    }
+
+    /**
+     * 并行合并分片
+     * <pre>
+     *     若分片文件夹中存在拆分清单, 则校验分片 MD5 值
+     * </pre>
+     * @param file           合并目标文件
+     * @param assist         {@link FilePartAssist}
+     * @param destFolderPath 分片所在文件夹地址
+     * @param fileName       原文件名
+     * @return {@link Result}
+     */
+    public Result merge(
+            final File file,
+            final FilePartAssist assist,
+            final String destFolderPath,
+            final String fileName
+    ) {
+        if (file == null || assist == null || !assist.existsPart()
+                || destFolderPath == null || fileName == null) {
+            return _failResult(assist);
+        }
+        File splitManifestFile = new File(destFolderPath, fileName + FilePartManifest.SUFFIX);
+        // 存在拆分清单才进行校验 ( 只读加载, 不创建、不修改 )
+        final FilePartManifest splitManifest = FilePartManifest.read(splitManifestFile, assist);
+        if (splitManifest == null && splitManifestFile.exists()) {
+            // 拆分清单与分片信息不一致
+            JCLogUtils.eTag(TAG, "merge split manifest mismatch: %s", splitManifestFile.getName());
+            return _failResult(assist);
+        }
+        File manifestFile = new File(
+                file.getParentFile(), file.getName() + MERGE_SUFFIX + FilePartManifest.SUFFIX
+        );
+        return _positionalWrite(file, assist, manifestFile, new PartSource() {
+            @Override
+            public InputStream open(FilePartItem item)
+                    throws Exception {
+                File partFile = new File(destFolderPath, item.getPartName(fileName));
+                if (partFile.length() != _getLength(item)) {
+                    throw new IOException("part length mismatch: " + partFile.getName());
+                }
+                return new FileInputStream(partFile);
+            }
+
+            @Override
+            public boolean verify(
+                    FilePartItem item,
+                    String hash
+            ) {
+                return _verify(splitManifest, item, hash);
+            }
+        }, "merge");
+    }
+
+    /**
+     * 并行分片下载 ( 写入目标文件指定位置 )
+     * @param file   下载目标文件
+     * @param assist {@link FilePartAssist} ( 可通过已知总字节构造 )
+     * @param reader {@link PartReader}
+     * @return {@link Result}
+     */
+    public Result download(
+            final File file,
+            final FilePartAssist assist,
+            final PartReader reader
+    ) {
+        return download(file, assist, reader, null);
+    }
+
+    /**
+     * 并行分片下载 ( 写入目标文件指定位置 )
+     * <pre>
+     *     传入服务端分片清单 ( 如拆分清单 ) 时, 下载的分片 MD5 值需与清单一致
+     *     续传时已完成分片重新计算目标文件中该分片 MD5 值, 与进度清单 ( 及服务端分片清单 ) 一致才跳过
+     * </pre>
+     * @param file           下载目标文件
+     * @param assist         {@link FilePartAssist} ( 可通过已知总字节构造 )
+     * @param reader         {@link PartReader}
+     * @param expectManifest 服务端分片清单 ( 只读, 可为 null )
+     * @return {@link Result}
+     */
+    public Result download(
+            final File file,
+            final FilePartAssist assist,
+            final PartReader reader,
+            final FilePartManifest expectManifest
+    ) {
+        if (file == null || assist == null || !assist.existsPart() || reader == null) {
+            return _failResult(assist);
+        }
+        return _positionalWrite(file, assist, getManifestFile(file), new PartSource() {
+            @Override
+            public InputStream open(FilePartItem item)
+                    throws Exception {
+                return reader.open(item);
+            }
+
+            @Override
+            public boolean verify(
+                    FilePartItem item,
+                    String hash
+            ) {
+                return _verify(expectManifest, item, hash);
+            }
+        }, "download");
+    }
+
+    /**
+     * 并行分片上传
+     * @param file         待上传文件
+     * @param assist       {@link FilePartAssist}
+     * @param manifestFile 上传进度清单文件
+     * @param writer       {@link PartWriter}
+     * @return {@link Result}
+     */
+    public Result upload(
+            final File file,
+            final FilePartAssist assist,
+            final File manifestFile,
+            final PartWriter writer
+    ) {
+        if (file == null || !file.exists() || assist == null
+                || !assist.existsPart() || manifestFile == null || writer == null) {
+            return _failResult(assist);
+        }
+        FilePartManifest manifest = new FilePartManifest(manifestFile, assist);
+        RandomAccessFile source   = null;
+        try {
+            source = new RandomAccessFile(file, "r");
+            final FileChannel channel = source.getChannel();
+            return _execute(assist, manifest, new PartTask() {
+                @Override
+                public boolean isSkip(
+                        FilePartItem item,
+                        String hash
+                )
+                        throws Exception {
+                    // 待上传文件该分片数据已变化则重新上传
+                    return hash.equalsIgnoreCase(_hash(channel, item.start, _getLength(item)));
+                }
+
+                @Override
+                public String run(FilePartItem item)
+                        throws Exception {
+                    PartInputStream stream = new PartInputStream(
+                            channel, item.start, _getLength(item)
+                    );
+                    try {
+                        if (!writer.write(item, stream)) return null;
+                        // 计算完整分片 MD5 ( 写出方未读取完时读取剩余数据 )
+                        stream.drain();
+                        return ConvertUtils.toHexString(stream.digest.digest());
+                    } finally {
+                        CloseUtils.closeIOQuietly(stream);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "upload");
+        } finally {
+            CloseUtils.closeIOQuietly(source);
+        }
+        return _failResult(assist);
+    }
+
+    /**
+     * 关闭内部创建的线程池
+     */
+    public void shutdown() {
+        if (mOwnThreadPool) {
+            mThreadPool.shutdown();
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * detail: 分片任务
+     * @author Ttt
+     */
+    private interface PartTask {
+
+        /**
+         * 清单中已完成的分片是否可跳过 ( 重新校验分片数据 )
+         * @param item {@link FilePartItem}
+         * @param hash 清单中分片 MD5 值
+         * @return {@code true} yes, {@code false} no
+         * @throws Exception 异常时重新处理该分片
+         */
+        boolean isSkip(
+                FilePartItem item,
+                String hash
+        )
+                throws Exception;
+
+        /**
+         * 处理分片
+         * @param item {@link FilePartItem}
+         * @return 分片 MD5 值, 失败返回 null
+         * @throws Exception 异常时该分片失败
+         */
+        String run(FilePartItem item)
+                throws Exception;
+    }
+
+    /**
+     * detail: 分片数据来源 ( 合并、下载 )
+     * @author Ttt
+     */
+    private interface PartSource {
+
+        /**
+         * 打开分片数据流
+         * @param item {@link FilePartItem}
+         * @return 分片数据流
+         * @throws Exception 异常时该分片失败
+         */
+        InputStream open(FilePartItem item)
+                throws Exception;
+
+        /**
+         * 校验分片 MD5 值
+         * @param item {@link FilePartItem}
+         * @param hash 分片 MD5 值
+         * @return {@code true} success, {@code false} fail
+         */
+        boolean verify(
+                FilePartItem item,
+                String hash
+        );
+    }
+
+    /**
+     * 分片区域读取流 ( 指定位置读取, 同时计算 MD5 )
+     */
+    private static final class PartInputStream
+            extends InputStream {
+
+        // 共享文件通道
+        private final FileChannel   channel;
+        // 分片结束位置
+        private final long          end;
+        // MD5 摘要
+        private final MessageDigest digest;
+        // 当前读取位置
+        private       long          position;
+
+        PartInputStream(
+                final FileChannel channel,
+                final long start,
+                final long length
+        )
+                throws Exception {
+            this.channel  = channel;
+            this.position = start;
+            this.end      = start + length;
+            this.digest   = _newDigest();
+        }
+
+        @Override
+        public int read()
+                throws IOException {
+            byte[] bytes = new byte[1];
+            int    read  = read(bytes, 0, 1);
+            return read == -1 ? -1 : bytes[0] & 0xFF;
+        }
+
+        @Override
+        public int read(
+                final byte[] b,
+                final int off,
+                final int len
+        )
+                throws IOException {
+            if (position >= end) return -1;
+            if (len == 0) return 0;
+            int length = (int) Math.min(len, end - position);
+            int read   = channel.read(ByteBuffer.wrap(b, off, length), position);
+            if (read < 0) throw new IOException("unexpected end of file");
+            digest.update(b, off, read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+
+        /**
+         * 读取剩余数据
+         * @throws IOException 读取异常
+         */
+        void drain()
+                throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (read(buffer, 0, buffer.length) != -1) {
+                // 仅用于计算 MD5
+            }
+        }
+    }
+
+    /**
+     * 并行写入目标文件指定位置 ( 合并、下载 )
+     * @param file         目标文件
+     * @param assist       {@link FilePartAssist}
+     * @param manifestFile 进度清单文件
+     * @param source       {@link PartSource}
+     * @param method       日志方法名
+     * @return {@link Result}
+     */
+    private Result _positionalWrite(
+            final File file,
+            final FilePartAssist assist,
+            final File manifestFile,
+            final PartSource source,
+            final String method
+    ) {
+        FilePartManifest manifest = new FilePartManifest(manifestFile, assist);
+        // 无已完成分片则重新写入
+        if (manifest.getCompleteCount() == 0) {
+            FileUtils.deleteFile(file);
+        }
+        FileUtils.createFolder(file.getParentFile());
+        final long       fileByteLength = assist.getFilePartItem(0).fileByteLength;
+        RandomAccessFile target         = null;
+        try {
+            target = new RandomAccessFile(file, "rw");
+            if (target.length() != fileByteLength) {
+                target.setLength(fileByteLength);
+            }
+            final FileChannel channel = target.getChannel();
+            Result result = _execute(assist, manifest, new PartTask() {
+                @Override
+                public boolean isSkip(
+                        FilePartItem item,
+                        String hash
+                )
+                        throws Exception {
+                    // 重新计算目标文件中该分片 MD5 值
+                    String fileHash = _hash(channel, item.start, _getLength(item));
+                    return hash.equalsIgnoreCase(fileHash) && source.verify(item, fileHash);
+                }
+
+                @Override
+                public String run(FilePartItem item)
+                        throws Exception {
+                    InputStream stream = null;
+                    try {
+                        stream = source.open(item);
+                        if (stream == null) return null;
+                        MessageDigest digest = _newDigest();
+                        byte[]        bytes  = new byte[BUFFER_SIZE];
+                        long          length = _getLength(item);
+                        long          offset = 0L;
+                        int           read;
+                        while ((read = stream.read(bytes)) != -1) {
+                            if (offset + read > length) {
+                                throw new IOException("part data overflow: " + item.partIndex);
+                            }
+                            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, read);
+                            while (buffer.hasRemaining()) {
+                                offset += channel.write(buffer, item.start + offset);
+                            }
+                            digest.update(bytes, 0, read);
+                        }
+                        if (offset != length) return null;
+                        String hash = ConvertUtils.toHexString(digest.digest());
+                        return source.verify(item, hash) ? hash : null;
+                    } finally {
+                        CloseUtils.closeIOQuietly(stream);
+                    }
+                }
+            });
+            if (result.isSuccess()) {
+                channel.force(false);
+                manifest.delete();
+            }
+            return result;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, method);
+        } finally {
+            CloseUtils.closeIOQuietly(target);
+        }
+        return _failResult(assist);
+    }
+
+    /**
+     * 并行处理各分片并等待完成
+     * @param assist   {@link FilePartAssist}
+     * @param manifest {@link FilePartManifest}
+     * @param task     {@link PartTask}
+     * @return {@link Result}
+     */
+    private Result _execute(
+            final FilePartAssist assist,
+            final FilePartManifest manifest,
+            final PartTask task
+    ) {
+        List<FilePartItem>    items   = assist.getFilePartItems();
+        List<Future<Integer>> futures = new ArrayList<>();
+        List<Integer>         fails   = new ArrayList<>();
+        int                   skip    = 0;
+        int                   success = 0;
+        for (final FilePartItem item : items) {
+            futures.add(mThreadPool.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    // 已完成分片在工作线程中校验, 校验通过才跳过
+                    String completeHash = manifest.getPartHash(item.partIndex);
+                    if (completeHash != null) {
+                        try {
+                            if (task.isSkip(item, completeHash)) return PART_SKIP;
+                        } catch (Exception e) {
+                            JCLogUtils.eTag(TAG, e, "part %s verify", item.partIndex);
+                        }
+                    }
+                    try {
+                        String hash = task.run(item);
+                        if (hash != null && manifest.complete(item, hash)) return PART_SUCCESS;
+                    } catch (Exception e) {
+                        JCLogUtils.eTag(TAG, e, "part %s", item.partIndex);
+                    }
+                    return PART_FAIL;
+                }
+            }));
+        }
+        for (int i = 0, len = futures.size(); i < len; i++) {
+            int result = PART_FAIL;
+            try {
+                result = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "_execute");
+            }
+            if (result == PART_SUCCESS) {
+                success++;
+            } else if (result == PART_SKIP) {
+                skip++;
+            } else {
+                fails.add(items.get(i).partIndex);
+            }
+        }
+        return new Result(items.size(), success, skip, fails);
+    }
+
+    /**
+     * 获取失败结果
+     * @param assist {@link FilePartAssist}
+     * @return {@link Result}
+     */
+    private static Result _failResult(final FilePartAssist assist) {
+        List<Integer> fails = new ArrayList<>();
+        if (assist != null) {
+            for (FilePartItem item : assist.getFilePartItems()) {
+                fails.add(item.partIndex);
+            }
+        }
+        return new Result(fails.size(), 0, 0, fails);
+    }
+
+    /**
+     * 校验分片 MD5 值
+     * @param expectManifest 预期分片清单 ( 为 null 则不校验 )
+     * @param item           {@link FilePartItem}
+     * @param hash           分片 MD5 值
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean _verify(
+            final FilePartManifest expectManifest,
+            final FilePartItem item,
+            final String hash
+    ) {
+        if (expectManifest == null) return true;
+        String partHash = expectManifest.getPartHash(item.partIndex);
+        return partHash == null || partHash.equalsIgnoreCase(hash);
+    }
+
+    /**
+     * 计算文件指定区域 MD5 值
+     * @param channel {@link FileChannel}
+     * @param start   开始位置
+     * @param length  区域长度
+     * @return MD5 值
+     * @throws Exception 读取异常
+     */
+    private static String _hash(
+            final FileChannel channel,
+            final long start,
+            final long length
+    )
+            throws Exception {
+        MessageDigest digest = _newDigest();
+        ByteBuffer    buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long          offset = 0L;
+        while (offset < length) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, length - offset));
+            int read = channel.read(buffer, start + offset);
+            if (read < 0) throw new IOException("unexpected end of file");
+            digest.update(buffer.array(), 0, read);
+            offset += read;
+        }
+        return ConvertUtils.toHexString(digest.digest());
+    }
+
+    /**
+     * 获取分片实际长度
+     * @param item {@link FilePartItem}
+     * @return 分片实际长度
+     */
+    private static long _getLength(final FilePartItem item) {
+        return item.end - item.start;
+    }
+
+    /**
+     * 创建 MD5 摘要
+     * @return {@link MessageDigest}
+     * @throws Exception 不支持 MD5
+     */
+    private static MessageDigest _newDigest()
+            throws Exception {
+        return MessageDigest.getInstance("MD5");
+    }
+}
@@ -3,6 +3,7 @@ package dev.utils.common.file;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
@@ -347,7 +348,13 @@ public final class FilePartUtils {
                 inputChannel  = fis.getChannel();
                 fos           = new FileOutputStream(new File(destFolderPath, partName));
                 outputChannel = fos.getChannel();
-                inputChannel.transferTo(start, (int) (end - start), outputChannel);
+                // 单次 transferTo 可能未传输全部数据
+                long position = start;
+                while (position < end) {
+                    long count = inputChannel.transferTo(position, end - position, outputChannel);
+                    if (count <= 0L) return false;
+                    position += count;
+                }
                 return true;
             } catch (Exception e) {
                 JCLogUtils.eTag(TAG, e, "fileSplitSave");
@@ -691,25 +698,33 @@ public final class FilePartUtils {
         if (file == null || files == null) return false;
         if (files.isEmpty()) return false;
         FileUtils.deleteFile(file);
-        RandomAccessFile raf    = null;
-        RandomAccessFile reader = null;
+        FileOutputStream fos           = null;
+        FileChannel      outputChannel = null;
+        FileInputStream  fis           = null;
+        FileChannel      inputChannel  = null;
         try {
-            raf = new RandomAccessFile(file, "rw");
+            fos           = new FileOutputStream(file);
+            outputChannel = fos.getChannel();
             for (int i = 0, len = files.size(); i < len; i++) {
-                reader = new RandomAccessFile(files.get(i), "r");
-                byte[] buffer = new byte[1024];
-                int    readLen; // 读取的字节数
-                while ((readLen = reader.read(buffer)) != -1) {
-                    raf.write(buffer, 0, readLen);
+                fis          = new FileInputStream(files.get(i));
+                inputChannel = fis.getChannel();
+                // 通过 transferTo 由系统内核完成拷贝, 不经过用户态缓冲区
+                long size     = inputChannel.size();
+                long position = 0L;
+                while (position < size) {
+                    long count = inputChannel.transferTo(position, size - position, outputChannel);
+                    if (count <= 0L) throw new IOException("transferTo interrupted: " + files.get(i));
+                    position += count;
                 }
-                CloseUtils.closeIOQuietly(reader);
+                CloseUtils.closeIOQuietly(inputChannel, fis);
             }
             return true;
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "fileSplitMergeFiles");
+            CloseUtils.closeIOQuietly(outputChannel, fos);
             FileUtils.deleteFile(file);
         } finally {
-            CloseUtils.closeIOQuietly(reader, raf);
+            CloseUtils.closeIOQuietly(inputChannel, fis, outputChannel, fos);
         }
         return false;
     }
@@ -86,12 +86,13 @@ object DevHttpCapture {
 
     /**
      * 添加 Http 抓包拦截处理
-     * @param builder    OkHttpClient Builder
-     * @param moduleName 模块名 ( 要求唯一性 )
-     * @param encrypt    抓包数据加密中间层
-     * @param httpFilter Http 拦截过滤器
-     * @param capture    是否进行 Http 抓包拦截
-     * @param eventIMPL  Http 抓包事件回调
+     * @param builder       OkHttpClient Builder
+     * @param moduleName    模块名 ( 要求唯一性 )
+     * @param encrypt       抓包数据加密中间层
+     * @param httpFilter    Http 拦截过滤器
+     * @param capture       是否进行 Http 抓包拦截
+     * @param eventIMPL     Http 抓包事件回调
+     * @param storageConfig 抓包数据存储配置
      * @return `true` success, `false` fail
      */
     fun addInterceptor(
@@ -103,13 +104,14 @@ object DevHttpCapture {
         eventIMPL: IHttpCaptureEvent = object : HttpCaptureEventIMPL() {
             override fun callEnd(info: CaptureInfo) {
             }
-        }
+        },
+        storageConfig: CaptureStorageConfig = CaptureStorageConfig()
     ): Boolean {
         if (StringUtils.isNotEmpty(moduleName)) {
             if (!sCaptureMaps.containsKey(moduleName)) {
                 val interceptor = HttpCaptureInterceptor(
                     moduleName, encrypt, httpFilter,
-                    capture, eventIMPL
+                    capture, eventIMPL, storageConfig
                 )
                 // 添加抓包拦截
                 builder.addInterceptor(interceptor)
@@ -203,6 +205,25 @@ object DevHttpCapture {
         return mutableListOf()
     }
 
+    /**
+     * 分页查询指定模块抓包数据
+     * @param moduleName 模块名 ( 要求唯一性 )
+     * @param query      查询条件
+     * @return 分页查询结果
+     */
+    fun queryModuleHttpCaptures(
+        moduleName: String,
+        query: CaptureQuery
+    ): CapturePage {
+        if (StringUtils.isNotEmpty(moduleName)) {
+            val httpCapture = sCaptureMaps[moduleName]
+            if (httpCapture != null) {
+                return httpCapture.queryModuleHttpCaptures(query)
+            }
+        }
+        return CapturePage(query, mutableListOf(), false)
+    }
+
     // =================
     // = 对外公开快捷方法 =
     // =================
@@ -3,6 +3,7 @@ package dev.capture
 import okhttp3.Interceptor
 import okhttp3.Protocol
 import okhttp3.Response
+import okhttp3.internal.http.promisesBody
 import java.util.concurrent.TimeUnit
 
 /**
@@ -13,12 +14,14 @@ abstract class BaseInterceptor(
     // 是否属于存储抓包数据类型
     private val storageHttpCaptureType: Boolean,
     // Http 抓包事件回调
-    private val eventIMPL: IHttpCaptureEvent
+    private val eventIMPL: IHttpCaptureEvent,
+    // 抓包数据存储配置
+    storageConfig: CaptureStorageConfig = CaptureStorageConfig()
 ) : Interceptor,
     IHttpCapture {
 
     // 抓包数据本地存储实现 Engine
-    private val storageEngine = HttpCaptureStorageEngine(eventIMPL)
+    private val storageEngine = HttpCaptureStorageEngine(eventIMPL, storageConfig)
 
     /**
      * 是否属于存储抓包数据类型
@@ -65,6 +68,8 @@ abstract class BaseInterceptor(
         // =================
 
         val httpFilter = getHttpFilter()
+        // 请求体、响应体抓包保留字节数上限
+        var bodyLimit = HttpCaptureEventIMPL.DEFAULT_BODY_LIMIT
         if (httpFilter != null) {
             var isFilter = false
             try {
@@ -79,6 +84,10 @@ abstract class BaseInterceptor(
                 // 不需要抓包直接返回
                 return chain.proceed(chain.request())
             }
+            try {
+                bodyLimit = httpFilter.bodyLimit(request)
+            } catch (ignored: Exception) {
+            }
         }
 
         // ===========
@@ -103,7 +112,7 @@ abstract class BaseInterceptor(
         // 请求体数据
         captureInfo.requestBody.putAll(
             eventIMPL.callRequestBody(
-                request, requestBody, captureRedact()
+                request, requestBody, captureRedact(), bodyLimit
             )
         )
         // 请求时间
@@ -123,7 +132,10 @@ abstract class BaseInterceptor(
                 request, e
             )
             // 抓包数据存储
-            storageEngine.captureStorage(this, captureInfo, requestTime)
+            storageEngine.captureStorage(
+                this, captureInfo, requestTime, requestMethod, -1,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs)
+            )
             throw e
         }
         val tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs)
@@ -144,12 +156,37 @@ abstract class BaseInterceptor(
                 responseBody, captureRedact()
             )
         )
-        // 响应数据
-        captureInfo.responseBody = eventIMPL.callResponseBody(
-            request, response, responseBody
-        )
-        // 抓包数据存储
-        storageEngine.captureStorage(this, captureInfo, requestTime)
-        return response
+        // 无响应体则直接存储
+        if (!response.promisesBody() ||
+            HttpCaptureEventIMPL.bodyHasUnknownEncoding(responseHeaders)
+        ) {
+            // 响应数据
+            captureInfo.responseBody = eventIMPL.callResponseBody(
+                request, response, null
+            )
+            // 抓包数据存储
+            storageEngine.captureStorage(
+                this, captureInfo, requestTime, requestMethod,
+                response.code, tookMs
+            )
+            return response
+        }
+        // 响应体流经时仅保留前 bodyLimit 字节, 读取完成 ( 或关闭 ) 后再存储
+        val captureSource = CaptureSource(
+            responseBody.source(), CaptureBody(bodyLimit)
+        ) { captureBody ->
+            // 响应数据
+            captureInfo.responseBody = eventIMPL.callResponseBody(
+                request, response, captureBody
+            )
+            // 抓包数据存储
+            storageEngine.captureStorage(
+                this, captureInfo, requestTime, requestMethod,
+                response.code, tookMs
+            )
+        }
+        return response.newBuilder()
+            .body(CaptureResponseBody(responseBody, captureSource))
+            .build()
     }
 }
\ No newline at end of file
@@ -58,6 +58,10 @@ open class CallbackInterceptor(
         return mutableListOf()
     }
 
+    final override fun queryModuleHttpCaptures(query: CaptureQuery): CapturePage {
+        return CapturePage(query, mutableListOf(), false)
+    }
+
     // ============
     // = override =
     // ============
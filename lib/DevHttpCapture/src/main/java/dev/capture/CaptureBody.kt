@@ -0,0 +1,306 @@
+package dev.capture
+
+import dev.DevHttpCapture
+import dev.utils.LogPrintUtils
+import okhttp3.MediaType
+import okhttp3.ResponseBody
+import okio.*
+import java.io.IOException
+import java.io.OutputStream
+import java.lang.ref.ReferenceQueue
+import java.lang.ref.WeakReference
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.zip.CRC32
+
+/**
+ * detail: 抓包 Body 数据
+ * @author Ttt
+ * Body 流经拦截器时仅保留前 [limit] 字节用于展示, 并统计总字节数、CRC32 校验值
+ * 大文件上传、下载抓包时不再完整缓存 Body
+ */
+class CaptureBody internal constructor(
+    // 保留字节数上限
+    val limit: Long
+) {
+
+    // 保留的 Body 数据 ( 前 limit 字节, 未解压 )
+    val buffer = Buffer()
+
+    // Body 总字节数
+    var totalBytes = 0L
+        private set
+
+    // 是否读取完成 ( 未读取完成的响应体 Source 被回收时存储为 false )
+    var isComplete = true
+        internal set
+
+    // CRC32 校验
+    private val crc32 = CRC32()
+
+    // CRC32 校验写入流
+    private val crc32Stream = object : OutputStream() {
+        override fun write(b: Int) {
+            crc32.update(b)
+        }
+
+        override fun write(
+            b: ByteArray,
+            off: Int,
+            len: Int
+        ) {
+            crc32.update(b, off, len)
+        }
+    }
+
+    /**
+     * 是否超过保留字节数上限被截断
+     * @return `true` yes, `false` no
+     */
+    fun isTruncated(): Boolean {
+        return totalBytes > buffer.size
+    }
+
+    /**
+     * 获取 Body CRC32 校验值
+     * @return Body CRC32 校验值
+     */
+    fun getHash(): String {
+        return String.format("%08x", crc32.value)
+    }
+
+    /**
+     * 记录流经的 Body 数据
+     * @param source    数据源
+     * @param offset    数据偏移量
+     * @param byteCount 数据长度
+     */
+    internal fun update(
+        source: Buffer,
+        offset: Long,
+        byteCount: Long
+    ) {
+        val keep = (limit - buffer.size).coerceIn(0L, byteCount)
+        if (keep > 0L) {
+            source.copyTo(buffer, offset, keep)
+        }
+        source.copyTo(crc32Stream, offset, byteCount)
+        totalBytes += byteCount
+    }
+}
+
+/**
+ * detail: 抓包请求体写入 Sink
+ * @author Ttt
+ * 丢弃写入的数据, 仅记录到 [CaptureBody]
+ */
+internal class CaptureSink(
+    // 抓包 Body 数据
+    private val body: CaptureBody
+) : Sink {
+
+    override fun write(
+        source: Buffer,
+        byteCount: Long
+    ) {
+        body.update(source, 0L, byteCount)
+        source.skip(byteCount)
+    }
+
+    override fun flush() {
+    }
+
+    override fun timeout(): Timeout {
+        return Timeout.NONE
+    }
+
+    override fun close() {
+    }
+}
+
+/**
+ * detail: 抓包响应体读取 Source
+ * @author Ttt
+ * 调用方读取响应体时同步记录到 [CaptureBody], 读取结束 ( EOF ) 或关闭时回调一次
+ * 调用方未读取完成也未关闭响应体时, 由 [CaptureWatchdog] 在响应体 Source 被回收后回调已读取部分
+ */
+internal class CaptureSource(
+    delegate: Source,
+    // 抓包 Body 数据
+    private val body: CaptureBody,
+    // 读取完成回调
+    private val complete: (CaptureBody) -> Unit
+) : ForwardingSource(delegate) {
+
+    // 是否已回调
+    private val completed = AtomicBoolean()
+
+    // 响应体 Source 回收监听
+    internal var watch: CaptureWatchdog.Watch? = null
+
+    override fun read(
+        sink: Buffer,
+        byteCount: Long
+    ): Long {
+        val read = try {
+            super.read(sink, byteCount)
+        } catch (e: IOException) {
+            onComplete(true)
+            throw e
+        }
+        if (read == -1L) {
+            onComplete(true)
+        } else if (!completed.get()) {
+            synchronized(body) {
+                if (!completed.get()) body.update(sink, sink.size - read, read)
+            }
+        }
+        return read
+    }
+
+    override fun close() {
+        try {
+            super.close()
+        } finally {
+            onComplete(true)
+        }
+    }
+
+    /**
+     * 读取完成回调 ( 仅回调一次 )
+     * @param isComplete 是否读取完成 ( 读取结束或关闭 )
+     */
+    internal fun onComplete(isComplete: Boolean) {
+        synchronized(body) {
+            if (!completed.compareAndSet(false, true)) return
+            body.isComplete = isComplete
+            watch?.let { CaptureWatchdog.unwatch(it) }
+            try {
+                complete(body)
+            } catch (e: Exception) {
+                LogPrintUtils.eTag(DevHttpCapture.TAG, e, "onComplete")
+            }
+        }
+    }
+}
+
+/**
+ * detail: 抓包响应体 Source 回收监听
+ * @author Ttt
+ * 调用方未读取完成也未关闭响应体时 ( 如仅读取响应头 ), 抓包数据不会存储
+ * 监听调用方实际持有的 [BufferedSource] ( source()、byteStream() 均引用该对象 )
+ * 该对象被回收则存储已读取部分, 读取缓慢不会提前存储, 无监听对象时线程退出
+ */
+internal object CaptureWatchdog {
+
+    // 检查间隔
+    private val INTERVAL = TimeUnit.SECONDS.toMillis(1)
+
+    // 响应体回收队列
+    private val sQueue = ReferenceQueue<Any>()
+
+    // 监听对象
+    private val sWatches = ConcurrentHashMap<Watch, Boolean>()
+
+    // 监听线程
+    private var sThread: Thread? = null
+
+    /**
+     * 监听响应体 Source 回收
+     * @param owner  调用方持有的响应体 Source
+     * @param source 抓包响应体读取 Source
+     */
+    fun watch(
+        owner: Any,
+        source: CaptureSource
+    ) {
+        val watch = Watch(owner, source, sQueue)
+        source.watch = watch
+        sWatches[watch] = true
+        synchronized(this) {
+            if (sThread == null) {
+                sThread = Thread({ loop() }, "DevHttpCapture-Watchdog").apply {
+                    isDaemon = true
+                    start()
+                }
+            }
+        }
+    }
+
+    /**
+     * 移除监听
+     * @param watch 监听对象
+     */
+    fun unwatch(watch: Watch) {
+        sWatches.remove(watch)
+    }
+
+    /**
+     * 检查响应体 Source 回收
+     */
+    private fun loop() {
+        while (true) {
+            try {
+                var reference = sQueue.remove(INTERVAL)
+                while (reference != null) {
+                    // 响应体 Source 已回收
+                    (reference as Watch).source.onComplete(false)
+                    reference = sQueue.poll()
+                }
+            } catch (ignored: InterruptedException) {
+            } catch (e: Exception) {
+                LogPrintUtils.eTag(DevHttpCapture.TAG, e, "watchdog")
+            }
+            synchronized(this) {
+                if (sWatches.isEmpty()) {
+                    sThread = null
+                    return
+                }
+            }
+        }
+    }
+
+    /**
+     * detail: 响应体 Source 监听对象
+     * @author Ttt
+     * 仅弱引用调用方持有的 Source, 强引用内部 [CaptureSource] 用于回收后回调
+     */
+    internal class Watch(
+        owner: Any,
+        // 抓包响应体读取 Source
+        val source: CaptureSource,
+        queue: ReferenceQueue<Any>
+    ) : WeakReference<Any>(owner, queue)
+}
+
+/**
+ * detail: 抓包响应体
+ * @author Ttt
+ */
+internal class CaptureResponseBody(
+    // 原始响应体
+    private val delegate: ResponseBody,
+    // 抓包响应体读取 Source
+    source: CaptureSource
+) : ResponseBody() {
+
+    // 调用方读取的 Source ( 响应体包装对象可能先于该对象被回收, 因此监听该对象 )
+    private val bufferedSource = source.buffer()
+
+    init {
+        CaptureWatchdog.watch(bufferedSource, source)
+    }
+
+    override fun contentType(): MediaType? {
+        return delegate.contentType()
+    }
+
+    override fun contentLength(): Long {
+        return delegate.contentLength()
+    }
+
+    override fun source(): BufferedSource {
+        return bufferedSource
+    }
+}
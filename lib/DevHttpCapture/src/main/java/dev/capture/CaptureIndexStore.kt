@@ -0,0 +1,489 @@
+package dev.capture
+
+import dev.DevHttpCapture
+import dev.utils.LogPrintUtils
+import dev.utils.common.CloseUtils
+import dev.utils.common.FileUtils
+import dev.utils.common.validator.ValidatorUtils
+import java.io.*
+import java.nio.charset.Charset
+
+/**
+ * detail: 抓包数据索引存储
+ * @author Ttt
+ * 每个模块对应一个追加写入的索引文件, 列表展示、分页查询只读取索引不再解析每个抓包文件
+ * 索引格式 ( 以 \t 分隔, 请求方法信息、请求链接固定为最后两列 )
+ * C time statusCode tookMs encrypt method fileName segment offset length requestMethod url
+ * D time fileName
+ * 旧版本 ( 不存在索引文件或版本不一致 ) 首次使用时会遍历时间文件夹生成索引
+ * 删除记录过多时会重写为仅包含有效数据的精简索引
+ */
+internal class CaptureIndexStore private constructor(
+    // 模块名
+    private val moduleName: String
+) {
+
+    companion object {
+
+        // 索引文件名
+        private const val INDEX_FILE = "capture.index"
+
+        // 索引文件头
+        private const val MAGIC = "DevHttpCapture.index\t2"
+
+        // 索引列数
+        private const val COLUMNS = 12
+
+        // 删除记录触发重写的最小值
+        private const val REMOVED_LIMIT = 1000
+
+        // 操作类型
+        private const val CAPTURE = "C"
+        private const val DELETE = "D"
+
+        // 索引编码
+        private val CHARSET = Charset.forName("UTF-8")
+
+        // 模块索引存储
+        private val sStoreMaps = hashMapOf<String, CaptureIndexStore>()
+
+        /**
+         * 获取指定模块索引存储
+         * @param moduleName 模块名 ( 要求唯一性 )
+         * @return 指定模块索引存储
+         */
+        fun get(moduleName: String): CaptureIndexStore {
+            synchronized(sStoreMaps) {
+                return sStoreMaps.getOrPut(moduleName) {
+                    CaptureIndexStore(moduleName)
+                }
+            }
+        }
+
+        /**
+         * 重置索引存储 ( 删除模块抓包数据后调用 )
+         * @param moduleName 模块名 ( null 表示全部模块 )
+         */
+        fun reset(moduleName: String?) {
+            synchronized(sStoreMaps) {
+                if (moduleName == null) {
+                    sStoreMaps.values.forEach { it.close() }
+                    sStoreMaps.clear()
+                } else {
+                    sStoreMaps.remove(moduleName)?.close()
+                }
+            }
+        }
+    }
+
+    // 索引数据 ( 按创建时间升序, 未加载为 null )
+    private var entries: MutableList<CaptureIndex>? = null
+
+    // 索引写入流
+    private var writer: Writer? = null
+
+    // 有效数据占用字节数
+    private var totalBytes = 0L
+
+    // 索引文件内删除记录数
+    private var removedCount = 0
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 确保索引文件存在 ( 需在存储抓包文件前调用, 避免旧版本数据遍历时重复生成索引 )
+     */
+    @Synchronized
+    fun ensureIndex() {
+        ensureWriter()
+    }
+
+    /**
+     * 追加抓包数据索引
+     * @param index 抓包数据索引
+     */
+    @Synchronized
+    fun append(index: CaptureIndex) {
+        if (ensureWriter()) {
+            try {
+                writeCapture(writer!!, index)
+            } catch (e: Exception) {
+                LogPrintUtils.eTag(DevHttpCapture.TAG, e, "append")
+            }
+        }
+        entries?.let {
+            insert(it, index)
+            totalBytes += index.length
+        }
+    }
+
+    /**
+     * 删除抓包数据索引
+     * @param time     创建时间
+     * @param fileName 文件名
+     */
+    @Synchronized
+    fun remove(
+        time: Long,
+        fileName: String
+    ) {
+        val lists = load()
+        val position = lists.indexOfFirst { it.time == time && it.fileName == fileName }
+        if (position < 0) return
+        totalBytes -= lists.removeAt(position).length
+        writeDelete(listOf("$time\t$fileName"))
+    }
+
+    /**
+     * 按保留策略淘汰最早的抓包数据索引
+     * 分段文件存储以分段文件为单位淘汰, 保证淘汰后分段文件可整体删除
+     * @param retention 抓包数据保留策略
+     * @return 淘汰的抓包数据索引
+     */
+    @Synchronized
+    fun trim(retention: CaptureRetention): MutableList<CaptureIndex> {
+        val evicted = mutableListOf<CaptureIndex>()
+        if (!retention.isLimited()) return evicted
+        val lists = load()
+        val expireTime = if (retention.maxAge > 0L) {
+            System.currentTimeMillis() - retention.maxAge
+        } else {
+            Long.MIN_VALUE
+        }
+        while (lists.isNotEmpty()) {
+            val oldest = lists[0]
+            val isOver = oldest.time < expireTime ||
+                    (retention.maxCount > 0 && lists.size > retention.maxCount) ||
+                    (retention.maxBytes > 0L && totalBytes > retention.maxBytes)
+            if (!isOver) break
+            if (oldest.segment.isEmpty()) {
+                evicted.add(lists.removeAt(0))
+                totalBytes -= oldest.length
+            } else {
+                // 同一分段文件的抓包数据一并淘汰
+                val folder = Utils.getTimeFolder(oldest.time)
+                val iterator = lists.iterator()
+                while (iterator.hasNext()) {
+                    val index = iterator.next()
+                    if (index.segment == oldest.segment &&
+                        Utils.getTimeFolder(index.time) == folder
+                    ) {
+                        iterator.remove()
+                        evicted.add(index)
+                        totalBytes -= index.length
+                    }
+                }
+            }
+        }
+        if (evicted.isNotEmpty()) {
+            writeDelete(evicted.map { "${it.time}\t${it.fileName}" })
+        }
+        return evicted
+    }
+
+    /**
+     * 刷新索引写入流
+     */
+    @Synchronized
+    fun flush() {
+        try {
+            writer?.flush()
+        } catch (e: Exception) {
+            LogPrintUtils.eTag(DevHttpCapture.TAG, e, "flush")
+        }
+    }
+
+    /**
+     * 获取全部抓包数据索引 ( 按创建时间升序 )
+     * @return 全部抓包数据索引
+     */
+    @Synchronized
+    fun getAll(): MutableList<CaptureIndex> {
+        return ArrayList(load())
+    }
+
+    /**
+     * 分页查询抓包数据索引
+     * @param query 查询条件
+     * @return 分页查询结果
+     */
+    @Synchronized
+    fun query(query: CaptureQuery): CapturePage {
+        val lists = load()
+        val items = mutableListOf<CaptureIndex>()
+        val limit = query.limit.coerceAtLeast(1)
+        var skip = query.offset.coerceAtLeast(0)
+        var hasMore = false
+        // 定位结束时间后倒序遍历 ( 最新的在最前面 )
+        var position = upperBound(lists, query.endTime) - 1
+        while (position >= 0) {
+            val index = lists[position--]
+            if (index.time < query.startTime) break
+            if (!query.matches(index)) continue
+            if (skip > 0) {
+                skip--
+                continue
+            }
+            if (items.size == limit) {
+                hasMore = true
+                break
+            }
+            items.add(index)
+        }
+        return CapturePage(query, items, hasMore)
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取索引文件
+     * @return 索引文件
+     */
+    private fun getIndexFile(): File {
+        return FileUtils.getFile(Utils.getModulePath(moduleName), INDEX_FILE)
+    }
+
+    /**
+     * 关闭索引写入流并释放索引数据
+     */
+    @Synchronized
+    private fun close() {
+        CloseUtils.flushCloseIOQuietly(writer)
+        writer = null
+        entries = null
+        totalBytes = 0L
+        removedCount = 0
+    }
+
+    /**
+     * 写入删除记录 ( 删除记录过多则重写索引文件 )
+     * @param keys 删除记录 ( time \t fileName )
+     */
+    private fun writeDelete(keys: List<String>) {
+        if (!ensureWriter()) return
+        val lists = entries ?: return
+        removedCount += keys.size
+        if (removedCount >= REMOVED_LIMIT && removedCount >= lists.size) {
+            CloseUtils.closeIOQuietly(writer)
+            writer = null
+            if (rebuild(getIndexFile(), lists)) {
+                removedCount = 0
+            }
+            ensureWriter()
+            return
+        }
+        try {
+            writer?.let { out ->
+                keys.forEach { out.write("$DELETE\t$it\n") }
+                out.flush()
+            }
+        } catch (e: Exception) {
+            LogPrintUtils.eTag(DevHttpCapture.TAG, e, "writeDelete")
+        }
+    }
+
+    /**
+     * 打开索引追加写入流
+     * @return `true` success, `false` fail
+     */
+    private fun ensureWriter(): Boolean {
+        val indexFile = getIndexFile()
+        if (writer != null && indexFile.exists()) return true
+        // 索引文件不存在 ( 首次使用或被外部删除 ) 则重新生成
+        CloseUtils.closeIOQuietly(writer)
+        writer = null
+        if (!indexFile.exists()) {
+            val lists = Utils.scanModuleIndex(moduleName)
+            lists.sortBy { it.time }
+            if (!rebuild(indexFile, lists)) return false
+            entries = lists
+            totalBytes = lists.sumOf { it.length }
+            removedCount = 0
+        }
+        return try {
+            writer = BufferedWriter(
+                OutputStreamWriter(FileOutputStream(indexFile, true), CHARSET)
+            )
+            true
+        } catch (e: Exception) {
+            LogPrintUtils.eTag(DevHttpCapture.TAG, e, "ensureWriter")
+            false
+        }
+    }
+
+    /**
+     * 加载索引数据
+     * @return 索引数据
+     */
+    private fun load(): MutableList<CaptureIndex> {
+        entries?.let {
+            if (getIndexFile().exists()) return it
+        }
+        if (!ensureWriter()) return mutableListOf()
+        entries?.let { return it }
+        flush()
+        val lists = mutableListOf<CaptureIndex>()
+        val deletes = hashSetOf<String>()
+        var isValid = false
+        var reader: BufferedReader? = null
+        try {
+            reader = BufferedReader(
+                InputStreamReader(FileInputStream(getIndexFile()), CHARSET)
+            )
+            if (reader.readLine() == MAGIC) {
+                isValid = true
+                var line = reader.readLine()
+                while (line != null) {
+                    if (line.startsWith(DELETE)) {
+                        deletes.add(line.substring(DELETE.length + 1))
+                    } else {
+                        readCapture(line)?.let { lists.add(it) }
+                    }
+                    line = reader.readLine()
+                }
+            }
+        } catch (e: Exception) {
+            LogPrintUtils.eTag(DevHttpCapture.TAG, e, "load")
+        } finally {
+            CloseUtils.closeIOQuietly(reader)
+        }
+        if (!isValid) {
+            // 索引版本不一致则删除后重新生成
+            CloseUtils.closeIOQuietly(writer)
+            writer = null
+            FileUtils.deleteFile(getIndexFile())
+            if (!ensureWriter()) return mutableListOf()
+            return entries ?: mutableListOf()
+        }
+        if (deletes.isNotEmpty()) {
+            lists.removeAll { deletes.contains("${it.time}\t${it.fileName}") }
+        }
+        // 写入顺序即请求结束顺序, 按创建时间稳定排序
+        lists.sortBy { it.time }
+        entries = lists
+        totalBytes = lists.sumOf { it.length }
+        removedCount = deletes.size
+        return lists
+    }
+
+    /**
+     * 重写索引文件
+     * @param indexFile 索引文件
+     * @param lists     索引数据
+     * @return `true` success, `false` fail
+     */
+    private fun rebuild(
+        indexFile: File,
+        lists: List<CaptureIndex>
+    ): Boolean {
+        FileUtils.createFolder(indexFile.parentFile)
+        var out: Writer? = null
+        return try {
+            out = BufferedWriter(
+                OutputStreamWriter(FileOutputStream(indexFile), CHARSET)
+            )
+            out.write(MAGIC)
+            out.write("\n")
+            lists.forEach { writeCapture(out, it) }
+            out.flush()
+            true
+        } catch (e: Exception) {
+            LogPrintUtils.eTag(DevHttpCapture.TAG, e, "rebuild")
+            false
+        } finally {
+            CloseUtils.closeIOQuietly(out)
+        }
+    }
+
+    /**
+     * 写入抓包数据索引
+     * @param out   [Writer]
+     * @param index 抓包数据索引
+     */
+    private fun writeCapture(
+        out: Writer,
+        index: CaptureIndex
+    ) {
+        out.write(CAPTURE)
+        out.write("\t${index.time}")
+        out.write("\t${index.statusCode}")
+        out.write("\t${index.tookMs}")
+        out.write(if (index.encrypt) "\t1" else "\t0")
+        out.write("\t${sanitize(index.method)}")
+        out.write("\t${sanitize(index.fileName)}")
+        out.write("\t${sanitize(index.segment)}")
+        out.write("\t${index.offset}")
+        out.write("\t${index.length}")
+        out.write("\t${sanitize(index.requestMethod)}")
+        out.write("\t${sanitize(index.url)}")
+        out.write("\n")
+    }
+
+    /**
+     * 解析抓包数据索引
+     * @param line 索引行
+     * @return 抓包数据索引
+     */
+    private fun readCapture(line: String): CaptureIndex? {
+        val values = line.split('\t', limit = COLUMNS)
+        if (values.size != COLUMNS || values[0] != CAPTURE) return null
+        if (!ValidatorUtils.isNumber(values[1])) return null
+        return CaptureIndex(
+            moduleName, values[1].toLong(),
+            values[11], values[5], values[10],
+            values[2].toIntOrNull() ?: -1,
+            values[3].toLongOrNull() ?: -1L,
+            values[4] == "1", values[6], values[7],
+            values[8].toLongOrNull() ?: -1L,
+            values[9].toLongOrNull() ?: 0L
+        )
+    }
+
+    /**
+     * 按创建时间有序插入
+     * @param lists 索引数据
+     * @param index 抓包数据索引
+     */
+    private fun insert(
+        lists: MutableList<CaptureIndex>,
+        index: CaptureIndex
+    ) {
+        lists.add(upperBound(lists, index.time), index)
+    }
+
+    /**
+     * 二分查找第一个创建时间大于指定时间的位置
+     * @param lists 索引数据 ( 按创建时间升序 )
+     * @param time  指定时间
+     * @return 插入位置
+     */
+    private fun upperBound(
+        lists: List<CaptureIndex>,
+        time: Long
+    ): Int {
+        var low = 0
+        var high = lists.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (lists[mid].time <= time) {
+                low = mid + 1
+            } else {
+                high = mid
+            }
+        }
+        return low
+    }
+
+    /**
+     * 替换索引分隔符
+     * @param value 待处理值
+     * @return 处理后的值
+     */
+    private fun sanitize(value: String): String {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ')
+    }
+}
@@ -0,0 +1,382 @@
+package dev.capture
+
+import dev.DevHttpCapture
+import dev.utils.LogPrintUtils
+import dev.utils.common.CloseUtils
+import dev.utils.common.FileUtils
+import java.io.*
+import java.nio.charset.Charset
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+
+/**
+ * detail: 抓包数据分段文件存储
+ * @author Ttt
+ * 同一时间间隔文件夹内的抓包数据追加写入同一分段文件, 超过大小后滚动创建新分段文件
+ * 记录格式 ( 可选 gzip 压缩单条记录内容 )
+ * int recordLength, byte flags, [ int metaLength, meta ( CaptureFile JSON ), data ( 抓包数据 ) ]
+ * 删除抓包数据时在原记录 flags 写入删除标记, 重新生成索引时跳过已删除记录
+ * 分段文件内记录全部删除后立即删除分段文件, 部分删除的分段文件不做压缩重写 ( 索引记录偏移量 )
+ * 其占用空间在分段文件内记录全部删除或由保留策略整体淘汰时释放
+ */
+internal class CaptureSegmentStore private constructor() {
+
+    companion object {
+
+        // 分段文件前缀、后缀
+        private const val SEGMENT_PREFIX = "capture_"
+        private const val SEGMENT_EXTENSION = ".segment"
+
+        // 记录头长度 ( recordLength + flags )
+        private const val HEADER_LENGTH = 5
+
+        // 记录内容最大长度 ( 用于识别损坏记录 )
+        private const val MAX_RECORD_LENGTH = 64 * 1024 * 1024
+
+        // 记录标记 - gzip 压缩
+        private const val FLAG_GZIP = 1
+
+        // 记录标记 - 已删除
+        private const val FLAG_DELETED = 2
+
+        // 记录编码
+        private val CHARSET = Charset.forName("UTF-8")
+
+        // 模块分段文件存储
+        private val sStoreMaps = hashMapOf<String, CaptureSegmentStore>()
+
+        /**
+         * 获取指定模块分段文件存储
+         * @param moduleName 模块名 ( 要求唯一性 )
+         * @return 指定模块分段文件存储
+         */
+        fun get(moduleName: String): CaptureSegmentStore {
+            synchronized(sStoreMaps) {
+                return sStoreMaps.getOrPut(moduleName) {
+                    CaptureSegmentStore()
+                }
+            }
+        }
+
+        /**
+         * 重置分段文件存储 ( 删除模块抓包数据后调用 )
+         * @param moduleName 模块名 ( null 表示全部模块 )
+         */
+        fun reset(moduleName: String?) {
+            synchronized(sStoreMaps) {
+                if (moduleName == null) {
+                    sStoreMaps.values.forEach { it.release(null) }
+                    sStoreMaps.clear()
+                } else {
+                    sStoreMaps.remove(moduleName)?.release(null)
+                }
+            }
+        }
+
+        /**
+         * 是否分段文件
+         * @param file 待验证文件
+         * @return `true` yes, `false` no
+         */
+        fun isSegmentFile(file: File): Boolean {
+            val name = file.name
+            return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_EXTENSION)
+        }
+
+        /**
+         * 读取指定记录抓包数据
+         * @param file   分段文件
+         * @param offset 记录偏移量
+         * @return 抓包数据
+         */
+        fun readData(
+            file: File,
+            offset: Long
+        ): String? {
+            var randomAccessFile: RandomAccessFile? = null
+            try {
+                randomAccessFile = RandomAccessFile(file, "r")
+                randomAccessFile.seek(offset)
+                val body = readBody(randomAccessFile, true) ?: return null
+                val metaLength = readInt(body, 0)
+                val dataOffset = 4 + metaLength
+                return String(body, dataOffset, body.size - dataOffset, CHARSET)
+            } catch (e: Exception) {
+                LogPrintUtils.eTag(DevHttpCapture.TAG, e, "readData")
+            } finally {
+                CloseUtils.closeIOQuietly(randomAccessFile)
+            }
+            return null
+        }
+
+        /**
+         * 遍历分段文件所有记录 ( 遇到损坏记录则停止 )
+         * @param file     分段文件
+         * @param consumer 记录回调 ( 抓包存储文件, 记录占用字节数 )
+         */
+        fun readRecords(
+            file: File,
+            consumer: (CaptureFile, Long) -> Unit
+        ) {
+            var randomAccessFile: RandomAccessFile? = null
+            try {
+                randomAccessFile = RandomAccessFile(file, "r")
+                val fileLength = randomAccessFile.length()
+                var offset = 0L
+                while (offset + HEADER_LENGTH <= fileLength) {
+                    randomAccessFile.seek(offset)
+                    val length = randomAccessFile.readInt()
+                    val flags = randomAccessFile.readByte().toInt()
+                    val recordLength = HEADER_LENGTH + length.toLong()
+                    if (length < 4 || length > MAX_RECORD_LENGTH ||
+                        offset + recordLength > fileLength
+                    ) {
+                        break
+                    }
+                    // 已删除记录跳过
+                    if (flags and FLAG_DELETED == 0) {
+                        randomAccessFile.seek(offset)
+                        val body = readBody(randomAccessFile, false) ?: break
+                        val metaLength = readInt(body, 0)
+                        val json = String(body, 4, metaLength, CHARSET)
+                        Utils.fromJson(json, CaptureFile::class.java)?.let {
+                            consumer(it.setSegment(file.name, offset), recordLength)
+                        }
+                    }
+                    offset += recordLength
+                }
+            } catch (e: Exception) {
+                LogPrintUtils.eTag(DevHttpCapture.TAG, e, "readRecords")
+            } finally {
+                CloseUtils.closeIOQuietly(randomAccessFile)
+            }
+        }
+
+        /**
+         * 读取记录内容 ( 已解压 )
+         * @param randomAccessFile [RandomAccessFile]
+         * @param skipDeleted      已删除记录是否返回 null
+         * @return 记录内容
+         */
+        private fun readBody(
+            randomAccessFile: RandomAccessFile,
+            skipDeleted: Boolean
+        ): ByteArray? {
+            val length = randomAccessFile.readInt()
+            val flags = randomAccessFile.readByte().toInt()
+            if (skipDeleted && flags and FLAG_DELETED != 0) return null
+            if (length < 4 || length > MAX_RECORD_LENGTH ||
+                randomAccessFile.filePointer + length > randomAccessFile.length()
+            ) {
+                return null
+            }
+            val bytes = ByteArray(length)
+            randomAccessFile.readFully(bytes)
+            val body = if (flags and FLAG_GZIP != 0) {
+                GZIPInputStream(ByteArrayInputStream(bytes)).use { it.readBytes() }
+            } else {
+                bytes
+            }
+            val metaLength = readInt(body, 0)
+            if (metaLength < 0 || 4 + metaLength > body.size) return null
+            return body
+        }
+
+        /**
+         * 读取 int ( 大端 )
+         * @param bytes  数据
+         * @param offset 偏移量
+         * @return int
+         */
+        private fun readInt(
+            bytes: ByteArray,
+            offset: Int
+        ): Int {
+            return (bytes[offset].toInt() and 0xFF shl 24) or
+                    (bytes[offset + 1].toInt() and 0xFF shl 16) or
+                    (bytes[offset + 2].toInt() and 0xFF shl 8) or
+                    (bytes[offset + 3].toInt() and 0xFF)
+        }
+    }
+
+    // 当前分段文件
+    private var segmentFile: File? = null
+
+    // 当前分段文件写入流
+    private var output: DataOutputStream? = null
+
+    // 当前分段文件长度
+    private var segmentLength = 0L
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 写入抓包数据
+     * @param filePath    时间间隔文件夹路径
+     * @param captureFile 抓包存储文件 ( 成功后设置分段文件名、偏移量 )
+     * @param segmentSize 单个分段文件最大字节数
+     * @param compress    是否 gzip 压缩
+     * @return 记录占用字节数, 失败返回 -1
+     */
+    @Synchronized
+    fun write(
+        filePath: String,
+        captureFile: CaptureFile,
+        segmentSize: Long,
+        compress: Boolean
+    ): Long {
+        try {
+            val meta = (captureFile.toJson() ?: "").toByteArray(CHARSET)
+            val data = (captureFile.httpCaptureData ?: "").toByteArray(CHARSET)
+            var body = ByteArrayOutputStream(4 + meta.size + data.size).let {
+                DataOutputStream(it).apply {
+                    writeInt(meta.size)
+                    write(meta)
+                    write(data)
+                }
+                it.toByteArray()
+            }
+            if (compress) {
+                body = ByteArrayOutputStream(body.size / 2).let {
+                    GZIPOutputStream(it).use { gzip -> gzip.write(body) }
+                    it.toByteArray()
+                }
+            }
+            val stream = ensureSegment(filePath, segmentSize)
+            val offset = segmentLength
+            val record = ByteArrayOutputStream(HEADER_LENGTH + body.size).let {
+                DataOutputStream(it).apply {
+                    writeInt(body.size)
+                    writeByte(if (compress) FLAG_GZIP else 0)
+                    write(body)
+                }
+                it.toByteArray()
+            }
+            // 整条记录一次写入
+            stream.write(record)
+            stream.flush()
+            segmentLength += record.size
+            captureFile.setSegment(segmentFile!!.name, offset)
+            return record.size.toLong()
+        } catch (e: Exception) {
+            LogPrintUtils.eTag(DevHttpCapture.TAG, e, "write")
+            // 写入异常则下次滚动新分段文件
+            release(null)
+        }
+        return -1L
+    }
+
+    /**
+     * 标记删除指定记录
+     * 仅修改记录 flags, 不移动其他记录 ( 索引中的偏移量保持有效 )
+     * 分段文件内已无有效记录则删除分段文件及空的时间间隔文件夹
+     * @param file   分段文件
+     * @param offset 记录偏移量
+     * @return `true` success, `false` fail
+     */
+    @Synchronized
+    fun delete(
+        file: File,
+        offset: Long
+    ): Boolean {
+        var randomAccessFile: RandomAccessFile? = null
+        var isEmpty = false
+        try {
+            randomAccessFile = RandomAccessFile(file, "rw")
+            if (offset < 0L || offset + HEADER_LENGTH > randomAccessFile.length()) return false
+            randomAccessFile.seek(offset + 4)
+            val flags = randomAccessFile.readByte().toInt()
+            randomAccessFile.seek(offset + 4)
+            randomAccessFile.writeByte(flags or FLAG_DELETED)
+            isEmpty = !hasLiveRecord(randomAccessFile)
+        } catch (e: Exception) {
+            LogPrintUtils.eTag(DevHttpCapture.TAG, e, "delete")
+            return false
+        } finally {
+            CloseUtils.closeIOQuietly(randomAccessFile)
+        }
+        if (isEmpty) {
+            release(file)
+            FileUtils.deleteFile(file)
+            file.parentFile?.let { Utils.deleteEmptyTimeFolder(it) }
+        }
+        return true
+    }
+
+    /**
+     * 释放分段文件写入流
+     * @param file 分段文件 ( null 表示当前分段文件 )
+     */
+    @Synchronized
+    fun release(file: File?) {
+        if (file == null || file == segmentFile) {
+            CloseUtils.closeIOQuietly(output)
+            output = null
+            segmentFile = null
+            segmentLength = 0L
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 分段文件内是否存在未删除记录 ( 仅读取记录头 )
+     * @param randomAccessFile [RandomAccessFile]
+     * @return `true` yes, `false` no
+     */
+    private fun hasLiveRecord(randomAccessFile: RandomAccessFile): Boolean {
+        val fileLength = randomAccessFile.length()
+        var offset = 0L
+        while (offset + HEADER_LENGTH <= fileLength) {
+            randomAccessFile.seek(offset)
+            val length = randomAccessFile.readInt()
+            val flags = randomAccessFile.readByte().toInt()
+            // 损坏记录按存在处理, 不删除分段文件
+            if (length < 4 || length > MAX_RECORD_LENGTH) return true
+            if (flags and FLAG_DELETED == 0) return true
+            offset += HEADER_LENGTH + length
+        }
+        return false
+    }
+
+    /**
+     * 获取当前可写入分段文件写入流 ( 时间间隔变化或超过大小则滚动 )
+     * @param filePath    时间间隔文件夹路径
+     * @param segmentSize 单个分段文件最大字节数
+     * @return 分段文件写入流
+     */
+    private fun ensureSegment(
+        filePath: String,
+        segmentSize: Long
+    ): DataOutputStream {
+        val current = segmentFile
+        val stream = output
+        if (stream != null && current != null && current.exists() &&
+            current.parent == filePath && segmentLength < segmentSize
+        ) {
+            return stream
+        }
+        release(null)
+        FileUtils.createFolder(filePath)
+        // 获取时间间隔文件夹内最大分段序号
+        var number = 0
+        File(filePath).listFiles()?.forEach {
+            if (isSegmentFile(it)) {
+                val value = it.name.substring(
+                    SEGMENT_PREFIX.length, it.name.length - SEGMENT_EXTENSION.length
+                ).toIntOrNull() ?: 0
+                if (value > number) number = value
+            }
+        }
+        val file = File(filePath, SEGMENT_PREFIX + String.format("%04d", number + 1) + SEGMENT_EXTENSION)
+        val newStream = DataOutputStream(FileOutputStream(file, true))
+        segmentFile = file
+        segmentLength = file.length()
+        output = newStream
+        return newStream
+    }
+}
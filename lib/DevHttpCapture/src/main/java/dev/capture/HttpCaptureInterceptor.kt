@@ -19,8 +19,10 @@ class HttpCaptureInterceptor(
     eventIMPL: IHttpCaptureEvent = object : HttpCaptureEventIMPL() {
         override fun callEnd(info: CaptureInfo) {
         }
-    }
-) : BaseInterceptor(true, eventIMPL) {
+    },
+    // 抓包数据存储配置
+    storageConfig: CaptureStorageConfig = CaptureStorageConfig()
+) : BaseInterceptor(true, eventIMPL, storageConfig) {
 
     // 抓包信息隐藏字段
     private val captureRedact = CaptureRedact()
@@ -62,4 +64,8 @@ class HttpCaptureInterceptor(
             moduleName, encrypt != null
         )
     }
+
+    override fun queryModuleHttpCaptures(query: CaptureQuery): CapturePage {
+        return Utils.queryHttpCaptures(moduleName, query)
+    }
 }
\ No newline at end of file
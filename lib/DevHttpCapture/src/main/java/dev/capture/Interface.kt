@@ -27,6 +27,15 @@ interface IHttpFilter {
         protocol: Protocol,
         headers: Headers
     ): Boolean
+
+    /**
+     * 获取请求体、响应体抓包保留字节数上限
+     * @param request 请求对象
+     * @return 保留字节数上限 ( 超过部分仅统计总字节数、CRC32 校验值 )
+     */
+    fun bodyLimit(request: Request): Long {
+        return HttpCaptureEventIMPL.DEFAULT_BODY_LIMIT
+    }
 }
 
 /**
@@ -90,6 +99,13 @@ interface IHttpCapture {
      * @return 模块所有抓包数据
      */
     fun getModuleHttpCaptures(): MutableList<CaptureItem>
+
+    /**
+     * 分页查询模块抓包数据
+     * @param query 查询条件
+     * @return 分页查询结果
+     */
+    fun queryModuleHttpCaptures(query: CaptureQuery): CapturePage
 }
 
 /**
@@ -149,12 +165,14 @@ interface IHttpCaptureEvent : IHttpCaptureEnd {
      * @param request 请求对象
      * @param requestBody 请求体
      * @param captureRedact 抓包信息隐藏字段
+     * @param bodyLimit 请求体保留字节数上限
      * @return 请求体信息 Map
      */
     fun callRequestBody(
         request: Request,
         requestBody: RequestBody?,
-        captureRedact: CaptureRedact
+        captureRedact: CaptureRedact,
+        bodyLimit: Long
     ): LinkedHashMap<String, String>
 
     // ============
@@ -205,16 +223,17 @@ interface IHttpCaptureEvent : IHttpCaptureEnd {
     ): String
 
     /**
-     * 生成响应体信息 Map
+     * 生成响应体信息
+     * 响应体读取完成 ( 或关闭 ) 后才会回调, 此时 [captureBody] 仅包含前 N 字节数据
      * @param request 请求对象
      * @param response 响应对象
-     * @param responseBody 响应体
-     * @return 响应体信息 Map
+     * @param captureBody 抓包响应体数据 ( 无响应体或未知编码为 null )
+     * @return 响应体信息
      */
     fun callResponseBody(
         request: Request,
         response: Response,
-        responseBody: ResponseBody,
+        captureBody: CaptureBody?
     ): String
 
     // ==========
@@ -1,12 +1,24 @@
 package dev.capture
 
+import dev.DevHttpCapture
+import dev.utils.LogPrintUtils
 import dev.utils.common.ThrowableUtils
+import dev.utils.common.cipher.Encrypt
 import okhttp3.*
 import okhttp3.internal.http.promisesBody
 import okio.Buffer
+import okio.ByteString.Companion.encodeUtf8
 import okio.GzipSource
+import okio.buffer
 import java.io.EOFException
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.CharBuffer
 import java.nio.charset.Charset
+import java.nio.charset.CodingErrorAction
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.AtomicLong
 
 /**
  * detail: Http 抓包事件回调实现类
@@ -82,7 +94,8 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
     override fun callRequestBody(
         request: Request,
         requestBody: RequestBody?,
-        captureRedact: CaptureRedact
+        captureRedact: CaptureRedact,
+        bodyLimit: Long
     ): LinkedHashMap<String, String> {
         val map = linkedMapOf<String, String>()
         if (requestBody == null) {
@@ -94,19 +107,24 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
         } else if (requestBody.isOneShot()) {
             map[END] = "${request.method} ( one-shot body omitted )"
         } else {
-            val buffer = Buffer()
-            requestBody.writeTo(buffer)
+            // 仅保留前 bodyLimit 字节
+            val captureBody = CaptureBody(bodyLimit)
+            val sink = CaptureSink(captureBody).buffer()
+            requestBody.writeTo(sink)
+            sink.flush()
+            val buffer = captureBody.buffer
 
             if (isProbablyUtf8(buffer)) {
+                // 转换时可能读取 Buffer, 传入副本保证统计信息正确
                 map.putAll(
                     converterRequestBody(
-                        request, requestBody, captureRedact, buffer
+                        request, requestBody, captureRedact, buffer.clone()
                     )
                 )
-                map[END] = "${request.method} ( ${requestBody.contentLength()}-byte body )"
+                map[END] = "${request.method} ( ${bodySummary(captureBody)} )"
             } else {
                 map[END] =
-                    "${request.method} ( binary ${requestBody.contentLength()}-byte body omitted )"
+                    "${request.method} ( binary ${captureBody.totalBytes}-byte body omitted )"
             }
         }
         return map
@@ -155,42 +173,40 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
     override fun callResponseBody(
         request: Request,
         response: Response,
-        responseBody: ResponseBody
+        captureBody: CaptureBody?
     ): String {
         if (!response.promisesBody()) {
             return "END HTTP ( promisesBody )"
-        } else if (bodyHasUnknownEncoding(response.headers)) {
+        } else if (captureBody == null || bodyHasUnknownEncoding(response.headers)) {
             return "END HTTP ( encoded body omitted )"
         } else {
-            val source = responseBody.source()
-            source.request(Long.MAX_VALUE) // Buffer the entire body.
-            var buffer = source.buffer
+            var buffer = captureBody.buffer.clone()
 
             val headers = response.headers
             var gzippedLength: Long? = null
             if (GZIP.equals(headers[CONTENT_ENCODING], ignoreCase = true)) {
-                gzippedLength = buffer.size
-                GzipSource(buffer.clone()).use { gzippedResponseBody ->
-                    buffer = Buffer()
-                    buffer.writeAll(gzippedResponseBody)
-                }
+                gzippedLength = captureBody.totalBytes
+                buffer = gunzip(buffer, captureBody.limit)
             }
 
-            val contentType = responseBody.contentType()
+            val contentType = response.body?.contentType()
             val charset = contentType?.charset(UTF_8) ?: UTF_8
 
             if (!isProbablyUtf8(buffer)) {
-                return "END HTTP ( binary ${buffer.size}-byte body omitted )"
+                return "END HTTP ( binary ${captureBody.totalBytes}-byte body omitted )"
             }
 
-            val contentLength = responseBody.contentLength()
-            if (contentLength != 0L) {
-                return buffer.clone().readString(charset)
+            if (buffer.size != 0L) {
+                val body = decodeString(buffer, charset)
+                if (captureBody.isTruncated() || !captureBody.isComplete) {
+                    return "$body\nEND HTTP ( ${bodySummary(captureBody)} )"
+                }
+                return body
             }
             return if (gzippedLength != null) {
                 "END HTTP ( ${buffer.size}-byte, $gzippedLength-gzipped-byte body )"
             } else {
-                "END HTTP ( ${buffer.size}-byte body )"
+                "END HTTP ( ${captureBody.totalBytes}-byte body )"
             }
         }
     }
@@ -217,6 +233,7 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
             is MultipartBody -> {
                 return mapMultipartBody(
                     requestBody,
+                    buffer,
                     captureRedact.requestBody,
                     captureRedact.replaceValue
                 )
@@ -227,7 +244,7 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
                 val charset = contentType?.charset(UTF_8) ?: UTF_8
 
                 val map = linkedMapOf<String, String>()
-                map[BODY_STRING] = buffer.readString(charset)
+                map[BODY_STRING] = decodeString(buffer, charset)
                 return map
             }
         }
@@ -255,6 +272,47 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
         const val BODY_SIZE = "body-size"
         const val BODY_STRING = "body-string"
 
+        // 请求体、响应体默认保留字节数上限
+        const val DEFAULT_BODY_LIMIT = 256 * 1024L
+
+        /**
+         * 获取 Body 统计信息
+         * @param body 抓包 Body 数据
+         * @return Body 统计信息
+         */
+        fun bodySummary(body: CaptureBody): String {
+            val summary = if (body.isTruncated()) {
+                "${body.totalBytes}-byte body, first ${body.buffer.size}-byte captured, crc32 ${body.getHash()}"
+            } else {
+                "${body.totalBytes}-byte body, crc32 ${body.getHash()}"
+            }
+            // 响应体被回收或超时未读取完成
+            return if (body.isComplete) summary else "$summary, not fully read"
+        }
+
+        /**
+         * 解压 gzip 数据 ( 允许数据不完整, 解压至多 limit 字节 )
+         * @param buffer gzip 数据
+         * @param limit  解压字节数上限
+         * @return 解压后的数据
+         */
+        fun gunzip(
+            buffer: Buffer,
+            limit: Long
+        ): Buffer {
+            val result = Buffer()
+            try {
+                GzipSource(buffer).use { source ->
+                    while (result.size < limit) {
+                        if (source.read(result, 8192L) == -1L) break
+                    }
+                }
+            } catch (ignored: IOException) {
+                // 截断的 gzip 数据, 保留已解压部分
+            }
+            return result
+        }
+
         /**
          * 判断 body 是否未知编码
          * @param headers 头信息
@@ -291,6 +349,30 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
             }
         }
 
+        /**
+         * 解码 Buffer 内容
+         * 截断保留的 Body 末尾可能只有多字节字符的一部分, 末尾不完整的字符直接丢弃, 其他无效数据替换为 U+FFFD
+         * @param buffer  Buffer ( 读取后清空 )
+         * @param charset 编码
+         * @return 解码后的内容
+         */
+        fun decodeString(
+            buffer: Buffer,
+            charset: Charset
+        ): String {
+            val bytes = ByteBuffer.wrap(buffer.readByteArray())
+            val decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+            val chars = CharBuffer.allocate(
+                (bytes.remaining() * decoder.maxCharsPerByte().toDouble()).toInt() + 1
+            )
+            // endOfInput = false 时末尾不完整的字符保留在 bytes 中不解码
+            decoder.decode(bytes, chars, false)
+            chars.flip()
+            return chars.toString()
+        }
+
         /**
          * 存储通用头信息到 Map 中
          * @param headers 头信息
@@ -341,13 +423,17 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
 
         /**
          * 存储通用 Body 信息到 Map 中
+         * 从已保留的请求体数据 ( 前 bodyLimit 字节 ) 中按分隔符解析各 Part, 不再重复写入 Part
+         * 超出保留数据的 Part 内容不展示, 被截断的 Part 仅展示已保留部分
          * @param body [MultipartBody]
+         * @param buffer 保留的请求体数据
          * @param bodyToRedact 待隐藏字段信息
          * @param replaceValue 隐藏信息替换值
          * @return LinkedHashMap<String, String>
          */
         fun mapMultipartBody(
             body: MultipartBody,
+            buffer: Buffer,
             bodyToRedact: Set<String>,
             replaceValue: String = REDACT_REPLACE_VALUE
         ): LinkedHashMap<String, String> {
@@ -358,9 +444,26 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
             val mapKeyCount = linkedMapOf<String, Int>()
             val mapDisposition = linkedMapOf<String, String>()
 
+            // Part 分隔符、头信息结束标记
+            val delimiter = "\r\n--${body.boundary}".encodeUtf8()
+            val headersEnd = "\r\n\r\n".encodeUtf8()
+            // 当前 Part 分隔符位置 ( 首个分隔符前无换行 )
+            var position = buffer.indexOf("--${body.boundary}".encodeUtf8())
+
             val map = linkedMapOf<String, String>()
             for (i in 0 until body.size) {
                 val part = body.part(i)
+                // Part 内容在保留数据中的范围 ( -1 为不在保留数据中 )
+                var start = -1L
+                var end = -1L
+                if (position != -1L) {
+                    val index = buffer.indexOf(headersEnd, position)
+                    if (index != -1L) {
+                        start = index + headersEnd.size
+                        end = buffer.indexOf(delimiter, start)
+                    }
+                    position = end
+                }
                 part.headers?.let { headers ->
                     val disposition = dispositionByHeaders(headers)
                     val name = dispositionNameSplit(disposition)
@@ -372,12 +475,19 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
                         mapKeyCount[name] = 1
                         name
                     }
-                    if (name in bodyToRedact) {
-                        map[key] = replaceValue
+                    map[key] = if (name in bodyToRedact) {
+                        replaceValue
+                    } else if (start == -1L) {
+                        "( part omitted, exceeds body limit )"
                     } else {
-                        val buffer = Buffer()
-                        part.body.writeTo(buffer)
-                        map[key] = buffer.readString(charset)
+                        val content = Buffer()
+                        val length = (if (end == -1L) buffer.size else end) - start
+                        buffer.copyTo(content, start, length)
+                        if (end == -1L) {
+                            "${decodeString(content, charset)} ( part truncated, first $length-byte captured )"
+                        } else {
+                            decodeString(content, charset)
+                        }
                     }
                     if (disposition != name) {
                         mapDisposition["${key}-${DISPOSITION}"] = disposition
@@ -429,47 +539,207 @@ abstract class HttpCaptureEventIMPL : IHttpCaptureEvent {
 /**
  * detail: 抓包数据本地存储实现 Engine
  * @author Ttt
+ * 抓包数据放入有界队列后立即返回, 由独立线程批量进行 JSON 转换、加密、分段文件存储
+ * 每批次写入后按 [CaptureStorageConfig.retention] 增量淘汰最早的抓包数据
  */
 internal class HttpCaptureStorageEngine(
-    private val eventIMPL: IHttpCaptureEvent
+    private val eventIMPL: IHttpCaptureEvent,
+    private val config: CaptureStorageConfig = CaptureStorageConfig()
 ) {
 
+    // 待存储抓包数据队列
+    private val queue = ArrayBlockingQueue<PendingCapture>(config.capacity.coerceAtLeast(1))
+
+    // 丢弃的抓包数据数量
+    private val droppedCount = AtomicLong()
+
+    // 存储线程
+    @Volatile
+    private var writer: Thread? = null
+
     /**
      * 抓包数据存储
-     * @param base 通用 Http 抓包拦截器
-     * @param info 抓包信息封装类
+     * @param base        通用 Http 抓包拦截器
+     * @param info        抓包信息封装类
      * @param requestTime 开始请求时间
+     * @param method      请求方法
+     * @param statusCode  响应状态码 ( 请求失败为 -1 )
+     * @param tookMs      响应耗时
      */
     fun captureStorage(
         base: BaseInterceptor,
         info: CaptureInfo,
-        requestTime: Long
+        requestTime: Long,
+        method: String,
+        statusCode: Int,
+        tookMs: Long
     ) {
         if (base.isStorageHttpCaptureType()) {
-            // 创建抓包文件信息
-            val captureFile = CaptureFile()
-                .setUrl(info.requestUrl)
-                .setMethod(info.requestMethod)
-                .setEncrypt(base.getEncrypt() != null)
-                .setModuleName(base.getModuleName())
-                .setTime(requestTime)
-
-            var httpCaptureData = info.toJson()
-            // 如果存在加密则进行处理
-            base.getEncrypt()?.let { encrypt ->
-                httpCaptureData = try {
-                    val bytes = encrypt.encrypt(httpCaptureData?.toByteArray())
-                    String(bytes)
+            enqueue(
+                PendingCapture(
+                    base.getModuleName(), base.getEncrypt(),
+                    info, requestTime, method, statusCode, tookMs
+                )
+            )
+        }
+        // 抓包结束
+        eventIMPL.callEnd(info)
+    }
+
+    /**
+     * 获取丢弃的抓包数据数量
+     * @return 丢弃的抓包数据数量
+     */
+    fun getDroppedCount(): Long {
+        return droppedCount.get()
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 按溢出策略加入存储队列
+     * @param capture 待存储抓包数据
+     */
+    private fun enqueue(capture: PendingCapture) {
+        ensureWriter()
+        when (config.overflowPolicy) {
+            CaptureOverflowPolicy.BLOCK -> {
+                try {
+                    queue.put(capture)
+                } catch (e: InterruptedException) {
+                    droppedCount.incrementAndGet()
+                    Thread.currentThread().interrupt()
+                }
+            }
+
+            CaptureOverflowPolicy.SAMPLE -> {
+                val sampled = queue.size < queue.remainingCapacity() ||
+                        ThreadLocalRandom.current().nextFloat() < config.sampleRate
+                if (!sampled || !queue.offer(capture)) {
+                    droppedCount.incrementAndGet()
+                }
+            }
+
+            CaptureOverflowPolicy.DROP_OLDEST -> {
+                while (!queue.offer(capture)) {
+                    if (queue.poll() != null) {
+                        droppedCount.incrementAndGet()
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 启动存储线程
+     */
+    private fun ensureWriter() {
+        if (writer != null) return
+        synchronized(this) {
+            if (writer == null) {
+                val thread = Thread({ drainLoop() }, "DevHttpCapture-Storage")
+                thread.isDaemon = true
+                thread.start()
+                writer = thread
+            }
+        }
+    }
+
+    /**
+     * 循环批量存储抓包数据
+     */
+    private fun drainLoop() {
+        val batchSize = config.batchSize.coerceAtLeast(1)
+        val batch = ArrayList<PendingCapture>(batchSize)
+        while (true) {
+            try {
+                batch.add(queue.take())
+            } catch (e: InterruptedException) {
+                return
+            }
+            queue.drainTo(batch, batchSize - 1)
+            batch.forEach {
+                try {
+                    storage(it)
                 } catch (e: Exception) {
-                    ThrowableUtils.getThrowable(e)
+                    LogPrintUtils.eTag(DevHttpCapture.TAG, e, "drainLoop")
                 }
             }
-            // 保存抓包数据
-            captureFile.httpCaptureData = httpCaptureData
-            // 存储文件
-            Utils.saveHttpCaptureFile(captureFile)
+            // 每批次刷新一次索引并按保留策略淘汰
+            batch.map { it.moduleName }.distinct().forEach {
+                CaptureIndexStore.get(it).flush()
+                try {
+                    Utils.trimHttpCaptures(it, config.retention)
+                } catch (e: Exception) {
+                    LogPrintUtils.eTag(DevHttpCapture.TAG, e, "drainLoop")
+                }
+            }
+            batch.clear()
+        }
+    }
+
+    /**
+     * 存储单条抓包数据
+     * @param capture 待存储抓包数据
+     */
+    private fun storage(capture: PendingCapture) {
+        // 创建抓包文件信息
+        val captureFile = CaptureFile()
+            .setUrl(capture.info.requestUrl)
+            .setMethod(capture.info.requestMethod)
+            .setEncrypt(capture.encrypt != null)
+            .setModuleName(capture.moduleName)
+            .setTime(capture.requestTime)
+
+        var httpCaptureData = capture.info.toJson()
+        // 如果存在加密则进行处理
+        capture.encrypt?.let { encrypt ->
+            httpCaptureData = try {
+                val bytes = encrypt.encrypt(httpCaptureData?.toByteArray())
+                String(bytes)
+            } catch (e: Exception) {
+                ThrowableUtils.getThrowable(e)
+            }
+        }
+        // 保存抓包数据
+        captureFile.httpCaptureData = httpCaptureData
+        // 存储文件并追加索引
+        CaptureIndexStore.get(capture.moduleName).ensureIndex()
+        val length = Utils.saveHttpCaptureFile(captureFile, config)
+        if (length >= 0L) {
+            CaptureIndexStore.get(capture.moduleName).append(
+                CaptureIndex(
+                    capture.moduleName, capture.requestTime,
+                    captureFile.getUrl(), capture.method,
+                    captureFile.getMethod(), capture.statusCode,
+                    capture.tookMs, captureFile.isEncrypt(),
+                    captureFile.getFileName(), captureFile.getSegment(),
+                    captureFile.getOffset(), length
+                )
+            )
         }
-        // 抓包结束
-        eventIMPL.callEnd(info)
     }
-}
\ No newline at end of file
+
+    /**
+     * detail: 待存储抓包数据
+     * @author Ttt
+     */
+    private class PendingCapture(
+        // 模块名
+        val moduleName: String,
+        // 抓包数据加密中间层
+        val encrypt: Encrypt?,
+        // 抓包信息封装类
+        val info: CaptureInfo,
+        // 开始请求时间
+        val requestTime: Long,
+        // 请求方法
+        val method: String,
+        // 响应状态码
+        val statusCode: Int,
+        // 响应耗时
+        val tookMs: Long
+    )
+}
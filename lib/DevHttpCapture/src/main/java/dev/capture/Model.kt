@@ -52,6 +52,67 @@ class CaptureRedact(
     }
 }
 
+/**
+ * detail: 抓包数据存储队列溢出策略
+ * @author Ttt
+ */
+enum class CaptureOverflowPolicy {
+
+    // 丢弃队列中最早的抓包数据
+    DROP_OLDEST,
+
+    // 阻塞请求线程直到队列存在空位
+    BLOCK,
+
+    // 队列积压过半后按采样率存储, 队列已满则丢弃最新的抓包数据
+    SAMPLE
+}
+
+/**
+ * detail: 抓包数据存储配置
+ * @author Ttt
+ * 抓包数据由独立线程批量写入, 不占用请求线程耗时
+ */
+class CaptureStorageConfig(
+    // 队列容量
+    val capacity: Int = 256,
+    // 单批次最大写入数量
+    val batchSize: Int = 32,
+    // 队列溢出策略
+    val overflowPolicy: CaptureOverflowPolicy = CaptureOverflowPolicy.DROP_OLDEST,
+    // 采样率 ( 0.0 - 1.0 ) 仅 [CaptureOverflowPolicy.SAMPLE] 生效
+    val sampleRate: Float = 0.1F,
+    // 单个分段文件最大字节数 ( 超过则滚动创建新分段文件 )
+    val segmentSize: Long = 1024L * 1024L,
+    // 是否 gzip 压缩抓包数据
+    val compress: Boolean = false,
+    // 抓包数据保留策略
+    val retention: CaptureRetention = CaptureRetention()
+)
+
+/**
+ * detail: 抓包数据保留策略
+ * @author Ttt
+ * 每批次写入后增量淘汰最早的抓包数据, 以分段文件为单位删除, 值小于等于 0 表示不限制
+ */
+class CaptureRetention(
+    // 模块最大存储字节数
+    val maxBytes: Long = 0L,
+    // 最长保留时间 ( 毫秒 )
+    val maxAge: Long = 0L,
+    // 模块最大抓包数量
+    val maxCount: Int = 0
+) {
+
+    /**
+     * 是否存在限制
+     * @return `true` yes, `false` no
+     */
+    fun isLimited(): Boolean {
+        return maxBytes > 0L || maxAge > 0L || maxCount > 0
+    }
+}
+
 /**
  * detail: 抓包存储 Item
  * @author Ttt
@@ -64,6 +125,117 @@ class CaptureItem(
     val data = linkedMapOf<String, MutableList<CaptureFile>>()
 }
 
+/**
+ * detail: 抓包数据索引
+ * @author Ttt
+ * 仅包含列表展示、查询过滤所需信息, 抓包数据通过 [getCaptureFile] 按需读取
+ */
+class CaptureIndex internal constructor(
+    // 模块名
+    val moduleName: String,
+    // 创建时间 ( 本地时间戳 )
+    val time: Long,
+    // 请求链接
+    val url: String,
+    // 请求方法 ( GET、POST 等 )
+    val method: String,
+    // 请求方法信息 ( 如 POST http/1.1 ( 6 byte body ) )
+    val requestMethod: String,
+    // 响应状态码 ( 请求失败或未知为 -1 )
+    val statusCode: Int,
+    // 响应耗时 ( 毫秒, 未知为 -1 )
+    val tookMs: Long,
+    // 是否加密
+    val encrypt: Boolean,
+    // 文件名
+    val fileName: String,
+    // 分段文件名 ( 旧版本独立文件存储为空 )
+    val segment: String,
+    // 分段文件内偏移量 ( 旧版本独立文件存储为 -1 )
+    val offset: Long,
+    // 占用字节数
+    val length: Long
+) {
+
+    /**
+     * 获取抓包存储文件
+     * @return 抓包存储文件
+     */
+    fun getCaptureFile(): CaptureFile {
+        return CaptureFile()
+            .setUrl(url)
+            .setMethod(requestMethod)
+            .setEncrypt(encrypt)
+            .setModuleName(moduleName)
+            .setTime(time)
+            .setFileName(fileName)
+            .setSegment(segment, offset)
+    }
+}
+
+/**
+ * detail: 抓包数据分页查询条件
+ * @author Ttt
+ * 结果按创建时间倒序 ( 最新的在最前面 )
+ */
+class CaptureQuery(
+    // 开始时间 ( 包含 )
+    val startTime: Long = 0L,
+    // 结束时间 ( 包含 )
+    val endTime: Long = Long.MAX_VALUE,
+    // 请求链接前缀
+    val urlPrefix: String? = null,
+    // 请求方法 ( GET、POST 等, 忽略大小写 )
+    val method: String? = null,
+    // 响应状态码
+    val statusCode: Int? = null,
+    // 是否加密 ( null 表示不过滤 )
+    val encrypt: Boolean? = null,
+    // 跳过的数量
+    val offset: Int = 0,
+    // 每页数量
+    val limit: Int = 20
+) {
+
+    /**
+     * 获取下一页查询条件
+     * @return 下一页查询条件
+     */
+    fun nextPage(): CaptureQuery {
+        return CaptureQuery(
+            startTime, endTime, urlPrefix, method,
+            statusCode, encrypt, offset + limit, limit
+        )
+    }
+
+    /**
+     * 判断抓包数据索引是否符合查询条件
+     * @param index 抓包数据索引
+     * @return `true` yes, `false` no
+     */
+    internal fun matches(index: CaptureIndex): Boolean {
+        if (index.time < startTime || index.time > endTime) return false
+        if (urlPrefix != null && !index.url.startsWith(urlPrefix)) return false
+        if (method != null && !method.equals(index.method, ignoreCase = true)) return false
+        if (statusCode != null && statusCode != index.statusCode) return false
+        if (encrypt != null && encrypt != index.encrypt) return false
+        return true
+    }
+}
+
+/**
+ * detail: 抓包数据分页查询结果
+ * @author Ttt
+ */
+class CapturePage(
+    // 查询条件
+    val query: CaptureQuery,
+    // 当前页数据
+    val items: MutableList<CaptureIndex>,
+    // 是否存在下一页
+    val hasMore: Boolean
+)
+
 /**
  * detail: 抓包信息封装类
  * @author Ttt
@@ -126,6 +298,12 @@ class CaptureFile {
     // 模块名
     private var moduleName: String = ""
 
+    // 分段文件名 ( 旧版本独立文件存储为空 )
+    private var segment: String = ""
+
+    // 分段文件内偏移量
+    private var offset: Long = -1L
+
     // =======
     // = get =
     // =======
@@ -154,6 +332,22 @@ class CaptureFile {
         return moduleName
     }
 
+    fun getSegment(): String {
+        return segment
+    }
+
+    fun getOffset(): Long {
+        return offset
+    }
+
+    /**
+     * 是否分段文件存储
+     * @return `true` yes, `false` no
+     */
+    fun isSegment(): Boolean {
+        return segment.isNotEmpty() && offset >= 0L
+    }
+
     // =======
     // = set =
     // =======
@@ -188,6 +382,15 @@ class CaptureFile {
         return this
     }
 
+    internal fun setSegment(
+        segment: String,
+        offset: Long
+    ): CaptureFile {
+        this.segment = segment
+        this.offset = offset
+        return this
+    }
+
     // ==========
     // = 抓包数据 =
     // ==========
@@ -198,7 +401,11 @@ class CaptureFile {
 
     fun getHttpCaptureData(): String? {
         if (httpCaptureData == null) {
-            httpCaptureData = FileUtils.readFile(getDataFile())
+            httpCaptureData = if (isSegment()) {
+                CaptureSegmentStore.readData(getFile(), offset)
+            } else {
+                FileUtils.readFile(getDataFile())
+            }
         }
         return httpCaptureData
     }
@@ -238,15 +445,20 @@ class CaptureFile {
 
     /**
      * 删除该对象抓包存储文件
+     * 分段文件存储标记删除分段文件内记录 ( 重新生成索引时不再恢复 ), 记录全部删除后删除分段文件
      * @return `true` success, `false` fail
      */
     fun deleteFile(): Boolean {
+        CaptureIndexStore.get(moduleName).remove(time, fileName)
+        if (isSegment()) {
+            return CaptureSegmentStore.get(moduleName).delete(getFile(), offset)
+        }
         FileUtils.deleteFile(getDataFile())
         return FileUtils.deleteFile(getFile())
     }
 
     /**
-     * 获取该对象抓包存储文件
+     * 获取该对象抓包存储文件 ( 分段文件存储则为所在分段文件 )
      * @return 该对象抓包存储文件
      */
     fun getFile(): File {
@@ -254,7 +466,7 @@ class CaptureFile {
     }
 
     /**
-     * 获取该对象抓包数据存储文件
+     * 获取该对象抓包数据存储文件 ( 分段文件存储则为所在分段文件 )
      * @return 该对象抓包数据存储文件
      */
     fun getDataFile(): File {
@@ -6,9 +6,9 @@ import dev.utils.DevFinal
 import dev.utils.LogPrintUtils
 import dev.utils.app.PathUtils
 import dev.utils.common.*
-import dev.utils.common.encrypt.MD5Utils
 import dev.utils.common.validator.ValidatorUtils
 import java.io.File
+import java.util.concurrent.atomic.AtomicInteger
 
 // =================
 // = 对外公开快捷方法 =
@@ -75,16 +75,44 @@ class UtilsPublic private constructor() {
         return Utils.getAllModule(isEncrypt)
     }
 
+    /**
+     * 分页查询指定模块抓包数据
+     * @param moduleName 模块名 ( 要求唯一性 )
+     * @param query      查询条件
+     * @return 分页查询结果
+     */
+    fun queryModuleHttpCaptures(
+        moduleName: String,
+        query: CaptureQuery
+    ): CapturePage {
+        return Utils.queryHttpCaptures(moduleName, query)
+    }
+
     // ======================
     // = 耗时操作需开启线程执行 =
     // ======================
 
+    /**
+     * 按保留策略淘汰指定模块最早的抓包数据
+     * @param moduleName 模块名 ( 要求唯一性 )
+     * @param retention  抓包数据保留策略
+     * @return 淘汰的抓包数量
+     */
+    fun trimModule(
+        moduleName: String,
+        retention: CaptureRetention
+    ): Int {
+        return Utils.trimHttpCaptures(moduleName, retention)
+    }
+
     /**
      * 删除指定模块抓包数据
      * @param moduleName 模块名 ( 要求唯一性 )
      * @return `true` success, `false` fail
      */
     fun deleteModule(moduleName: String): Boolean {
+        CaptureIndexStore.reset(moduleName)
+        CaptureSegmentStore.reset(moduleName)
         return FileUtils.deleteAllInDir(getModulePath(moduleName))
     }
 
@@ -93,6 +121,8 @@ class UtilsPublic private constructor() {
      * @return `true` success, `false` fail
      */
     fun deleteAllModule(): Boolean {
+        CaptureIndexStore.reset(null)
+        CaptureSegmentStore.reset(null)
         return FileUtils.deleteAllInDir(getStoragePath())
     }
 
@@ -178,28 +208,6 @@ internal object Utils {
         return null
     }
 
-    // =======
-    // = 排序 =
-    // =======
-
-    /**
-     * 通过文件名进行排序
-     * @param files 待排序文件数组
-     * @return 排序后的文件名
-     */
-    private fun sortFileByName(files: Array<File>?): MutableList<File> {
-        val lists = mutableListOf<File>()
-        if (files != null) {
-            lists.addAll(files.toMutableList())
-            lists.sortWith { file1, file2 ->
-                val value1 = ConvertUtils.toInt(file1.name)
-                val value2 = ConvertUtils.toInt(file2.name)
-                value2.compareTo(value1)
-            }
-        }
-        return lists
-    }
-
     // =============
     // = 文件操作相关 =
     // =============
@@ -211,6 +219,9 @@ internal object Utils {
     private const val FILE_EXTENSION = ".json"
     private const val DATA_FILE_EXTENSION = "_data.json"
 
+    // 抓包数据标识序号
+    private val sSequence = AtomicInteger()
+
     /**
      * 获取抓包存储路径
      * @return 抓包存储路径
@@ -256,6 +267,9 @@ internal object Utils {
     fun getModuleHttpCaptureFile(captureFile: CaptureFile): File {
         val modulePath = getModulePath(captureFile.getModuleName())
         val filePath = getTimeFile(modulePath, captureFile.getTime())
+        if (captureFile.isSegment()) {
+            return getModuleHttpCaptureFile(filePath, captureFile.getSegment())
+        }
         return getModuleHttpCaptureFile(filePath, captureFile.getFileName())
     }
 
@@ -267,6 +281,9 @@ internal object Utils {
     fun getModuleHttpCaptureDataFile(
         captureFile: CaptureFile
     ): File {
+        if (captureFile.isSegment()) {
+            return getModuleHttpCaptureFile(captureFile)
+        }
         val filePath = StringUtils.replaceEndsWith(
             FileUtils.getAbsolutePath(getModuleHttpCaptureFile(captureFile)),
             FILE_EXTENSION, DATA_FILE_EXTENSION
@@ -277,44 +294,27 @@ internal object Utils {
     // =
 
     /**
-     * 获取唯一文件名
-     * @param filePath  文件路径 [getModulePath]
-     * @param isEncrypt 是否加密数据
-     * @return 唯一文件名
+     * 获取抓包数据唯一标识 ( 分段文件存储不再创建独立文件, 无需校验文件是否存在 )
+     * @param captureFile 抓包存储文件
+     * @return 抓包数据唯一标识
      */
-    private fun getUniqueFileName(
-        filePath: String,
-        isEncrypt: Boolean
-    ): String? {
-        if (StringUtils.isEmpty(filePath)) return null
-        while (true) {
-            val md5Value = MD5Utils.md5(DevCommonUtils.getRandomUUIDToString())
-            // 属于加密的文件名前加前缀
-            val fileName = if (isEncrypt) {
-                "encrypt_$md5Value$FILE_EXTENSION"
-            } else {
-                md5Value + FILE_EXTENSION
-            }
-            // 文件不存在才返回文件名
-            if (!FileUtils.isFileExists(filePath, fileName)) {
-                return fileName
-            }
-        }
+    private fun createFileName(captureFile: CaptureFile): String {
+        val name = "${captureFile.getTime()}_${sSequence.incrementAndGet()}$FILE_EXTENSION"
+        // 属于加密的文件名前加前缀
+        return if (captureFile.isEncrypt()) "encrypt_$name" else name
     }
 
     /**
-     * 获取时间间隔文件夹路径
-     * @param modulePath 模块名
-     * @param millis     创建时间 ( 本地时间戳 )
-     * @return 时间间隔文件夹路径
+     * 获取时间间隔文件夹名
+     * @param millis 创建时间 ( 本地时间戳 )
+     * @return 年月日文件夹名、时分文件夹名
      */
-    private fun getTimeFile(
-        modulePath: String,
-        millis: Long
-    ): String {
-        val yyyyMMdd = DateUtils.formatTime(millis, DevFinal.TIME.yyyyMMdd)
-        val HH = DateUtils.formatTime(millis, DevFinal.TIME.HH)
-        val mm = ConvertUtils.toInt(DateUtils.formatTime(millis, DevFinal.TIME.mm))
+    fun getTimeFolder(millis: Long): Pair<String, String> {
+        // 一次格式化 yyyyMMddHHmm 后截取
+        val time = DateUtils.formatFast(millis, DevFinal.TIME.yyyyMMddHHmm)
+        val yyyyMMdd = time.substring(0, 8)
+        val HH = time.substring(8, 10)
+        val mm = ConvertUtils.toInt(time.substring(10, 12))
         // 存储间隔以 10 分钟为单位
         val mmStr = if (mm < 10) { // 00-09
             "00"
@@ -329,42 +329,104 @@ internal object Utils {
         } else { // 50-59
             "50"
         }
+        return Pair(yyyyMMdd, HH + mmStr)
+    }
+
+    /**
+     * 获取时间间隔文件夹路径
+     * @param modulePath 模块名
+     * @param millis     创建时间 ( 本地时间戳 )
+     * @return 时间间隔文件夹路径
+     */
+    private fun getTimeFile(
+        modulePath: String,
+        millis: Long
+    ): String {
+        val folder = getTimeFolder(millis)
         // 存储文件夹路径
         return FileUtils.getAbsolutePath(
-            FileUtils.getFile(modulePath, yyyyMMdd + File.separator + HH + mmStr)
+            FileUtils.getFile(modulePath, folder.first + File.separator + folder.second)
         )
     }
 
     /**
      * 存储 Http 抓包数据
+     * 追加写入时间间隔文件夹内的分段文件, 成功后设置文件名、分段文件名、偏移量
      * @param captureFile 抓包存储文件
-     * @return `true` success, `false` fail
+     * @param config      抓包数据存储配置
+     * @return 占用字节数, 失败返回 -1
      */
-    fun saveHttpCaptureFile(captureFile: CaptureFile): Boolean {
+    fun saveHttpCaptureFile(
+        captureFile: CaptureFile,
+        config: CaptureStorageConfig
+    ): Long {
         // 获取指定模块抓包存储路径
         val modulePath = getModulePath(captureFile.getModuleName())
         // 存储文件夹路径
         val filePath = getTimeFile(modulePath, captureFile.getTime())
-        // 创建文件夹
-        FileUtils.createFolder(filePath)
-        // 获取文件名
-        val fileName = getUniqueFileName(filePath, captureFile.isEncrypt())
-        if (fileName != null) {
-            captureFile.setFileName(fileName)
-            // 将对象转换为 JSON String
-            val json = captureFile.toJson()
-            // 存储抓包数据文件
-            FileUtils.saveFile(
-                captureFile.getDataFile(),
-                StringUtils.getBytes(captureFile.httpCaptureData)
-            )
-            // 存储处理
-            return FileUtils.saveFile(
-                getModuleHttpCaptureFile(filePath, fileName),
-                StringUtils.getBytes(json)
-            )
+        // 设置文件名 ( 作为抓包数据唯一标识 )
+        captureFile.setFileName(createFileName(captureFile))
+        // 存储处理
+        return CaptureSegmentStore.get(captureFile.getModuleName()).write(
+            filePath, captureFile, config.segmentSize, config.compress
+        )
+    }
+
+    /**
+     * 按保留策略淘汰指定模块最早的抓包数据
+     * @param moduleName 模块名 ( 要求唯一性 )
+     * @param retention  抓包数据保留策略
+     * @return 淘汰的抓包数量
+     */
+    fun trimHttpCaptures(
+        moduleName: String,
+        retention: CaptureRetention
+    ): Int {
+        if (!retention.isLimited()) return 0
+        if (!FileUtils.isFileExists(getModulePath(moduleName))) return 0
+        val indexes = CaptureIndexStore.get(moduleName).trim(retention)
+        deleteHttpCaptureFiles(moduleName, indexes)
+        return indexes.size
+    }
+
+    /**
+     * 删除抓包数据文件
+     * 分段文件存储以分段文件为单位删除, 并删除空的时间间隔文件夹
+     * @param moduleName 模块名 ( 要求唯一性 )
+     * @param indexes    待删除抓包数据索引
+     */
+    fun deleteHttpCaptureFiles(
+        moduleName: String,
+        indexes: List<CaptureIndex>
+    ) {
+        if (indexes.isEmpty()) return
+        val folders = linkedSetOf<File>()
+        indexes.forEach { index ->
+            val captureFile = index.getCaptureFile()
+            val file = captureFile.getFile()
+            if (captureFile.isSegment()) {
+                CaptureSegmentStore.get(moduleName).release(file)
+            } else {
+                FileUtils.deleteFile(captureFile.getDataFile())
+            }
+            FileUtils.deleteFile(file)
+            file.parentFile?.let { folders.add(it) }
+        }
+        folders.forEach { deleteEmptyTimeFolder(it) }
+    }
+
+    /**
+     * 删除空的时间间隔文件夹
+     * @param hmFile 时分文件夹
+     */
+    fun deleteEmptyTimeFolder(hmFile: File) {
+        if (hmFile.list().isNullOrEmpty()) {
+            FileUtils.deleteFile(hmFile)
+            val ymdFile = hmFile.parentFile
+            if (ymdFile != null && ymdFile.list().isNullOrEmpty()) {
+                FileUtils.deleteFile(ymdFile)
+            }
         }
-        return false
     }
 
     /**
@@ -411,76 +473,81 @@ internal object Utils {
         isEncrypt: Boolean
     ): MutableList<CaptureItem> {
         val lists = mutableListOf<CaptureItem>()
-        // 获取指定模块抓包存储路径
-        val filePath = getModulePath(moduleName)
-        val moduleFile = FileUtils.getFile(filePath)
-        if (FileUtils.isFileExists(moduleFile)) {
-            // 循环年月日文件夹
-            val yyyyMMddFiles = sortFileByName(moduleFile.listFiles())
-            yyyyMMddFiles.forEach { ymdFile ->
-                // 验证是否 yyyyMMdd 8 位数数字文件名
-                if (validateFileName(ymdFile, 8)) {
-                    val ymdName = ymdFile.name
-                    // 循环时分文件夹
-                    val hhmmFiles = sortFileByName(ymdFile.listFiles())
-                    if (hhmmFiles.isNotEmpty()) {
-                        val captureItem = CaptureItem(ymdName)
-                        hhmmFiles.forEach { hmFile ->
-                            // 验证是否 hhmm 4 位数数字文件名
-                            if (validateFileName(hmFile, 4)) {
-                                val hmName = hmFile.name
-                                // 循环抓包存储文件
-                                val files = hmFile.listFiles()
-                                if (files != null && files.isNotEmpty()) {
-                                    val captureList = mutableListOf<CaptureFile>()
-                                    files.forEach { file ->
-                                        if (FileUtils.isFile(file)) {
-                                            val fileName = file.name
-                                            // 不属于数据文件才读取
-                                            if (!fileName.endsWith(DATA_FILE_EXTENSION)) {
-                                                // 判断是否加密文件
-                                                val isEncryptFile = fileName.startsWith(
-                                                    "encrypt_"
-                                                )
-                                                if (isEncrypt) {
-                                                    // 要求获取加密文件并且属于加密文件才处理
-                                                    if (isEncryptFile) {
-                                                        fromCaptureFile(file)?.let {
-                                                            captureList.add(it)
-                                                        }
-                                                    }
-                                                } else {
-                                                    // 要求获取非加密文件并且属于非加密文件才处理
-                                                    if (!isEncryptFile) {
-                                                        fromCaptureFile(file)?.let {
-                                                            captureList.add(it)
-                                                        }
-                                                    }
-                                                }
-                                            }
-                                        }
-                                    }
-                                    if (captureList.isNotEmpty()) {
-                                        // 最新的在最前面
-                                        captureList.sortWith { o1, o2 ->
-                                            val diff = o1.getTime() - o2.getTime()
-                                            if (diff > 0) {
-                                                -1
-                                            } else if (diff < 0) {
-                                                1
-                                            } else {
-                                                0
-                                            }
-                                        }
-                                        // 存储数据 - 时分
-                                        captureItem.data[hmName] = captureList
-                                    }
+        if (!FileUtils.isFileExists(getModulePath(moduleName))) return lists
+        // 读取索引 ( 按创建时间升序 ), 倒序遍历使最新的在最前面
+        val indexes = CaptureIndexStore.get(moduleName).getAll()
+        var captureItem: CaptureItem? = null
+        for (position in indexes.indices.reversed()) {
+            val index = indexes[position]
+            if (index.encrypt != isEncrypt) continue
+            val folder = getTimeFolder(index.time)
+            val current = captureItem
+            val item = if (current != null && current.yyyyMMdd == folder.first) {
+                current
+            } else {
+                CaptureItem(folder.first).also {
+                    captureItem = it
+                    lists.add(it)
+                }
+            }
+            // 存储数据 - 时分
+            item.data.getOrPut(folder.second) {
+                mutableListOf()
+            }.add(index.getCaptureFile())
+        }
+        return lists
+    }
+
+    /**
+     * 分页查询指定模块抓包数据
+     * @param moduleName 模块名 ( 要求唯一性 )
+     * @param query      查询条件
+     * @return 分页查询结果
+     */
+    fun queryHttpCaptures(
+        moduleName: String,
+        query: CaptureQuery
+    ): CapturePage {
+        if (!FileUtils.isFileExists(getModulePath(moduleName))) {
+            return CapturePage(query, mutableListOf(), false)
+        }
+        return CaptureIndexStore.get(moduleName).query(query)
+    }
+
+    /**
+     * 遍历时间文件夹生成指定模块抓包数据索引
+     * 用于兼容不存在索引文件的旧版本抓包数据, 旧数据无法获取响应状态码、耗时
+     * @param moduleName 模块名 ( 要求唯一性 )
+     * @return 指定模块抓包数据索引
+     */
+    fun scanModuleIndex(moduleName: String): MutableList<CaptureIndex> {
+        val lists = mutableListOf<CaptureIndex>()
+        val moduleFile = FileUtils.getFile(getModulePath(moduleName))
+        if (!FileUtils.isFileExists(moduleFile)) return lists
+        // 循环年月日文件夹
+        moduleFile.listFiles()?.forEach { ymdFile ->
+            // 验证是否 yyyyMMdd 8 位数数字文件名
+            if (validateFileName(ymdFile, 8)) {
+                // 循环时分文件夹
+                ymdFile.listFiles()?.forEach { hmFile ->
+                    // 验证是否 hhmm 4 位数数字文件名
+                    if (validateFileName(hmFile, 4)) {
+                        // 循环抓包存储文件
+                        hmFile.listFiles()?.forEach { file ->
+                            if (CaptureSegmentStore.isSegmentFile(file)) {
+                                // 分段文件读取全部记录
+                                CaptureSegmentStore.readRecords(file) { captureFile, length ->
+                                    lists.add(toCaptureIndex(moduleName, captureFile, length))
+                                }
+                            } else if (!file.name.endsWith(DATA_FILE_EXTENSION)) {
+                                // 不属于数据文件才读取
+                                fromCaptureFile(file)?.let {
+                                    val length = FileUtils.getFileLength(file) +
+                                            FileUtils.getFileLength(it.getDataFile())
+                                    lists.add(toCaptureIndex(moduleName, it, length))
                                 }
                             }
                         }
-                        if (captureItem.data.size != 0) {
-                            lists.add(captureItem)
-                        }
                     }
                 }
             }
@@ -488,6 +555,27 @@ internal object Utils {
         return lists
     }
 
+    /**
+     * 通过抓包存储文件创建索引 ( 无法获取响应状态码、耗时 )
+     * @param moduleName  模块名 ( 要求唯一性 )
+     * @param captureFile 抓包存储文件
+     * @param length      占用字节数
+     * @return 抓包数据索引
+     */
+    private fun toCaptureIndex(
+        moduleName: String,
+        captureFile: CaptureFile,
+        length: Long
+    ): CaptureIndex {
+        return CaptureIndex(
+            moduleName, captureFile.getTime(), captureFile.getUrl(),
+            captureFile.getMethod().substringBefore(' '),
+            captureFile.getMethod(), -1, -1L,
+            captureFile.isEncrypt(), captureFile.getFileName(),
+            captureFile.getSegment(), captureFile.getOffset(), length
+        )
+    }
+
     /**
      * 验证文件名是否符合要求
      * @param file 待验证文件
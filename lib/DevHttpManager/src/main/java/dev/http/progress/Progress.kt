@@ -9,6 +9,7 @@ import dev.utils.common.assist.url.UrlExtras
 import kotlinx.parcelize.IgnoredOnParcel
 import kotlinx.parcelize.Parcelize
 import java.util.*
+import java.util.concurrent.atomic.AtomicBoolean
 
 /**
  * detail: 进度信息存储类
@@ -78,6 +79,10 @@ class Progress private constructor(
         "$id-$date"
     }
 
+    // 是否存在待执行的进度通知 ( 用于合并 Handler 进度通知 )
+    @IgnoredOnParcel
+    internal val pendingProgress = AtomicBoolean()
+
     /**
      * 获取 UUID
      * @return uuid
@@ -77,9 +77,21 @@ private fun Progress.callback(
     // 准备通知状态与当前状态相同才触发回调, 防止多次触发当前状态回调
     if (notifyStatus == getStatus()) {
         callback?.let { itCallback ->
-            handler?.post {
+            if (handler == null) {
                 innerCallback(notifyStatus, itCallback)
-            } ?: innerCallback(notifyStatus, itCallback)
+            } else if (notifyStatus == Progress.ING) {
+                // 合并进度通知, 上一次进度通知未执行前不再重复 post ( 执行时读取最新进度 )
+                if (pendingProgress.compareAndSet(false, true)) {
+                    handler.post {
+                        pendingProgress.set(false)
+                        innerCallback(notifyStatus, itCallback)
+                    }
+                }
+            } else {
+                handler.post {
+                    innerCallback(notifyStatus, itCallback)
+                }
+            }
         }
     }
 }
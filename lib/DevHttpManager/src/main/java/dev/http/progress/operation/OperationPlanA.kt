@@ -3,11 +3,14 @@ package dev.http.progress.operation
 import dev.http.progress.Progress
 import dev.http.progress.ProgressOperation
 import dev.utils.common.StringUtils
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
 
 /**
  * detail: Progress Operation 实现方式一 ( 默认使用 )
  * @author Ttt
  * 实现方式差异可以查看 [ProgressOperation] 类注释
+ * 监听集合使用 ConcurrentHashMap + CopyOnWriteArrayList, 进度通知时直接遍历无需复制
  */
 internal class OperationPlanA constructor(
     key: String,
@@ -18,10 +21,10 @@ internal class OperationPlanA constructor(
 ) : BaseOperation(key, globalDefault, type, ProgressOperation.PLAN_A) {
 
     // 上行监听回调 ( key = url, value = Progress.Callback )
-    private val mRequestListeners = HashMap<String, MutableList<Progress.Callback?>>()
+    private val mRequestListeners = ConcurrentHashMap<String, CopyOnWriteArrayList<Progress.Callback>>()
 
     // 下行监听回调
-    private val mResponseListeners = HashMap<String, MutableList<Progress.Callback?>>()
+    private val mResponseListeners = ConcurrentHashMap<String, CopyOnWriteArrayList<Progress.Callback>>()
 
     // =================
     // = BaseOperation =
@@ -55,14 +58,9 @@ internal class OperationPlanA constructor(
     ): Boolean {
         val newUrl = StringUtils.clearSpaceTabLine(url)
         if (StringUtils.isNotEmpty(newUrl)) {
-            val map = listenerMap(isRequest)
-            map[newUrl]?.let { list ->
-                if (!list.contains(callback)) {
-                    list.add(callback)
-                }
-                return true
-            }
-            map[newUrl] = mutableListOf(callback)
+            listenerMap(isRequest).getOrPut(newUrl) {
+                CopyOnWriteArrayList()
+            }.addIfAbsent(callback)
             return true
         }
         return false
@@ -170,7 +168,7 @@ internal class OperationPlanA constructor(
         if (StringUtils.isNotEmpty(newUrl)) {
             val map = listenerMap(isRequest)
             map[newUrl]?.let {
-                return it.toTypedArray()
+                return it.toTypedArray<Progress.Callback?>()
             }
         }
         return arrayOf()
@@ -200,12 +198,25 @@ internal class OperationPlanA constructor(
     /**
      * 获取 Callback Map
      * @param isRequest `true` 上行, `false` 下行
-     * @return HashMap<String, MutableList<Progress.Callback?>>
+     * @return ConcurrentHashMap<String, CopyOnWriteArrayList<Progress.Callback>>
      */
-    private fun listenerMap(isRequest: Boolean): HashMap<String, MutableList<Progress.Callback?>> {
+    private fun listenerMap(isRequest: Boolean): ConcurrentHashMap<String, CopyOnWriteArrayList<Progress.Callback>> {
         return if (isRequest) mRequestListeners else mResponseListeners
     }
 
+    /**
+     * 根据 Progress 获取对应的监听事件集合 ( 快照遍历, 不进行复制 )
+     * @param progress Progress
+     * @return List<Progress.Callback>
+     */
+    private fun listeners(progress: Progress): List<Progress.Callback> {
+        val newUrl = StringUtils.clearSpaceTabLine(getUrlByPrefix(progress))
+        if (StringUtils.isNotEmpty(newUrl)) {
+            listenerMap(progress.isRequest())[newUrl]?.let { return it }
+        }
+        return emptyList()
+    }
+
     /**
      * detail: 内部 Progress 回调
      * @author Ttt
@@ -219,9 +230,8 @@ internal class OperationPlanA constructor(
                 getCallback()?.onStart(progress)
 
                 // 根据请求 url 获取对应的监听事件集合
-                val array = getCallbackList(progress)
-                array.forEach {
-                    it?.onStart(progress)
+                listeners(progress).forEach {
+                    it.onStart(progress)
                 }
             }
 
@@ -232,9 +242,8 @@ internal class OperationPlanA constructor(
                 getCallback()?.onProgress(progress)
 
                 // 根据请求 url 获取对应的监听事件集合
-                val array = getCallbackList(progress)
-                array.forEach {
-                    it?.onProgress(progress)
+                listeners(progress).forEach {
+                    it.onProgress(progress)
                 }
             }
 
@@ -245,9 +254,8 @@ internal class OperationPlanA constructor(
                 getCallback()?.onError(progress)
 
                 // 根据请求 url 获取对应的监听事件集合
-                val array = getCallbackList(progress)
-                array.forEach {
-                    it?.onError(progress)
+                listeners(progress).forEach {
+                    it.onError(progress)
                 }
             }
 
@@ -258,9 +266,8 @@ internal class OperationPlanA constructor(
                 getCallback()?.onFinish(progress)
 
                 // 根据请求 url 获取对应的监听事件集合
-                val array = getCallbackList(progress)
-                array.forEach {
-                    it?.onFinish(progress)
+                listeners(progress).forEach {
+                    it.onFinish(progress)
                 }
             }
 
@@ -273,13 +280,10 @@ internal class OperationPlanA constructor(
                 // 需要自动销毁的 list
                 val recycleList = mutableListOf<Progress.Callback>()
                 // 根据请求 url 获取对应的监听事件集合
-                val array = getCallbackList(progress)
-                array.forEach {
-                    it?.let { callback ->
-                        callback.onEnd(progress)
-                        if (callback.isAutoRecycle(progress)) {
-                            recycleList.add(callback)
-                        }
+                listeners(progress).forEach { callback ->
+                    callback.onEnd(progress)
+                    if (callback.isAutoRecycle(progress)) {
+                        recycleList.add(callback)
                     }
                 }
                 removeRecycleList(progress, recycleList)
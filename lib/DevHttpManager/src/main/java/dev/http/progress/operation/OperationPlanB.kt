@@ -4,12 +4,14 @@ import dev.http.progress.Progress
 import dev.http.progress.ProgressOperation
 import dev.utils.common.StringUtils
 import java.util.*
+import java.util.concurrent.CopyOnWriteArrayList
 
 /**
  * detail: Progress Operation 实现方式二
  * @author Ttt
  * 实现方式差异可以查看 [ProgressOperation] 类注释
  * WeakHashMap 何时释放资源无法进行控制, 如果想要每一个监听都能收到回调, 请使用方式一 ( 默认使用 )
+ * 监听集合使用同步 WeakHashMap + CopyOnWriteArrayList, 支持多线程添加、移除监听
  */
 internal class OperationPlanB constructor(
     key: String,
@@ -20,10 +22,12 @@ internal class OperationPlanB constructor(
 ) : BaseOperation(key, globalDefault, type, ProgressOperation.PLAN_B) {
 
     // 上行监听回调 ( key = url, value = Progress.Callback )
-    private val mRequestListeners = WeakHashMap<String, MutableList<Progress.Callback?>>()
+    private val mRequestListeners: MutableMap<String, CopyOnWriteArrayList<Progress.Callback>> =
+        Collections.synchronizedMap(WeakHashMap())
 
     // 下行监听回调
-    private val mResponseListeners = WeakHashMap<String, MutableList<Progress.Callback?>>()
+    private val mResponseListeners: MutableMap<String, CopyOnWriteArrayList<Progress.Callback>> =
+        Collections.synchronizedMap(WeakHashMap())
 
     // =================
     // = BaseOperation =
@@ -58,13 +62,11 @@ internal class OperationPlanB constructor(
         val newUrl = StringUtils.clearSpaceTabLine(url)
         if (StringUtils.isNotEmpty(newUrl)) {
             val map = listenerMap(isRequest)
-            map[newUrl]?.let { list ->
-                if (!list.contains(callback)) {
-                    list.add(callback)
-                }
-                return true
+            synchronized(map) {
+                map.getOrPut(newUrl) {
+                    CopyOnWriteArrayList()
+                }.addIfAbsent(callback)
             }
-            map[newUrl] = mutableListOf(callback)
             return true
         }
         return false
@@ -172,7 +174,7 @@ internal class OperationPlanB constructor(
         if (StringUtils.isNotEmpty(newUrl)) {
             val map = listenerMap(isRequest)
             map[newUrl]?.let {
-                return it.toTypedArray()
+                return it.toTypedArray<Progress.Callback?>()
             }
         }
         return arrayOf()
@@ -202,9 +204,9 @@ internal class OperationPlanB constructor(
     /**
      * 获取 Callback Map
      * @param isRequest `true` 上行, `false` 下行
-     * @return WeakHashMap<String, MutableList<Progress.Callback?>>
+     * @return MutableMap<String, CopyOnWriteArrayList<Progress.Callback>>
      */
-    private fun listenerMap(isRequest: Boolean): WeakHashMap<String, MutableList<Progress.Callback?>> {
+    private fun listenerMap(isRequest: Boolean): MutableMap<String, CopyOnWriteArrayList<Progress.Callback>> {
         return if (isRequest) mRequestListeners else mResponseListeners
     }
 
@@ -51,11 +51,9 @@ public final class FieldUtils {
             final String name
     ) {
         if (clazz != null && name != null) {
-            try {
-                return clazz.getField(name);
-            } catch (Exception e) {
-                JCLogUtils.eTag(TAG, e, "getField");
-            }
+            Field field = ReflectCache.getPublicField(clazz, name);
+            if (field != null) return field;
+            JCLogUtils.eTag(TAG, "getField no such field %s", name);
         }
         return null;
     }
@@ -89,11 +87,9 @@ public final class FieldUtils {
             final String name
     ) {
         if (clazz != null && name != null) {
-            try {
-                return clazz.getDeclaredField(name);
-            } catch (Exception e) {
-                JCLogUtils.eTag(TAG, e, "getDeclaredField");
-            }
+            Field field = ReflectCache.copy(ReflectCache.cachedDeclaredField(clazz, name));
+            if (field != null) return field;
+            JCLogUtils.eTag(TAG, "getDeclaredField no such field %s", name);
         }
         return null;
     }
@@ -174,7 +170,7 @@ public final class FieldUtils {
     ) {
         if (field == null || object == null) return null;
         try {
-            field.setAccessible(true);
+            if (!field.isAccessible()) field.setAccessible(true);
             field.set(object, value);
             return field.get(object);
         } catch (Exception e) {
@@ -195,7 +191,7 @@ public final class FieldUtils {
     ) {
         if (field == null || object == null) return null;
         try {
-            field.setAccessible(true);
+            if (!field.isAccessible()) field.setAccessible(true);
             return field.get(object);
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "get");
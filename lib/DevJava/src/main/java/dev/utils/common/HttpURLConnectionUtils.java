@@ -5,7 +5,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import dev.utils.JCLogUtils;
 
@@ -16,6 +23,10 @@ import dev.utils.JCLogUtils;
  *     详细解释 HttpURLConnection 类
  *     @see <a href="https://www.cnblogs.com/jiuhaoyun/p/8040028.html"/>
  *     @see <a href="https://blog.csdn.net/you18131371836/article/details/53189966"/>
+ *     <p></p>
+ *     异步请求统一提交到有界线程池 ( 可通过 {@link #setExecutor(ExecutorService)} 替换 ), 返回 {@link Call} 用于取消请求
+ *     请求成功时读取完响应并关闭流, 不调用 disconnect, 以便底层连接保持 keep-alive 复用
+ *     {@link StreamCallback}、{@link ChunkCallback} 直接处理响应流, 无需将响应内容全部缓存为 String
  * </pre>
  */
 public final class HttpURLConnectionUtils {
@@ -28,6 +39,15 @@ public final class HttpURLConnectionUtils {
 
     // 请求超时时间
     private static final int TIMEOUT_IN_MILLIONS = 5000;
+    // 请求线程数量
+    private static final int THREAD_COUNT        = 4;
+    // 请求排队数量
+    private static final int QUEUE_CAPACITY      = 256;
+    // 读取缓冲大小
+    private static final int BUFFER_SIZE         = 8192;
+
+    // 请求线程池
+    private static volatile ExecutorService sExecutor;
 
     /**
      * detail: 请求回调
@@ -52,22 +72,203 @@ public final class HttpURLConnectionUtils {
         void onFail(Throwable error);
     }
 
+    /**
+     * detail: 请求响应流回调
+     * @author Ttt
+     */
+    public interface StreamCallback {
+
+        /**
+         * 请求响应回调 ( 方法返回后关闭响应流 )
+         * @param stream   响应流
+         * @param response 请求响应时间
+         * @throws Exception 处理异常, 将回调 {@link #onFail(Throwable)}
+         */
+        void onResponse(
+                InputStream stream,
+                long response
+        )
+                throws Exception;
+
+        /**
+         * 请求失败
+         * @param error 失败异常
+         */
+        void onFail(Throwable error);
+    }
+
+    /**
+     * detail: 请求响应分块回调
+     * @author Ttt
+     * <pre>
+     *     每次读取的数据通过 {@link #onChunk(ByteBuffer)} 回调, ByteBuffer 会被复用, 仅在回调内有效
+     * </pre>
+     */
+    public abstract static class ChunkCallback
+            implements StreamCallback {
+
+        @Override
+        public final void onResponse(
+                final InputStream stream,
+                final long response
+        )
+                throws Exception {
+            byte[]     buffer = new byte[BUFFER_SIZE];
+            ByteBuffer chunk  = ByteBuffer.wrap(buffer);
+            int        len;
+            while ((len = stream.read(buffer)) != -1) {
+                chunk.clear();
+                chunk.limit(len);
+                onChunk(chunk);
+            }
+            onComplete(response);
+        }
+
+        /**
+         * 读取响应数据
+         * @param chunk 响应数据
+         * @throws Exception 处理异常, 将回调 {@link #onFail(Throwable)}
+         */
+        public abstract void onChunk(ByteBuffer chunk)
+                throws Exception;
+
+        /**
+         * 响应数据读取完成
+         * @param response 请求响应时间
+         */
+        public abstract void onComplete(long response);
+    }
+
+    /**
+     * detail: 请求任务 ( 用于取消请求 )
+     * @author Ttt
+     */
+    public static final class Call {
+
+        // 请求方法
+        private final    String              mMethod;
+        // 请求地址
+        private final    String              mUrl;
+        // 请求头信息
+        private final    Map<String, String> mHeaders;
+        // 请求参数
+        private final    String              mParams;
+        // 超时时间 ( 毫秒 )
+        private final    int                 mTimeout;
+        // 非 2xx 响应是否同样回调 onResponse ( 如获取网络时间仅需响应头 )
+        private          boolean             mAnyResponse;
+        // 是否已取消
+        private volatile boolean             mCanceled;
+        // 是否已结束
+        private volatile boolean             mDone;
+        // 请求连接
+        private volatile HttpURLConnection   mConnection;
+
+        private Call(
+                final String method,
+                final String url,
+                final Map<String, String> headers,
+                final String params,
+                final int timeout
+        ) {
+            this.mMethod  = method;
+            this.mUrl     = url;
+            this.mHeaders = headers;
+            this.mParams  = params;
+            this.mTimeout = (timeout > 0) ? timeout : TIMEOUT_IN_MILLIONS;
+        }
+
+        /**
+         * 取消请求 ( 断开连接, 将回调 {@link CancellationException} )
+         */
+        public void cancel() {
+            if (mCanceled || mDone) return;
+            mCanceled = true;
+            // 排队中的请求执行时直接回调取消, 执行中的请求断开连接
+            HttpURLConnection connection = mConnection;
+            if (connection != null) {
+                try { // 关闭底层连接 Socket, 中断阻塞读取
+                    connection.disconnect();
+                } catch (Exception ignore) {
+                }
+            }
+        }
+
+        /**
+         * 是否已取消请求
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        /**
+         * 是否请求结束
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isDone() {
+            return mDone;
+        }
+    }
+
+    // ===========
+    // = 请求线程池 =
+    // ===========
+
+    /**
+     * 设置异步请求线程池
+     * @param executor {@link ExecutorService} ( null 则使用默认有界线程池 )
+     */
+    public static void setExecutor(final ExecutorService executor) {
+        sExecutor = executor;
+    }
+
+    /**
+     * 获取异步请求线程池
+     * <pre>
+     *     默认 {@link #THREAD_COUNT} 个守护线程, 空闲 60 秒回收, 最多排队 {@link #QUEUE_CAPACITY} 个请求
+     * </pre>
+     * @return {@link ExecutorService}
+     */
+    public static ExecutorService getExecutor() {
+        ExecutorService executor = sExecutor;
+        if (executor == null) {
+            synchronized (HttpURLConnectionUtils.class) {
+                executor = sExecutor;
+                if (executor == null) {
+                    AtomicInteger      number = new AtomicInteger();
+                    ThreadPoolExecutor pool   = new ThreadPoolExecutor(
+                            THREAD_COUNT, THREAD_COUNT, 60L, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                            runnable -> {
+                                Thread thread = new Thread(runnable, TAG + "-" + number.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            }
+                    );
+                    pool.allowCoreThreadTimeOut(true);
+                    sExecutor = executor = pool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    // ===========
+    // = 异步请求 =
+    // ===========
+
     /**
      * 异步的 Get 请求
      * @param urlStr   请求地址
      * @param callback 请求回调接口
+     * @return {@link Call}
      */
-    public static void doGetAsync(
+    public static Call doGetAsync(
             final String urlStr,
             final Callback callback
     ) {
-        new Thread(() -> {
-            try {
-                request("GET", urlStr, null, null, callback);
-            } catch (Exception e) {
-                JCLogUtils.eTag(TAG, e, "doGetAsync");
-            }
-        }).start();
+        return requestAsync("GET", urlStr, null, null, 0, callback);
     }
 
     /**
@@ -75,21 +276,62 @@ public final class HttpURLConnectionUtils {
      * @param urlStr   请求地址
      * @param params   请求参数
      * @param callback 请求回调接口
+     * @return {@link Call}
      */
-    public static void doPostAsync(
+    public static Call doPostAsync(
             final String urlStr,
             final String params,
             final Callback callback
     ) {
-        new Thread(() -> {
-            try {
-                request("POST", urlStr, null, params, callback);
-            } catch (Exception e) {
-                JCLogUtils.eTag(TAG, e, "doPostAsync");
-            }
-        }).start();
+        return requestAsync("POST", urlStr, null, params, 0, callback);
+    }
+
+    /**
+     * 发送异步请求
+     * @param method   请求方法
+     * @param urlStr   请求地址字符串
+     * @param headers  请求头信息
+     * @param params   请求参数
+     * @param timeout  超时时间 ( 毫秒, 小于等于 0 则使用默认超时时间 )
+     * @param callback 请求回调接口
+     * @return {@link Call}
+     */
+    public static Call requestAsync(
+            final String method,
+            final String urlStr,
+            final Map<String, String> headers,
+            final String params,
+            final int timeout,
+            final Callback callback
+    ) {
+        return requestStreamAsync(method, urlStr, headers, params, timeout, _toStreamCallback(callback));
     }
 
+    /**
+     * 发送异步请求
+     * @param method   请求方法
+     * @param urlStr   请求地址字符串
+     * @param headers  请求头信息
+     * @param params   请求参数
+     * @param timeout  超时时间 ( 毫秒, 小于等于 0 则使用默认超时时间 )
+     * @param callback 请求响应流回调接口
+     * @return {@link Call}
+     */
+    public static Call requestStreamAsync(
+            final String method,
+            final String urlStr,
+            final Map<String, String> headers,
+            final String params,
+            final int timeout,
+            final StreamCallback callback
+    ) {
+        return _submit(new Call(method, urlStr, headers, params, timeout), callback);
+    }
+
+    // ===========
+    // = 同步请求 =
+    // ===========
+
     /**
      * 发送请求
      * @param method   请求方法
@@ -105,81 +347,27 @@ public final class HttpURLConnectionUtils {
             final String params,
             final Callback callback
     ) {
-        // 获取连接对象
-        HttpURLConnection     connection = null;
-        InputStream           is         = null;
-        ByteArrayOutputStream baos       = null;
-        try {
-            // 请求路径
-            URL url = new URL(urlStr);
-            // 获取连接对象
-            connection = (HttpURLConnection) url.openConnection();
-            // 设置请求方法
-            connection.setRequestMethod(method);
-            // 设置请求头信息
-            if (headers != null) {
-                for (Map.Entry<String, String> entry : headers.entrySet()) {
-                    connection.setRequestProperty(entry.getKey(), entry.getValue());
-                }
-            }
-            // 判断是否需要写入数据
-            if (params != null && params.length() != 0) {
-                // 允许写入
-                connection.setDoInput(true);
-                // 设置是否向 connection 输出, 如果是 post 请求, 参数要放在 http 正文内, 因此需要设为 true
-                connection.setDoOutput(true);
-                // post 请求不能使用缓存
-                connection.setUseCaches(false);
-                // 写入数据
-                OutputStream os = connection.getOutputStream();
-                os.write(params.getBytes());
-                os.flush();
-                os.close();
-            }
-            // 单位是毫秒
-            connection.setConnectTimeout(TIMEOUT_IN_MILLIONS); // 设置连接超时
-            connection.setReadTimeout(TIMEOUT_IN_MILLIONS); // 设置读取超时
-            // 获取请求状态码
-            int responseCode = connection.getResponseCode();
-            // 判断请求码是否是 200
-            if (responseCode >= 200 && responseCode < 300) {
-                // 输入流
-                is   = connection.getInputStream();
-                baos = new ByteArrayOutputStream();
-                // 设置缓存流大小
-                byte[] buffer = new byte[1024];
-                int    len;
-                while (((len = is.read(buffer)) != -1)) {
-                    baos.write(buffer, 0, len);
-                }
-                // 获取请求结果
-                String result = baos.toString();
-                // 判断是否回调
-                if (callback != null) {
-                    // 请求成功, 触发回调
-                    callback.onResponse(result, connection.getDate());
-                }
-            } else {
-                // 响应成功, 非 200 直接返回 null
-                if (callback != null) {
-                    callback.onFail(new Exception("responseCode not >= 200 or < 300, code: " + responseCode));
-                }
-            }
-        } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "request");
-            if (callback != null) {
-                callback.onFail(e);
-            }
-        } finally {
-            CloseUtils.closeIOQuietly(baos, is);
+        requestStream(method, urlStr, headers, params, 0, _toStreamCallback(callback));
+    }
 
-            if (connection != null) {
-                try { // 关闭底层连接 Socket
-                    connection.disconnect();
-                } catch (Exception ignore) {
-                }
-            }
-        }
+    /**
+     * 发送请求
+     * @param method   请求方法
+     * @param urlStr   请求地址字符串
+     * @param headers  请求头信息
+     * @param params   请求参数
+     * @param timeout  超时时间 ( 毫秒, 小于等于 0 则使用默认超时时间 )
+     * @param callback 请求响应流回调接口
+     */
+    public static void requestStream(
+            final String method,
+            final String urlStr,
+            final Map<String, String> headers,
+            final String params,
+            final int timeout,
+            final StreamCallback callback
+    ) {
+        _execute(new Call(method, urlStr, headers, params, timeout), callback);
     }
 
     // =================
@@ -210,57 +398,161 @@ public final class HttpURLConnectionUtils {
     /**
      * 获取网络时间 ( 默认使用百度链接 )
      * @param callback 请求时间回调接口
+     * @return {@link Call}
      */
-    public static void getNetTime(final TimeCallback callback) {
-        getNetTime(BAIDU_URL, callback);
+    public static Call getNetTime(final TimeCallback callback) {
+        return getNetTime(BAIDU_URL, callback);
     }
 
     /**
      * 获取网络时间
+     * <pre>
+     *     使用 HEAD 请求, 仅读取响应头 Date 信息 ( 非 2xx 响应同样读取 )
+     * </pre>
      * @param urlStr   请求地址
      * @param callback 请求时间回调接口
+     * @return {@link Call}
      */
-    public static void getNetTime(
+    public static Call getNetTime(
             final String urlStr,
             final TimeCallback callback
     ) {
-        new Thread(() -> reqNetTime(urlStr, callback)).start();
+        Call call = new Call("HEAD", urlStr, null, null, 0);
+        call.mAnyResponse = true;
+        return _submit(call, new StreamCallback() {
+            @Override
+            public void onResponse(
+                    InputStream stream,
+                    long response
+            ) {
+                // 获取失败, 则进行修改
+                if (callback != null) {
+                    callback.onResponse(response <= 0 ? -1L : response);
+                }
+            }
+
+            @Override
+            public void onFail(Throwable error) {
+                if (callback != null) {
+                    callback.onFail(error);
+                }
+            }
+        });
     }
 
+    // ==========
+    // = 内部方法 =
+    // ==========
+
     /**
-     * 请求网络时间 ( 内部私有 )
-     * @param urlStr   请求地址
-     * @param callback 请求时间回调接口
+     * 提交异步请求
+     * @param call     请求任务
+     * @param callback 请求响应流回调接口
+     * @return {@link Call}
      */
-    private static void reqNetTime(
-            final String urlStr,
-            final TimeCallback callback
+    private static Call _submit(
+            final Call call,
+            final StreamCallback callback
+    ) {
+        try {
+            getExecutor().execute(() -> _execute(call, callback));
+        } catch (Exception e) {
+            // 排队已满、线程池已关闭
+            JCLogUtils.eTag(TAG, e, "requestAsync");
+            call.mDone = true;
+            if (callback != null) {
+                callback.onFail(e);
+            }
+        }
+        return call;
+    }
+
+    /**
+     * 执行请求
+     * @param call     请求任务
+     * @param callback 请求响应流回调接口
+     */
+    private static void _execute(
+            final Call call,
+            final StreamCallback callback
     ) {
         // 获取连接对象
         HttpURLConnection connection = null;
+        InputStream       is         = null;
+        boolean           reuse      = false;
         try {
+            if (call.mCanceled) throw new CancellationException("canceled");
             // 请求路径
-            URL url = new URL(urlStr);
+            URL url = new URL(call.mUrl);
             // 获取连接对象
-            connection = (HttpURLConnection) url.openConnection();
-            // 获取时间
-            long date = connection.getDate();
-            // 获取失败, 则进行修改
-            if (date <= 0) {
-                date = -1L;
+            connection       = (HttpURLConnection) url.openConnection();
+            call.mConnection = connection;
+            if (call.mCanceled) throw new CancellationException("canceled");
+            // 设置请求方法
+            connection.setRequestMethod(call.mMethod);
+            // 单位是毫秒 ( 需在连接前设置 )
+            connection.setConnectTimeout(call.mTimeout); // 设置连接超时
+            connection.setReadTimeout(call.mTimeout); // 设置读取超时
+            // 设置请求头信息
+            if (call.mHeaders != null) {
+                for (Map.Entry<String, String> entry : call.mHeaders.entrySet()) {
+                    connection.setRequestProperty(entry.getKey(), entry.getValue());
+                }
             }
-            // 触发回调
-            if (callback != null) {
-                callback.onResponse(date);
+            // 判断是否需要写入数据
+            String params = call.mParams;
+            if (params != null && params.length() != 0) {
+                // 允许写入
+                connection.setDoInput(true);
+                // 设置是否向 connection 输出, 如果是 post 请求, 参数要放在 http 正文内, 因此需要设为 true
+                connection.setDoOutput(true);
+                // post 请求不能使用缓存
+                connection.setUseCaches(false);
+                // 写入数据
+                OutputStream os = connection.getOutputStream();
+                try {
+                    os.write(params.getBytes());
+                    os.flush();
+                } finally {
+                    CloseUtils.closeIOQuietly(os);
+                }
+            }
+            // 获取请求状态码
+            int     responseCode = connection.getResponseCode();
+            boolean success      = responseCode >= 200 && responseCode < 300;
+            // 判断请求码是否是 200
+            if (success || call.mAnyResponse) {
+                // 回调前判断是否已取消, 回调后不再回调失败 ( 回调中取消由读取异常回调失败 )
+                if (call.mCanceled) throw new CancellationException("canceled");
+                // 输入流
+                is = success ? connection.getInputStream() : connection.getErrorStream();
+                if (callback != null) {
+                    callback.onResponse(is, connection.getDate());
+                }
+                reuse = !call.mCanceled && (success || _drain(is));
+            } else {
+                // 读取错误响应, 以便连接复用
+                is    = connection.getErrorStream();
+                reuse = _drain(is);
+                // 响应成功, 非 200 直接返回 null
+                if (callback != null) {
+                    callback.onFail(new Exception("responseCode not >= 200 or < 300, code: " + responseCode));
+                }
             }
         } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "getNetTime");
-            // 触发回调
+            Throwable error = call.mCanceled ? new CancellationException("canceled") : e;
+            if (!call.mCanceled) {
+                JCLogUtils.eTag(TAG, e, "request");
+            }
             if (callback != null) {
-                callback.onFail(e);
+                callback.onFail(error);
             }
         } finally {
-            if (connection != null) {
+            CloseUtils.closeIOQuietly(is);
+            call.mConnection = null;
+            call.mDone       = true;
+
+            if (connection != null && !reuse) {
                 try { // 关闭底层连接 Socket
                     connection.disconnect();
                 } catch (Exception ignore) {
@@ -268,4 +560,56 @@ public final class HttpURLConnectionUtils {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 读取并丢弃剩余响应数据
+     * @param is 响应流
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean _drain(final InputStream is) {
+        if (is == null) return true;
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (is.read(buffer) != -1) {
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 转换请求回调 ( 读取响应内容为 String )
+     * @param callback 请求回调接口
+     * @return {@link StreamCallback}
+     */
+    private static StreamCallback _toStreamCallback(final Callback callback) {
+        return new StreamCallback() {
+            @Override
+            public void onResponse(
+                    InputStream stream,
+                    long response
+            )
+                    throws Exception {
+                ByteArrayOutputStream baos   = new ByteArrayOutputStream();
+                // 设置缓存流大小
+                byte[]                buffer = new byte[BUFFER_SIZE];
+                int                   len;
+                while (((len = stream.read(buffer)) != -1)) {
+                    baos.write(buffer, 0, len);
+                }
+                // 请求成功, 触发回调
+                if (callback != null) {
+                    callback.onResponse(baos.toString(), response);
+                }
+            }
+
+            @Override
+            public void onFail(Throwable error) {
+                if (callback != null) {
+                    callback.onFail(error);
+                }
+            }
+        };
+    }
+}
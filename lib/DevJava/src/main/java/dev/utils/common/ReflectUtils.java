@@ -152,26 +152,30 @@ public final class ReflectUtils {
      */
     public ReflectUtils newInstance(final Object... args)
             throws ReflectException {
-        Class<?>[] types = getArgsType(args);
-        try {
-            Constructor<?> constructor = type().getDeclaredConstructor(types);
-            return newInstance(constructor, args);
-        } catch (NoSuchMethodException e) {
+        Class<?>[]     types       = getArgsType(args);
+        Constructor<?> constructor = ReflectCache.cachedConstructor(type(), types);
+        if (constructor != null) return newInstance(constructor, args);
+        // 参数类型相似构造函数 ( 缓存排序后结果 )
+        Object value = ReflectCache.get(type(), ReflectCache.SIMILAR_CONSTRUCTOR, null, types);
+        if (value == null) {
             List<Constructor<?>> list = new ArrayList<>();
-            for (Constructor<?> constructor : type().getDeclaredConstructors()) {
-                if (match(constructor.getParameterTypes(), types)) {
-                    list.add(constructor);
+            for (Constructor<?> item : type().getDeclaredConstructors()) {
+                if (match(item.getParameterTypes(), types)) {
+                    list.add(item);
                 }
             }
-            if (list.isEmpty()) {
-                throw new ReflectException(e);
-            } else {
-                sortConstructors(list);
-                return newInstance(list.get(0), args);
-            }
-        } catch (Exception e) {
-            throw new ReflectException(e);
+            if (!list.isEmpty()) sortConstructors(list);
+            value = ReflectCache.put(
+                    type(), ReflectCache.SIMILAR_CONSTRUCTOR, null, types,
+                    list.isEmpty() ? null : accessible(list.get(0))
+            );
+        }
+        if (value == null || ReflectCache.isNone(value)) {
+            throw new ReflectException(new NoSuchMethodException(
+                    type().getName() + ".<init>" + Arrays.toString(types)
+            ));
         }
+        return newInstance((Constructor<?>) value, args);
     }
 
     /**
@@ -293,6 +297,10 @@ public final class ReflectUtils {
             throws ReflectException {
         Field field = getAccessibleField(name);
         if ((field.getModifiers() & Modifier.FINAL) == Modifier.FINAL) {
+            // 修改副本修饰符, 不影响缓存实例
+            field = ReflectCache.copy(field);
+            if (field == null) throw new ReflectException(new NoSuchFieldException(name));
+            field.setAccessible(true);
             try {
                 Field modifiersField = Field.class.getDeclaredField("modifiers");
                 modifiersField.setAccessible(true);
@@ -314,23 +322,13 @@ public final class ReflectUtils {
      */
     private Field getAccessibleField(final String name)
             throws ReflectException {
-        Class<?> type = type();
-        try {
-            return accessible(type.getField(name));
-        } catch (NoSuchFieldException e) {
-            do {
-                try {
-                    return accessible(type.getDeclaredField(name));
-                } catch (NoSuchFieldException ignore) {
-                }
-                type = type.getSuperclass();
-            } while (type != null);
-            JCLogUtils.eTag(TAG, e, "getAccessibleField");
-            throw new ReflectException(e);
-        } catch (Exception e) {
+        Field field = ReflectCache.cachedField(type(), name);
+        if (field == null) {
+            NoSuchFieldException e = new NoSuchFieldException(name);
             JCLogUtils.eTag(TAG, e, "getAccessibleField");
             throw new ReflectException(e);
         }
+        return field;
     }
 
     /**
@@ -449,20 +447,11 @@ public final class ReflectUtils {
             final Class<?>[] types
     )
             throws ReflectException {
-        Class<?> type = type();
-        try {
-            return type.getMethod(name, types);
-        } catch (Exception e) {
-            do {
-                try {
-                    return type.getDeclaredMethod(name, types);
-                } catch (Exception ignore) {
-                }
-                type = type.getSuperclass();
-            } while (type != null);
-            JCLogUtils.eTag(TAG, e, "exactMethod");
-            throw new ReflectException(e);
+        Method method = ReflectCache.cachedMethod(type(), name, types);
+        if (method == null) {
+            throw new ReflectException(new NoSuchMethodException(name + Arrays.toString(types)));
         }
+        return method;
     }
 
     /**
@@ -477,6 +466,33 @@ public final class ReflectUtils {
             final Class<?>[] types
     )
             throws ReflectException {
+        Object value = ReflectCache.get(type(), ReflectCache.SIMILAR_METHOD, name, types);
+        if (value == null) {
+            value = ReflectCache.put(
+                    type(), ReflectCache.SIMILAR_METHOD, name, types, findSimilarMethod(name, types)
+            );
+        }
+        if (value == null || ReflectCache.isNone(value)) {
+            throw new ReflectException(
+                    String.format(
+                            "No similar method %s with params %s could be found on type %s",
+                            name, Arrays.toString(types), type()
+                    )
+            );
+        }
+        return (Method) value;
+    }
+
+    /**
+     * 查找相似参数的方法
+     * @param name  方法
+     * @param types 参数类型
+     * @return {@link Method}
+     */
+    private Method findSimilarMethod(
+            final String name,
+            final Class<?>[] types
+    ) {
         Class<?>     type    = type();
         List<Method> methods = new ArrayList<>();
         for (Method method : type.getMethods()) {
@@ -486,7 +502,7 @@ public final class ReflectUtils {
         }
         if (!methods.isEmpty()) {
             sortMethods(methods);
-            return methods.get(0);
+            return accessible(methods.get(0));
         }
         do {
             for (Method method : type.getDeclaredMethods()) {
@@ -496,16 +512,11 @@ public final class ReflectUtils {
             }
             if (!methods.isEmpty()) {
                 sortMethods(methods);
-                return methods.get(0);
+                return accessible(methods.get(0));
             }
             type = type.getSuperclass();
         } while (type != null);
-        throw new ReflectException(
-                String.format(
-                        "No similar method %s with params %s could be found on type %s",
-                        name, Arrays.toString(types), type()
-                )
-        );
+        return null;
     }
 
     /**
@@ -1,32 +1,67 @@
 package dev.utils.common.assist;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * detail: 均值计算 ( 用以统计平均数 ) 辅助类
  * @author Ttt
+ * <pre>
+ *     不存储数字, 仅累计 数量、总和、均值、偏差平方和、最小值、最大值, 内存占用固定
+ *     累计数据按线程分散到多个 Cell 中 ( 各线程基本不会竞争同一 Cell 锁 ), 获取统计值时再合并
+ *     均值、方差使用 Welford 算法逐个累计, 合并 Cell 时使用 Chan 并行算法, 避免平方和相减的精度丢失
+ *     可常驻用于统计请求耗时、渲染耗时等高频数据
+ * </pre>
  */
 public class Averager {
 
-    private final List<Number> mNumLists = new ArrayList<>();
+    // 累计 Cell 数组 ( 数量为 2 的幂 )
+    private final Cell[] mCells;
+    // Cell 索引掩码
+    private final int    mMask;
+
+    public Averager() {
+        int count = 1;
+        int cpus  = Runtime.getRuntime().availableProcessors();
+        while (count < cpus && count < 64) {
+            count <<= 1;
+        }
+        mCells = new Cell[count];
+        mMask  = count - 1;
+        for (int i = 0; i < count; i++) {
+            mCells[i] = new Cell();
+        }
+    }
 
     /**
      * 添加一个数字
      * @param number Number
      * @return {@link Averager}
      */
-    public synchronized Averager add(final Number number) {
-        mNumLists.add(number);
+    public Averager add(final Number number) {
+        if (number != null) add(number.doubleValue());
+        return this;
+    }
+
+    /**
+     * 添加一个数字
+     * @param value 数值
+     * @return {@link Averager}
+     */
+    public Averager add(final double value) {
+        if (Double.isNaN(value)) return this;
+        mCells[(int) Thread.currentThread().getId() & mMask].add(value);
         return this;
     }
 
     /**
      * 清除全部
+     * <pre>
+     *     清除时并发添加的数字可能部分保留
+     * </pre>
      * @return {@link Averager}
      */
     public Averager clear() {
-        mNumLists.clear();
+        for (Cell cell : mCells) {
+            cell.reset();
+        }
         return this;
     }
 
@@ -35,7 +70,63 @@ public class Averager {
      * @return 参与均值计算的数字个数
      */
     public Number size() {
-        return mNumLists.size();
+        return getCount();
+    }
+
+    /**
+     * 获取参与均值计算的数字个数
+     * @return 参与均值计算的数字个数
+     */
+    public long getCount() {
+        long count = 0L;
+        for (Cell cell : mCells) {
+            synchronized (cell) {
+                count += cell.count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获取总和
+     * @return 全部数字总和
+     */
+    public double getSum() {
+        double sum = 0D;
+        for (Cell cell : mCells) {
+            synchronized (cell) {
+                sum += cell.sum;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 获取最小值
+     * @return 全部数字最小值, 无数据则返回 0
+     */
+    public double getMin() {
+        double min = Double.POSITIVE_INFINITY;
+        for (Cell cell : mCells) {
+            synchronized (cell) {
+                min = Math.min(min, cell.min);
+            }
+        }
+        return (min == Double.POSITIVE_INFINITY) ? 0D : min;
+    }
+
+    /**
+     * 获取最大值
+     * @return 全部数字最大值, 无数据则返回 0
+     */
+    public double getMax() {
+        double max = Double.NEGATIVE_INFINITY;
+        for (Cell cell : mCells) {
+            synchronized (cell) {
+                max = Math.max(max, cell.max);
+            }
+        }
+        return (max == Double.NEGATIVE_INFINITY) ? 0D : max;
     }
 
     /**
@@ -43,22 +134,127 @@ public class Averager {
      * @return 全部数字平均数
      */
     public Number getAverage() {
-        if (mNumLists.size() == 0) {
-            return 0;
-        } else {
-            float sum = 0F;
-            for (int i = 0, len = mNumLists.size(); i < len; i++) {
-                sum = sum + mNumLists.get(i).floatValue();
+        if (getCount() == 0L) return 0;
+        return (float) getMean();
+    }
+
+    /**
+     * 获取平均数 ( double 精度 )
+     * @return 全部数字平均数
+     */
+    public double getMean() {
+        return _merge().mean;
+    }
+
+    /**
+     * 获取方差 ( 总体方差 )
+     * @return 全部数字方差
+     */
+    public double getVariance() {
+        Cell merged = _merge();
+        if (merged.count == 0L) return 0D;
+        return merged.m2 / merged.count;
+    }
+
+    /**
+     * 获取标准差
+     * @return 全部数字标准差
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * 输出统计信息
+     * @return 统计信息
+     */
+    public String print() {
+        return "count: " + getCount() + ", average: " + getMean()
+                + ", min: " + getMin() + ", max: " + getMax()
+                + ", stdDev: " + getStandardDeviation();
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 合并全部 Cell 数量、均值、偏差平方和
+     * @return 合并结果
+     */
+    private Cell _merge() {
+        Cell merged = new Cell();
+        for (Cell cell : mCells) {
+            synchronized (cell) {
+                merged.merge(cell);
             }
-            return sum / mNumLists.size();
         }
+        return merged;
     }
 
+    // ==========
+    // = 内部定义 =
+    // ==========
+
     /**
-     * 输出参与均值计算的数字
-     * @return 参与均值计算的数字
+     * detail: 累计 Cell
+     * @author Ttt
+     * <pre>
+     *     读写均需持有 Cell 锁 ( 数量、均值、偏差平方和需同时更新 )
+     * </pre>
      */
-    public String print() {
-        return "printList(" + size() + "): " + mNumLists;
+    private static final class Cell {
+
+        // 数量
+        long   count;
+        // 总和
+        double sum;
+        // 均值
+        double mean;
+        // 偏差平方和 ( Σ(x - mean)² )
+        double m2;
+        // 最小值
+        double min = Double.POSITIVE_INFINITY;
+        // 最大值
+        double max = Double.NEGATIVE_INFINITY;
+
+        /**
+         * 累计数值 ( Welford 算法 )
+         * @param value 数值
+         */
+        synchronized void add(final double value) {
+            count++;
+            sum += value;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+
+        /**
+         * 合并其他 Cell 数量、均值、偏差平方和 ( Chan 并行算法 )
+         * @param other 待合并 Cell
+         */
+        void merge(final Cell other) {
+            if (other.count == 0L) return;
+            long   total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+            count = total;
+        }
+
+        /**
+         * 重置累计数据
+         */
+        synchronized void reset() {
+            count = 0L;
+            sum   = 0D;
+            mean  = 0D;
+            m2    = 0D;
+            min   = Double.POSITIVE_INFINITY;
+            max   = Double.NEGATIVE_INFINITY;
+        }
     }
-}
\ No newline at end of file
+}
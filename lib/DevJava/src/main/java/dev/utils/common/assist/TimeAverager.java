@@ -3,13 +3,19 @@ package dev.utils.common.assist;
 /**
  * detail: 时间均值计算辅助类
  * @author Ttt
+ * <pre>
+ *     同时统计均值、方差 ( {@link Averager} ) 及百分位数 ( {@link LatencyHistogram} ), 内存占用固定
+ *     多线程并发计时使用 {@link #end(long)} 传入 {@link #start()} 返回的开始时间
+ * </pre>
  */
 public class TimeAverager {
 
     // 计时器
-    private final TimeCounter mTimeCounter = new TimeCounter();
+    private final TimeCounter      mTimeCounter = new TimeCounter();
     // 均值器
-    private final Averager    mAverager    = new Averager();
+    private final Averager         mAverager    = new Averager();
+    // 耗时分布直方图
+    private final LatencyHistogram mHistogram   = new LatencyHistogram();
 
     /**
      * 开始计时 ( 毫秒 )
@@ -24,9 +30,16 @@ public class TimeAverager {
      * @return 结束时间 ( 毫秒 )
      */
     public long end() {
-        long time = mTimeCounter.duration();
-        mAverager.add(time);
-        return time;
+        return record(mTimeCounter.duration());
+    }
+
+    /**
+     * 结束计时 ( 毫秒, 线程安全 )
+     * @param startTime {@link #start()} 返回的开始时间 ( 毫秒 )
+     * @return 距离开始时间的时间差 ( 毫秒 )
+     */
+    public long end(final long startTime) {
+        return record(System.currentTimeMillis() - startTime);
     }
 
     /**
@@ -34,8 +47,17 @@ public class TimeAverager {
      * @return 距离上次计时的时间差 ( 毫秒 )
      */
     public long endAndRestart() {
-        long time = mTimeCounter.durationRestart();
+        return record(mTimeCounter.durationRestart());
+    }
+
+    /**
+     * 记录耗时
+     * @param time 耗时 ( 毫秒 )
+     * @return 耗时 ( 毫秒 )
+     */
+    public long record(final long time) {
         mAverager.add(time);
+        mHistogram.record(time);
         return time;
     }
 
@@ -48,11 +70,60 @@ public class TimeAverager {
     }
 
     /**
-     * 输出全部时间值
+     * 获取计时最小值
+     * @return 计时最小值 ( 毫秒 )
+     */
+    public long min() {
+        return mHistogram.getMin();
+    }
+
+    /**
+     * 获取计时最大值
+     * @return 计时最大值 ( 毫秒 )
+     */
+    public long max() {
+        return mHistogram.getMax();
+    }
+
+    /**
+     * 获取计时标准差
+     * @return 计时标准差 ( 毫秒 )
+     */
+    public double standardDeviation() {
+        return mAverager.getStandardDeviation();
+    }
+
+    /**
+     * 获取计时百分位数
+     * @param percentile 百分位 ( 0 - 100, 如 99.9 )
+     * @return 计时百分位数 ( 毫秒 )
+     */
+    public long percentile(final double percentile) {
+        return mHistogram.getPercentile(percentile);
+    }
+
+    /**
+     * 获取均值器
+     * @return {@link Averager}
+     */
+    public Averager getAverager() {
+        return mAverager;
+    }
+
+    /**
+     * 获取耗时分布直方图
+     * @return {@link LatencyHistogram}
+     */
+    public LatencyHistogram getHistogram() {
+        return mHistogram;
+    }
+
+    /**
+     * 输出计时统计信息
      * @return 计时信息
      */
     public String print() {
-        return mAverager.print();
+        return mHistogram.print() + ", stdDev: " + mAverager.getStandardDeviation();
     }
 
     /**
@@ -61,6 +132,7 @@ public class TimeAverager {
      */
     public TimeAverager clear() {
         mAverager.clear();
+        mHistogram.clear();
         return this;
     }
 }
\ No newline at end of file
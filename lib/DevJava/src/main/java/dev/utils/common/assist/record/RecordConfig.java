@@ -28,6 +28,8 @@ public final class RecordConfig {
     private       boolean      mInsertHeaderData;
     // 日志记录插入信息
     private       RecordInsert mRecordInsert;
+    // 单个文件最大字节 ( 异步写入超过则切换文件, 0 表示不限制 )
+    private       long         mMaxFileSize;
 
     // =======
     // = 枚举 =
@@ -249,6 +251,28 @@ public final class RecordConfig {
         return this;
     }
 
+    /**
+     * 获取单个文件最大字节
+     * @return 单个文件最大字节 ( 0 表示不限制 )
+     */
+    public long getMaxFileSize() {
+        return mMaxFileSize;
+    }
+
+    /**
+     * 设置单个文件最大字节
+     * <pre>
+     *     仅异步写入 {@link FileRecordUtils#setAsync(boolean)} 有效
+     *     超过则将当前文件重命名为 log_record_1.txt ( 序号递增 ) 后新建文件
+     * </pre>
+     * @param maxFileSize 单个文件最大字节 ( 0 表示不限制 )
+     * @return {@link RecordConfig}
+     */
+    public RecordConfig setMaxFileSize(final long maxFileSize) {
+        this.mMaxFileSize = Math.max(0L, maxFileSize);
+        return this;
+    }
+
     // =
 
     /**
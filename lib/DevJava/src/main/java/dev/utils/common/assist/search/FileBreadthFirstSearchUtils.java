@@ -1,18 +1,32 @@
 package dev.utils.common.assist.search;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.thread.DevParallelExecutor;
 
 /**
  * detail: 文件广度优先搜索算法 ( 多线程 + 队列, 搜索某个目录下的全部文件 )
  * @author Ttt
+ * <pre>
+ *     每个文件夹为一个 {@link DevParallelExecutor.Group} 任务, 由搜索线程与共享线程池共同执行, 最多 {@link #getQueueSameTimeNumber()} 个线程
+ *     全部任务完成后直接触发结束回调, 无需轮询等待
+ *     <p></p>
+ *     搜索到的文件可通过 {@link StreamHandler} 实时回调 ( 返回 false 则停止搜索 )
+ *     或通过 {@link #queryIterator(String, int)} 迭代获取 ( 仅由搜索线程执行, 缓冲已满时等待消费, 不占用共享线程池 )
+ * </pre>
  */
 public final class FileBreadthFirstSearchUtils {
 
@@ -67,27 +81,6 @@ public final class FileBreadthFirstSearchUtils {
         }
     }
 
-    /**
-     * detail: 文件队列
-     * @author Ttt
-     */
-    private static class FileQueue {
-
-        FileQueue(
-                File file,
-                FileItem fileItem
-        ) {
-            this.file     = file;
-            this.fileItem = fileItem;
-        }
-
-        // 当前准备处理文件夹
-        private final File file;
-
-        // 上一级目录对象
-        private final FileItem fileItem;
-    }
-
     /**
      * detail: 搜索处理接口
      * @author Ttt
@@ -121,6 +114,34 @@ public final class FileBreadthFirstSearchUtils {
         );
     }
 
+    /**
+     * detail: 搜索结果实时回调接口
+     * @author Ttt
+     * <pre>
+     *     在搜索线程中并发回调, 回调耗时会直接减缓搜索速度
+     * </pre>
+     */
+    public interface StreamHandler {
+
+        /**
+         * 搜索到文件 ( 已通过 isAddToList 判断 )
+         * @param file 文件
+         * @return {@code true} 继续搜索, {@code false} 停止搜索
+         */
+        boolean onFile(File file);
+
+        /**
+         * 文件夹读取失败 ( 无权限、IO 异常等 )
+         * @param directory 文件夹
+         * @param error     失败异常
+         */
+        default void onError(
+                File directory,
+                Throwable error
+        ) {
+        }
+    }
+
     // 搜索处理接口
     private SearchHandler mSearchHandler;
 
@@ -148,6 +169,12 @@ public final class FileBreadthFirstSearchUtils {
                 long startTime,
                 long endTime
         ) {
+            // 通知迭代器结束
+            IteratorFeeder feeder = mFeeder;
+            if (feeder != null) {
+                mFeeder = null;
+                feeder.finish();
+            }
             // 表示非搜索中
             mRunning = false;
             // 触发回调
@@ -167,6 +194,29 @@ public final class FileBreadthFirstSearchUtils {
         return this;
     }
 
+    /**
+     * 设置搜索结果实时回调接口
+     * @param streamHandler 搜索结果实时回调接口
+     * @return {@link FileBreadthFirstSearchUtils}
+     */
+    public FileBreadthFirstSearchUtils setStreamHandler(final StreamHandler streamHandler) {
+        this.mStreamHandler = streamHandler;
+        return this;
+    }
+
+    /**
+     * 是否保存搜索结果到 {@link FileItem} ( 仅使用实时回调、迭代获取时可关闭以减少内存占用 )
+     * @param buildTree {@code true} yes, {@code false} no
+     * @return {@link FileBreadthFirstSearchUtils}
+     */
+    public synchronized FileBreadthFirstSearchUtils setBuildTree(final boolean buildTree) {
+        if (mRunning) {
+            return this;
+        }
+        this.mBuildTree = buildTree;
+        return this;
+    }
+
     /**
      * 获取任务队列同时进行数量
      * @return 队列数量
@@ -237,6 +287,9 @@ public final class FileBreadthFirstSearchUtils {
 
     /**
      * 设置延迟校验时间 ( 毫秒 )
+     * <pre>
+     *     已改为任务完成时直接结束, 不再轮询校验, 该值不再生效
+     * </pre>
      * @param delayTimeMillis 延迟校验时间 ( 毫秒 )
      * @return {@link FileBreadthFirstSearchUtils}
      */
@@ -248,23 +301,25 @@ public final class FileBreadthFirstSearchUtils {
     // =
 
     // 根目录对象
-    private       FileItem                       mRootFileItem;
+    private          FileItem      mRootFileItem;
     // 判断是否运行中
-    private       boolean                        mRunning             = false;
+    private volatile boolean       mRunning             = false;
     // 是否停止搜索
-    private       boolean                        mStop                = false;
+    private volatile boolean       mStop                = false;
     // 开始搜索时间
-    private       long                           mStartTime           = 0L;
+    private          long          mStartTime           = 0L;
     // 结束搜索时间
-    private       long                           mEndTime             = 0L;
+    private          long          mEndTime             = 0L;
     // 延迟时间
-    private       long                           mDelayTime           = 50L;
+    private          long          mDelayTime           = 50L;
     // 任务队列同时进行数量
-    private       int                            mQueueSameTimeNumber = 5;
-    // 线程池
-    private final ExecutorService                mExecutor            = Executors.newCachedThreadPool();
-    // 任务队列
-    private final LinkedBlockingQueue<FileQueue> mTaskQueue           = new LinkedBlockingQueue<>();
+    private          int           mQueueSameTimeNumber = 5;
+    // 是否保存搜索结果到 FileItem
+    private          boolean       mBuildTree           = true;
+    // 搜索结果实时回调接口
+    private          StreamHandler mStreamHandler;
+    // 搜索结果迭代器写入
+    private volatile IteratorFeeder mFeeder;
 
     /**
      * 搜索目录
@@ -299,12 +354,12 @@ public final class FileBreadthFirstSearchUtils {
             String[] fileArrays = file.list();
             // 获取文件总数
             if (fileArrays != null && fileArrays.length != 0) {
-                new Thread(() -> {
-                    // 查询文件
-                    queryFile(mRootFileItem.file, mRootFileItem);
-                    // 循环队列
-                    whileQueue();
-                }).start();
+                // 迭代获取时搜索会等待消费, 仅由搜索线程执行, 避免阻塞共享线程池
+                Thread thread = new Thread(new RootTask(
+                        DevParallelExecutor.newGroup(mFeeder != null ? 1 : mQueueSameTimeNumber)
+                ), TAG);
+                thread.setDaemon(true);
+                thread.start();
             } else {
                 // 触发结束回调
                 mEndTime = System.currentTimeMillis();
@@ -319,96 +374,291 @@ public final class FileBreadthFirstSearchUtils {
     }
 
     /**
-     * 搜索文件
-     * @param file     文件
-     * @param fileItem 所在文件夹信息对象 ( 上一级目录 )
+     * 搜索目录 ( 迭代获取搜索结果 )
+     * <pre>
+     *     迭代器缓冲已满时搜索线程等待消费, 调用 {@link FileIterator#close()} 停止搜索
+     *     迭代器不再被引用 ( 未 close 直接丢弃 ) 被回收后同样停止搜索
+     *     正在搜索中则返回 null
+     * </pre>
+     * @param path     根目录路径
+     * @param capacity 缓冲数量
+     * @return {@link FileIterator}
+     */
+    public synchronized FileIterator queryIterator(
+            final String path,
+            final int capacity
+    ) {
+        if (mRunning) return null;
+        FileIterator iterator = new FileIterator(this, Math.max(1, capacity));
+        mFeeder = new IteratorFeeder(iterator);
+        query(path);
+        return iterator;
+    }
+
+    // ==========
+    // = 内部定义 =
+    // ==========
+
+    /**
+     * detail: 搜索结果迭代器
+     * @author Ttt
+     */
+    public static final class FileIterator
+            implements Iterator<File>, Closeable {
+
+        // 结束标记
+        private static final File END = new File("");
+
+        // 搜索工具类
+        private final    FileBreadthFirstSearchUtils mSearch;
+        // 搜索结果缓冲
+        private final    BlockingQueue<File>         mQueue;
+        // 下一个文件
+        private          File                        mNext;
+        // 是否已结束
+        private volatile boolean                     mClosed;
+
+        private FileIterator(
+                final FileBreadthFirstSearchUtils search,
+                final int capacity
+        ) {
+            this.mSearch = search;
+            this.mQueue  = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (mNext != null) return mNext != END;
+            try {
+                mNext = mQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                mNext = END;
+            }
+            return mNext != END;
+        }
+
+        @Override
+        public File next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            File file = mNext;
+            mNext = null;
+            return file;
+        }
+
+        /**
+         * 停止搜索并结束迭代
+         */
+        @Override
+        public void close() {
+            mClosed = true;
+            mSearch.stop();
+            mQueue.clear();
+            mQueue.offer(END);
+        }
+    }
+
+    /**
+     * detail: 搜索结果迭代器写入
+     * @author Ttt
+     * <pre>
+     *     仅弱引用 {@link FileIterator}, 迭代器被丢弃回收后停止写入并结束搜索
+     * </pre>
      */
-    private void queryFile(
+    private final class IteratorFeeder {
+
+        // 搜索结果缓冲
+        private final BlockingQueue<File>         mQueue;
+        // 搜索结果迭代器
+        private final WeakReference<FileIterator> mIteratorRef;
+
+        IteratorFeeder(final FileIterator iterator) {
+            this.mQueue       = iterator.mQueue;
+            this.mIteratorRef = new WeakReference<>(iterator);
+        }
+
+        /**
+         * 添加搜索结果 ( 缓冲已满则等待 )
+         * @param file 文件
+         * @return {@code true} 继续搜索, {@code false} 停止搜索
+         */
+        boolean put(final File file) {
+            try {
+                while (!mQueue.offer(file, 100L, TimeUnit.MILLISECONDS)) {
+                    if (mStop || _isAbandoned()) return false;
+                }
+                return !_isAbandoned();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * 搜索结束
+         */
+        void finish() {
+            try {
+                while (!_isAbandoned()) {
+                    if (mQueue.offer(FileIterator.END, 100L, TimeUnit.MILLISECONDS)) return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * 迭代器是否已关闭或已回收
+         * @return {@code true} yes, {@code false} no
+         */
+        private boolean _isAbandoned() {
+            FileIterator iterator = mIteratorRef.get();
+            return iterator == null || iterator.mClosed;
+        }
+    }
+
+    /**
+     * detail: 搜索根任务 ( 全部文件夹处理完成后触发结束回调 )
+     * @author Ttt
+     */
+    private final class RootTask
+            implements Runnable {
+
+        // 并行任务组
+        private final DevParallelExecutor.Group group;
+
+        RootTask(final DevParallelExecutor.Group group) {
+            this.group = group;
+        }
+
+        @Override
+        public void run() {
+            try {
+                group.submit(new DirectoryTask(group, mRootFileItem.file, mRootFileItem));
+                group.await();
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "RootTask");
+            }
+            // 触发结束回调
+            mEndTime = System.currentTimeMillis();
+            mInnerHandler.onEndListener(mRootFileItem, mStartTime, mEndTime);
+        }
+    }
+
+    /**
+     * detail: 文件夹搜索任务
+     * @author Ttt
+     */
+    private final class DirectoryTask
+            implements Runnable {
+
+        // 并行任务组
+        private final DevParallelExecutor.Group group;
+        // 当前准备处理文件夹
+        private final File                      file;
+        // 当前文件夹信息对象
+        private final FileItem                  fileItem;
+
+        DirectoryTask(
+                final DevParallelExecutor.Group group,
+                final File file,
+                final FileItem fileItem
+        ) {
+            this.group    = group;
+            this.file     = file;
+            this.fileItem = fileItem;
+        }
+
+        @Override
+        public void run() {
+            List<File> directorys = queryFile(file, fileItem);
+            if (directorys == null) return;
+            for (File directory : directorys) {
+                if (mStop) return;
+                FileItem subFileItem = mBuildTree ? fileItem.put(directory) : null;
+                group.submit(new DirectoryTask(group, directory, subFileItem));
+            }
+        }
+    }
+
+    /**
+     * 搜索文件夹
+     * @param file     文件夹
+     * @param fileItem 当前文件夹信息对象
+     * @return 待搜索子文件夹
+     */
+    private List<File> queryFile(
             final File file,
             final FileItem fileItem
     ) {
         try {
-            if (mStop) {
-                return;
+            if (mStop || !mInnerHandler.isHandlerFile(file)) {
+                return null;
             }
-            if (file != null && file.exists()) {
-                // 判断是否处理
-                if (mInnerHandler.isHandlerFile(file)) {
-                    // 如果属于文件夹
-                    if (file.isDirectory()) {
-                        // 获取文件夹全部子文件
-                        File[] files = file.listFiles();
-                        if (files == null) {
-                            return;
-                        }
-                        for (File queryFile : files) {
-                            // 属于文件夹
-                            if (queryFile.isDirectory()) {
-                                if (mStop) {
-                                    return;
-                                }
-                                FileItem subFileItem = fileItem.put(queryFile);
-                                // 添加任务
-                                mTaskQueue.offer(new FileQueue(queryFile, subFileItem));
-                            } else { // 属于文件
-                                if (!mStop && mInnerHandler.isAddToList(queryFile)) {
-                                    // 属于文件则直接保存
-                                    fileItem.put(queryFile);
-                                }
-                            }
-                        }
-                    } else { // 属于文件
-                        if (!mStop && mInnerHandler.isAddToList(file)) {
-                            // 属于文件则直接保存
-                            fileItem.put(file);
-                        }
+            // 获取文件夹全部子文件
+            File[] files = file.listFiles();
+            if (files == null) {
+                _onError(file, new IOException("listFiles failed: " + file.getAbsolutePath()));
+                return null;
+            }
+            List<File> directorys = null;
+            for (File queryFile : files) {
+                if (mStop) return null;
+                // 属于文件夹
+                if (queryFile.isDirectory()) {
+                    if (directorys == null) {
+                        directorys = new ArrayList<>();
+                    }
+                    // 添加任务
+                    directorys.add(queryFile);
+                } else if (mInnerHandler.isAddToList(queryFile)) { // 属于文件
+                    // 属于文件则直接保存
+                    if (mBuildTree) {
+                        fileItem.put(queryFile);
                     }
+                    _onFile(queryFile);
                 }
             }
+            return directorys;
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "queryFile");
+            _onError(file, e);
         }
+        return null;
     }
 
-    // ============
-    // = 线程池处理 =
-    // ============
-
     /**
-     * 循环队列
+     * 通知搜索到文件
+     * @param file 文件
      */
-    private void whileQueue() {
-        // 判断是否为 null
-        boolean isEmpty = mTaskQueue.isEmpty();
-        // 循环则不处理
-        while (!isEmpty) {
-            if (mStop) break;
-            // 获取线程活动数量
-            int threadCount = ((ThreadPoolExecutor) mExecutor).getActiveCount();
-            // 判断是否超过
-            if (threadCount > mQueueSameTimeNumber) {
-                continue;
-            }
-            // 获取文件对象
-            final FileQueue fileQueue = mTaskQueue.poll();
-            // 判断是否为 null
-            if (fileQueue != null) {
-                mExecutor.execute(() -> queryFile(fileQueue.file, fileQueue.fileItem));
-            }
+    private void _onFile(final File file) {
+        StreamHandler streamHandler = mStreamHandler;
+        if (streamHandler != null && !streamHandler.onFile(file)) {
+            mStop = true;
+        }
+        IteratorFeeder feeder = mFeeder;
+        if (feeder != null && !feeder.put(file)) {
+            mStop = true;
+        }
+    }
 
-            // 判断是否存在队列数据
-            isEmpty = (mTaskQueue.isEmpty() && threadCount == 0);
-            if (isEmpty) { // 如果不存在, 防止搜索过快, 延迟再次判断
-                if (mStop) break;
-                try {
-                    Thread.sleep(mDelayTime);
-                } catch (Exception ignored) {
-                }
-                isEmpty = mTaskQueue.isEmpty();
+    /**
+     * 通知文件夹读取失败
+     * @param directory 文件夹
+     * @param error     失败异常
+     */
+    private void _onError(
+            final File directory,
+            final Throwable error
+    ) {
+        StreamHandler streamHandler = mStreamHandler;
+        if (streamHandler != null) {
+            try {
+                streamHandler.onError(directory, error);
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "_onError");
             }
         }
-        // 触发结束回调
-        mEndTime = System.currentTimeMillis();
-        mInnerHandler.onEndListener(mRootFileItem, mStartTime, mEndTime);
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,27 @@
 package dev.utils.common.assist.search;
 
 import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.thread.DevParallelExecutor;
 
 /**
- * detail: 文件深度优先搜索算法 ( 递归搜索某个目录下的全部文件 )
+ * detail: 文件深度优先搜索算法 ( 搜索某个目录下的全部文件 )
  * @author Ttt
+ * <pre>
+ *     使用显式栈迭代搜索 ( 不递归, 深层目录不会栈溢出 ), 栈中仅保存各层级未处理的子文件
+ *     isHandlerFile 返回 false 的文件夹直接跳过, 不创建对应 {@link FileItem}
+ *     搜索到的文件可通过 {@link StreamHandler} 实时回调, 关闭 {@link #setBuildTree(boolean)} 则不保存搜索结果
+ *     搜索在共享的守护线程池中执行 ( 最多 CPU 数量个线程, 超出则排队等待, 线程空闲 60 秒回收 )
+ * </pre>
  */
 public final class FileDepthFirstSearchUtils {
 
@@ -79,6 +92,23 @@ public final class FileDepthFirstSearchUtils {
         );
     }
 
+    /**
+     * detail: 搜索结果实时回调接口
+     * @author Ttt
+     */
+    public interface StreamHandler {
+
+        /**
+         * 搜索到文件 ( 已通过 isAddToList 判断, 在搜索线程中回调 )
+         * @param file 文件
+         * @return {@code true} 继续搜索, {@code false} 停止搜索
+         */
+        boolean onFile(File file);
+    }
+
+    // 搜索线程池 ( 全部实例共享 )
+    private static final ThreadPoolExecutor EXECUTOR = _createExecutor();
+
     // 搜索处理接口
     private SearchHandler mSearchHandler;
 
@@ -125,6 +155,29 @@ public final class FileDepthFirstSearchUtils {
         return this;
     }
 
+    /**
+     * 设置搜索结果实时回调接口
+     * @param streamHandler 搜索结果实时回调接口
+     * @return {@link FileDepthFirstSearchUtils}
+     */
+    public FileDepthFirstSearchUtils setStreamHandler(final StreamHandler streamHandler) {
+        this.mStreamHandler = streamHandler;
+        return this;
+    }
+
+    /**
+     * 是否保存搜索结果 ( 仅使用实时回调时可关闭, onEndListener 返回空集合 )
+     * @param buildTree {@code true} yes, {@code false} no
+     * @return {@link FileDepthFirstSearchUtils}
+     */
+    public synchronized FileDepthFirstSearchUtils setBuildTree(final boolean buildTree) {
+        if (mRunning) {
+            return this;
+        }
+        this.mBuildTree = buildTree;
+        return this;
+    }
+
     /**
      * 是否搜索中
      * @return {@code true} 搜索 / 运行中, {@code false} 非搜索 / 运行中
@@ -167,13 +220,17 @@ public final class FileDepthFirstSearchUtils {
     // =
 
     // 判断是否运行中
-    private boolean mRunning   = false;
+    private volatile boolean       mRunning   = false;
     // 是否停止搜索
-    private boolean mStop      = false;
+    private volatile boolean       mStop      = false;
     // 开始搜索时间
-    private long    mStartTime = 0L;
+    private          long          mStartTime = 0L;
     // 结束搜索时间
-    private long    mEndTime   = 0L;
+    private          long          mEndTime   = 0L;
+    // 是否保存搜索结果
+    private          boolean       mBuildTree = true;
+    // 搜索结果实时回调接口
+    private          StreamHandler mStreamHandler;
 
     /**
      * 搜索目录
@@ -212,14 +269,14 @@ public final class FileDepthFirstSearchUtils {
             String[] fileArrays = file.list();
             // 获取文件总数
             if (fileArrays != null && fileArrays.length != 0) {
-                new Thread(() -> {
+                EXECUTOR.execute(() -> {
                     List<FileItem> lists = new ArrayList<>();
                     // 查询文件
-                    queryFile(file, lists, isRelation);
+                    queryFile(file, mBuildTree ? lists : null, isRelation);
                     // 触发结束回调
                     mEndTime = System.currentTimeMillis();
                     mInnerHandler.onEndListener(lists, mStartTime, mEndTime);
-                }).start();
+                });
             } else {
                 // 触发结束回调
                 mEndTime = System.currentTimeMillis();
@@ -233,10 +290,32 @@ public final class FileDepthFirstSearchUtils {
         }
     }
 
+    /**
+     * detail: 搜索栈层级
+     * @author Ttt
+     */
+    private static final class Frame {
+
+        // 当前层级子文件
+        final File[]         files;
+        // 当前层级保存数据源
+        final List<FileItem> lists;
+        // 下一个处理索引
+        int                  index;
+
+        Frame(
+                final File[] files,
+                final List<FileItem> lists
+        ) {
+            this.files = files;
+            this.lists = lists;
+        }
+    }
+
     /**
      * 搜索文件
-     * @param file       文件
-     * @param lists      保存数据源
+     * @param file       根目录
+     * @param lists      保存数据源 ( null 则不保存 )
      * @param isRelation 是否关联到 Child List
      */
     private void queryFile(
@@ -245,45 +324,58 @@ public final class FileDepthFirstSearchUtils {
             final boolean isRelation
     ) {
         try {
-            if (mStop) {
+            // 判断是否处理
+            if (mStop || !mInnerHandler.isHandlerFile(file)) {
                 return;
             }
-            if (file != null && file.exists()) {
-                // 判断是否处理
-                if (mInnerHandler.isHandlerFile(file)) {
-                    // 如果属于文件夹
-                    if (file.isDirectory()) {
-                        // 获取文件夹全部子文件
-                        File[] files = file.listFiles();
-                        if (files == null) {
-                            return;
-                        }
-                        for (File queryFile : files) {
-                            if (isRelation) {
-                                if (queryFile.isDirectory()) {
-                                    List<FileItem> childs = new ArrayList<>();
-                                    // 查找文件
-                                    queryFile(queryFile, childs, isRelation);
-                                    // 保存数据
-                                    FileItem fileItem = new FileItem(queryFile);
-                                    fileItem.listChilds = childs;
-                                    lists.add(fileItem);
-                                } else {
-                                    // 属于文件
-                                    if (mInnerHandler.isAddToList(queryFile)) {
-                                        // 属于文件则直接保存
-                                        lists.add(new FileItem(queryFile));
-                                    }
-                                }
-                            } else {
-                                // 查找文件
-                                queryFile(queryFile, lists, isRelation);
-                            }
+            // 获取文件夹全部子文件
+            File[] files = file.listFiles();
+            if (files == null) {
+                return;
+            }
+            Deque<Frame> stack = new ArrayDeque<>();
+            stack.push(new Frame(files, lists));
+            while (!stack.isEmpty() && !mStop) {
+                Frame frame = stack.peek();
+                if (frame.index >= frame.files.length) {
+                    stack.pop();
+                    continue;
+                }
+                File queryFile = frame.files[frame.index];
+                // 释放已处理文件引用
+                frame.files[frame.index++] = null;
+                // 每个文件仅获取一次文件属性
+                if (queryFile.isDirectory()) {
+                    // 不处理则跳过整个文件夹 ( 不创建 FileItem )
+                    if (!mInnerHandler.isHandlerFile(queryFile)) {
+                        continue;
+                    }
+                    List<FileItem> childs = frame.lists;
+                    if (isRelation && childs != null) {
+                        // 保存数据
+                        FileItem fileItem = new FileItem(queryFile);
+                        fileItem.listChilds = new ArrayList<>();
+                        childs.add(fileItem);
+                        childs = fileItem.listChilds;
+                    }
+                    File[] childFiles = queryFile.listFiles();
+                    if (childFiles != null && childFiles.length != 0) {
+                        stack.push(new Frame(childFiles, childs));
+                    }
+                } else {
+                    // 非关联模式文件同样判断是否处理
+                    if (!isRelation && !mInnerHandler.isHandlerFile(queryFile)) {
+                        continue;
+                    }
+                    // 属于文件
+                    if (mInnerHandler.isAddToList(queryFile)) {
+                        // 属于文件则直接保存
+                        if (frame.lists != null) {
+                            frame.lists.add(new FileItem(queryFile));
                         }
-                    } else { // 属于文件
-                        if (mInnerHandler.isAddToList(file)) {
-                            // 属于文件则直接保存
-                            lists.add(new FileItem(file));
+                        StreamHandler streamHandler = mStreamHandler;
+                        if (streamHandler != null && !streamHandler.onFile(queryFile)) {
+                            mStop = true;
                         }
                     }
                 }
@@ -292,4 +384,26 @@ public final class FileDepthFirstSearchUtils {
             JCLogUtils.eTag(TAG, e, "queryFile");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 创建搜索线程池
+     * <pre>
+     *     线程数不超过 CPU 数量, 同时发起的搜索超出线程数则排队执行
+     * </pre>
+     * @return {@link ThreadPoolExecutor}
+     */
+    private static ThreadPoolExecutor _createExecutor() {
+        AtomicInteger      number   = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                DevParallelExecutor.CPU_COUNT, DevParallelExecutor.CPU_COUNT, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, TAG + "-" + number.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
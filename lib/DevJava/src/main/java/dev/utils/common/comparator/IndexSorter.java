@@ -0,0 +1,232 @@
+package dev.utils.common.comparator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.utils.common.thread.DevParallelExecutor;
+
+/**
+ * detail: 索引并行归并排序
+ * @author Ttt
+ * <pre>
+ *     排序前将排序属性一次性读取到基本类型数组 ( 如 File.length() 每个元素只读取一次 )
+ *     之后仅对索引数组进行稳定归并排序, 超过阈值时通过 {@link DevParallelExecutor} 并行排序
+ *     ( 按 CPU 数量分段并行排序, 再逐轮并行合并相邻分段 )
+ * </pre>
+ */
+final class IndexSorter {
+
+    private IndexSorter() {
+    }
+
+    // 并行排序阈值 ( 小于该数量则单线程排序 )
+    static final         int PARALLEL_THRESHOLD = 8192;
+    // 插入排序阈值
+    private static final int INSERTION_SIZE     = 32;
+    // 并行读取排序属性分段大小
+    private static final int SNAPSHOT_SIZE      = PARALLEL_THRESHOLD / 8;
+
+    /**
+     * detail: 索引比较器
+     * @author Ttt
+     */
+    interface IndexComparator {
+
+        /**
+         * 比较指定索引排序属性
+         * @param index1 索引
+         * @param index2 索引
+         * @return 比较结果
+         */
+        int compare(
+                int index1,
+                int index2
+        );
+    }
+
+    /**
+     * detail: 排序属性读取
+     * @author Ttt
+     */
+    interface Snapshot {
+
+        /**
+         * 读取指定索引排序属性
+         * @param index 索引
+         */
+        void read(int index);
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 读取排序属性并排序
+     * @param values     待排序数据 ( {@link List#toArray()} )
+     * @param snapshot   排序属性读取
+     * @param comparator 索引比较器
+     * @param <T>        泛型
+     * @return 排序后的新集合
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> sort(
+            final Object[] values,
+            final Snapshot snapshot,
+            final IndexComparator comparator
+    ) {
+        int   size    = values.length;
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        int parallelism = DevParallelExecutor.CPU_COUNT;
+        if (size >= PARALLEL_THRESHOLD && parallelism > 1) {
+            if (snapshot != null) {
+                _parallelSnapshot(snapshot, size, parallelism);
+            }
+            _parallelSort(indexes, new int[size], comparator, parallelism);
+        } else {
+            if (snapshot != null) {
+                for (int i = 0; i < size; i++) {
+                    snapshot.read(i);
+                }
+            }
+            _mergeSort(indexes, new int[size], 0, size, comparator);
+        }
+        List<T> result = new ArrayList<>(size);
+        for (int index : indexes) {
+            result.add((T) values[index]);
+        }
+        return result;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 并行读取排序属性
+     * @param snapshot    排序属性读取
+     * @param size        数据数量
+     * @param parallelism 并行数
+     */
+    private static void _parallelSnapshot(
+            final Snapshot snapshot,
+            final int size,
+            final int parallelism
+    ) {
+        DevParallelExecutor.Group group = DevParallelExecutor.newGroup(parallelism);
+        for (int start = 0; start < size; start += SNAPSHOT_SIZE) {
+            final int from = start;
+            final int to   = Math.min(start + SNAPSHOT_SIZE, size);
+            group.submit(() -> {
+                for (int i = from; i < to; i++) {
+                    snapshot.read(i);
+                }
+            });
+        }
+        group.await();
+    }
+
+    /**
+     * 并行归并排序 ( 稳定 )
+     * <pre>
+     *     按并行数分段并行排序, 之后每轮并行合并相邻两段, 直至合并为一段
+     * </pre>
+     * @param indexes     索引数组
+     * @param buffer      临时数组
+     * @param comparator  索引比较器
+     * @param parallelism 并行数
+     */
+    private static void _parallelSort(
+            final int[] indexes,
+            final int[] buffer,
+            final IndexComparator comparator,
+            final int parallelism
+    ) {
+        final int size    = indexes.length;
+        final int runSize = (size + parallelism - 1) / parallelism;
+        DevParallelExecutor.Group group = DevParallelExecutor.newGroup(parallelism);
+        for (int start = 0; start < size; start += runSize) {
+            final int from = start;
+            final int to   = Math.min(start + runSize, size);
+            group.submit(() -> _mergeSort(indexes, buffer, from, to, comparator));
+        }
+        group.await();
+        for (int width = runSize; width < size; width <<= 1) {
+            group = DevParallelExecutor.newGroup(parallelism);
+            for (int start = 0; start + width < size; start += width << 1) {
+                final int from   = start;
+                final int middle = start + width;
+                final int to     = Math.min(middle + width, size);
+                group.submit(() -> _merge(indexes, buffer, from, middle, to, comparator));
+            }
+            group.await();
+        }
+    }
+
+    /**
+     * 归并排序 ( 稳定 )
+     * @param indexes    索引数组
+     * @param buffer     临时数组
+     * @param start      开始位置
+     * @param end        结束位置
+     * @param comparator 索引比较器
+     */
+    private static void _mergeSort(
+            final int[] indexes,
+            final int[] buffer,
+            final int start,
+            final int end,
+            final IndexComparator comparator
+    ) {
+        if (end - start <= INSERTION_SIZE) {
+            for (int i = start + 1; i < end; i++) {
+                int value = indexes[i];
+                int j     = i - 1;
+                while (j >= start && comparator.compare(indexes[j], value) > 0) {
+                    indexes[j + 1] = indexes[j];
+                    j--;
+                }
+                indexes[j + 1] = value;
+            }
+            return;
+        }
+        int middle = (start + end) >>> 1;
+        _mergeSort(indexes, buffer, start, middle, comparator);
+        _mergeSort(indexes, buffer, middle, end, comparator);
+        _merge(indexes, buffer, start, middle, end, comparator);
+    }
+
+    /**
+     * 合并相邻有序区间 ( 相等时左侧优先, 保持稳定 )
+     * @param indexes    索引数组
+     * @param buffer     临时数组
+     * @param start      开始位置
+     * @param middle     中间位置
+     * @param end        结束位置
+     * @param comparator 索引比较器
+     */
+    private static void _merge(
+            final int[] indexes,
+            final int[] buffer,
+            final int start,
+            final int middle,
+            final int end,
+            final IndexComparator comparator
+    ) {
+        // 已有序则无需合并
+        if (comparator.compare(indexes[middle - 1], indexes[middle]) <= 0) return;
+        System.arraycopy(indexes, start, buffer, start, end - start);
+        int left  = start;
+        int right = middle;
+        for (int i = start; i < end; i++) {
+            if (right >= end || (left < middle && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+                indexes[i] = buffer[left++];
+            } else {
+                indexes[i] = buffer[right++];
+            }
+        }
+    }
+}
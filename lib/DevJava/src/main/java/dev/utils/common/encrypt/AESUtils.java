@@ -1,5 +1,8 @@
 package dev.utils.common.encrypt;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
@@ -82,4 +85,34 @@ public final class AESUtils {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * AES 加密 ( 流式处理, 不关闭流 )
+     * @param input  待加密数据流
+     * @param output 加密数据写入流
+     * @param key    密钥
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean encrypt(
+            final InputStream input,
+            final OutputStream output,
+            final byte[] key
+    ) {
+        return EncryptUtils.symmetricTemplate(input, output, key, "AES", "AES", null, true);
+    }
+
+    /**
+     * AES 解密 ( 流式处理, 不关闭流 )
+     * @param input  待解密数据流
+     * @param output 解密数据写入流
+     * @param key    密钥
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean decrypt(
+            final InputStream input,
+            final OutputStream output,
+            final byte[] key
+    ) {
+        return EncryptUtils.symmetricTemplate(input, output, key, "AES", "AES", null, false);
+    }
+}
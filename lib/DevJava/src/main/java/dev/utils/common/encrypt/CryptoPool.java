@@ -0,0 +1,55 @@
+package dev.utils.common.encrypt;
+
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * detail: 摘要实例线程复用池
+ * @author Ttt
+ * <pre>
+ *     {@link MessageDigest#getInstance} 每次调用都需遍历 Provider 查找实现, 频繁调用开销较大
+ *     按线程、算法缓存实例, 使用时从缓存中取出 ( 同线程嵌套使用时创建新实例 ), 使用完毕后 reset 放回
+ *     <p></p>
+ *     Mac、Cipher 初始化后持有密钥且无法清除, 不进行缓存 ( 避免密钥长期驻留内存 )
+ * </pre>
+ */
+final class CryptoPool {
+
+    private CryptoPool() {
+    }
+
+    // MessageDigest 缓存 ( key = algorithm )
+    private static final ThreadLocal<Map<String, MessageDigest>> DIGESTS = new ThreadLocal<Map<String, MessageDigest>>() {
+        @Override
+        protected Map<String, MessageDigest> initialValue() {
+            return new HashMap<>();
+        }
+    };
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取 MessageDigest
+     * @param algorithm 算法
+     * @return {@link MessageDigest}
+     * @throws Exception 不支持该算法
+     */
+    static MessageDigest obtainDigest(final String algorithm)
+            throws Exception {
+        MessageDigest digest = DIGESTS.get().remove(algorithm);
+        return digest != null ? digest : MessageDigest.getInstance(algorithm);
+    }
+
+    /**
+     * 放回 MessageDigest
+     * @param digest {@link MessageDigest}
+     */
+    static void recycle(final MessageDigest digest) {
+        if (digest == null) return;
+        digest.reset();
+        DIGESTS.get().put(digest.getAlgorithm(), digest);
+    }
+}
@@ -0,0 +1,374 @@
+package dev.utils.common.encrypt;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.ConvertUtils;
+import dev.utils.common.thread.DevParallelExecutor;
+
+/**
+ * detail: 文件 Hash 工具类
+ * @author Ttt
+ * <pre>
+ *     一次读取文件同时计算多种 Hash ( 如 MD5 + SHA-256 + CRC32 ), 避免每种算法重复读取文件
+ *     大文件可按分片并行计算 Hash, 并对各分片 Hash 再次计算根 Hash ( 两层 Merkle 树 )
+ *     <p></p>
+ *     算法名称同 {@link MessageDigest#getInstance(String)}, 另支持 {@link #ALGORITHM_CRC32}、{@link #ALGORITHM_ADLER32}
+ *     单一算法见 {@link MD5Utils#getFileMD5(File)}、{@link SHAUtils#getFileSHA256(File)}、{@link CRCUtils#getFileCRC32(String)}
+ * </pre>
+ */
+public final class FileHashUtils {
+
+    private FileHashUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG                = FileHashUtils.class.getSimpleName();
+    // 读取缓冲区大小
+    private static final int    BUFFER_SIZE        = 256 * 1024;
+    // CRC32 校验
+    public static final  String ALGORITHM_CRC32    = "CRC32";
+    // Adler32 校验
+    public static final  String ALGORITHM_ADLER32  = "Adler32";
+    // 默认分片大小 ( 默认 8mb )
+    public static final  long   DEFAULT_CHUNK_SIZE = 8L * 1024L * 1024L;
+
+    // 线程复用读取缓冲区 ( 直接内存, 避免 FileChannel 读取时再次拷贝 )
+    private static final ThreadLocal<ByteBuffer> BUFFERS = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+    };
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 一次读取文件计算多种 Hash
+     * @param file       文件
+     * @param algorithms 算法 ( 如 MD5、SHA-256、CRC32 )
+     * @return Hash 十六进制字符串 ( key = 算法, 按传入顺序 )
+     */
+    public static Map<String, String> getFileHash(
+            final File file,
+            final String... algorithms
+    ) {
+        if (file == null || !file.isFile() || algorithms == null || algorithms.length == 0) {
+            return null;
+        }
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            Hasher[]    hashers = new Hasher[algorithms.length];
+            for (int i = 0; i < algorithms.length; i++) {
+                hashers[i] = _newHasher(algorithms[i]);
+            }
+            _update(channel, 0L, channel.size(), hashers);
+            Map<String, String> result = new LinkedHashMap<>();
+            for (int i = 0; i < algorithms.length; i++) {
+                result.put(algorithms[i], ConvertUtils.toHexString(hashers[i].digest()));
+            }
+            return result;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getFileHash");
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+        return null;
+    }
+
+    /**
+     * 分片并行计算文件 Hash
+     * @param file        文件
+     * @param algorithm   算法
+     * @param chunkSize   分片大小
+     * @param parallelism 并行数
+     * @return {@link ChunkHash}
+     */
+    public static ChunkHash getFileChunkHash(
+            final File file,
+            final String algorithm,
+            final long chunkSize,
+            final int parallelism
+    ) {
+        if (file == null || !file.isFile() || algorithm == null || chunkSize <= 0L) {
+            return null;
+        }
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            final FileChannel channel = raf.getChannel();
+            final long        length  = channel.size();
+            int               count   = (int) Math.max(1L, (length + chunkSize - 1) / chunkSize);
+            final byte[][]    digests = new byte[count][];
+            final DevParallelExecutor.Group group = DevParallelExecutor.newGroup(
+                    Math.min(parallelism, count)
+            );
+            for (int i = 0; i < count; i++) {
+                final int  index    = i;
+                final long position = i * chunkSize;
+                final long size     = Math.min(chunkSize, length - position);
+                group.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (group.isFailed()) return;
+                        try {
+                            Hasher hasher = _newHasher(algorithm);
+                            _update(channel, position, size, new Hasher[]{hasher});
+                            digests[index] = hasher.digest();
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                });
+            }
+            group.await();
+            // 根 Hash 为按顺序拼接各分片 Hash 后再次计算
+            Hasher       root   = _newHasher(algorithm);
+            List<String> chunks = new ArrayList<>(count);
+            for (byte[] digest : digests) {
+                root.update(ByteBuffer.wrap(digest));
+                chunks.add(ConvertUtils.toHexString(digest));
+            }
+            return new ChunkHash(
+                    algorithm, chunkSize, length, chunks,
+                    ConvertUtils.toHexString(root.digest())
+            );
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getFileChunkHash");
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+        return null;
+    }
+
+    /**
+     * 分片并行计算文件 Hash
+     * @param file      文件
+     * @param algorithm 算法
+     * @return {@link ChunkHash}
+     */
+    public static ChunkHash getFileChunkHash(
+            final File file,
+            final String algorithm
+    ) {
+        return getFileChunkHash(
+                file, algorithm, DEFAULT_CHUNK_SIZE,
+                DevParallelExecutor.CPU_COUNT
+        );
+    }
+
+    // ==========
+    // = 分片结果 =
+    // ==========
+
+    /**
+     * detail: 文件分片 Hash
+     * @author Ttt
+     */
+    public static final class ChunkHash {
+
+        // 算法
+        private final String       algorithm;
+        // 分片大小
+        private final long         chunkSize;
+        // 文件总字节
+        private final long         fileLength;
+        // 各分片 Hash 十六进制字符串
+        private final List<String> chunkHashes;
+        // 根 Hash 十六进制字符串
+        private final String       rootHash;
+
+        private ChunkHash(
+                final String algorithm,
+                final long chunkSize,
+                final long fileLength,
+                final List<String> chunkHashes,
+                final String rootHash
+        ) {
+            this.algorithm   = algorithm;
+            this.chunkSize   = chunkSize;
+            this.fileLength  = fileLength;
+            this.chunkHashes = Collections.unmodifiableList(chunkHashes);
+            this.rootHash    = rootHash;
+        }
+
+        /**
+         * 获取算法
+         * @return 算法
+         */
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * 获取分片大小
+         * @return 分片大小
+         */
+        public long getChunkSize() {
+            return chunkSize;
+        }
+
+        /**
+         * 获取文件总字节
+         * @return 文件总字节
+         */
+        public long getFileLength() {
+            return fileLength;
+        }
+
+        /**
+         * 获取各分片 Hash 十六进制字符串
+         * @return 各分片 Hash 十六进制字符串 ( 不可修改 )
+         */
+        public List<String> getChunkHashes() {
+            return chunkHashes;
+        }
+
+        /**
+         * 获取根 Hash 十六进制字符串
+         * @return 根 Hash 十六进制字符串
+         */
+        public String getRootHash() {
+            return rootHash;
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * detail: Hash 计算
+     * @author Ttt
+     */
+    private interface Hasher {
+
+        /**
+         * 更新数据 ( 读取 position 至 limit 数据 )
+         * @param data 数据
+         */
+        void update(ByteBuffer data);
+
+        /**
+         * 计算完成 ( 调用后不可再使用 )
+         * @return Hash 值
+         */
+        byte[] digest();
+    }
+
+    /**
+     * 创建 Hash 计算
+     * @param algorithm 算法
+     * @return {@link Hasher}
+     * @throws Exception 不支持该算法
+     */
+    private static Hasher _newHasher(final String algorithm)
+            throws Exception {
+        if (ALGORITHM_CRC32.equalsIgnoreCase(algorithm)) {
+            return _checksumHasher(new CRC32());
+        } else if (ALGORITHM_ADLER32.equalsIgnoreCase(algorithm)) {
+            return _checksumHasher(new Adler32());
+        }
+        final MessageDigest digest = CryptoPool.obtainDigest(algorithm);
+        return new Hasher() {
+            @Override
+            public void update(ByteBuffer data) {
+                digest.update(data);
+            }
+
+            @Override
+            public byte[] digest() {
+                byte[] result = digest.digest();
+                CryptoPool.recycle(digest);
+                return result;
+            }
+        };
+    }
+
+    /**
+     * 创建 Checksum Hash 计算 ( 结果为 4 字节大端 )
+     * @param checksum {@link Checksum}
+     * @return {@link Hasher}
+     */
+    private static Hasher _checksumHasher(final Checksum checksum) {
+        return new Hasher() {
+
+            // 直接内存数据拷贝数组 ( Checksum 仅支持 byte[] )
+            private byte[] array;
+
+            @Override
+            public void update(ByteBuffer data) {
+                if (data.hasArray()) {
+                    checksum.update(
+                            data.array(), data.arrayOffset() + data.position(), data.remaining()
+                    );
+                    data.position(data.limit());
+                    return;
+                }
+                if (array == null) array = new byte[8192];
+                while (data.hasRemaining()) {
+                    int length = Math.min(array.length, data.remaining());
+                    data.get(array, 0, length);
+                    checksum.update(array, 0, length);
+                }
+            }
+
+            @Override
+            public byte[] digest() {
+                long value = checksum.getValue();
+                return new byte[]{
+                        (byte) (value >>> 24), (byte) (value >>> 16),
+                        (byte) (value >>> 8), (byte) value
+                };
+            }
+        };
+    }
+
+    /**
+     * 读取指定区域数据并更新 Hash ( 指定位置读取, 可多线程共享 FileChannel )
+     * @param channel  {@link FileChannel}
+     * @param position 开始位置
+     * @param size     读取长度
+     * @param hashers  {@link Hasher}
+     * @throws Exception 读取异常
+     */
+    private static void _update(
+            final FileChannel channel,
+            final long position,
+            final long size,
+            final Hasher[] hashers
+    )
+            throws Exception {
+        ByteBuffer buffer = BUFFERS.get();
+        long       offset = 0L;
+        while (offset < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), size - offset));
+            int read = channel.read(buffer, position + offset);
+            if (read < 0) break;
+            for (Hasher hasher : hashers) {
+                buffer.limit(read);
+                buffer.position(0);
+                hasher.update(buffer);
+            }
+            offset += read;
+        }
+    }
+}
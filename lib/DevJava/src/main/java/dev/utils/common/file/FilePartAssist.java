@@ -53,11 +53,26 @@ public final class FilePartAssist {
     public FilePartAssist(
             final File file,
             final int partCount
+    ) {
+        this(file, (file != null && file.exists()) ? file.length() : -1L, partCount);
+    }
+
+    /**
+     * 构造函数
+     * <pre>
+     *     用于文件暂未存在 ( 如分片下载 ) 时, 通过已知总字节进行分片
+     * </pre>
+     * @param file           文件
+     * @param fileByteLength 原始文件总字节 ( 小于 0 则不进行分片 )
+     * @param partCount      分片总数
+     */
+    public FilePartAssist(
+            final File file,
+            final long fileByteLength,
+            final int partCount
     ) {
         this.file = file;
-        if (file != null && file.exists() && partCount > 0) {
-            // 原始文件总字节
-            long fileByteLength = file.length();
+        if (file != null && fileByteLength >= 0 && partCount > 0) {
             // 分片总字节
             long partByteLength = fileByteLength / partCount;
             // 余数 ( 全部加到最后一个分片 )
@@ -0,0 +1,275 @@
+package dev.utils.common.file;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 文件分片进度清单
+ * @author Ttt
+ * <pre>
+ *     以追加方式记录已完成的分片及分片 hash 值, 传输中断后可按分片续传
+ *     <p></p>
+ *     清单格式 ( 以 \t 分隔 )
+ *     dev.utils.common.file.FilePartManifest
+ *     1
+ *     fileByteLength partCount
+ *     PART partIndex start end hash
+ *     <p></p>
+ *     原始文件总字节、分片总数与 {@link FilePartAssist} 不一致时清单失效并重新记录
+ *     仅用于校验的清单 ( 如拆分清单 ) 通过 {@link #read(File, FilePartAssist)} 只读加载, 不一致时不修改清单文件
+ * </pre>
+ */
+public final class FilePartManifest {
+
+    // 日志 TAG
+    private static final String  TAG     = FilePartManifest.class.getSimpleName();
+    // 清单文件后缀
+    public static final  String  SUFFIX  = ".manifest";
+    // 清单文件头
+    private static final String  MAGIC   = "dev.utils.common.file.FilePartManifest";
+    // 清单版本
+    private static final String  VERSION = "1";
+    // 分片记录
+    private static final String  PART    = "PART";
+    // 清单编码
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    // 清单文件
+    private final File                  mFile;
+    // 文件分片辅助类
+    private final FilePartAssist        mAssist;
+    // 已完成分片 hash 值 ( key = partIndex )
+    private final Map<Integer, String>  mPartHashs = new HashMap<>();
+    // 是否只读 ( 不写入清单文件 )
+    private final boolean               mReadOnly;
+
+    /**
+     * 构造函数
+     * @param file   清单文件
+     * @param assist {@link FilePartAssist}
+     */
+    public FilePartManifest(
+            final File file,
+            final FilePartAssist assist
+    ) {
+        this.mFile     = file;
+        this.mAssist   = assist;
+        this.mReadOnly = false;
+        if (!_read()) {
+            mPartHashs.clear();
+            _rewrite();
+        }
+    }
+
+    /**
+     * 构造函数 ( 只读 )
+     * @param file   清单文件
+     * @param assist {@link FilePartAssist}
+     */
+    private FilePartManifest(
+            final File file,
+            final FilePartAssist assist,
+            final boolean readOnly
+    ) {
+        this.mFile     = file;
+        this.mAssist   = assist;
+        this.mReadOnly = readOnly;
+    }
+
+    /**
+     * 只读加载清单
+     * @param file   清单文件
+     * @param assist {@link FilePartAssist}
+     * @return {@link FilePartManifest}, 不存在或与 {@link FilePartAssist} 不一致返回 null ( 不修改清单文件 )
+     */
+    public static FilePartManifest read(
+            final File file,
+            final FilePartAssist assist
+    ) {
+        FilePartManifest manifest = new FilePartManifest(file, assist, true);
+        return manifest._read() ? manifest : null;
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取清单文件
+     * @return 清单文件
+     */
+    public File getFile() {
+        return mFile;
+    }
+
+    /**
+     * 获取文件分片辅助类
+     * @return {@link FilePartAssist}
+     */
+    public FilePartAssist getFilePartAssist() {
+        return mAssist;
+    }
+
+    /**
+     * 指定分片是否已完成
+     * @param partIndex 分片索引
+     * @return {@code true} yes, {@code false} no
+     */
+    public synchronized boolean isComplete(final int partIndex) {
+        return mPartHashs.containsKey(partIndex);
+    }
+
+    /**
+     * 获取已完成分片 hash 值
+     * @param partIndex 分片索引
+     * @return 分片 hash 值
+     */
+    public synchronized String getPartHash(final int partIndex) {
+        return mPartHashs.get(partIndex);
+    }
+
+    /**
+     * 获取已完成分片数量
+     * @return 已完成分片数量
+     */
+    public synchronized int getCompleteCount() {
+        return mPartHashs.size();
+    }
+
+    /**
+     * 是否全部分片已完成
+     * @return {@code true} yes, {@code false} no
+     */
+    public synchronized boolean isAllComplete() {
+        return mAssist != null && mAssist.existsPart()
+                && mPartHashs.size() == mAssist.getPartCount();
+    }
+
+    /**
+     * 记录分片已完成 ( 立即写入清单文件 )
+     * @param item {@link FilePartItem}
+     * @param hash 分片 hash 值
+     * @return {@code true} success, {@code false} fail ( 只读清单返回 false )
+     */
+    public synchronized boolean complete(
+            final FilePartItem item,
+            final String hash
+    ) {
+        if (mReadOnly || item == null || hash == null) return false;
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(mFile, true), CHARSET
+            ));
+            writer.write(PART + "\t" + item.partIndex + "\t" + item.start
+                    + "\t" + item.end + "\t" + hash + "\n");
+            writer.flush();
+            mPartHashs.put(item.partIndex, hash);
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "complete");
+        } finally {
+            CloseUtils.closeIOQuietly(writer);
+        }
+        return false;
+    }
+
+    /**
+     * 删除清单文件
+     * @return {@code true} success, {@code false} fail
+     */
+    public synchronized boolean delete() {
+        if (mReadOnly) return false;
+        mPartHashs.clear();
+        return FileUtils.deleteFile(mFile);
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取清单描述 ( 原始文件总字节、分片总数 )
+     * @return 清单描述
+     */
+    private String _getDescribe() {
+        long fileByteLength = 0L;
+        if (mAssist != null && mAssist.existsPart()) {
+            fileByteLength = mAssist.getFilePartItem(0).fileByteLength;
+        }
+        int partCount = mAssist != null ? mAssist.getPartCount() : 0;
+        return fileByteLength + "\t" + partCount;
+    }
+
+    /**
+     * 读取清单文件
+     * @return {@code true} success, {@code false} fail ( 不存在或不一致 )
+     */
+    private boolean _read() {
+        if (mFile == null || !mFile.exists() || mAssist == null) return false;
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(mFile), CHARSET
+            ));
+            if (!MAGIC.equals(reader.readLine())
+                    || !VERSION.equals(reader.readLine())
+                    || !_getDescribe().equals(reader.readLine())) {
+                return false;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] values = line.split("\t");
+                if (values.length != 5 || !PART.equals(values[0])) continue;
+                FilePartItem item = mAssist.getFilePartItem(Integer.parseInt(values[1]));
+                // 分片位置一致才认为有效
+                if (item != null && item.start == Long.parseLong(values[2])
+                        && item.end == Long.parseLong(values[3])) {
+                    mPartHashs.put(item.partIndex, values[4]);
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "_read");
+        } finally {
+            CloseUtils.closeIOQuietly(reader);
+        }
+        return false;
+    }
+
+    /**
+     * 重写清单文件 ( 仅写入清单头 )
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean _rewrite() {
+        if (mFile == null) return false;
+        FileUtils.createFolder(mFile.getParentFile());
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(mFile), CHARSET
+            ));
+            writer.write(MAGIC + "\n" + VERSION + "\n" + _getDescribe() + "\n");
+            writer.flush();
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "_rewrite");
+        } finally {
+            CloseUtils.closeIOQuietly(writer);
+        }
+        return false;
+    }
+}
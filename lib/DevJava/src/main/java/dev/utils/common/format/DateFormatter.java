@@ -0,0 +1,494 @@
+package dev.utils.common.format;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.utils.common.DateUtils;
+
+/**
+ * detail: 时间格式化 ( 不可变、线程安全 )
+ * @author Ttt
+ * <pre>
+ *     预先解析时间格式, 格式化时通过毫秒直接推算年月日时分秒 ( 公历 ), 不创建 Calendar、Date
+ *     支持 y ( 除 yy )、M ( 数字 )、d、H、h、k、K、m、s、S 及 '' 包裹文本
+ *     其他格式 ( 如 E、a、z、MMM ) 使用 {@link SimpleDateFormat} 处理
+ *     <p></p>
+ *     java.time ( DateTimeFormatter ) 需 Android API 26, 而 dev.utils.common 同时用于 minSdk 14 的 DevApp
+ *     缓存实例获取时校验默认时区, 修改默认时区后重新创建实例 ( 无需手动清空缓存 )
+ * </pre>
+ */
+public final class DateFormatter {
+
+    // 一天毫秒数
+    private static final long DAY_MILLIS = 86400000L;
+    // 格式化实例缓存 ( key = pattern, 默认时区 )
+    private static final Map<String, DateFormatter> CACHE = new ConcurrentHashMap<>();
+
+    // 时间格式
+    private final String                        mPattern;
+    // 时区
+    private final TimeZone                      mTimeZone;
+    // 是否使用 SimpleDateFormat 处理
+    private final boolean                       mFallback;
+    // 各片段格式字符 ( 0 表示文本片段 )
+    private final char[]                        mFields;
+    // 各片段格式字符数量
+    private final int[]                         mCounts;
+    // 各片段文本
+    private final String[]                      mLiterals;
+    // SimpleDateFormat ( 线程安全, 仅不支持直接处理的格式使用 )
+    private final ThreadLocal<SimpleDateFormat> mFormat;
+
+    /**
+     * 构造函数
+     * @param pattern  时间格式
+     * @param timeZone 时区
+     */
+    private DateFormatter(
+            final String pattern,
+            final TimeZone timeZone
+    ) {
+        this.mPattern  = pattern;
+        this.mTimeZone = timeZone;
+        int      length   = pattern.length();
+        char[]   fields   = new char[length];
+        int[]    counts   = new int[length];
+        String[] literals = new String[length];
+        int      size     = 0;
+        boolean  fallback = false;
+        int      index    = 0;
+        while (index < length) {
+            char value = pattern.charAt(index);
+            if (value == '\'') {
+                // '' 包裹文本 ( '' 表示单引号 )
+                StringBuilder builder = new StringBuilder();
+                int           end     = index + 1;
+                while (end < length) {
+                    if (pattern.charAt(end) == '\'') {
+                        if (end + 1 < length && pattern.charAt(end + 1) == '\'') {
+                            builder.append('\'');
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    builder.append(pattern.charAt(end++));
+                }
+                if (end - index == 1 && end < length) builder.append('\'');
+                literals[size++] = builder.toString();
+                index = end + 1;
+            } else if ((value >= 'a' && value <= 'z') || (value >= 'A' && value <= 'Z')) {
+                int end = index + 1;
+                while (end < length && pattern.charAt(end) == value) end++;
+                int count = end - index;
+                if (!_isNumberField(value) || (value == 'y' && count == 2) || (value == 'M' && count > 2)) {
+                    fallback = true;
+                }
+                fields[size]   = value;
+                counts[size++] = count;
+                index          = end;
+            } else {
+                int end = index + 1;
+                while (end < length && !_isPatternChar(pattern.charAt(end))) end++;
+                literals[size++] = pattern.substring(index, end);
+                index            = end;
+            }
+        }
+        this.mFallback = fallback;
+        this.mFields   = new char[size];
+        this.mCounts   = new int[size];
+        this.mLiterals = new String[size];
+        System.arraycopy(fields, 0, mFields, 0, size);
+        System.arraycopy(counts, 0, mCounts, 0, size);
+        System.arraycopy(literals, 0, mLiterals, 0, size);
+        this.mFormat = !fallback ? null : new ThreadLocal<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat initialValue() {
+                SimpleDateFormat format = new SimpleDateFormat(pattern);
+                format.setTimeZone(timeZone);
+                return format;
+            }
+        };
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取 DateFormatter ( 默认时区, 同格式复用实例 )
+     * @param pattern 时间格式
+     * @return {@link DateFormatter}
+     */
+    public static DateFormatter get(final String pattern) {
+        if (pattern == null) return null;
+        TimeZone      timeZone  = TimeZone.getDefault();
+        DateFormatter formatter = CACHE.get(pattern);
+        // 默认时区已修改则重新创建
+        if (formatter == null || !formatter.mTimeZone.getID().equals(timeZone.getID())) {
+            formatter = new DateFormatter(pattern, timeZone);
+            CACHE.put(pattern, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * 获取 DateFormatter ( 指定时区, 不进行缓存 )
+     * @param pattern  时间格式
+     * @param timeZone 时区
+     * @return {@link DateFormatter}
+     */
+    public static DateFormatter get(
+            final String pattern,
+            final TimeZone timeZone
+    ) {
+        if (pattern == null || timeZone == null) return null;
+        return new DateFormatter(pattern, (TimeZone) timeZone.clone());
+    }
+
+    /**
+     * 清空缓存实例
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * 获取时间格式
+     * @return 时间格式
+     */
+    public String getPattern() {
+        return mPattern;
+    }
+
+    /**
+     * 格式化时间
+     * @param millis 时间毫秒
+     * @return 格式化后的时间字符串
+     */
+    public String format(final long millis) {
+        return format(millis, new StringBuilder(mPattern.length() + 8)).toString();
+    }
+
+    /**
+     * 格式化时间并追加到 StringBuilder
+     * @param millis  时间毫秒
+     * @param builder 追加的 StringBuilder
+     * @return {@link StringBuilder}
+     */
+    public StringBuilder format(
+            final long millis,
+            final StringBuilder builder
+    ) {
+        if (mFallback) {
+            return builder.append(mFormat.get().format(millis));
+        }
+        long local  = millis + mTimeZone.getOffset(millis);
+        long days   = Math.floorDiv(local, DAY_MILLIS);
+        int  dayMs  = (int) Math.floorMod(local, DAY_MILLIS);
+        int  hour   = dayMs / 3600000;
+        int  minute = dayMs / 60000 % 60;
+        int  second = dayMs / 1000 % 60;
+        int  ms     = dayMs % 1000;
+        long civil  = _civilFromDays(days);
+        int  year   = (int) (civil >> 9);
+        int  month  = (int) (civil >> 5) & 0xF;
+        int  day    = (int) civil & 0x1F;
+        for (int i = 0; i < mFields.length; i++) {
+            int count = mCounts[i];
+            switch (mFields[i]) {
+                case 'y':
+                    _appendNumber(builder, year, count);
+                    break;
+                case 'M':
+                    _appendNumber(builder, month, count);
+                    break;
+                case 'd':
+                    _appendNumber(builder, day, count);
+                    break;
+                case 'H':
+                    _appendNumber(builder, hour, count);
+                    break;
+                case 'h':
+                    _appendNumber(builder, (hour % 12 == 0) ? 12 : hour % 12, count);
+                    break;
+                case 'k':
+                    _appendNumber(builder, (hour == 0) ? 24 : hour, count);
+                    break;
+                case 'K':
+                    _appendNumber(builder, hour % 12, count);
+                    break;
+                case 'm':
+                    _appendNumber(builder, minute, count);
+                    break;
+                case 's':
+                    _appendNumber(builder, second, count);
+                    break;
+                case 'S':
+                    _appendNumber(builder, ms, count);
+                    break;
+                default:
+                    builder.append(mLiterals[i]);
+                    break;
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * 解析时间字符串
+     * <pre>
+     *     字段超出范围 ( 如 13 月 ) 视为解析失败, 不进行进位处理
+     * </pre>
+     * @param time 时间字符串
+     * @return 时间毫秒, 解析失败返回 -1
+     */
+    public long parse(final CharSequence time) {
+        if (time == null) return -1L;
+        if (mFallback) return DateUtils.parseLong(time.toString(), mFormat.get());
+        int length = time.length();
+        int year   = 1970;
+        int month  = 1;
+        int day    = 1;
+        int hour   = 0;
+        int minute = 0;
+        int second = 0;
+        int ms     = 0;
+        int pos    = 0;
+        for (int i = 0; i < mFields.length; i++) {
+            char field = mFields[i];
+            if (field == 0) {
+                String literal = mLiterals[i];
+                if (!_regionMatches(time, pos, literal)) return -1L;
+                pos += literal.length();
+                continue;
+            }
+            // 相邻数字字段使用固定位数, 否则读取全部连续数字
+            boolean fixed = (i + 1 < mFields.length && mFields[i + 1] != 0);
+            int     end   = pos;
+            int     limit = fixed ? Math.min(length, pos + mCounts[i]) : Math.min(length, pos + 9);
+            int     value = 0;
+            while (end < limit && time.charAt(end) >= '0' && time.charAt(end) <= '9') {
+                value = value * 10 + (time.charAt(end++) - '0');
+            }
+            if (end == pos) return -1L;
+            pos = end;
+            switch (field) {
+                case 'y':
+                    year = value;
+                    break;
+                case 'M':
+                    month = value;
+                    break;
+                case 'd':
+                    day = value;
+                    break;
+                case 'H':
+                    hour = value;
+                    break;
+                case 'h':
+                    hour = (value == 12) ? 0 : value;
+                    break;
+                case 'k':
+                    hour = (value == 24) ? 0 : value;
+                    break;
+                case 'K':
+                    hour = value;
+                    break;
+                case 'm':
+                    minute = value;
+                    break;
+                case 's':
+                    second = value;
+                    break;
+                case 'S':
+                    ms = value;
+                    break;
+            }
+        }
+        if (month < 1 || month > 12 || day < 1 || day > _monthDays(year, month)
+                || hour > 23 || minute > 59 || second > 59 || ms > 999) {
+            return -1L;
+        }
+        long local = _daysFromCivil(year, month, day) * DAY_MILLIS
+                + hour * 3600000L + minute * 60000L + second * 1000L + ms;
+        // 先按标准时间估算, 再按估算时间获取偏移 ( 夏令时重复时间同 SimpleDateFormat 取标准时间 )
+        long guess = local - mTimeZone.getRawOffset();
+        return local - mTimeZone.getOffset(guess);
+    }
+
+    // =
+
+    /**
+     * 获取时间字段 ( 默认时区, 不创建 Calendar )
+     * @param millis 时间毫秒
+     * @param field  {@link Calendar#YEAR}、{@link Calendar#MONTH}、{@link Calendar#DAY_OF_MONTH}、
+     *               {@link Calendar#DAY_OF_WEEK}、{@link Calendar#HOUR_OF_DAY}、{@link Calendar#HOUR}、
+     *               {@link Calendar#MINUTE}、{@link Calendar#SECOND}、{@link Calendar#MILLISECOND}
+     * @return 字段值 ( 月份为 1 - 12、星期数为 1 - 7 日 - 六 ), 不支持的字段返回 -1
+     */
+    public static int getField(
+            final long millis,
+            final int field
+    ) {
+        long local = millis + TimeZone.getDefault().getOffset(millis);
+        long days  = Math.floorDiv(local, DAY_MILLIS);
+        int  dayMs = (int) Math.floorMod(local, DAY_MILLIS);
+        switch (field) {
+            case Calendar.YEAR:
+                return (int) (_civilFromDays(days) >> 9);
+            case Calendar.MONTH:
+                return (int) (_civilFromDays(days) >> 5) & 0xF;
+            case Calendar.DAY_OF_MONTH:
+                return (int) _civilFromDays(days) & 0x1F;
+            case Calendar.DAY_OF_WEEK:
+                // 1970-01-01 为星期四
+                return (int) Math.floorMod(days + 4L, 7L) + 1;
+            case Calendar.HOUR_OF_DAY:
+                return dayMs / 3600000;
+            case Calendar.HOUR:
+                return dayMs / 3600000 % 12;
+            case Calendar.MINUTE:
+                return dayMs / 60000 % 60;
+            case Calendar.SECOND:
+                return dayMs / 1000 % 60;
+            case Calendar.MILLISECOND:
+                return dayMs % 1000;
+        }
+        return -1;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 是否支持直接处理的数字字段
+     * @param value 格式字符
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean _isNumberField(final char value) {
+        switch (value) {
+            case 'y':
+            case 'M':
+            case 'd':
+            case 'H':
+            case 'h':
+            case 'k':
+            case 'K':
+            case 'm':
+            case 's':
+            case 'S':
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 是否格式字符 ( 字母、单引号 )
+     * @param value 字符
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean _isPatternChar(final char value) {
+        return value == '\'' || (value >= 'a' && value <= 'z') || (value >= 'A' && value <= 'Z');
+    }
+
+    /**
+     * 追加数字 ( 不足位数前补 0 )
+     * @param builder 追加的 StringBuilder
+     * @param value   数字
+     * @param count   最少位数
+     */
+    private static void _appendNumber(
+            final StringBuilder builder,
+            final int value,
+            final int count
+    ) {
+        int number = value;
+        if (number < 0) {
+            builder.append('-');
+            number = -number;
+        }
+        int digits = 1;
+        for (int temp = number; temp >= 10; temp /= 10) digits++;
+        for (int i = digits; i < count; i++) builder.append('0');
+        builder.append(number);
+    }
+
+    /**
+     * 指定位置是否匹配文本
+     * @param time    时间字符串
+     * @param pos     开始位置
+     * @param literal 文本
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean _regionMatches(
+            final CharSequence time,
+            final int pos,
+            final String literal
+    ) {
+        if (pos + literal.length() > time.length()) return false;
+        for (int i = 0, len = literal.length(); i < len; i++) {
+            if (time.charAt(pos + i) != literal.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 获取月份天数
+     * @param year  年份
+     * @param month 月份
+     * @return 月份天数
+     */
+    private static int _monthDays(
+            final int year,
+            final int month
+    ) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    /**
+     * 天数 ( 1970-01-01 起 ) 转换年月日
+     * @param days 天数
+     * @return 年月日 ( year << 9 | month << 5 | day )
+     */
+    private static long _civilFromDays(final long days) {
+        long z     = days + 719468L;
+        long era   = Math.floorDiv(z, 146097L);
+        long doe   = z - era * 146097L;
+        long yoe   = (doe - doe / 1460L + doe / 36524L - doe / 146096L) / 365L;
+        long doy   = doe - (365L * yoe + yoe / 4L - yoe / 100L);
+        long mp    = (5L * doy + 2L) / 153L;
+        long day   = doy - (153L * mp + 2L) / 5L + 1L;
+        long month = (mp < 10L) ? mp + 3L : mp - 9L;
+        long year  = yoe + era * 400L + (month <= 2L ? 1L : 0L);
+        return (year << 9) | (month << 5) | day;
+    }
+
+    /**
+     * 年月日转换天数 ( 1970-01-01 起 )
+     * @param year  年份
+     * @param month 月份
+     * @param day   天数
+     * @return 天数
+     */
+    private static long _daysFromCivil(
+            final int year,
+            final int month,
+            final int day
+    ) {
+        long y   = (month <= 2) ? year - 1L : year;
+        long era = Math.floorDiv(y, 400L);
+        long yoe = y - era * 400L;
+        long doy = (153L * (month > 2 ? month - 3 : month + 9) + 2L) / 5L + day - 1L;
+        long doe = yoe * 365L + yoe / 4L - yoe / 100L + doy;
+        return era * 146097L + doe - 719468L;
+    }
+}
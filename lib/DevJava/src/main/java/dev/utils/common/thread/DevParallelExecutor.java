@@ -0,0 +1,214 @@
+package dev.utils.common.thread;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * detail: 并行任务执行 ( 共享线程池 )
+ * @author Ttt
+ * <pre>
+ *     替代 ForkJoinPool ( Android API 21 才支持 ), 所有调用共享一个 CPU 数量的守护线程池, 空闲线程超时回收
+ *     <p></p>
+ *     每次并行处理创建 {@link Group}, 任务放入 Group 队列, 调用线程与至多 parallelism - 1 个线程池线程共同执行
+ *     任务执行中可继续提交子任务, 线程不会阻塞等待其他任务 ( 调用线程始终参与执行 ), 嵌套调用、线程池繁忙时不会死锁
+ *     需要等待子任务结果的处理 ( 如目录汇总 ) 通过计数回调实现, 不使用 join
+ * </pre>
+ */
+public final class DevParallelExecutor {
+
+    private DevParallelExecutor() {
+    }
+
+    // CPU 数量
+    public static final  int                CPU_COUNT     = Math.max(1, Runtime.getRuntime().availableProcessors());
+    // 空闲线程存活时间 ( 秒 )
+    private static final long               KEEP_ALIVE    = 30L;
+    // 线程编号
+    private static final AtomicInteger      THREAD_NUMBER = new AtomicInteger();
+    // 共享线程池
+    private static final ThreadPoolExecutor EXECUTOR      = _createExecutor();
+
+    /**
+     * 创建并行任务组
+     * @param parallelism 并行数 ( 包含调用线程 )
+     * @return {@link Group}
+     */
+    public static Group newGroup(final int parallelism) {
+        return new Group(parallelism);
+    }
+
+    /**
+     * 创建共享线程池
+     * @return {@link ThreadPoolExecutor}
+     */
+    private static ThreadPoolExecutor _createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                CPU_COUNT, CPU_COUNT, KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(
+                        runnable, "DevParallel-" + THREAD_NUMBER.incrementAndGet()
+                );
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // ==========
+    // = 内部定义 =
+    // ==========
+
+    /**
+     * detail: 并行任务组
+     * @author Ttt
+     * <pre>
+     *     {@link #submit(Runnable)} 提交任务 ( 可在任务中调用 ), {@link #await()} 由调用线程参与执行并等待全部任务完成
+     *     任务抛出的异常在 await 时抛出 ( 仅保留第一个异常 )
+     * </pre>
+     */
+    public static final class Group {
+
+        // 并行数 ( 包含调用线程 )
+        private final    int                             mParallelism;
+        // 待执行任务
+        private final    ConcurrentLinkedQueue<Runnable> mQueue   = new ConcurrentLinkedQueue<>();
+        // 未完成任务数
+        private final    AtomicInteger                   mPending = new AtomicInteger();
+        // 线程池中执行的线程数
+        private final    AtomicInteger                   mWorkers = new AtomicInteger();
+        // 等待锁
+        private final    Object                          mLock    = new Object();
+        // 调用线程是否等待中
+        private volatile boolean                         mWaiting;
+        // 第一个异常
+        private volatile RuntimeException                mError;
+
+        private Group(final int parallelism) {
+            this.mParallelism = Math.max(1, parallelism);
+        }
+
+        /**
+         * 提交任务
+         * @param task 任务
+         */
+        public void submit(final Runnable task) {
+            mPending.incrementAndGet();
+            mQueue.add(task);
+            _signalWorker();
+            if (mWaiting) {
+                synchronized (mLock) {
+                    mLock.notifyAll();
+                }
+            }
+        }
+
+        /**
+         * 执行任务并等待全部任务完成
+         * @throws RuntimeException 任务执行异常
+         */
+        public void await() {
+            while (true) {
+                Runnable task = mQueue.poll();
+                if (task != null) {
+                    _run(task);
+                    continue;
+                }
+                synchronized (mLock) {
+                    if (mPending.get() == 0) break;
+                    mWaiting = true;
+                    try {
+                        if (mQueue.isEmpty()) mLock.wait(100L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("parallel group interrupted", e);
+                    } finally {
+                        mWaiting = false;
+                    }
+                }
+            }
+            if (mError != null) throw mError;
+        }
+
+        /**
+         * 是否已出现异常 ( 可用于提前结束任务 )
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isFailed() {
+            return mError != null;
+        }
+
+        // ==========
+        // = 内部方法 =
+        // ==========
+
+        /**
+         * 启动线程池线程执行任务 ( 不超过并行数 )
+         */
+        private void _signalWorker() {
+            while (true) {
+                int workers = mWorkers.get();
+                if (workers >= mParallelism - 1) return;
+                if (mWorkers.compareAndSet(workers, workers + 1)) break;
+            }
+            try {
+                EXECUTOR.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        _drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 由调用线程执行
+                mWorkers.decrementAndGet();
+            }
+        }
+
+        /**
+         * 线程池线程执行队列任务
+         */
+        private void _drain() {
+            while (true) {
+                Runnable task;
+                while ((task = mQueue.poll()) != null) {
+                    _run(task);
+                }
+                mWorkers.decrementAndGet();
+                // 退出前重新检查, 避免任务提交时未启动线程
+                if (mQueue.isEmpty()) return;
+                int workers = mWorkers.get();
+                if (workers >= mParallelism - 1 || !mWorkers.compareAndSet(workers, workers + 1)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 执行任务
+         * @param task 任务
+         */
+        private void _run(final Runnable task) {
+            try {
+                if (mError == null) task.run();
+            } catch (RuntimeException e) {
+                if (mError == null) mError = e;
+            } catch (Error e) {
+                if (mError == null) mError = new RuntimeException(e);
+            } finally {
+                if (mPending.decrementAndGet() == 0) {
+                    synchronized (mLock) {
+                        mLock.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+}
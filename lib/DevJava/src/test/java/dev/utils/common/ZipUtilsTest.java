@@ -0,0 +1,297 @@
+package dev.utils.common;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * detail: 压缩相关工具类测试
+ * @author Ttt
+ * <pre>
+ *     并行压缩后通过 {@link ZipFile} 读取, 校验条目数据、CRC、大小、压缩方式
+ * </pre>
+ */
+public class ZipUtilsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void zipFilesRoundTrip()
+            throws Exception {
+        File root = folder.newFolder("root");
+        // 多个分块 ( 分块大小 1M ) 的可压缩数据
+        byte[] large = _data(2 * 1024 * 1024 + 12345, true);
+        // 不可压缩数据, 按 STORED 写入
+        byte[] media = _data(1024 * 1024 + 7, false);
+        byte[] small = "ZipUtils".getBytes("UTF-8");
+
+        _write(new File(root, "large.txt"), large);
+        _write(new File(root, "media.jpg"), media);
+        _write(new File(root, "empty.txt"), new byte[0]);
+        _write(new File(root, "sub/small.txt"), small);
+        assertTrue(new File(root, "dir").mkdirs());
+
+        File zipFile = new File(folder.getRoot(), "test.zip");
+        assertTrue(ZipUtils.zipFiles(
+                Collections.singletonList(root), zipFile, "comment",
+                new ZipUtils.Options().storeMedia()
+        ));
+
+        ZipFile zip = new ZipFile(zipFile);
+        try {
+            assertEquals(5, zip.size());
+            _assertEntry(zip, "root/large.txt", large, ZipEntry.DEFLATED);
+            _assertEntry(zip, "root/media.jpg", media, ZipEntry.STORED);
+            _assertEntry(zip, "root/empty.txt", new byte[0], ZipEntry.DEFLATED);
+            _assertEntry(zip, "root/sub/small.txt", small, ZipEntry.DEFLATED);
+
+            ZipEntry dir = zip.getEntry("root/dir/");
+            assertNotNull(dir);
+            assertTrue(dir.isDirectory());
+            assertEquals("comment", zip.getEntry("root/large.txt").getComment());
+            // 可压缩数据分块压缩后仍需有效压缩
+            assertTrue(zip.getEntry("root/large.txt").getCompressedSize() < large.length / 2);
+        } finally {
+            zip.close();
+        }
+    }
+
+    @Test
+    public void zipFilesSingleThread()
+            throws Exception {
+        byte[] large = _data(3 * 1024 * 1024, true);
+        File   file  = folder.newFile("large.bin");
+        _write(file, large);
+
+        File zipFile = new File(folder.getRoot(), "single.zip");
+        assertTrue(ZipUtils.zipFiles(
+                Collections.singletonList(file), zipFile, null,
+                new ZipUtils.Options().setThreadCount(1)
+        ));
+
+        ZipFile zip = new ZipFile(zipFile);
+        try {
+            assertEquals(1, zip.size());
+            _assertEntry(zip, "large.bin", large, ZipEntry.DEFLATED);
+        } finally {
+            zip.close();
+        }
+    }
+
+    @Test
+    public void zipFilesGrowingFile()
+            throws Exception {
+        byte[]     data    = _data(3 * 1024 * 1024 + 321, true);
+        final File file    = folder.newFile("growing.log");
+        File       zipFile = new File(folder.getRoot(), "growing.zip");
+        _write(file, data);
+
+        // 压缩过程中持续追加写入
+        final byte[]        line   = "append while zipping\n".getBytes("UTF-8");
+        final AtomicBoolean stop   = new AtomicBoolean();
+        Thread              writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    OutputStream os = new FileOutputStream(file, true);
+                    try {
+                        while (!stop.get()) {
+                            os.write(line);
+                        }
+                    } finally {
+                        os.close();
+                    }
+                } catch (IOException ignored) {
+                }
+            }
+        });
+        writer.start();
+        try {
+            assertTrue(ZipUtils.zipFiles(Collections.singletonList(file), zipFile, null));
+        } finally {
+            stop.set(true);
+            writer.join();
+        }
+
+        ZipFile zip = new ZipFile(zipFile);
+        try {
+            ZipEntry entry = zip.getEntry("growing.log");
+            assertNotNull(entry);
+            assertTrue(entry.getSize() >= data.length);
+            // 条目为压缩开始时记录大小的文件前缀
+            byte[]      content = new byte[(int) entry.getSize()];
+            InputStream is      = new FileInputStream(file);
+            try {
+                int offset = 0;
+                while (offset < content.length) {
+                    offset += is.read(content, offset, content.length - offset);
+                }
+            } finally {
+                is.close();
+            }
+            _assertEntry(zip, "growing.log", content, ZipEntry.DEFLATED);
+        } finally {
+            zip.close();
+        }
+    }
+
+    @Test
+    public void unzipFileRoundTrip()
+            throws Exception {
+        File   root  = folder.newFolder("src");
+        byte[] large = _data(2 * 1024 * 1024 + 99, true);
+        byte[] small = "unzip".getBytes("UTF-8");
+        _write(new File(root, "a/b/large.txt"), large);
+        _write(new File(root, "small.txt"), small);
+        assertTrue(new File(root, "empty").mkdirs());
+
+        File zipFile = new File(folder.getRoot(), "unzip.zip");
+        assertTrue(ZipUtils.zipFiles(Collections.singletonList(root), zipFile, null));
+
+        File       destDir = folder.newFolder("dest");
+        List<File> files   = ZipUtils.unzipFile(zipFile, destDir);
+        assertNotNull(files);
+        assertEquals(3, files.size());
+        assertArrayEquals(large, _read(new File(destDir, "src/a/b/large.txt")));
+        assertArrayEquals(small, _read(new File(destDir, "src/small.txt")));
+        assertTrue(new File(destDir, "src/empty").isDirectory());
+
+        // 按关键字解压仅创建匹配的文件
+        File keywordDir = folder.newFolder("keyword");
+        files = ZipUtils.unzipFileByKeyword(zipFile, keywordDir, "small");
+        assertNotNull(files);
+        assertEquals(1, files.size());
+        assertArrayEquals(small, _read(new File(keywordDir, "src/small.txt")));
+        assertFalse(new File(keywordDir, "src/a/b/large.txt").exists());
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验压缩条目
+     * @param zip    压缩文件
+     * @param name   条目名称
+     * @param data   原始数据
+     * @param method 压缩方式
+     */
+    private static void _assertEntry(
+            final ZipFile zip,
+            final String name,
+            final byte[] data,
+            final int method
+    )
+            throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        assertNotNull(name, entry);
+        assertEquals(name, method, entry.getMethod());
+        assertEquals(name, data.length, entry.getSize());
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        assertEquals(name, crc.getValue(), entry.getCrc());
+
+        InputStream is = zip.getInputStream(entry);
+        try {
+            ByteArrayOutputStream baos   = new ByteArrayOutputStream();
+            byte[]                buffer = new byte[8192];
+            int                   count;
+            while ((count = is.read(buffer)) != -1) {
+                baos.write(buffer, 0, count);
+            }
+            assertArrayEquals(name, data, baos.toByteArray());
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * 生成测试数据
+     * @param length       数据长度
+     * @param compressible 是否可压缩
+     * @return 测试数据
+     */
+    private static byte[] _data(
+            final int length,
+            final boolean compressible
+    ) {
+        byte[] data   = new byte[length];
+        Random random = new Random(length);
+        if (compressible) {
+            byte[] words = "lorem ipsum dolor sit amet consectetur ".getBytes();
+            for (int i = 0; i < length; i++) {
+                data[i] = (random.nextInt(16) == 0)
+                        ? (byte) ('0' + random.nextInt(10)) : words[i % words.length];
+            }
+        } else {
+            random.nextBytes(data);
+        }
+        return data;
+    }
+
+    /**
+     * 读取文件
+     * @param file 文件
+     * @return 文件数据
+     */
+    private static byte[] _read(final File file)
+            throws IOException {
+        InputStream is = new FileInputStream(file);
+        try {
+            ByteArrayOutputStream baos   = new ByteArrayOutputStream();
+            byte[]                buffer = new byte[8192];
+            int                   count;
+            while ((count = is.read(buffer)) != -1) {
+                baos.write(buffer, 0, count);
+            }
+            return baos.toByteArray();
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * 写入文件
+     * @param file 文件
+     * @param data 数据
+     */
+    private static void _write(
+            final File file,
+            final byte[] data
+    )
+            throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            assertTrue(parent.mkdirs());
+        }
+        OutputStream os = new FileOutputStream(file);
+        try {
+            os.write(data);
+        } finally {
+            os.close();
+        }
+    }
+}
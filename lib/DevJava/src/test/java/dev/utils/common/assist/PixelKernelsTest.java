@@ -0,0 +1,240 @@
+package dev.utils.common.assist;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * detail: 像素处理内核测试
+ * @author Ttt
+ * <pre>
+ *     与逐像素 3x3 卷积参考实现对比, 覆盖串行 ( 小图 )、分块并行 ( 大图 ) 处理
+ * </pre>
+ */
+public class PixelKernelsTest {
+
+    // 小图 ( 调用线程处理 )
+    private static final int SMALL_WIDTH  = 37;
+    private static final int SMALL_HEIGHT = 23;
+    // 大图 ( 分块并行处理, 高度非分块行数整数倍 )
+    private static final int LARGE_WIDTH  = 301;
+    private static final int LARGE_HEIGHT = 203;
+
+    @Test
+    public void soften() {
+        _assertConvolution(SMALL_WIDTH, SMALL_HEIGHT, 16);
+        _assertConvolution(LARGE_WIDTH, LARGE_HEIGHT, 16);
+        _assertConvolution(LARGE_WIDTH, LARGE_HEIGHT, 10);
+    }
+
+    @Test
+    public void sharpen() {
+        int[][] matrix = {{-1, -1, -1}, {-1, 9, -1}, {-1, -1, -1}};
+        for (int[] size : new int[][]{{SMALL_WIDTH, SMALL_HEIGHT}, {LARGE_WIDTH, LARGE_HEIGHT}}) {
+            int[] src      = _pixels(size[0], size[1]);
+            int[] expected = _convolve(src, size[0], size[1], matrix, 3, 10);
+            int[] dst      = new int[src.length];
+            PixelKernels.apply(src, dst, size[0], size[1], PixelKernels.sharpen());
+            assertArrayEquals(expected, dst);
+        }
+    }
+
+    @Test
+    public void emboss() {
+        for (int[] size : new int[][]{{SMALL_WIDTH, SMALL_HEIGHT}, {LARGE_WIDTH, LARGE_HEIGHT}}) {
+            int   width  = size[0];
+            int   height = size[1];
+            int[] src    = _pixels(width, height);
+            int[] dst    = new int[src.length];
+            PixelKernels.apply(src, dst, width, height, PixelKernels.emboss());
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int pos = y * width + x;
+                    if (_isEdge(x, y, width, height)) {
+                        assertEquals(src[pos], dst[pos]);
+                        continue;
+                    }
+                    int color = src[pos];
+                    int right = src[pos + 1];
+                    int expected = PixelKernels.rgb(
+                            ((right >> 16) & 0xFF) - ((color >> 16) & 0xFF) + 127,
+                            ((right >> 8) & 0xFF) - ((color >> 8) & 0xFF) + 127,
+                            (right & 0xFF) - (color & 0xFF) + 127
+                    );
+                    assertEquals(expected, dst[pos]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void borderUntouched() {
+        int   width  = LARGE_WIDTH;
+        int   height = LARGE_HEIGHT;
+        int[] src    = _pixels(width, height);
+        PixelKernels.Kernel[] kernels = {
+                PixelKernels.soften(16), PixelKernels.sharpen(), PixelKernels.emboss(),
+                PixelKernels.film(), PixelKernels.sunshine(width / 2, height / 2)
+        };
+        for (PixelKernels.Kernel kernel : kernels) {
+            int[] dst = new int[src.length];
+            PixelKernels.apply(src, dst, width, height, kernel);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    if (_isEdge(x, y, width, height)) {
+                        assertEquals(src[y * width + x], dst[y * width + x]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void combinedMatchesSequential() {
+        int   width  = LARGE_WIDTH;
+        int   height = LARGE_HEIGHT;
+        int[] src    = _pixels(width, height);
+
+        int[] expected = src.clone();
+        PixelKernels.Kernel[] kernels = {
+                PixelKernels.soften(16), PixelKernels.film(), PixelKernels.nostalgic(),
+                PixelKernels.sharpen(), PixelKernels.emboss()
+        };
+        for (PixelKernels.Kernel kernel : kernels) {
+            int[] dst = new int[expected.length];
+            PixelKernels.apply(expected, dst, width, height, kernel);
+            expected = dst;
+        }
+
+        // 组合处理 ( 同一数组原地处理 )
+        int[] pixels = src.clone();
+        PixelKernels.apply(pixels, pixels, width, height, kernels);
+        assertArrayEquals(expected, pixels);
+    }
+
+    @Test
+    public void pool() {
+        PixelKernels.clearPool();
+        int[] array = PixelKernels.obtain(1000);
+        assertEquals(1000, array.length);
+        PixelKernels.recycle(array);
+        assertSame(array, PixelKernels.obtain(500));
+
+        PixelKernels.recycle(array);
+        PixelKernels.clearPool();
+        assertNotSame(array, PixelKernels.obtain(500));
+        // 清空后线程复用缓冲重新分配
+        _assertConvolution(LARGE_WIDTH, LARGE_HEIGHT, 16);
+
+        // 超过最大长度不复用
+        int[] large = new int[4096 * 4096];
+        PixelKernels.recycle(large);
+        assertNotSame(large, PixelKernels.obtain(4096 * 4096));
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验柔化效果
+     * @param width  图片宽度
+     * @param height 图片高度
+     * @param delta  亮暗程度值
+     */
+    private static void _assertConvolution(
+            final int width,
+            final int height,
+            final int delta
+    ) {
+        int[][] matrix   = {{1, 2, 1}, {2, 4, 2}, {1, 2, 1}};
+        int[]   src      = _pixels(width, height);
+        int[]   expected = _convolve(src, width, height, matrix, 1, delta);
+        int[]   dst      = new int[src.length];
+        PixelKernels.apply(src, dst, width, height, PixelKernels.soften(delta));
+        assertArrayEquals(expected, dst);
+    }
+
+    /**
+     * 3x3 卷积参考实现 ( 边缘像素保持不变 )
+     * @param src        源像素
+     * @param width      图片宽度
+     * @param height     图片高度
+     * @param matrix     卷积矩阵
+     * @param multiplier 乘数
+     * @param divisor    除数
+     * @return 卷积结果
+     */
+    private static int[] _convolve(
+            final int[] src,
+            final int width,
+            final int height,
+            final int[][] matrix,
+            final int multiplier,
+            final int divisor
+    ) {
+        int[] dst = src.clone();
+        for (int y = 1; y < height - 1; y++) {
+            for (int x = 1; x < width - 1; x++) {
+                int r = 0;
+                int g = 0;
+                int b = 0;
+                for (int j = -1; j <= 1; j++) {
+                    for (int i = -1; i <= 1; i++) {
+                        int color  = src[(y + j) * width + x + i];
+                        int weight = matrix[j + 1][i + 1];
+                        r += ((color >> 16) & 0xFF) * weight;
+                        g += ((color >> 8) & 0xFF) * weight;
+                        b += (color & 0xFF) * weight;
+                    }
+                }
+                dst[y * width + x] = PixelKernels.rgb(
+                        r * multiplier / divisor,
+                        g * multiplier / divisor,
+                        b * multiplier / divisor
+                );
+            }
+        }
+        return dst;
+    }
+
+    /**
+     * 生成测试像素
+     * @param width  图片宽度
+     * @param height 图片高度
+     * @return ARGB 像素
+     */
+    private static int[] _pixels(
+            final int width,
+            final int height
+    ) {
+        Random random = new Random(width * 31L + height);
+        int[]  pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = 0xFF000000 | random.nextInt(0x01000000);
+        }
+        return pixels;
+    }
+
+    /**
+     * 是否图片边缘像素
+     * @param x      X 轴位置
+     * @param y      Y 轴位置
+     * @param width  图片宽度
+     * @param height 图片高度
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean _isEdge(
+            final int x,
+            final int y,
+            final int width,
+            final int height
+    ) {
+        return x == 0 || y == 0 || x == width - 1 || y == height - 1;
+    }
+}